@@ -4,6 +4,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.core.IRIResolver;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.SWRLRuleEngineBridgeException;
 import org.swrlapi.factory.OWLDatatypeFactory;
@@ -58,6 +59,20 @@ public interface SWRLRuleEngineBridge
       @NonNull String builtInName, int builtInIndex, boolean isInConsequent,
       @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException;
 
+  /**
+   * This method can be used by a target rule engine to invoke the built-in in a built-in atom. The invoker bound to
+   * the atom when its rule was converted is used if present, avoiding resolution of the built-in by name.
+   *
+   * @param builtInAtom    The built-in atom to invoke
+   * @param isInConsequent Is the built-in in the rule consequent
+   * @param arguments      The arguments to the built-in
+   * @return A list of argument bindings if the built-in evaluates to true; an empty list otherwise
+   * @throws SWRLBuiltInException If the parameters are invalid or an error occurs during invocation
+   * @see #invokeSWRLBuiltIn(String, String, int, boolean, List)
+   */
+  @NonNull List<@NonNull List<@NonNull SWRLBuiltInArgument>> invokeSWRLBuiltIn(@NonNull SWRLAPIBuiltInAtom builtInAtom,
+      boolean isInConsequent, @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException;
+
   /**
    * A target rule engine can create OWL axioms using the OWL factory supplied by the bridge.
    *
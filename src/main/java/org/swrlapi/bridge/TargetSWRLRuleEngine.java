@@ -1,6 +1,7 @@
 package org.swrlapi.bridge;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.swrlapi.exceptions.SWRLBuiltInException;
@@ -9,6 +10,14 @@ import org.swrlapi.owl2rl.OWL2RLEngine;
 import org.swrlapi.sqwrl.SQWRLQuery;
 
 import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This interface defines the methods that must be provided by an implementation of a SWRLAPI-based SWRL rule engine. A
@@ -35,6 +44,55 @@ public interface TargetSWRLRuleEngine
    */
   void defineOWLAxiom(OWLAxiom axiom) throws TargetSWRLRuleEngineException;
 
+  /**
+   * Define target rule engine representations of a collection of OWL axioms. The axioms are grouped by type and each
+   * group is passed to {@link #defineOWLAxioms(AxiomType, Collection)}.
+   *
+   * @param axioms The OWL axioms to define; a SWRL rule is a type of OWL axiom
+   * @throws TargetSWRLRuleEngineException If an error occurs during definition
+   */
+  default void defineOWLAxioms(@NonNull Collection<? extends @NonNull OWLAxiom> axioms)
+    throws TargetSWRLRuleEngineException
+  {
+    Map<@NonNull AxiomType<?>, @NonNull List<@NonNull OWLAxiom>> axiomsByType = new LinkedHashMap<>();
+
+    for (OWLAxiom axiom : axioms)
+      axiomsByType.computeIfAbsent(axiom.getAxiomType(), t -> new ArrayList<>()).add(axiom);
+
+    for (Map.Entry<@NonNull AxiomType<?>, @NonNull List<@NonNull OWLAxiom>> entry : axiomsByType.entrySet())
+      defineOWLAxioms(entry.getKey(), entry.getValue());
+  }
+
+  /**
+   * Define target rule engine representations of a stream of OWL axioms.
+   *
+   * @param axioms The OWL axioms to define; a SWRL rule is a type of OWL axiom
+   * @throws TargetSWRLRuleEngineException If an error occurs during definition
+   * @see #defineOWLAxioms(Collection)
+   */
+  default void defineOWLAxioms(@NonNull Stream<? extends @NonNull OWLAxiom> axioms)
+    throws TargetSWRLRuleEngineException
+  {
+    defineOWLAxioms(axioms.collect(Collectors.toList()));
+  }
+
+  /**
+   * Define target rule engine representations of OWL axioms of a single type. Engines can override this method to size
+   * their structures and insert axioms in bulk.
+   * <p>
+   * The default implementation defines each axiom in turn with {@link #defineOWLAxiom(OWLAxiom)}.
+   *
+   * @param axiomType The type of the axioms
+   * @param axioms    The OWL axioms to define
+   * @throws TargetSWRLRuleEngineException If an error occurs during definition
+   */
+  default void defineOWLAxioms(@NonNull AxiomType<?> axiomType, @NonNull Collection<? extends @NonNull OWLAxiom> axioms)
+    throws TargetSWRLRuleEngineException
+  {
+    for (OWLAxiom axiom : axioms)
+      defineOWLAxiom(axiom);
+  }
+
   /**
    * Define a target rule engine representation of a SQWRL query.
    * 
@@ -57,6 +115,24 @@ public interface TargetSWRLRuleEngine
    */
   void resetRuleEngine() throws TargetSWRLRuleEngineException;
 
+  /**
+   * Update the target rule engine with the OWL axioms that were added to or removed from the ontology since they were
+   * last defined, retaining the engine's existing state. An engine that cannot process a change incrementally should
+   * return false without modifying its state, in which case it will be reset and all OWL axioms will be defined again.
+   * <p>
+   * The default implementation does not support incremental changes.
+   *
+   * @param addedAxioms   The OWL axioms added since the last definition; a SWRL rule is a type of OWL axiom
+   * @param removedAxioms The OWL axioms removed since the last definition
+   * @return True if the changes were processed
+   * @throws TargetSWRLRuleEngineException If an error occurs in the target rule engine
+   */
+  default boolean defineOWLAxiomChanges(@NonNull Set<@NonNull OWLAxiom> addedAxioms,
+    @NonNull Set<@NonNull OWLAxiom> removedAxioms) throws TargetSWRLRuleEngineException
+  {
+    return false;
+  }
+
   /**
    * Return the name of the target rule engine.
    *
@@ -50,8 +50,6 @@ import org.swrlapi.literal.XSDDateTime;
 import org.swrlapi.literal.XSDDuration;
 import org.swrlapi.literal.XSDTime;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.URI;
@@ -60,6 +58,9 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -68,6 +69,9 @@ import java.util.stream.Collectors;
  * Provides invocation context for invoked built-ins (such the name of invoking rule, whether the invocation is in the
  * consequent or the antecedent) and access to the invoking {@link org.swrlapi.builtins.SWRLBuiltInBridge}. Also
  * provides implementations for a large number of SWRL built-in argument processing methods.
+ * <p/>
+ * The context of each invocation is held per thread so invocations are reentrant. Built-ins in a library are invoked
+ * one at a time unless the library declares itself thread-safe by overriding {@link #isThreadSafe()}.
  *
  * @see org.swrlapi.builtins.SWRLBuiltInLibrary
  * @see org.swrlapi.builtins.SWRLBuiltInContext
@@ -81,24 +85,19 @@ public abstract class AbstractSWRLBuiltInLibrary
 {
   @NonNull private final String libraryName;
 
-  // Bridge, rule name, built-in index, and head or body location within rule of built-in currently invoking its
-  // associated Java implementation. The invokingRuleName, invokingBuiltInIndex, and isInConsequent variables are valid
-  // only when a built-in currently being invoked so should only be retrieved through their associated accessor methods
-  // from within a built-in; the invokingBridge method is valid only in built-ins and in the reset method.
-  @Nullable private SWRLBuiltInBridge invokingBridge;
-  @NonNull private String invokingRuleName = "";
-  @NonNull private Long invocationPatternID;
-  @NonNull private Map<@NonNull String, @NonNull Long> invocationPatternMap;
-
-  private int invokingBuiltInIndex = -1;
-  private boolean isInConsequent = false;
+  // Context of the built-in currently being invoked by each thread. The context is valid only when a built-in is
+  // being invoked so should only be retrieved through the associated accessor methods from within a built-in; the
+  // bridge is also valid in the reset method.
+  @NonNull private final ThreadLocal<@Nullable SWRLBuiltInInvocationContext> invocationContext;
+  @NonNull private final AtomicLong invocationPatternID;
+  @NonNull private final ConcurrentMap<@NonNull String, @NonNull Long> invocationPatternMap;
 
   protected AbstractSWRLBuiltInLibrary(@NonNull String libraryName)
   {
-    this.invokingBridge = null;
     this.libraryName = libraryName;
-    this.invocationPatternID = 0L;
-    this.invocationPatternMap = new HashMap<>();
+    this.invocationContext = new ThreadLocal<>();
+    this.invocationPatternID = new AtomicLong();
+    this.invocationPatternMap = new ConcurrentHashMap<>();
   }
 
   @NonNull @Override public String getLibraryName()
@@ -108,59 +107,45 @@ public abstract class AbstractSWRLBuiltInLibrary
 
   @NonNull @Override public SWRLBuiltInBridge getBuiltInBridge() throws SWRLBuiltInLibraryException
   {
-    if (this.invokingBridge == null)
-      throw new SWRLBuiltInLibraryException(
-        "invalid call to getInvokingBridge - should only be called from within a built-in");
-
-    return this.invokingBridge;
+    return getInvocationContext("getInvokingBridge").getBridge();
   }
 
   @NonNull @Override public String getInvokingRuleName() throws SWRLBuiltInLibraryException
   {
-    synchronized (this) {
-      if (this.invokingRuleName.length() == 0)
-        throw new SWRLBuiltInLibraryException(
-          "invalid call to getInvokingRuleName - should only be called from within a built-in");
-    }
-    return this.invokingRuleName;
+    SWRLBuiltInInvocationContext context = getInvocationContext("getInvokingRuleName");
+
+    if (context.getRuleName().length() == 0)
+      throw new SWRLBuiltInLibraryException(
+        "invalid call to getInvokingRuleName - should only be called from within a built-in");
+
+    return context.getRuleName();
   }
 
   @Override public int getInvokingBuiltInIndex() throws SWRLBuiltInLibraryException
   {
-    synchronized (this) {
-      if (this.invokingBuiltInIndex == -1)
-        throw new SWRLBuiltInLibraryException(
-          "invalid call to getInvokingBuiltInIndex - should only be called from within a built-in");
-    }
-    return this.invokingBuiltInIndex;
+    SWRLBuiltInInvocationContext context = getInvocationContext("getInvokingBuiltInIndex");
+
+    if (context.getBuiltInIndex() == -1)
+      throw new SWRLBuiltInLibraryException(
+        "invalid call to getInvokingBuiltInIndex - should only be called from within a built-in");
+
+    return context.getBuiltInIndex();
   }
 
   @Override public boolean getIsInConsequent() throws SWRLBuiltInLibraryException
   {
-    if (this.invokingBridge == null)
-      throw new SWRLBuiltInLibraryException(
-        "invalid call to getIsInConsequent - should only be called from within a built-in");
-
-    return this.isInConsequent;
+    return getInvocationContext("getIsInConsequent").isInConsequent();
   }
 
   @Override public void checkThatInConsequent() throws SWRLBuiltInException
   {
-    if (this.invokingBridge == null)
-      throw new SWRLBuiltInLibraryException(
-        "invalid call to checkThatInConsequent - should only be called from within a built-in");
-
-    if (!this.isInConsequent)
+    if (!getInvocationContext("checkThatInConsequent").isInConsequent())
       throw new SWRLBuiltInException("built-in can only be used in consequent");
   }
 
   @Override public void checkThatInAntecedent() throws SWRLBuiltInException
   {
-    if (this.invokingBridge == null)
-      throw new SWRLBuiltInLibraryException(
-        "invalid call to checkThatInAntecedent - should only be called from within a built-in");
-
-    if (this.isInConsequent)
+    if (getInvocationContext("checkThatInAntecedent").isInConsequent())
       throw new SWRLBuiltInException("built-in can only be used in antecedent");
   }
 
@@ -169,57 +154,79 @@ public abstract class AbstractSWRLBuiltInLibrary
   @Override public void invokeResetMethod(@NonNull SWRLBuiltInBridge bridge) throws SWRLBuiltInLibraryException
   {
     synchronized (this) {
-      this.invokingBridge = bridge;
-
-      reset();
+      SWRLBuiltInInvocationContext previousContext = this.invocationContext.get();
 
-      this.invocationPatternID = 0L;
-      this.invocationPatternMap = new HashMap<>();
+      this.invocationContext.set(new SWRLBuiltInInvocationContext(bridge, "", -1, false));
+      try {
+        reset();
 
-      this.invokingBridge = null;
+        this.invocationPatternID.set(0L);
+        this.invocationPatternMap.clear();
+      } finally {
+        restoreInvocationContext(previousContext);
+      }
     }
   }
 
-  @Override public boolean invokeBuiltInMethod(@NonNull Method method, @NonNull SWRLBuiltInBridge bridge,
-    @NonNull String ruleName, @NonNull String prefix, @NonNull String builtInMethodName, int builtInIndex,
-    boolean inConsequent, @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  @Override public boolean invokeBuiltInMethod(@NonNull SWRLBuiltInInvoker invoker, @NonNull SWRLBuiltInBridge bridge,
+    @NonNull String ruleName, int builtInIndex, boolean inConsequent,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    String builtInName = prefix + ":" + builtInMethodName;
-    Boolean result;
-
-    synchronized (this) { // Only one built-in per library may be invoked simultaneously
-      this.invokingBridge = bridge;
-      this.invokingRuleName = ruleName;
-      this.invokingBuiltInIndex = builtInIndex;
-      this.isInConsequent = inConsequent;
+    SWRLBuiltInInvocationContext context = new SWRLBuiltInInvocationContext(bridge, ruleName, builtInIndex,
+      inConsequent);
 
-      try { // Invoke the built-in method.
-        result = (Boolean)method.invoke(this, arguments);
-      } catch (InvocationTargetException e) { // The built-in implementation threw an exception.
-        Throwable targetException = e.getTargetException();
-        if (targetException instanceof SWRLBuiltInException) { // An explicit BuiltInException was thrown by the
-          // built-in.
-          throw new SWRLBuiltInException(
-            "exception thrown by built-in " + builtInName + " in rule " + ruleName + ": " + targetException
-              .getMessage(), targetException);
-        } else if (targetException instanceof RuntimeException) { // A runtime exception was thrown by the built-in.
-          throw new SWRLBuiltInMethodRuntimeException(ruleName, builtInName, targetException.getMessage(),
-            targetException);
-        } else
-          throw new SWRLBuiltInException(
-            "unknown exception thrown by built-in " + builtInName + " in rule " + ruleName + ": " + e.toString(), e);
-      } catch (Throwable e) { // Should be one of IllegalAccessException or IllegalArgumentException
-        throw new SWRLBuiltInLibraryException(
-          "internal built-in library exception when invoking built-in " + builtInName + " in rule " + ruleName + ": "
-            + e.getMessage(), e);
+    if (isThreadSafe())
+      return invokeBuiltInMethod(invoker, context, arguments);
+    else {
+      synchronized (this) { // Only one built-in per library may be invoked simultaneously
+        return invokeBuiltInMethod(invoker, context, arguments);
       }
-      this.invokingBridge = null;
-      this.invokingRuleName = "";
-      this.invokingBuiltInIndex = -1;
-      this.isInConsequent = false;
     }
+  }
+
+  private boolean invokeBuiltInMethod(@NonNull SWRLBuiltInInvoker invoker,
+    @NonNull SWRLBuiltInInvocationContext context, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+    throws SWRLBuiltInException
+  {
+    String builtInName = invoker.getBuiltInPrefixedName();
+    String ruleName = context.getRuleName();
+    SWRLBuiltInInvocationContext previousContext = this.invocationContext.get(); // Non-null if built-in is reentered
 
-    return result;
+    this.invocationContext.set(context);
+    try { // Invoke the built-in method.
+      return invoker.invoke(this, arguments, context);
+    } catch (SWRLBuiltInException e) { // An explicit BuiltInException was thrown by the built-in.
+      throw new SWRLBuiltInException(
+        "exception thrown by built-in " + builtInName + " in rule " + ruleName + ": " + e.getMessage(), e);
+    } catch (SWRLBuiltInLibraryException e) { // The invoker could not call the built-in method.
+      throw new SWRLBuiltInLibraryException(
+        "internal built-in library exception when invoking built-in " + builtInName + " in rule " + ruleName + ": "
+          + e.getMessage(), e);
+    } catch (RuntimeException e) { // A runtime exception was thrown by the built-in.
+      throw new SWRLBuiltInMethodRuntimeException(ruleName, builtInName, e.getMessage(), e);
+    } finally {
+      restoreInvocationContext(previousContext);
+    }
+  }
+
+  @NonNull private SWRLBuiltInInvocationContext getInvocationContext(@NonNull String methodName)
+    throws SWRLBuiltInLibraryException
+  {
+    SWRLBuiltInInvocationContext context = this.invocationContext.get();
+
+    if (context == null)
+      throw new SWRLBuiltInLibraryException(
+        "invalid call to " + methodName + " - should only be called from within a built-in");
+
+    return context;
+  }
+
+  private void restoreInvocationContext(@Nullable SWRLBuiltInInvocationContext previousContext)
+  {
+    if (previousContext == null)
+      this.invocationContext.remove();
+    else
+      this.invocationContext.set(previousContext);
   }
 
   @NonNull @Override public SQWRLResultValueFactory getSQWRLResultValueFactory() throws SWRLBuiltInLibraryException
@@ -236,20 +243,12 @@ public abstract class AbstractSWRLBuiltInLibrary
     throws SWRLBuiltInException
   {
     String pattern = "" + bridge.hashCode() + "." + ruleName + "." + builtInIndex + "." + inConsequent;
-    String result;
 
     for (int i = 0; i < arguments.size(); i++)
       pattern += "." + getArgumentAsAPropertyValue(i, arguments);
 
-    if (this.invocationPatternMap.containsKey(pattern))
-      result = this.invocationPatternMap.get(pattern).toString();
-    else {
-      this.invocationPatternMap.put(pattern, this.invocationPatternID);
-      result = this.invocationPatternID.toString();
-      this.invocationPatternID++;
-    }
-
-    return result;
+    return this.invocationPatternMap.computeIfAbsent(pattern, p -> this.invocationPatternID.getAndIncrement())
+      .toString();
   }
 
   @NonNull @Override public IRI createIRI(@NonNull String fullName) throws SWRLBuiltInException
@@ -735,8 +734,8 @@ public abstract class AbstractSWRLBuiltInLibrary
   @Override public boolean isArgumentNumeric(int argumentNumber, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
     throws SWRLBuiltInException
   {
-    return isArgumentALiteral(argumentNumber, arguments) && getArgumentAsALiteral(argumentNumber, arguments)
-      .isNumeric();
+    return isArgumentALiteral(argumentNumber, arguments)
+      && ((SWRLLiteralBuiltInArgument)arguments.get(argumentNumber)).getTypedLiteral().isNumeric();
   }
 
   @Override public boolean isArgumentNonNumeric(int argumentNumber,
@@ -0,0 +1,72 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.exceptions.SWRLBuiltInLibraryException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * A built-in invoker that calls the built-in method through a method handle adapted to a fixed type, avoiding the
+ * argument array allocation and exception wrapping of reflective invocation. Built-in methods that do not accept an
+ * invocation context have it dropped from the handle's arguments.
+ */
+class MethodHandleSWRLBuiltInInvoker implements SWRLBuiltInInvoker
+{
+  private static final MethodType BUILT_IN_METHOD_TYPE = MethodType
+    .methodType(boolean.class, SWRLBuiltInLibrary.class, List.class, SWRLBuiltInInvocationContext.class);
+
+  @NonNull private final String prefix;
+  @NonNull private final String builtInPrefixedName;
+  @NonNull private final Class<? extends SWRLBuiltInLibrary> libraryClass;
+  @NonNull private final MethodHandle methodHandle;
+
+  public MethodHandleSWRLBuiltInInvoker(@NonNull String prefix, @NonNull String builtInPrefixedName,
+    @NonNull Class<? extends SWRLBuiltInLibrary> libraryClass, @NonNull Method method) throws IllegalAccessException
+  {
+    this.prefix = prefix;
+    this.builtInPrefixedName = builtInPrefixedName;
+    this.libraryClass = libraryClass;
+    MethodHandle methodHandle = MethodHandles.publicLookup().unreflect(method);
+
+    if (method.getParameterCount() == 1)
+      methodHandle = MethodHandles.dropArguments(methodHandle, 2, SWRLBuiltInInvocationContext.class);
+
+    this.methodHandle = methodHandle.asType(BUILT_IN_METHOD_TYPE);
+  }
+
+  @NonNull @Override public String getPrefix()
+  {
+    return this.prefix;
+  }
+
+  @NonNull @Override public String getBuiltInPrefixedName()
+  {
+    return this.builtInPrefixedName;
+  }
+
+  @NonNull @Override public Class<? extends SWRLBuiltInLibrary> getLibraryClass()
+  {
+    return this.libraryClass;
+  }
+
+  @Override public boolean invoke(@NonNull SWRLBuiltInLibrary library,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments, @NonNull SWRLBuiltInInvocationContext context)
+    throws SWRLBuiltInException
+  {
+    try {
+      return (boolean)this.methodHandle.invokeExact(library, arguments, context);
+    } catch (SWRLBuiltInException | RuntimeException e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new SWRLBuiltInLibraryException(
+        "internal built-in library exception when invoking built-in " + this.builtInPrefixedName + ": " + e
+          .getMessage(), e);
+    }
+  }
+}
@@ -18,6 +18,11 @@ public interface SWRLBuiltInBridgeController
    */
   void reset() throws SWRLBuiltInBridgeException;
 
+  /**
+   * Notify the controller that a run of the target rule engine has finished
+   */
+  void runFinished();
+
   /**
    * @return The number of OWL axioms injected into the controller
    */
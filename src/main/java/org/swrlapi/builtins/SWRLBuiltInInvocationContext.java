@@ -0,0 +1,62 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * The immutable context of a single built-in invocation: the invoking bridge, the name of the invoking rule, the index
+ * of the built-in in that rule, and whether the built-in is in the rule consequent.
+ * <p>
+ * A built-in method may accept the context as a second parameter after its argument list. Built-in methods that
+ * accept only an argument list can retrieve the same information through the {@link SWRLBuiltInContext} methods of
+ * their library.
+ *
+ * @see org.swrlapi.builtins.SWRLBuiltInLibrary#invokeBuiltInMethod
+ */
+public final class SWRLBuiltInInvocationContext
+{
+  @NonNull private final SWRLBuiltInBridge bridge;
+  @NonNull private final String ruleName;
+  private final int builtInIndex;
+  private final boolean isInConsequent;
+
+  public SWRLBuiltInInvocationContext(@NonNull SWRLBuiltInBridge bridge, @NonNull String ruleName, int builtInIndex,
+    boolean isInConsequent)
+  {
+    this.bridge = bridge;
+    this.ruleName = ruleName;
+    this.builtInIndex = builtInIndex;
+    this.isInConsequent = isInConsequent;
+  }
+
+  /**
+   * @return The invoking bridge
+   */
+  @NonNull public SWRLBuiltInBridge getBridge()
+  {
+    return this.bridge;
+  }
+
+  /**
+   * @return The invoking rule name; empty if the library is being reset
+   */
+  @NonNull public String getRuleName()
+  {
+    return this.ruleName;
+  }
+
+  /**
+   * @return The 0-based index of the invoking built-in; -1 if the library is being reset
+   */
+  public int getBuiltInIndex()
+  {
+    return this.builtInIndex;
+  }
+
+  /**
+   * @return True if the invoking built-in is in the rule consequent
+   */
+  public boolean isInConsequent()
+  {
+    return this.isInConsequent;
+  }
+}
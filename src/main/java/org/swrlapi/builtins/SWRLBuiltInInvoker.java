@@ -0,0 +1,46 @@
+package org.swrlapi.builtins;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+import java.util.List;
+
+/**
+ * Invokes the Java method implementing a built-in in a SWRL built-in library. An invoker is resolved once for each
+ * built-in by the {@link SWRLBuiltInLibraryManager} and is bound to the built-in atoms that use it when rules are
+ * converted, so that invoking a built-in requires no library or method lookup.
+ *
+ * @see SWRLBuiltInLibraryManager#resolveSWRLBuiltInInvoker(String)
+ * @see org.swrlapi.core.SWRLAPIBuiltInAtom#getBuiltInInvoker()
+ */
+public interface SWRLBuiltInInvoker
+{
+  /**
+   * @return The prefix of the built-in library
+   */
+  @NonNull String getPrefix();
+
+  /**
+   * @return The prefixed name of the built-in
+   */
+  @NonNull String getBuiltInPrefixedName();
+
+  /**
+   * @return The class implementing the built-in library
+   */
+  @NonNull Class<? extends SWRLBuiltInLibrary> getLibraryClass();
+
+  /**
+   * Invoke the built-in method on an instance of the built-in library. The context is passed to built-in methods that
+   * accept it.
+   *
+   * @param library   An instance of the built-in library class
+   * @param arguments The arguments to the built-in
+   * @param context   The context of the invocation
+   * @return The return value from the built-in predicate
+   * @throws SWRLBuiltInException If an error occurs in the built-in
+   */
+  boolean invoke(@NonNull SWRLBuiltInLibrary library, @NonNull List<@NonNull SWRLBuiltInArgument> arguments,
+    @NonNull SWRLBuiltInInvocationContext context) throws SWRLBuiltInException;
+}
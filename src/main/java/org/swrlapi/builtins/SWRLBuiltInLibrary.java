@@ -7,7 +7,6 @@ import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.SWRLBuiltInLibraryException;
 import org.swrlapi.factory.SQWRLResultValueFactory;
 
-import java.lang.reflect.Method;
 import java.util.List;
 
 /**
@@ -33,22 +32,39 @@ public interface SWRLBuiltInLibrary extends SWRLBuiltInContext
    */
   void reset();
 
+  /**
+   * Called when a run of the rule engine has finished. Libraries can release state that is only needed while their
+   * built-ins are being invoked (e.g., listeners that keep caches up to date). Does nothing by default.
+   */
+  default void runFinished()
+  {
+  }
+
+  /**
+   * Built-ins in a library that is not thread-safe are invoked one at a time. Libraries are not thread-safe by default;
+   * a library whose built-ins do not modify shared state without synchronization should override this method.
+   *
+   * @return True if the built-ins in the library may be invoked concurrently
+   */
+  default boolean isThreadSafe()
+  {
+    return false;
+  }
+
   /**
    * Method to invoke a built-in in the library. Invoked by {@link SWRLBuiltInLibraryManager}.
    *
-   * @param method            The name of the built-in method
-   * @param bridge            The built-in bridge
-   * @param ruleName          The invoking rule name
-   * @param prefix            The prefix of the built-in name
-   * @param builtInMethodName The built-in name fragment
-   * @param builtInIndex      The 0-based index of the built-in in the rule
-   * @param isInConsequent    Is the built-in in the rule consequent
-   * @param arguments         The arguments to the built-in
+   * @param invoker        The invoker for the built-in method
+   * @param bridge         The built-in bridge
+   * @param ruleName       The invoking rule name
+   * @param builtInIndex   The 0-based index of the built-in in the rule
+   * @param isInConsequent Is the built-in in the rule consequent
+   * @param arguments      The arguments to the built-in
    * @return The return value from the built-in predicate
    * @throws SWRLBuiltInException If the parameters are invalid or if there is an error during built-in invocation
    */
-  boolean invokeBuiltInMethod(@NonNull Method method, @NonNull SWRLBuiltInBridge bridge, @NonNull String ruleName,
-      @NonNull String prefix, @NonNull String builtInMethodName, int builtInIndex, boolean isInConsequent,
+  boolean invokeBuiltInMethod(@NonNull SWRLBuiltInInvoker invoker, @NonNull SWRLBuiltInBridge bridge,
+      @NonNull String ruleName, int builtInIndex, boolean isInConsequent,
       @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException;
 
   /**
@@ -14,18 +14,21 @@ import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 /**
  * This class manages the dynamic loading of SWRL built-in libraries and the invocation of built-ins in those libraries.
  * A library is identified by a prefix and this prefix is used to find and dynamically load a Java class implementing
  * the built-ins in this library.
+ * <p>
+ * Each built-in is resolved once to a {@link SWRLBuiltInInvoker}. Invokers do not depend on library instances so are
+ * shared by all managers and can be bound to built-in atoms when rules are converted.
  *
  * @see org.swrlapi.builtins.SWRLBuiltInLibrary
  */
@@ -33,14 +36,32 @@ public class SWRLBuiltInLibraryManager
 {
   private static final String BuiltInLibraryPackageBaseName = "org.swrlapi.builtins.";
 
+  // Invokers for resolved built-ins, keyed by prefixed built-in name
+  @NonNull private static final ConcurrentMap<@NonNull String, @NonNull SWRLBuiltInInvoker> builtInInvokers
+    = new ConcurrentHashMap<>();
+
   // Holds instances of implementation classes defining built-in libraries
-  @NonNull private final Map<@NonNull String, @NonNull SWRLBuiltInLibrary> builtInLibraries;
-  @NonNull private final Map<@NonNull String, @NonNull Method> methods;
+  @NonNull private final ConcurrentMap<@NonNull String, @NonNull SWRLBuiltInLibrary> builtInLibraries;
 
   public SWRLBuiltInLibraryManager()
   {
-    this.builtInLibraries = new HashMap<>();
-    this.methods = new HashMap<>();
+    this.builtInLibraries = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Resolve the invoker for a built-in. The built-in name should be the prefixed name of the built-in (e.g.,
+   * swrlb:lessThanOrEqual).
+   *
+   * @param builtInName The prefixed name of the built-in
+   * @return The invoker for the built-in; empty if its library or method cannot be resolved
+   */
+  @NonNull public static Optional<@NonNull SWRLBuiltInInvoker> resolveSWRLBuiltInInvoker(@NonNull String builtInName)
+  {
+    try {
+      return Optional.of(getSWRLBuiltInInvoker("", builtInName));
+    } catch (SWRLBuiltInLibraryException e) {
+      return Optional.empty();
+    }
   }
 
   /**
@@ -66,15 +87,33 @@ public class SWRLBuiltInLibraryManager
     @NonNull String ruleName, @NonNull String builtInName, int builtInIndex, boolean isInConsequent,
     @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    String prefix = getPrefix(builtInName);
-    String implementationClassName = getBuiltInLibraryImplementationClassName(prefix);
-    String builtInMethodName = getBuiltInMethodName(builtInName);
-    SWRLBuiltInLibrary library = loadBuiltInLibrary(bridge, ruleName, prefix, implementationClassName);
-    Method method = resolveBuiltInMethod(ruleName, library, prefix, builtInMethodName);
+    SWRLBuiltInInvoker invoker = getSWRLBuiltInInvoker(ruleName, builtInName);
+
+    return invokeSWRLBuiltIn(bridge, ruleName, invoker, builtInIndex, isInConsequent, arguments);
+  }
+
+  /**
+   * Invoke a SWRL built-in using a previously resolved invoker.
+   *
+   * @param bridge         The built-in bridge
+   * @param ruleName       The name of the invoking rule
+   * @param invoker        The invoker for the built-in
+   * @param builtInIndex   The 0-based index of the invoked built-in
+   * @param isInConsequent If the built-in in the consequent?
+   * @param arguments      The built-in arguments
+   * @return The result of the built-in
+   * @throws SWRLBuiltInException If an exception occurs during invocation
+   * @see #invokeSWRLBuiltIn(SWRLBuiltInBridge, String, String, int, boolean, List)
+   */
+  @NonNull public List<@NonNull List<@NonNull SWRLBuiltInArgument>> invokeSWRLBuiltIn(@NonNull SWRLBuiltInBridge bridge,
+    @NonNull String ruleName, @NonNull SWRLBuiltInInvoker invoker, int builtInIndex, boolean isInConsequent,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    String builtInName = invoker.getBuiltInPrefixedName();
+    SWRLBuiltInLibrary library = loadBuiltInLibrary(bridge, ruleName, invoker);
     List<@NonNull List<@NonNull SWRLBuiltInArgument>> argumentPatterns = new ArrayList<>();
 
-    if (library.invokeBuiltInMethod(method, bridge, ruleName, prefix, builtInMethodName, builtInIndex, isInConsequent,
-      arguments)) {
+    if (library.invokeBuiltInMethod(invoker, bridge, ruleName, builtInIndex, isInConsequent, arguments)) {
 
       if (hasUnboundArguments(arguments)) // Make sure the built-in has bound all of its arguments.
         throw new SWRLBuiltInException("built-in " + builtInName + "(index " + builtInIndex + ") in rule " + ruleName
@@ -103,21 +142,53 @@ public class SWRLBuiltInLibraryManager
   }
 
   private SWRLBuiltInLibrary loadBuiltInLibrary(@NonNull SWRLBuiltInBridge bridge, @NonNull String ruleName,
-    @NonNull String prefix, @NonNull String implementationClassName) throws SWRLBuiltInLibraryException
+    @NonNull SWRLBuiltInInvoker invoker) throws SWRLBuiltInLibraryException
   {
-    SWRLBuiltInLibrary library;
-
-    if (this.builtInLibraries.containsKey(prefix)) { // Find the cached implementation.
-      library = this.builtInLibraries.get(prefix);
-    } else { // Implementation class not loaded - load it, cache it, and call its reset method.
-      library = loadBuiltInLibraryImpl(ruleName, prefix, implementationClassName);
-      this.builtInLibraries.put(prefix, library);
-      invokeBuiltInLibraryResetMethod(bridge, library);
+    SWRLBuiltInLibrary library = this.builtInLibraries.get(invoker.getPrefix()); // Find the cached implementation.
+
+    if (library == null) { // Library not instantiated - instantiate it, call its reset method, and cache it.
+      SWRLBuiltInLibrary newLibrary = createBuiltInLibrary(ruleName, invoker.getPrefix(), invoker.getLibraryClass());
+      invokeBuiltInLibraryResetMethod(bridge, newLibrary);
+      // The library is created outside the map so that its reset method cannot block or re-enter the map
+      library = this.builtInLibraries.putIfAbsent(invoker.getPrefix(), newLibrary);
+      if (library == null)
+        library = newLibrary; // Otherwise a concurrent caller installed its library first
     }
+
     return library;
   }
 
-  @NonNull private String getPrefix(@NonNull String builtInName)
+  @NonNull private static SWRLBuiltInInvoker getSWRLBuiltInInvoker(@NonNull String ruleName,
+    @NonNull String builtInName) throws SWRLBuiltInLibraryException
+  {
+    SWRLBuiltInInvoker invoker = builtInInvokers.get(builtInName);
+
+    if (invoker == null) {
+      invoker = createSWRLBuiltInInvoker(ruleName, builtInName);
+      builtInInvokers.putIfAbsent(builtInName, invoker);
+    }
+    return invoker;
+  }
+
+  @NonNull private static SWRLBuiltInInvoker createSWRLBuiltInInvoker(@NonNull String ruleName,
+    @NonNull String builtInName) throws SWRLBuiltInLibraryException
+  {
+    String prefix = getPrefix(builtInName);
+    String implementationClassName = getBuiltInLibraryImplementationClassName(prefix);
+    String builtInMethodName = getBuiltInMethodName(builtInName);
+    Class<? extends SWRLBuiltInLibrary> libraryClass = loadBuiltInLibraryClass(ruleName, prefix,
+      implementationClassName);
+    Method method = resolveBuiltInMethod(ruleName, libraryClass, prefix, builtInMethodName);
+
+    try {
+      return new MethodHandleSWRLBuiltInInvoker(prefix, builtInName, libraryClass, method);
+    } catch (IllegalAccessException e) {
+      throw new UnresolvedSWRLBuiltInMethodException(ruleName, prefix, builtInMethodName,
+        e.getMessage() != null ? e.getMessage() : "", e);
+    }
+  }
+
+  @NonNull private static String getPrefix(@NonNull String builtInName)
   {
     int hashIndex = builtInName.indexOf(':');
 
@@ -127,7 +198,7 @@ public class SWRLBuiltInLibraryManager
       return ""; // No prefix - try the base built-ins package. Ordinarily, built-ins should not be located here.
   }
 
-  @NonNull private String getBuiltInLibraryImplementationClassName(@NonNull String prefix)
+  @NonNull private static String getBuiltInLibraryImplementationClassName(@NonNull String prefix)
   {
     if (prefix.length() == 0)
       return BuiltInLibraryPackageBaseName + "SWRLBuiltInLibraryImpl";
@@ -136,7 +207,7 @@ public class SWRLBuiltInLibraryManager
     }
   }
 
-  @NonNull private String getBuiltInMethodName(@NonNull String builtInName)
+  @NonNull private static String getBuiltInMethodName(@NonNull String builtInName)
   {
     if (!builtInName.contains(":"))
       return builtInName;
@@ -163,6 +234,12 @@ public class SWRLBuiltInLibraryManager
       invokeBuiltInLibraryResetMethod(bridge, library);
   }
 
+  public void invokeAllBuiltInLibrariesRunFinishedMethod()
+  {
+    for (SWRLBuiltInLibrary library : this.builtInLibraries.values())
+      library.runFinished();
+  }
+
   /**
    * This method is called with a list of built-in arguments. Some argument positions may contain multi-arguments,
    * indicating that there is more than one pattern. If the result has more than one multi-argument, each multi-argument
@@ -247,35 +324,32 @@ public class SWRLBuiltInLibraryManager
     return result;
   }
 
-  private Method resolveBuiltInMethod(@NonNull String ruleName, @NonNull SWRLBuiltInLibrary library,
-    @NonNull String prefix, @NonNull String builtInMethodName) throws UnresolvedSWRLBuiltInMethodException
+  private static Method resolveBuiltInMethod(@NonNull String ruleName,
+    @NonNull Class<? extends SWRLBuiltInLibrary> libraryClass, @NonNull String prefix,
+    @NonNull String builtInMethodName) throws UnresolvedSWRLBuiltInMethodException
   {
-    String key = prefix + ":" + builtInMethodName;
-
-    if (methods.containsKey(key))
-      return methods.get(key);
-    else {
-      try {
-        Method method = library.getClass().getMethod(builtInMethodName, List.class);
+    try {
+      Method method;
 
-        checkBuiltInMethodSignature(ruleName, prefix, builtInMethodName, method); // Check signature of method
+      try { // Prefer a method that accepts the invocation context
+        method = libraryClass.getMethod(builtInMethodName, List.class, SWRLBuiltInInvocationContext.class);
+      } catch (NoSuchMethodException e) {
+        method = libraryClass.getMethod(builtInMethodName, List.class);
+      }
 
-        methods.put(key, method);
+      checkBuiltInMethodSignature(ruleName, prefix, builtInMethodName, method); // Check signature of method
 
-        return method;
-      } catch (Exception e) {
-        throw new UnresolvedSWRLBuiltInMethodException(ruleName, prefix, builtInMethodName,
-          e.getMessage() != null ? e.getMessage() : "", e);
-      }
+      return method;
+    } catch (Exception e) {
+      throw new UnresolvedSWRLBuiltInMethodException(ruleName, prefix, builtInMethodName,
+        e.getMessage() != null ? e.getMessage() : "", e);
     }
   }
 
-  // TODO Need to get constructor of library to catch exceptions it may throw.
-  private SWRLBuiltInLibrary loadBuiltInLibraryImpl(@NonNull String ruleName, @NonNull String prefix,
-    @NonNull String className) throws SWRLBuiltInLibraryException
+  private static Class<? extends SWRLBuiltInLibrary> loadBuiltInLibraryClass(@NonNull String ruleName,
+    @NonNull String prefix, @NonNull String className) throws SWRLBuiltInLibraryException
   {
     Class<?> swrlBuiltInLibraryClass;
-    SWRLBuiltInLibrary swrlBuiltInLibrary;
 
     try {
       swrlBuiltInLibraryClass = Class.forName(className);
@@ -286,18 +360,23 @@ public class SWRLBuiltInLibraryManager
     checkBuiltInMethodsClassCompatibility(ruleName, prefix, swrlBuiltInLibraryClass); // Check implementation class for
     // compatibility.
 
+    return swrlBuiltInLibraryClass.asSubclass(SWRLBuiltInLibrary.class);
+  }
+
+  // TODO Need to get constructor of library to catch exceptions it may throw.
+  private SWRLBuiltInLibrary createBuiltInLibrary(@NonNull String ruleName, @NonNull String prefix,
+    @NonNull Class<? extends SWRLBuiltInLibrary> libraryClass) throws SWRLBuiltInLibraryException
+  {
     try {
-      swrlBuiltInLibrary = (SWRLBuiltInLibrary)swrlBuiltInLibraryClass.newInstance();
+      return libraryClass.newInstance();
     } catch (@NonNull InstantiationException | ExceptionInInitializerError | SecurityException | IllegalAccessException e) {
-      throw new IncompatibleSWRLBuiltInClassException(ruleName, prefix, className,
+      throw new IncompatibleSWRLBuiltInClassException(ruleName, prefix, libraryClass.getName(),
         e.getMessage() != null ? e.getMessage() : "", e);
     }
-
-    return swrlBuiltInLibrary;
   }
 
-  private void checkBuiltInMethodSignature(@NonNull String ruleName, @NonNull String prefix, @NonNull String builtInURI,
-    @NonNull Method method) throws IncompatibleBuiltInMethodException
+  private static void checkBuiltInMethodSignature(@NonNull String ruleName, @NonNull String prefix,
+    @NonNull String builtInURI, @NonNull Method method) throws IncompatibleBuiltInMethodException
   {
     Class<?> exceptionTypes[];
     Type parameterTypes[];
@@ -313,12 +392,14 @@ public class SWRLBuiltInLibraryManager
 
     parameterTypes = method.getGenericParameterTypes();
 
-    if ((parameterTypes.length != 1) || (!(parameterTypes[0] instanceof ParameterizedType)) || (
-      ((ParameterizedType)parameterTypes[0]).getRawType() != List.class) || (
+    if ((parameterTypes.length < 1) || (parameterTypes.length > 2) || (!(parameterTypes[0] instanceof ParameterizedType))
+      || (((ParameterizedType)parameterTypes[0]).getRawType() != List.class) || (
       ((ParameterizedType)parameterTypes[0]).getActualTypeArguments().length != 1) || (
-      ((ParameterizedType)parameterTypes[0]).getActualTypeArguments()[0] != SWRLBuiltInArgument.class))
+      ((ParameterizedType)parameterTypes[0]).getActualTypeArguments()[0] != SWRLBuiltInArgument.class) || (
+      parameterTypes.length == 2 && parameterTypes[1] != SWRLBuiltInInvocationContext.class))
       throw new IncompatibleBuiltInMethodException(ruleName, prefix, builtInURI,
-        "Java built-in method implementation must accept a single List of SWRLBuiltInArgument objects");
+        "Java built-in method implementation must accept a List of SWRLBuiltInArgument objects, optionally followed "
+          + "by a SWRLBuiltInInvocationContext");
   }
 
   private boolean hasUnboundArguments(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
@@ -330,7 +411,7 @@ public class SWRLBuiltInLibraryManager
     return false;
   }
 
-  private void checkBuiltInMethodsClassCompatibility(@NonNull String ruleName, @NonNull String prefix,
+  private static void checkBuiltInMethodsClassCompatibility(@NonNull String ruleName, @NonNull String prefix,
     @NonNull Class<?> cls) throws IncompatibleSWRLBuiltInClassException
   {
     if (!SWRLBuiltInLibrary.class.isAssignableFrom(cls))
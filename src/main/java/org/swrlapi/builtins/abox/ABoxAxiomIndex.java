@@ -0,0 +1,262 @@
+package org.swrlapi.builtins.abox;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDifferentIndividualsAxiom;
+import org.semanticweb.owlapi.model.OWLNaryIndividualAxiom;
+import org.semanticweb.owlapi.model.OWLNegativeDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLNegativeObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyChange;
+import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
+import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
+import org.semanticweb.owlapi.model.parameters.Imports;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Index of the ABox assertions in an ontology and its imports closure. Assertions are indexed by each of their
+ * arguments (e.g., the subject, property and object of a property assertion) so that the ABox built-ins need only
+ * examine the assertions that agree with their most selective bound argument.
+ * <p>
+ * Same and different individuals axioms are indexed as their pairwise axioms. An index registers itself as a
+ * listener with the ontology's manager and applies added and removed assertions to the affected index entries; it
+ * becomes invalid when the imports closure changes. {@link #dispose()} must be called when the index is no longer
+ * needed. Assertions returned by the index must not be examined while the ontology is being changed.
+ *
+ * @see SWRLBuiltInLibraryImpl
+ */
+class ABoxAxiomIndex implements OWLOntologyChangeListener
+{
+  @NonNull private final OWLOntology ontology;
+  @NonNull private final Set<@NonNull OWLOntology> importsClosure;
+
+  @NonNull private final PositionalIndex<@NonNull OWLClassAssertionAxiom> classAssertionAxioms;
+  @NonNull private final PositionalIndex<@NonNull OWLObjectPropertyAssertionAxiom> objectPropertyAssertionAxioms;
+  @NonNull private final PositionalIndex<@NonNull OWLDataPropertyAssertionAxiom> dataPropertyAssertionAxioms;
+  @NonNull private final PositionalIndex<@NonNull OWLNegativeObjectPropertyAssertionAxiom>
+    negativeObjectPropertyAssertionAxioms;
+  @NonNull private final PositionalIndex<@NonNull OWLNegativeDataPropertyAssertionAxiom>
+    negativeDataPropertyAssertionAxioms;
+  @NonNull private final PositionalIndex<@NonNull OWLSameIndividualAxiom> sameIndividualAxioms;
+  @NonNull private final PositionalIndex<@NonNull OWLDifferentIndividualsAxiom> differentIndividualsAxioms;
+
+  private volatile boolean isValid = true;
+
+  private ABoxAxiomIndex(@NonNull OWLOntology ontology)
+  {
+    this.ontology = ontology;
+    this.importsClosure = new HashSet<>(ontology.getImportsClosure());
+
+    this.classAssertionAxioms = new PositionalIndex<>(OWLClassAssertionAxiom::getClassExpression,
+      OWLClassAssertionAxiom::getIndividual);
+    this.objectPropertyAssertionAxioms = new PositionalIndex<>(OWLObjectPropertyAssertionAxiom::getSubject,
+      OWLObjectPropertyAssertionAxiom::getProperty, OWLObjectPropertyAssertionAxiom::getObject);
+    this.dataPropertyAssertionAxioms = new PositionalIndex<>(OWLDataPropertyAssertionAxiom::getSubject,
+      OWLDataPropertyAssertionAxiom::getProperty, OWLDataPropertyAssertionAxiom::getObject);
+    this.negativeObjectPropertyAssertionAxioms = new PositionalIndex<>(
+      OWLNegativeObjectPropertyAssertionAxiom::getSubject, OWLNegativeObjectPropertyAssertionAxiom::getProperty,
+      OWLNegativeObjectPropertyAssertionAxiom::getObject);
+    this.negativeDataPropertyAssertionAxioms = new PositionalIndex<>(
+      OWLNegativeDataPropertyAssertionAxiom::getSubject, OWLNegativeDataPropertyAssertionAxiom::getProperty,
+      OWLNegativeDataPropertyAssertionAxiom::getObject);
+    this.sameIndividualAxioms = new PositionalIndex<>(a -> a.getIndividualsAsList().get(0),
+      a -> a.getIndividualsAsList().get(1));
+    this.differentIndividualsAxioms = new PositionalIndex<>(a -> a.getIndividualsAsList().get(0),
+      a -> a.getIndividualsAsList().get(1));
+
+    // Assertions are counted once for each ontology of the imports closure that contains them
+    for (OWLOntology importedOntology : this.importsClosure) {
+      for (AxiomType<?> axiomType : AxiomType.ABoxAxiomTypes)
+        for (OWLAxiom axiom : importedOntology.getAxioms(axiomType, Imports.EXCLUDED))
+          update(axiom, true);
+    }
+  }
+
+  /**
+   * @param ontology An ontology
+   * @return An index of the ABox assertions in the ontology and its imports closure
+   */
+  @NonNull public static ABoxAxiomIndex create(@NonNull OWLOntology ontology)
+  {
+    ABoxAxiomIndex index = new ABoxAxiomIndex(ontology);
+
+    ontology.getOWLOntologyManager().addOntologyChangeListener(index);
+
+    return index;
+  }
+
+  public boolean isValid()
+  {
+    return this.isValid;
+  }
+
+  public void dispose()
+  {
+    this.isValid = false;
+    this.ontology.getOWLOntologyManager().removeOntologyChangeListener(this);
+  }
+
+  // The following methods return the assertions that may match the bound arguments. The keys of the bound arguments
+  // map are (0-based) argument positions; each argument position corresponds to a position in the assertion.
+
+  @NonNull public Collection<@NonNull OWLClassAssertionAxiom> getClassAssertionAxioms(
+    @NonNull Map<Integer, @NonNull OWLObject> boundArguments)
+  {
+    return this.classAssertionAxioms.getCandidates(boundArguments);
+  }
+
+  @NonNull public Collection<@NonNull OWLObjectPropertyAssertionAxiom> getObjectPropertyAssertionAxioms(
+    @NonNull Map<Integer, @NonNull OWLObject> boundArguments)
+  {
+    return this.objectPropertyAssertionAxioms.getCandidates(boundArguments);
+  }
+
+  @NonNull public Collection<@NonNull OWLDataPropertyAssertionAxiom> getDataPropertyAssertionAxioms(
+    @NonNull Map<Integer, @NonNull OWLObject> boundArguments)
+  {
+    return this.dataPropertyAssertionAxioms.getCandidates(boundArguments);
+  }
+
+  @NonNull public Collection<OWLNegativeObjectPropertyAssertionAxiom> getNegativeObjectPropertyAssertionAxioms(
+    @NonNull Map<Integer, @NonNull OWLObject> boundArguments)
+  {
+    return this.negativeObjectPropertyAssertionAxioms.getCandidates(boundArguments);
+  }
+
+  @NonNull public Collection<@NonNull OWLNegativeDataPropertyAssertionAxiom> getNegativeDataPropertyAssertionAxioms(
+    @NonNull Map<Integer, @NonNull OWLObject> boundArguments)
+  {
+    return this.negativeDataPropertyAssertionAxioms.getCandidates(boundArguments);
+  }
+
+  @NonNull public Collection<@NonNull OWLSameIndividualAxiom> getPairwiseSameIndividualAxioms(
+    @NonNull Map<Integer, @NonNull OWLObject> boundArguments)
+  {
+    return this.sameIndividualAxioms.getCandidates(boundArguments);
+  }
+
+  @NonNull public Collection<@NonNull OWLDifferentIndividualsAxiom> getPairwiseDifferentIndividualsAxioms(
+    @NonNull Map<Integer, @NonNull OWLObject> boundArguments)
+  {
+    return this.differentIndividualsAxioms.getCandidates(boundArguments);
+  }
+
+  @Override public synchronized void ontologiesChanged(@Nonnull List<? extends OWLOntologyChange> changes)
+  {
+    for (OWLOntologyChange change : changes) {
+      if (this.importsClosure.contains(change.getOntology())) {
+        if (change.isAxiomChange())
+          update(change.getAxiom(), change.isAddAxiom());
+        else if (change.isImportChange())
+          this.isValid = false;
+      }
+    }
+  }
+
+  private void update(@NonNull OWLAxiom axiom, boolean isAdded)
+  {
+    if (axiom instanceof OWLClassAssertionAxiom)
+      this.classAssertionAxioms.update((OWLClassAssertionAxiom)axiom, isAdded);
+    else if (axiom instanceof OWLObjectPropertyAssertionAxiom)
+      this.objectPropertyAssertionAxioms.update((OWLObjectPropertyAssertionAxiom)axiom, isAdded);
+    else if (axiom instanceof OWLDataPropertyAssertionAxiom)
+      this.dataPropertyAssertionAxioms.update((OWLDataPropertyAssertionAxiom)axiom, isAdded);
+    else if (axiom instanceof OWLNegativeObjectPropertyAssertionAxiom)
+      this.negativeObjectPropertyAssertionAxioms.update((OWLNegativeObjectPropertyAssertionAxiom)axiom, isAdded);
+    else if (axiom instanceof OWLNegativeDataPropertyAssertionAxiom)
+      this.negativeDataPropertyAssertionAxioms.update((OWLNegativeDataPropertyAssertionAxiom)axiom, isAdded);
+    else if (axiom instanceof OWLSameIndividualAxiom)
+      for (OWLSameIndividualAxiom pairwiseAxiom : pairwise((OWLSameIndividualAxiom)axiom))
+        this.sameIndividualAxioms.update(pairwiseAxiom, isAdded);
+    else if (axiom instanceof OWLDifferentIndividualsAxiom)
+      for (OWLDifferentIndividualsAxiom pairwiseAxiom : pairwise((OWLDifferentIndividualsAxiom)axiom))
+        this.differentIndividualsAxioms.update(pairwiseAxiom, isAdded);
+  }
+
+  @SuppressWarnings("unchecked") @NonNull private static <A extends OWLNaryIndividualAxiom> Collection<@NonNull A>
+  pairwise(@NonNull A axiom)
+  {
+    return (Collection<@NonNull A>)axiom.asPairwiseAxioms(); // Pairwise axioms have the type of the original axiom
+  }
+
+  // Entries are counted so that an entry added more than once is only removed when each addition has been removed
+  private static final class PositionalIndex<T>
+  {
+    @NonNull private final Map<@NonNull T, @NonNull Integer> entryCounts;
+    @NonNull private final List<@NonNull Function<@NonNull T, @NonNull OWLObject>> positions;
+    @NonNull private final List<@NonNull Map<@NonNull OWLObject, @NonNull Set<@NonNull T>>> positionIndexes;
+
+    @SafeVarargs public PositionalIndex(@NonNull Function<@NonNull T, @NonNull OWLObject>... positions)
+    {
+      this.entryCounts = new LinkedHashMap<>();
+      this.positions = new ArrayList<>(positions.length);
+      this.positionIndexes = new ArrayList<>(positions.length);
+
+      for (Function<@NonNull T, @NonNull OWLObject> position : positions) {
+        this.positions.add(position);
+        this.positionIndexes.add(new HashMap<>());
+      }
+    }
+
+    public synchronized void update(@NonNull T entry, boolean isAdded)
+    {
+      Integer count = this.entryCounts.get(entry);
+
+      if (isAdded) {
+        this.entryCounts.put(entry, count == null ? 1 : count + 1);
+        if (count == null) {
+          for (int position = 0; position < this.positions.size(); position++)
+            this.positionIndexes.get(position)
+              .computeIfAbsent(this.positions.get(position).apply(entry), k -> new LinkedHashSet<>()).add(entry);
+        }
+      } else if (count != null && count > 1)
+        this.entryCounts.put(entry, count - 1);
+      else if (count != null) {
+        this.entryCounts.remove(entry);
+        for (int position = 0; position < this.positions.size(); position++) {
+          Map<@NonNull OWLObject, @NonNull Set<@NonNull T>> positionIndex = this.positionIndexes.get(position);
+          OWLObject value = this.positions.get(position).apply(entry);
+          Set<@NonNull T> positionEntries = positionIndex.get(value);
+          positionEntries.remove(entry);
+          if (positionEntries.isEmpty())
+            positionIndex.remove(value);
+        }
+      }
+    }
+
+    // Use the smallest set of entries that agree with one of the bound values
+    @NonNull public synchronized Collection<@NonNull T> getCandidates(
+      @NonNull Map<Integer, @NonNull OWLObject> boundValues)
+    {
+      Collection<@NonNull T> candidates = this.entryCounts.keySet();
+
+      for (Map.Entry<Integer, @NonNull OWLObject> boundValue : boundValues.entrySet()) {
+        int position = boundValue.getKey();
+        if (position >= 0 && position < this.positionIndexes.size()) {
+          Set<@NonNull T> positionCandidates = this.positionIndexes.get(position)
+            .getOrDefault(boundValue.getValue(), Collections.emptySet());
+          if (positionCandidates.size() < candidates.size())
+            candidates = positionCandidates;
+        }
+      }
+      return Collections.unmodifiableCollection(candidates);
+    }
+  }
+}
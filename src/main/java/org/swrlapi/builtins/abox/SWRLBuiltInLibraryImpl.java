@@ -1,7 +1,6 @@
 package org.swrlapi.builtins.abox;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
-import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLClassExpression;
 import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
@@ -14,18 +13,19 @@ import org.semanticweb.owlapi.model.OWLNegativeObjectPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
 import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
-import org.semanticweb.owlapi.model.parameters.Imports;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentType;
 import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Implementation library for SWRL ABox built-ins
@@ -34,27 +34,44 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 {
   private static final String SWRLABoxLibraryName = "SWRLABoxBuiltIns";
 
+  // Built lazily for each ontology and discarded when a run finishes, on reset or when the ontology's imports change
+  @NonNull private final ConcurrentMap<@NonNull OWLOntology, @NonNull ABoxAxiomIndex> axiomIndexes;
+
   public SWRLBuiltInLibraryImpl()
   {
     super(SWRLABoxLibraryName);
+
+    this.axiomIndexes = new ConcurrentHashMap<>();
   }
 
   @Override public void reset()
   {
+    disposeABoxAxiomIndexes();
+  }
+
+  // The indexes stop listening to their ontologies until they are next needed
+  @Override public void runFinished()
+  {
+    disposeABoxAxiomIndexes();
+  }
+
+  @Override public boolean isThreadSafe()
+  {
+    return true;
   }
 
   public boolean caa(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLClassAssertionAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.CLASS_ASSERTION, Imports.INCLUDED);
+    Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
+      SWRLBuiltInArgumentType.CLASS, SWRLBuiltInArgumentType.NAMED_INDIVIDUAL);
+    Collection<@NonNull OWLClassAssertionAxiom> axioms = getABoxAxiomIndex()
+      .getClassAssertionAxioms(inputArgumentValues);
 
     if (axioms.isEmpty())
       return false;
     else {
-      Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
-        SWRLBuiltInArgumentType.CLASS, SWRLBuiltInArgumentType.NAMED_INDIVIDUAL);
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
@@ -82,15 +99,14 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLSameIndividualAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.SAME_INDIVIDUAL, Imports.INCLUDED).stream().flatMap(a -> a.asPairwiseAxioms().stream())
-      .collect(Collectors.toSet());
+    Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
+      SWRLBuiltInArgumentType.NAMED_INDIVIDUAL, SWRLBuiltInArgumentType.NAMED_INDIVIDUAL);
+    Collection<@NonNull OWLSameIndividualAxiom> axioms = getABoxAxiomIndex()
+      .getPairwiseSameIndividualAxioms(inputArgumentValues);
 
     if (axioms.isEmpty())
       return false;
     else {
-      Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
-        SWRLBuiltInArgumentType.NAMED_INDIVIDUAL, SWRLBuiltInArgumentType.NAMED_INDIVIDUAL);
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
@@ -118,15 +134,14 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    Set<OWLDifferentIndividualsAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DIFFERENT_INDIVIDUALS, Imports.INCLUDED).stream().flatMap(a -> a.asPairwiseAxioms().stream())
-      .collect(Collectors.toSet());
+    Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
+      SWRLBuiltInArgumentType.NAMED_INDIVIDUAL, SWRLBuiltInArgumentType.NAMED_INDIVIDUAL);
+    Collection<@NonNull OWLDifferentIndividualsAxiom> axioms = getABoxAxiomIndex()
+      .getPairwiseDifferentIndividualsAxioms(inputArgumentValues);
 
     if (axioms.isEmpty())
       return false;
     else {
-      Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
-        SWRLBuiltInArgumentType.NAMED_INDIVIDUAL, SWRLBuiltInArgumentType.NAMED_INDIVIDUAL);
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
@@ -154,15 +169,15 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    Set<OWLObjectPropertyAssertionAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.OBJECT_PROPERTY_ASSERTION, Imports.INCLUDED);
+    Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
+      SWRLBuiltInArgumentType.NAMED_INDIVIDUAL, SWRLBuiltInArgumentType.OBJECT_PROPERTY_EXPRESSION,
+      SWRLBuiltInArgumentType.NAMED_INDIVIDUAL);
+    Collection<@NonNull OWLObjectPropertyAssertionAxiom> axioms = getABoxAxiomIndex()
+      .getObjectPropertyAssertionAxioms(inputArgumentValues);
 
     if (axioms.isEmpty())
       return false;
     else {
-      Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
-        SWRLBuiltInArgumentType.NAMED_INDIVIDUAL, SWRLBuiltInArgumentType.OBJECT_PROPERTY_EXPRESSION,
-        SWRLBuiltInArgumentType.NAMED_INDIVIDUAL);
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
@@ -195,15 +210,15 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    Set<OWLNegativeObjectPropertyAssertionAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.NEGATIVE_OBJECT_PROPERTY_ASSERTION, Imports.INCLUDED);
+    Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
+      SWRLBuiltInArgumentType.NAMED_INDIVIDUAL, SWRLBuiltInArgumentType.OBJECT_PROPERTY_EXPRESSION,
+      SWRLBuiltInArgumentType.NAMED_INDIVIDUAL);
+    Collection<@NonNull OWLNegativeObjectPropertyAssertionAxiom> axioms = getABoxAxiomIndex()
+      .getNegativeObjectPropertyAssertionAxioms(inputArgumentValues);
 
     if (axioms.isEmpty())
       return false;
     else {
-      Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
-        SWRLBuiltInArgumentType.NAMED_INDIVIDUAL, SWRLBuiltInArgumentType.OBJECT_PROPERTY_EXPRESSION,
-        SWRLBuiltInArgumentType.NAMED_INDIVIDUAL);
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
@@ -236,15 +251,15 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    Set<OWLDataPropertyAssertionAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.DATA_PROPERTY_ASSERTION, Imports.INCLUDED);
+    Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
+      SWRLBuiltInArgumentType.NAMED_INDIVIDUAL, SWRLBuiltInArgumentType.DATA_PROPERTY_EXPRESSION,
+      SWRLBuiltInArgumentType.LITERAL);
+    Collection<@NonNull OWLDataPropertyAssertionAxiom> axioms = getABoxAxiomIndex()
+      .getDataPropertyAssertionAxioms(inputArgumentValues);
 
     if (axioms.isEmpty())
       return false;
     else {
-      Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
-        SWRLBuiltInArgumentType.NAMED_INDIVIDUAL, SWRLBuiltInArgumentType.DATA_PROPERTY_EXPRESSION,
-        SWRLBuiltInArgumentType.LITERAL);
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
@@ -277,15 +292,15 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    Set<OWLNegativeDataPropertyAssertionAxiom> axioms = getBuiltInBridge().getOWLOntology()
-      .getAxioms(AxiomType.NEGATIVE_DATA_PROPERTY_ASSERTION, Imports.INCLUDED);
+    Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
+      SWRLBuiltInArgumentType.NAMED_INDIVIDUAL, SWRLBuiltInArgumentType.DATA_PROPERTY_EXPRESSION,
+      SWRLBuiltInArgumentType.LITERAL);
+    Collection<@NonNull OWLNegativeDataPropertyAssertionAxiom> axioms = getABoxAxiomIndex()
+      .getNegativeDataPropertyAssertionAxioms(inputArgumentValues);
 
     if (axioms.isEmpty())
       return false;
     else {
-      Map<@NonNull Integer, @NonNull OWLObject> inputArgumentValues = getInputArgumentValues(arguments,
-        SWRLBuiltInArgumentType.NAMED_INDIVIDUAL, SWRLBuiltInArgumentType.DATA_PROPERTY_EXPRESSION,
-        SWRLBuiltInArgumentType.LITERAL);
       Map<@NonNull Integer, @NonNull SWRLMultiValueVariableBuiltInArgument> outputMultiValueArguments = createOutputMultiValueArguments(
         arguments);
 
@@ -313,4 +328,27 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       return processOutputMultiValueArguments(arguments, outputMultiValueArguments);
     }
   }
+
+  @NonNull private ABoxAxiomIndex getABoxAxiomIndex()
+  {
+    OWLOntology ontology = getBuiltInBridge().getOWLOntology();
+    ABoxAxiomIndex index = this.axiomIndexes.get(ontology);
+
+    if (index != null && index.isValid())
+      return index;
+    else
+      return this.axiomIndexes.compute(ontology, (o, currentIndex) -> {
+        if (currentIndex != null && currentIndex.isValid())
+          return currentIndex;
+        if (currentIndex != null)
+          currentIndex.dispose();
+        return ABoxAxiomIndex.create(o);
+      });
+  }
+
+  private void disposeABoxAxiomIndexes()
+  {
+    this.axiomIndexes.values().forEach(ABoxAxiomIndex::dispose);
+    this.axiomIndexes.clear();
+  }
 }
@@ -1,6 +1,8 @@
 package org.swrlapi.builtins.arguments;
 
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.SWRLLiteralArgument;
+import org.swrlapi.literal.TypedLiteral;
 
 /**
  * Represents an OWL literal argument to a built-in atom.
@@ -9,4 +11,11 @@ import org.semanticweb.owlapi.model.SWRLLiteralArgument;
  */
 public interface SWRLLiteralBuiltInArgument extends SWRLBuiltInArgument, SWRLLiteralArgument
 {
+  /**
+   * @return The literal with its parsed value; implementations may cache it so repeated comparisons do not re-parse
+   */
+  @NonNull default TypedLiteral getTypedLiteral()
+  {
+    return new TypedLiteral(getLiteral());
+  }
 }
\ No newline at end of file
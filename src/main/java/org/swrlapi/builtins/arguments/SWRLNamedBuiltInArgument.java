@@ -20,4 +20,12 @@ public interface SWRLNamedBuiltInArgument extends SWRLBuiltInArgument, SWRLVaria
 {
   @NonNull @Override
   IRI getIRI();
+
+  /**
+   * @return The id of the entity in the symbol table of the ontology the argument was created for, or a negative value
+   * if the entity had no id there when the argument was created or the argument was not created by an ontology's
+   * built-in argument factory
+   * @see org.swrlapi.core.SWRLAPIOWLOntology#getOWLObjectDictionary()
+   */
+  int getEntityId();
 }
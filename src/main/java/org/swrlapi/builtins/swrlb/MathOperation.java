@@ -0,0 +1,249 @@
+package org.swrlapi.builtins.swrlb;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * The operations performed by the core SWRL math built-ins. Each built-in method passes its operation directly so no
+ * name matching is performed when a built-in is invoked.
+ * <p>
+ * Operations are defined on longs, decimals and doubles. The long forms throw an {@link ArithmeticException} when
+ * their result cannot be represented exactly as a long, in which case the decimal form should be used.
+ *
+ * @see SWRLBuiltInLibraryImpl
+ */
+enum MathOperation
+{
+  ADD("add", Arity.NARY),
+  SUBTRACT("subtract", Arity.BINARY),
+  MULTIPLY("multiply", Arity.NARY),
+  DIVIDE("divide", Arity.BINARY),
+  INTEGER_DIVIDE("integerDivide", Arity.BINARY),
+  MOD("mod", Arity.BINARY),
+  POW("pow", Arity.BINARY),
+  UNARY_PLUS("unaryPlus", Arity.UNARY),
+  UNARY_MINUS("unaryMinus", Arity.UNARY),
+  ABS("abs", Arity.UNARY),
+  CEILING("ceiling", Arity.UNARY),
+  FLOOR("floor", Arity.UNARY),
+  ROUND("round", Arity.UNARY),
+  ROUND_HALF_TO_EVEN("roundHalfToEven", Arity.UNARY),
+  SIN("sin", Arity.UNARY),
+  COS("cos", Arity.UNARY),
+  TAN("tan", Arity.UNARY);
+
+  // Larger exponents of decimals produce results too large to be useful
+  private static final int MAXIMUM_DECIMAL_EXPONENT = 9999;
+
+  private enum Arity
+  {
+    UNARY, BINARY, NARY
+  }
+
+  @NonNull private final String prefixedName;
+  @NonNull private final Arity arity;
+
+  MathOperation(@NonNull String name, @NonNull Arity arity)
+  {
+    this.prefixedName = "swrlb:" + name;
+    this.arity = arity;
+  }
+
+  @NonNull public String getPrefixedName()
+  {
+    return this.prefixedName;
+  }
+
+  public boolean isUnary()
+  {
+    return this.arity == Arity.UNARY;
+  }
+
+  public boolean isDivision()
+  {
+    return this == DIVIDE || this == INTEGER_DIVIDE || this == MOD;
+  }
+
+  public boolean isTrigonometric()
+  {
+    return this == SIN || this == COS || this == TAN;
+  }
+
+  public long apply(long x)
+  {
+    switch (this) {
+    case UNARY_PLUS:
+      return x;
+    case UNARY_MINUS:
+      return Math.negateExact(x);
+    case ABS:
+      if (x == Long.MIN_VALUE)
+        throw new ArithmeticException("long overflow");
+      return Math.abs(x);
+    case CEILING:
+    case FLOOR:
+    case ROUND:
+    case ROUND_HALF_TO_EVEN:
+      return x;
+    default:
+      throw new ArithmeticException(this.prefixedName + " does not have an exact long form");
+    }
+  }
+
+  public long apply(long x, long y)
+  {
+    switch (this) {
+    case ADD:
+      return Math.addExact(x, y);
+    case SUBTRACT:
+      return Math.subtractExact(x, y);
+    case MULTIPLY:
+      return Math.multiplyExact(x, y);
+    case DIVIDE:
+      if (y == 0 || x % y != 0 || (x == Long.MIN_VALUE && y == -1))
+        throw new ArithmeticException("inexact long division");
+      return x / y;
+    case INTEGER_DIVIDE:
+      if (x == Long.MIN_VALUE && y == -1)
+        throw new ArithmeticException("long overflow");
+      return x / y;
+    case MOD:
+      return x % y;
+    case POW:
+      return pow(x, y);
+    default:
+      throw new IllegalStateException(this.prefixedName + " is not a binary operation");
+    }
+  }
+
+  @NonNull public BigDecimal apply(@NonNull BigDecimal x)
+  {
+    switch (this) {
+    case UNARY_PLUS:
+      return x;
+    case UNARY_MINUS:
+      return x.negate();
+    case ABS:
+      return x.abs();
+    case CEILING:
+      return x.setScale(0, RoundingMode.CEILING);
+    case FLOOR:
+      return x.setScale(0, RoundingMode.FLOOR);
+    case ROUND: // Rounds as Math.rint
+    case ROUND_HALF_TO_EVEN:
+      return x.setScale(0, RoundingMode.HALF_EVEN);
+    default:
+      return toDecimal(apply(x.doubleValue()));
+    }
+  }
+
+  @NonNull public BigDecimal apply(@NonNull BigDecimal x, @NonNull BigDecimal y)
+  {
+    switch (this) {
+    case ADD:
+      return x.add(y);
+    case SUBTRACT:
+      return x.subtract(y);
+    case MULTIPLY:
+      return x.multiply(y);
+    case DIVIDE:
+      return x.divide(y, MathContext.DECIMAL128);
+    case INTEGER_DIVIDE:
+      return x.divideToIntegralValue(y);
+    case MOD:
+      return x.remainder(y);
+    case POW:
+      return pow(x, y);
+    default:
+      throw new IllegalStateException(this.prefixedName + " is not a binary operation");
+    }
+  }
+
+  public double apply(double x)
+  {
+    switch (this) {
+    case UNARY_PLUS:
+      return +x;
+    case UNARY_MINUS:
+      return -x;
+    case ABS:
+      return Math.abs(x);
+    case CEILING:
+      return Math.ceil(x);
+    case FLOOR:
+      return Math.floor(x);
+    case ROUND:
+    case ROUND_HALF_TO_EVEN:
+      return Math.rint(x);
+    case SIN:
+      return Math.sin(x);
+    case COS:
+      return Math.cos(x);
+    case TAN:
+      return Math.tan(x);
+    default:
+      throw new IllegalStateException(this.prefixedName + " is not a unary operation");
+    }
+  }
+
+  public double apply(double x, double y)
+  {
+    switch (this) {
+    case ADD:
+      return x + y;
+    case SUBTRACT:
+      return x - y;
+    case MULTIPLY:
+      return x * y;
+    case DIVIDE:
+      return x / y;
+    case INTEGER_DIVIDE: // Truncates towards zero
+      double quotient = x / y;
+      return quotient < 0 ? Math.ceil(quotient) : Math.floor(quotient);
+    case MOD:
+      return x % y;
+    case POW:
+      return Math.pow(x, y);
+    default:
+      throw new IllegalStateException(this.prefixedName + " is not a binary operation");
+    }
+  }
+
+  private static long pow(long base, long exponent)
+  {
+    if (exponent < 0)
+      throw new ArithmeticException("negative exponent");
+
+    long result = 1;
+    while (exponent > 0) { // Exponentiation by squaring
+      if ((exponent & 1) != 0)
+        result = Math.multiplyExact(result, base);
+      exponent >>= 1;
+      if (exponent > 0)
+        base = Math.multiplyExact(base, base);
+    }
+    return result;
+  }
+
+  @NonNull private static BigDecimal pow(@NonNull BigDecimal base, @NonNull BigDecimal exponent)
+  {
+    if (exponent.signum() == 0 || exponent.stripTrailingZeros().scale() <= 0) { // Integral exponent
+      if (exponent.abs().compareTo(BigDecimal.valueOf(MAXIMUM_DECIMAL_EXPONENT)) > 0)
+        throw new ArithmeticException("exponent " + exponent + " is too large");
+      int n = exponent.intValueExact();
+      return n >= 0 ? base.pow(n) : base.pow(n, MathContext.DECIMAL128);
+    } else
+      return toDecimal(Math.pow(base.doubleValue(), exponent.doubleValue()));
+  }
+
+  @NonNull private static BigDecimal toDecimal(double value)
+  {
+    if (Double.isNaN(value) || Double.isInfinite(value))
+      throw new ArithmeticException("result " + value + " is not a decimal");
+
+    return BigDecimal.valueOf(value);
+  }
+}
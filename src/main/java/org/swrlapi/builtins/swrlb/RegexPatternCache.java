@@ -0,0 +1,145 @@
+package org.swrlapi.builtins.swrlb;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A bounded cache of compiled regular expressions keyed by expression text and flags. The least recently used pattern
+ * is discarded when the cache is full. Compiled patterns are immutable so the cache may be shared between threads.
+ * <p>
+ * Hit and miss counts are recorded to help choose a maximum size.
+ *
+ * @see java.util.regex.Pattern
+ */
+public class RegexPatternCache
+{
+  public static final int DEFAULT_MAXIMUM_SIZE = 512;
+
+  private final int maximumSize;
+  @NonNull private final Map<@NonNull PatternKey, @NonNull Pattern> patterns;
+  @NonNull private final AtomicLong hits = new AtomicLong();
+  @NonNull private final AtomicLong misses = new AtomicLong();
+
+  public RegexPatternCache()
+  {
+    this(DEFAULT_MAXIMUM_SIZE);
+  }
+
+  public RegexPatternCache(int maximumSize)
+  {
+    if (maximumSize < 1)
+      throw new IllegalArgumentException("maximum size of pattern cache must be at least 1; got " + maximumSize);
+
+    this.maximumSize = maximumSize;
+    this.patterns = new LinkedHashMap<@NonNull PatternKey, @NonNull Pattern>(16, 0.75f, true)
+    {
+      @Override protected boolean removeEldestEntry(Map.Entry<@NonNull PatternKey, @NonNull Pattern> eldest)
+      {
+        return size() > maximumSize;
+      }
+    };
+  }
+
+  /**
+   * @param regex A regular expression
+   * @return The compiled expression
+   * @throws PatternSyntaxException If the expression is not valid
+   */
+  @NonNull public Pattern getPattern(@NonNull String regex)
+  {
+    return getPattern(regex, 0);
+  }
+
+  /**
+   * @param regex A regular expression
+   * @param flags Match flags, as accepted by {@link Pattern#compile(String, int)}
+   * @return The compiled expression
+   * @throws PatternSyntaxException If the expression is not valid
+   */
+  @NonNull public Pattern getPattern(@NonNull String regex, int flags)
+  {
+    PatternKey key = new PatternKey(regex, flags);
+    Pattern pattern;
+
+    synchronized (this.patterns) {
+      pattern = this.patterns.get(key);
+    }
+
+    if (pattern != null) {
+      this.hits.incrementAndGet();
+      return pattern;
+    } else { // Compile outside the lock; concurrent misses on the same expression compile equivalent patterns
+      this.misses.incrementAndGet();
+      pattern = Pattern.compile(regex, flags);
+      synchronized (this.patterns) {
+        this.patterns.put(key, pattern);
+      }
+      return pattern;
+    }
+  }
+
+  public int getMaximumSize()
+  {
+    return this.maximumSize;
+  }
+
+  public int size()
+  {
+    synchronized (this.patterns) {
+      return this.patterns.size();
+    }
+  }
+
+  public long getHits()
+  {
+    return this.hits.get();
+  }
+
+  public long getMisses()
+  {
+    return this.misses.get();
+  }
+
+  public void clear()
+  {
+    synchronized (this.patterns) {
+      this.patterns.clear();
+    }
+    this.hits.set(0);
+    this.misses.set(0);
+  }
+
+  private static final class PatternKey
+  {
+    @NonNull private final String regex;
+    private final int flags;
+
+    public PatternKey(@NonNull String regex, int flags)
+    {
+      this.regex = regex;
+      this.flags = flags;
+    }
+
+    @Override public boolean equals(@Nullable Object obj)
+    {
+      if (this == obj)
+        return true;
+      if (obj == null || getClass() != obj.getClass())
+        return false;
+      PatternKey other = (PatternKey)obj;
+      return this.flags == other.flags && this.regex.equals(other.regex);
+    }
+
+    @Override public int hashCode()
+    {
+      return Objects.hash(this.regex, this.flags);
+    }
+  }
+}
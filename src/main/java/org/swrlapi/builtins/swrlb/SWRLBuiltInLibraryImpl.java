@@ -4,23 +4,26 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.vocab.XSDVocabulary;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
 import org.swrlapi.exceptions.InvalidSWRLBuiltInArgumentException;
-import org.swrlapi.exceptions.InvalidSWRLBuiltInNameException;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.SWRLBuiltInNotImplementedException;
 import org.swrlapi.literal.OWLLiteralComparator;
+import org.swrlapi.literal.TypedLiteral;
 import org.swrlapi.literal.XSDDate;
 import org.swrlapi.literal.XSDDateTime;
 import org.swrlapi.literal.XSDDuration;
 import org.swrlapi.literal.XSDTime;
 import org.swrlapi.literal.XSDTimeUtil;
 
-import java.util.Calendar;
-import java.util.GregorianCalendar;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.DateTimeException;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.StringTokenizer;
 import java.util.TimeZone;
@@ -37,25 +40,10 @@ import java.util.regex.PatternSyntaxException;
 public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 {
   private static final String SWRLBLibraryName = "SWRLCoreBuiltIns";
-  private static final String SWRLBPrefix = "swrlb:";
-
-  private static final String SWRLB_ADD = SWRLBPrefix + "add";
-  private static final String SWRLB_SUBTRACT = SWRLBPrefix + "subtract";
-  private static final String SWRLB_MULTIPLY = SWRLBPrefix + "multiply";
-  private static final String SWRLB_DIVIDE = SWRLBPrefix + "divide";
-  private static final String SWRLB_INTEGER_DIVIDE = SWRLBPrefix + "integerDivide";
-  private static final String SWRLB_MOD = SWRLBPrefix + "mod";
-  private static final String SWRLB_POW = SWRLBPrefix + "pow";
-  private static final String SWRLB_UNARY_PLUS = SWRLBPrefix + "unaryPlus";
-  private static final String SWRLB_UNARY_MINUS = SWRLBPrefix + "unaryMinus";
-  private static final String SWRLB_ABS = SWRLBPrefix + "abs";
-  private static final String SWRLB_CEILING = SWRLBPrefix + "ceiling";
-  private static final String SWRLB_FLOOR = SWRLBPrefix + "floor";
-  private static final String SWRLB_ROUND = SWRLBPrefix + "round";
-  private static final String SWRLB_ROUND_HALF_TO_EVEN = SWRLBPrefix + "roundHalfToEven";
-  private static final String SWRLB_SIN = SWRLBPrefix + "sin";
-  private static final String SWRLB_COS = SWRLBPrefix + "cos";
-  private static final String SWRLB_TAN = SWRLBPrefix + "tan";
+
+  @NonNull private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+  @NonNull private final RegexPatternCache regexPatternCache = new RegexPatternCache();
 
   public SWRLBuiltInLibraryImpl()
   {
@@ -66,6 +54,21 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
   }
 
+  @Override public boolean isThreadSafe()
+  {
+    return true;
+  }
+
+  /**
+   * Compiled patterns do not depend on an ontology so the cache is retained when the library is reset.
+   *
+   * @return The cache of regular expressions used by the string matching built-ins
+   */
+  @NonNull public RegexPatternCache getRegexPatternCache()
+  {
+    return this.regexPatternCache;
+  }
+
   // Built-ins for comparison, defined in Section 8.1. of http://www.daml.org/2004/04/swrl/builtins.html.
 
   /**
@@ -231,7 +234,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsAtLeast(2, arguments.size());
 
-    return mathOperation(SWRLB_ADD, arguments);
+    return mathOperation(MathOperation.ADD, arguments);
   }
 
   /**
@@ -243,7 +246,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    return mathOperation(SWRLB_SUBTRACT, arguments);
+    return mathOperation(MathOperation.SUBTRACT, arguments);
   }
 
   /**
@@ -255,7 +258,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsAtLeast(2, arguments.size());
 
-    return mathOperation(SWRLB_MULTIPLY, arguments);
+    return mathOperation(MathOperation.MULTIPLY, arguments);
   }
 
   /**
@@ -267,7 +270,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    return mathOperation(SWRLB_DIVIDE, arguments);
+    return mathOperation(MathOperation.DIVIDE, arguments);
   }
 
   /**
@@ -279,7 +282,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    return mathOperation(SWRLB_INTEGER_DIVIDE, arguments);
+    return mathOperation(MathOperation.INTEGER_DIVIDE, arguments);
   }
 
   /**
@@ -291,7 +294,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    return mathOperation(SWRLB_MOD, arguments);
+    return mathOperation(MathOperation.MOD, arguments);
   }
 
   /**
@@ -303,7 +306,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(3, arguments.size());
 
-    return mathOperation(SWRLB_POW, arguments);
+    return mathOperation(MathOperation.POW, arguments);
   }
 
   /**
@@ -315,7 +318,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    return mathOperation(SWRLB_UNARY_PLUS, arguments);
+    return mathOperation(MathOperation.UNARY_PLUS, arguments);
   }
 
   /**
@@ -327,7 +330,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    return mathOperation(SWRLB_UNARY_MINUS, arguments);
+    return mathOperation(MathOperation.UNARY_MINUS, arguments);
   }
 
   /**
@@ -339,7 +342,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    return mathOperation(SWRLB_ABS, arguments);
+    return mathOperation(MathOperation.ABS, arguments);
   }
 
   /**
@@ -351,7 +354,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    return mathOperation(SWRLB_CEILING, arguments);
+    return mathOperation(MathOperation.CEILING, arguments);
   }
 
   /**
@@ -363,7 +366,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    return mathOperation(SWRLB_FLOOR, arguments);
+    return mathOperation(MathOperation.FLOOR, arguments);
   }
 
   /**
@@ -375,7 +378,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    return mathOperation(SWRLB_ROUND, arguments);
+    return mathOperation(MathOperation.ROUND, arguments);
   }
 
   /**
@@ -387,7 +390,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    return mathOperation(SWRLB_ROUND_HALF_TO_EVEN, arguments);
+    return mathOperation(MathOperation.ROUND_HALF_TO_EVEN, arguments);
   }
 
   /**
@@ -399,7 +402,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    return mathOperation(SWRLB_SIN, arguments);
+    return mathOperation(MathOperation.SIN, arguments);
   }
 
   /**
@@ -411,7 +414,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    return mathOperation(SWRLB_COS, arguments);
+    return mathOperation(MathOperation.COS, arguments);
   }
 
   /**
@@ -423,7 +426,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   {
     checkNumberOfArgumentsEqualTo(2, arguments.size());
 
-    return mathOperation(SWRLB_TAN, arguments);
+    return mathOperation(MathOperation.TAN, arguments);
   }
 
   // Built-ins for Booleans. cf. Section 8.3 of http://www.daml.org/2004/04/swrl/builtins.html
@@ -699,7 +702,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     String argument2 = getArgumentAsAString(1, arguments);
 
     try {
-      return Pattern.matches(argument2, argument1);
+      return this.regexPatternCache.getPattern(argument2).matcher(argument1).matches();
     } catch (PatternSyntaxException e) {
       throw new InvalidSWRLBuiltInArgumentException(1,
         "invalid regular expression '" + argument2 + "': " + e.getMessage(), e);
@@ -719,7 +722,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     String regex = getArgumentAsAString(2, arguments);
     String replacement = getArgumentAsAString(3, arguments);
 
-    Pattern p = Pattern.compile(regex);
+    Pattern p = this.regexPatternCache.getPattern(regex);
     Matcher m = p.matcher(input);
     String operationResult = m.replaceAll(replacement);
 
@@ -737,8 +740,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 
     String input = getArgumentAsAString(1, arguments);
 
-    Pattern p = Pattern.compile("\\s+");
-    Matcher m = p.matcher(input);
+    Matcher m = WHITESPACE_PATTERN.matcher(input);
     String operationResult = m.replaceAll(" ").trim();
 
     return processResultArgument(arguments, 0, operationResult);
@@ -832,17 +834,15 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     int minutes = getArgumentAsAnInt(5, arguments);
     int seconds = getArgumentAsAnInt(6, arguments);
     String timeZone = getArgumentAsAString(7, arguments);
-    Calendar calendar = new GregorianCalendar();
-
-    calendar.set(year, month, days, hours, minutes, seconds);
-    calendar.setTimeZone(TimeZone.getTimeZone(timeZone));
-
     String operationResult =
-      "" + calendar.get(Calendar.YEAR) + "-" + calendar.get(Calendar.MONTH) + "-" + calendar.get(Calendar.DAY_OF_MONTH)
-        + "T" + calendar.get(Calendar.HOUR) + ":" + calendar.get(Calendar.MINUTE) + ":" + calendar.get(Calendar.SECOND)
-        + calendar.getTimeZone().getID();
+      String.format("%04d-%02d-%02dT%02d:%02d:%02d", year, month, days, hours, minutes, seconds) + timeZone2XSDTimeZone(
+        timeZone);
 
-    return processResultArgument(arguments, 0, dateTimeString2XSDDateTime(operationResult));
+    try {
+      return processResultArgument(arguments, 0, dateTimeString2XSDDateTime(operationResult));
+    } catch (IllegalArgumentException e) {
+      throw new InvalidSWRLBuiltInArgumentException("invalid xsd:dateTime " + operationResult);
+    }
   }
 
   /**
@@ -858,16 +858,13 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     int month = getArgumentAsAnInt(2, arguments);
     int days = getArgumentAsAnInt(3, arguments);
     String timeZone = getArgumentAsAString(4, arguments);
-    Calendar calendar = new GregorianCalendar();
-
-    calendar.set(year, month, days);
-    calendar.setTimeZone(TimeZone.getTimeZone(timeZone));
-
-    String operationResult =
-      "" + calendar.get(Calendar.YEAR) + "-" + calendar.get(Calendar.MONTH) + "-" + calendar.get(Calendar.DAY_OF_MONTH)
-        + calendar.getTimeZone().getID();
+    String operationResult = String.format("%04d-%02d-%02d", year, month, days) + timeZone2XSDTimeZone(timeZone);
 
-    return processResultArgument(arguments, 0, dateString2XSDDate(operationResult));
+    try {
+      return processResultArgument(arguments, 0, dateString2XSDDate(operationResult));
+    } catch (IllegalArgumentException e) {
+      throw new InvalidSWRLBuiltInArgumentException("invalid xsd:date " + operationResult);
+    }
   }
 
   /**
@@ -883,9 +880,13 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     int minutes = getArgumentAsAnInt(2, arguments);
     int seconds = getArgumentAsAnInt(3, arguments);
     String timeZone = getArgumentAsAString(4, arguments);
-    String operationResult = "" + hours + ":" + minutes + ":" + seconds + timeZone;
+    String operationResult = String.format("%02d:%02d:%02d", hours, minutes, seconds) + timeZone2XSDTimeZone(timeZone);
 
-    return processResultArgument(arguments, 0, timeString2XSDTime(operationResult));
+    try {
+      return processResultArgument(arguments, 0, timeString2XSDTime(operationResult));
+    } catch (IllegalArgumentException e) {
+      throw new InvalidSWRLBuiltInArgumentException("invalid xsd:time " + operationResult);
+    }
   }
 
   /**
@@ -1386,86 +1387,47 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 
     checkThatAllArgumentsAreNumeric(arguments);
 
-    OWLLiteral literal1 = getArgumentAsAnOWLLiteral(argument1Index, arguments);
-    OWLLiteral literal2 = getArgumentAsAnOWLLiteral(argument2Index, arguments);
+    // Numeric arguments are literals; their typed literals are cached so constant arguments are parsed once
+    TypedLiteral literal1 = ((SWRLLiteralBuiltInArgument)arguments.get(argument1Index)).getTypedLiteral();
+    TypedLiteral literal2 = ((SWRLLiteralBuiltInArgument)arguments.get(argument2Index)).getTypedLiteral();
 
-    return OWLLiteralComparator.COMPARATOR.compare(literal1, literal2);
+    return OWLLiteralComparator.compare(literal1, literal2);
   }
 
-  private boolean mathOperation(@NonNull String builtInName, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
-    throws SWRLBuiltInException
+  private boolean mathOperation(@NonNull MathOperation operation,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
-    double argument1 = 0.0, argument2, argument3, operationResult;
-    boolean hasUnbound1stArgument = false;
-
     checkForUnboundNonFirstArguments(arguments); // Only supports binding of first argument
 
-    if (isUnboundArgument(0, arguments))
-      hasUnbound1stArgument = true;
-
     // Argument number checking will have been performed by invoking method.
-    if (!hasUnbound1stArgument)
-      argument1 = getArgumentAsADouble(0, arguments);
-    argument2 = getArgumentAsADouble(1, arguments);
-
-    if (builtInName.equalsIgnoreCase(SWRLB_ADD)) {
-      operationResult = 0.0;
-      for (int argumentNumber = 1; argumentNumber < arguments.size(); argumentNumber++) {
-        operationResult += getArgumentAsADouble(argumentNumber, arguments);
-      }
-    } else if (builtInName.equalsIgnoreCase(SWRLB_MULTIPLY)) {
-      operationResult = 1.0;
-      for (int argumentNumber = 1; argumentNumber < arguments.size(); argumentNumber++) {
-        operationResult *= getArgumentAsADouble(argumentNumber, arguments);
-      }
-    } else if (builtInName.equalsIgnoreCase(SWRLB_SUBTRACT)) {
-      argument3 = getArgumentAsADouble(2, arguments);
-      operationResult = argument2 - argument3;
-    } else if (builtInName.equalsIgnoreCase(SWRLB_DIVIDE)) {
-      argument3 = getArgumentAsADouble(2, arguments);
-      operationResult = (argument2 / argument3);
-    } else if (builtInName.equalsIgnoreCase(SWRLB_INTEGER_DIVIDE)) {
-      argument3 = getArgumentAsADouble(2, arguments);
-      if (argument3 == 0)
-        throw new InvalidSWRLBuiltInArgumentException(2, "zero passed as divisor");
-      if (argument3 >= 0)
-        operationResult = argument2 + argument3 + 1 / argument3;
-      else
-        operationResult = argument2 / argument3;
-    } else if (builtInName.equalsIgnoreCase(SWRLB_MOD)) {
-      argument3 = getArgumentAsADouble(2, arguments);
-      operationResult = argument2 % argument3;
-    } else if (builtInName.equalsIgnoreCase(SWRLB_POW)) {
-      argument3 = getArgumentAsADouble(2, arguments);
-      operationResult = java.lang.Math.pow(argument2, argument3);
-    } else if (builtInName.equalsIgnoreCase(SWRLB_UNARY_PLUS))
-      operationResult = +argument2; // TODO Not correct since already a double so xsd:int conversion logic missed
-    else if (builtInName.equalsIgnoreCase(SWRLB_UNARY_MINUS))
-      operationResult = -argument2; // TODO Not correct since already a double so xsd:int conversion logic missed
-    else if (builtInName.equalsIgnoreCase(SWRLB_ABS))
-      operationResult = java.lang.Math.abs(argument2);
-    else if (builtInName.equalsIgnoreCase(SWRLB_CEILING))
-      operationResult = java.lang.Math.ceil(argument2);
-    else if (builtInName.equalsIgnoreCase(SWRLB_FLOOR))
-      operationResult = java.lang.Math.floor(argument2);
-    else if (builtInName.equalsIgnoreCase(SWRLB_ROUND))
-      operationResult = java.lang.Math.rint(argument2);
-    else if (builtInName.equalsIgnoreCase(SWRLB_ROUND_HALF_TO_EVEN))
-      operationResult = java.lang.Math.rint(argument2);
-    else if (builtInName.equalsIgnoreCase(SWRLB_SIN))
-      operationResult = java.lang.Math.sin(argument2);
-    else if (builtInName.equalsIgnoreCase(SWRLB_COS))
-      operationResult = java.lang.Math.cos(argument2);
-    else if (builtInName.equalsIgnoreCase(SWRLB_TAN))
-      operationResult = java.lang.Math.tan(argument2);
+    if (operation.isTrigonometric() || isAnyInputArgumentFloatingPoint(arguments))
+      return floatingPointMathOperation(operation, arguments);
     else
-      throw new InvalidSWRLBuiltInNameException(builtInName);
+      return exactMathOperation(operation, arguments);
+  }
+
+  private boolean floatingPointMathOperation(@NonNull MathOperation operation,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    boolean hasUnbound1stArgument = isUnboundArgument(0, arguments);
+    double argument1 = hasUnbound1stArgument ? 0.0 : getArgumentAsADouble(0, arguments);
+    double operationResult = getArgumentAsADouble(1, arguments);
+
+    if (operation.isUnary())
+      operationResult = operation.apply(operationResult);
+    else {
+      for (int argumentNumber = 2; argumentNumber < arguments.size(); argumentNumber++) {
+        double argument = getArgumentAsADouble(argumentNumber, arguments);
+        if (operation == MathOperation.INTEGER_DIVIDE && argument == 0)
+          throw new InvalidSWRLBuiltInArgumentException(argumentNumber, "zero passed as divisor");
+        operationResult = operation.apply(operationResult, argument);
+      }
+    }
 
     if (hasUnbound1stArgument) { // Bind the result to the first argument.
       List<@NonNull SWRLBuiltInArgument> boundInputArguments = arguments.subList(1, arguments.size());
 
-      if (builtInName.equalsIgnoreCase(SWRLB_SIN) || builtInName.equalsIgnoreCase(SWRLB_COS) || builtInName
-        .equalsIgnoreCase(SWRLB_TAN)) // Use xsd:double for the trigonometric arguments
+      if (operation.isTrigonometric()) // Use xsd:double for the trigonometric arguments
         arguments.get(0).asVariable().setBuiltInResult(createLiteralBuiltInArgument(operationResult));
       else {
         SWRLBuiltInArgument resultArgument = createLeastNarrowNumericLiteralBuiltInArgument(operationResult,
@@ -1477,6 +1439,172 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       return (argument1 == operationResult);
   }
 
+  // Integer operations are performed on longs, falling back to decimals on overflow or an inexact result
+  private boolean exactMathOperation(@NonNull MathOperation operation,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    ExactNumericType resultType = ExactNumericType.BYTE;
+
+    for (int argumentNumber = 1; argumentNumber < arguments.size(); argumentNumber++) {
+      ExactNumericType argumentType = getExactNumericArgumentType(argumentNumber, arguments);
+      if (argumentType.compareTo(resultType) > 0)
+        resultType = argumentType;
+    }
+
+    if (resultType.isLong()) {
+      try {
+        long operationResult = getArgumentAsALong(1, arguments);
+
+        if (operation.isUnary())
+          operationResult = operation.apply(operationResult);
+        else {
+          for (int argumentNumber = 2; argumentNumber < arguments.size(); argumentNumber++) {
+            long argument = getArgumentAsALong(argumentNumber, arguments);
+            if (operation.isDivision() && argument == 0)
+              throw new InvalidSWRLBuiltInArgumentException(argumentNumber, "zero passed as divisor");
+            operationResult = operation.apply(operationResult, argument);
+          }
+        }
+
+        if (isUnboundArgument(0, arguments)) {
+          arguments.get(0).asVariable()
+            .setBuiltInResult(createExactNumericLiteralBuiltInArgument(operationResult, resultType));
+          return true;
+        } else
+          return compareExactNumericResult(operationResult, arguments);
+      } catch (ArithmeticException e) { // Overflow or inexact result so use decimals
+      }
+    }
+
+    try {
+      BigDecimal operationResult = getArgumentAsADecimal(1, arguments);
+
+      if (operation.isUnary())
+        operationResult = operation.apply(operationResult);
+      else {
+        for (int argumentNumber = 2; argumentNumber < arguments.size(); argumentNumber++) {
+          BigDecimal argument = getArgumentAsADecimal(argumentNumber, arguments);
+          if (operation.isDivision() && argument.signum() == 0)
+            throw new InvalidSWRLBuiltInArgumentException(argumentNumber, "zero passed as divisor");
+          operationResult = operation.apply(operationResult, argument);
+        }
+      }
+
+      if (isUnboundArgument(0, arguments)) {
+        arguments.get(0).asVariable()
+          .setBuiltInResult(createExactNumericLiteralBuiltInArgument(operationResult, resultType));
+        return true;
+      } else
+        return compareExactNumericResult(operationResult, arguments);
+    } catch (ArithmeticException e) {
+      throw new SWRLBuiltInException(
+        "exception performing " + operation.getPrefixedName() + ": " + (e.getMessage() != null ? e.getMessage() : ""),
+        e);
+    }
+  }
+
+  private boolean compareExactNumericResult(long operationResult,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    if (isArgumentConvertibleToLong(0, arguments))
+      return getArgumentAsALong(0, arguments) == operationResult;
+    else
+      return compareExactNumericResult(BigDecimal.valueOf(operationResult), arguments);
+  }
+
+  private boolean compareExactNumericResult(@NonNull BigDecimal operationResult,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    checkThatArgumentIsNumeric(0, arguments);
+
+    OWLLiteral literal = getArgumentAsAnOWLLiteral(0, arguments);
+
+    if (literal.getDatatype().isFloat() || literal.getDatatype().isDouble())
+      return getArgumentAsADouble(0, arguments) == operationResult.doubleValue();
+    else
+      return getArgumentAsADecimal(0, arguments).compareTo(operationResult) == 0;
+  }
+
+  private boolean isAnyInputArgumentFloatingPoint(@NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+    throws SWRLBuiltInException
+  {
+    for (int argumentNumber = 1; argumentNumber < arguments.size(); argumentNumber++) {
+      OWLLiteral literal = getArgumentAsAnOWLLiteral(argumentNumber, arguments);
+      if (literal.getDatatype().isFloat() || literal.getDatatype().isDouble())
+        return true;
+    }
+    return false;
+  }
+
+  @NonNull private ExactNumericType getExactNumericArgumentType(int argumentNumber,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    OWLLiteral literal = getArgumentAsAnOWLLiteral(argumentNumber, arguments);
+
+    if (!OWLLiteralComparator.isNumeric(literal))
+      checkThatArgumentIsNumeric(argumentNumber, arguments); // Throws
+
+    IRI datatypeIRI = literal.getDatatype().getIRI();
+
+    if (datatypeIRI.equals(XSDVocabulary.BYTE.getIRI()))
+      return ExactNumericType.BYTE;
+    else if (datatypeIRI.equals(XSDVocabulary.SHORT.getIRI()))
+      return ExactNumericType.SHORT;
+    else if (datatypeIRI.equals(XSDVocabulary.INT.getIRI()))
+      return ExactNumericType.INT;
+    else if (datatypeIRI.equals(XSDVocabulary.LONG.getIRI()))
+      return ExactNumericType.LONG;
+    else if (datatypeIRI.equals(XSDVocabulary.DECIMAL.getIRI()))
+      return ExactNumericType.DECIMAL;
+    else
+      return ExactNumericType.INTEGER; // xsd:integer and its other derived types
+  }
+
+  // Use the widest input type unless the result does not fit in it
+  @NonNull private SWRLBuiltInArgument createExactNumericLiteralBuiltInArgument(long value,
+    @NonNull ExactNumericType type)
+  {
+    if (type == ExactNumericType.BYTE && value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE)
+      return createLiteralBuiltInArgument((byte)value);
+    else if (type.compareTo(ExactNumericType.SHORT) <= 0 && value >= Short.MIN_VALUE && value <= Short.MAX_VALUE)
+      return createLiteralBuiltInArgument((short)value);
+    else if (type.compareTo(ExactNumericType.INT) <= 0 && value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE)
+      return createLiteralBuiltInArgument((int)value);
+    else if (type.compareTo(ExactNumericType.LONG) <= 0)
+      return createLiteralBuiltInArgument(value);
+    else if (type == ExactNumericType.INTEGER)
+      return createLiteralBuiltInArgument(BigInteger.valueOf(value));
+    else
+      return createLiteralBuiltInArgument(BigDecimal.valueOf(value));
+  }
+
+  // Integer results are truncated, as are floating point results narrowed to an integer type
+  @NonNull private SWRLBuiltInArgument createExactNumericLiteralBuiltInArgument(@NonNull BigDecimal value,
+    @NonNull ExactNumericType type)
+  {
+    if (type == ExactNumericType.DECIMAL)
+      return createLiteralBuiltInArgument(value);
+    else {
+      BigInteger integerValue = value.toBigInteger();
+
+      if (type.isLong() && integerValue.bitLength() < Long.SIZE)
+        return createExactNumericLiteralBuiltInArgument(integerValue.longValue(), type);
+      else
+        return createLiteralBuiltInArgument(integerValue);
+    }
+  }
+
+  // Exact numeric types in order of increasing width
+  private enum ExactNumericType
+  {
+    BYTE, SHORT, INT, LONG, INTEGER, DECIMAL;
+
+    public boolean isLong()
+    {
+      return compareTo(LONG) <= 0;
+    }
+  }
+
   private org.apache.axis.types.Duration getArgumentAsAnAxisDuration(int argumentNumber,
     @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
   {
@@ -1563,6 +1691,19 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     return new XSDTime(time);
   }
 
+  // An XSD time zone designator for a time zone offset (e.g., Z or +01:00) or ID (e.g., GMT); empty for no time zone
+  @NonNull private String timeZone2XSDTimeZone(@NonNull String timeZone)
+  {
+    if (timeZone.isEmpty())
+      return "";
+
+    try {
+      return ZoneOffset.of(timeZone).getId();
+    } catch (DateTimeException e) {
+      return ZoneOffset.ofTotalSeconds(TimeZone.getTimeZone(timeZone).getRawOffset() / 1000).getId();
+    }
+  }
+
   @Nullable private String substringAfter(@Nullable String str, @Nullable String separator)
   {
     if (str == null || str.length() == 0) {
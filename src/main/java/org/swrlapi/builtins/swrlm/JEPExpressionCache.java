@@ -0,0 +1,116 @@
+package org.swrlapi.builtins.swrlm;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.nfunk.jep.JEP;
+import org.nfunk.jep.Node;
+import org.nfunk.jep.ParseException;
+import org.nfunk.jep.type.Complex;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Evaluates mathematical expressions using JEP. The parsed form of an expression is cached so that an expression is
+ * parsed once and re-evaluated with new variable values on subsequent evaluations. The cache holds a bounded number of
+ * expressions; the least recently used expression is discarded when it is full.
+ * <p>
+ * Parsed expressions refer to the variables of the JEP instance that parsed them so evaluations are serialized.
+ *
+ * @see SWRLBuiltInLibraryImpl#eval(java.util.List)
+ */
+class JEPExpressionCache
+{
+  public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+  @NonNull private final JEP jep;
+  @NonNull private final Map<@NonNull String, @NonNull Node> parsedExpressions;
+
+  private long hits = 0;
+  private long misses = 0;
+
+  public JEPExpressionCache()
+  {
+    this(DEFAULT_MAXIMUM_SIZE);
+  }
+
+  // See. http://www.singularsys.com/jep/doc/javadoc/org/nfunk/jep/JEP.html for JEP API
+  public JEPExpressionCache(int maximumSize)
+  {
+    if (maximumSize < 1)
+      throw new IllegalArgumentException("maximum size of expression cache must be at least 1; got " + maximumSize);
+
+    this.jep = new JEP();
+    this.jep.addStandardFunctions();
+    this.jep.addStandardConstants();
+    this.jep.setImplicitMul(true);
+
+    this.parsedExpressions = new LinkedHashMap<@NonNull String, @NonNull Node>(16, 0.75f, true)
+    {
+      @Override protected boolean removeEldestEntry(Map.Entry<@NonNull String, @NonNull Node> eldest)
+      {
+        return size() > maximumSize;
+      }
+    };
+  }
+
+  /**
+   * @param expression     A JEP expression
+   * @param variableValues The values of the variables used by the expression
+   * @return The value of the expression; NaN if the expression does not have a real value
+   * @throws SWRLBuiltInException If the expression cannot be parsed or evaluated
+   */
+  public synchronized double evaluate(@NonNull String expression, @NonNull Map<@NonNull String, Double> variableValues)
+    throws SWRLBuiltInException
+  {
+    // Variables must be defined before an expression that uses them is parsed
+    for (Map.Entry<@NonNull String, Double> variableValue : variableValues.entrySet())
+      this.jep.addVariable(variableValue.getKey(), variableValue.getValue());
+
+    Node node = this.parsedExpressions.get(expression);
+
+    try {
+      if (node == null) {
+        this.misses++;
+        node = this.jep.parse(expression);
+        this.parsedExpressions.put(expression, node);
+      } else
+        this.hits++;
+    } catch (ParseException | RuntimeException e) {
+      throw new SWRLBuiltInException("exception parsing expression '" + expression + "': " + e.getMessage(), e);
+    }
+
+    try {
+      return toDouble(this.jep.evaluate(node));
+    } catch (ParseException | RuntimeException e) {
+      throw new SWRLBuiltInException("exception evaluating expression '" + expression + "': " + e.getMessage(), e);
+    }
+  }
+
+  public synchronized int size()
+  {
+    return this.parsedExpressions.size();
+  }
+
+  public synchronized long getHits()
+  {
+    return this.hits;
+  }
+
+  public synchronized long getMisses()
+  {
+    return this.misses;
+  }
+
+  // Follows JEP.getValue()
+  private static double toDouble(@Nullable Object value)
+  {
+    if (value instanceof Complex)
+      return ((Complex)value).im() != 0.0 ? Double.NaN : ((Complex)value).re();
+    else if (value instanceof Number)
+      return ((Number)value).doubleValue();
+    else
+      return Double.NaN;
+  }
+}
@@ -2,13 +2,14 @@ package org.swrlapi.builtins.swrlm;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
-import org.nfunk.jep.JEP;
 import org.semanticweb.owlapi.vocab.XSDVocabulary;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -18,7 +19,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 {
   private static final String SWRLMLibraryName = "SWRLAPIMathematicalBuiltIns";
 
-  @Nullable private JEP jep = null;
+  @Nullable private JEPExpressionCache expressionCache = null;
 
   public SWRLBuiltInLibraryImpl()
   {
@@ -27,7 +28,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 
   @Override public void reset()
   {
-    this.jep = null;
+    this.expressionCache = null;
   }
 
   /**
@@ -114,6 +115,7 @@ public boolean operatingProfitLoss(@NonNull List<@NonNull SWRLBuiltInArgument> a
     checkNumberOfArgumentsAtLeast(minimumNumberoOfArguments, arguments.size());
 
     String expression = getArgumentAsAString(expressionArgumentIndex, arguments);
+    Map<@NonNull String, Double> variableValues = new HashMap<>();
 
     if (arguments.size() > minimumNumberoOfArguments) {
       List<@NonNull SWRLBuiltInArgument> variableArguments = arguments
@@ -129,7 +131,7 @@ public boolean operatingProfitLoss(@NonNull List<@NonNull SWRLBuiltInArgument> a
         if (variableName.isPresent()) {
           if (isArgumentConvertibleToDouble(currentVariableArgumentIndex, arguments)) {
             double variableValue = getArgumentAsADouble(variableArgument);
-            getJEP().addVariable(variableName.get(), variableValue);
+            variableValues.put(variableName.get(), variableValue);
           } else {
             String message = "exception processing expression '" + expression + "': " +
               "variable ?" + variableName.get() + " with type " + getLiteralArgumentDatatypeName(
@@ -142,15 +144,7 @@ public boolean operatingProfitLoss(@NonNull List<@NonNull SWRLBuiltInArgument> a
       }
     }
 
-    getJEP().parseExpression(expression);
-
-    if (getJEP().hasError())
-      throw new SWRLBuiltInException("exception parsing expression '" + expression + "': " + getJEP().getErrorInfo());
-
-    double value = getJEP().getValue();
-
-    if (getJEP().hasError())
-      throw new SWRLBuiltInException("exception parsing expression '" + expression + "': " + getJEP().getErrorInfo());
+    double value = getExpressionCache().evaluate(expression, variableValues);
 
     if (isUnboundArgument(resultArgumentIndex, arguments)) {
       arguments.get(resultArgumentIndex).asVariable().setBuiltInResult(createLiteralBuiltInArgument(value));
@@ -165,16 +159,11 @@ public boolean operatingProfitLoss(@NonNull List<@NonNull SWRLBuiltInArgument> a
     }
   }
 
-  // See. http://www.singularsys.com/jep/doc/javadoc/org/nfunk/jep/JEP.html for JEP API
-  @NonNull private JEP getJEP()
+  @NonNull private JEPExpressionCache getExpressionCache()
   {
-    if (this.jep == null) {
-      this.jep = new JEP();
+    if (this.expressionCache == null)
+      this.expressionCache = new JEPExpressionCache();
 
-      this.jep.addStandardFunctions();
-      this.jep.addStandardConstants();
-      this.jep.setImplicitMul(true);
-    }
-    return this.jep;
+    return this.expressionCache;
   }
 }
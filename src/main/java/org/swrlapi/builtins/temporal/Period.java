@@ -147,6 +147,93 @@ public class Period
     this(temporal, startDate, finishDate, Temporal.FINEST);
   }
 
+  // Temporal predicates on the start and finish granule counts of two periods at the same granularity. These agree
+  // with the corresponding instance methods and allow built-ins to compare periods without creating them.
+
+  static boolean equals(long start1, long finish1, long start2, long finish2)
+  {
+    return start1 == start2 && finish1 == finish2;
+  }
+
+  static boolean before(long start1, long finish1, long start2, long finish2)
+  {
+    return finish1 < start2;
+  }
+
+  static boolean after(long start1, long finish1, long start2, long finish2)
+  {
+    return start1 > finish2;
+  }
+
+  static boolean meets(long start1, long finish1, long start2, long finish2)
+  {
+    return finish1 + 1 == start2;
+  }
+
+  static boolean met_by(long start1, long finish1, long start2, long finish2)
+  {
+    return meets(start2, finish2, start1, finish1);
+  }
+
+  static boolean overlaps(long start1, long finish1, long start2, long finish2)
+  {
+    return start1 <= start2 && finish1 <= finish2 && finish1 >= start2;
+  }
+
+  static boolean overlapped_by(long start1, long finish1, long start2, long finish2)
+  {
+    return overlaps(start2, finish2, start1, finish1);
+  }
+
+  static boolean contains(long start1, long finish1, long start2, long finish2)
+  {
+    return start2 >= start1 && finish2 <= finish1;
+  }
+
+  static boolean during(long start1, long finish1, long start2, long finish2)
+  {
+    return contains(start2, finish2, start1, finish1) && !equals(start2, finish2, start1, finish1);
+  }
+
+  static boolean starts(long start1, long finish1, long start2, long finish2)
+  {
+    return start1 == start2 && finish1 < finish2;
+  }
+
+  static boolean started_by(long start1, long finish1, long start2, long finish2)
+  {
+    return starts(start2, finish2, start1, finish1);
+  }
+
+  static boolean finishes(long start1, long finish1, long start2, long finish2)
+  {
+    return start1 < start2 && finish1 == finish2;
+  }
+
+  static boolean finished_by(long start1, long finish1, long start2, long finish2)
+  {
+    return finishes(start2, finish2, start1, finish1);
+  }
+
+  static boolean intersects(long start1, long finish1, long start2, long finish2)
+  {
+    if (start1 == start2)
+      return true;
+    else if (start1 < start2)
+      return finish1 > start2;
+    else
+      return finish2 > start1;
+  }
+
+  // Throws an exception if the start of a period is after its finish
+  static void orderCheck(@NonNull Temporal temporal, long startGranuleCount, long finishGranuleCount, int granularity)
+    throws TemporalException
+  {
+    if (startGranuleCount > finishGranuleCount)
+      orderCheck(new Instant(temporal, startGranuleCount, granularity),
+        new Instant(temporal, finishGranuleCount, granularity));
+  }
+
   // Temporal predicates
 
   public boolean before(@NonNull Period p2, int granularity) throws TemporalException
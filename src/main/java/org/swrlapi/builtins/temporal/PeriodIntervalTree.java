@@ -0,0 +1,142 @@
+package org.swrlapi.builtins.temporal;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable interval tree of periods represented by their start and finish granule counts at a single granularity.
+ * Periods are sorted by start granule count and form an implicit balanced tree in which each node records the latest
+ * finish granule count in its subtree, so a query visits O(log n + k) nodes, where k is the number of periods that
+ * satisfy its start and finish bounds.
+ *
+ * @see Period
+ * @see SWRLBuiltInLibraryImpl
+ */
+class PeriodIntervalTree<T>
+{
+  @NonNull private final long[] startGranuleCounts;
+  @NonNull private final long[] finishGranuleCounts;
+  @NonNull private final long[] maxFinishGranuleCounts; // Latest finish in the subtree rooted at each position
+  @NonNull private final List<@NonNull T> values;
+
+  /**
+   * A temporal relation between the start and finish granule counts of two periods
+   */
+  @FunctionalInterface interface PeriodRelation
+  {
+    boolean test(long start1, long finish1, long start2, long finish2);
+  }
+
+  /**
+   * @param values              The values associated with the periods
+   * @param startGranuleCounts  The start granule counts of the periods
+   * @param finishGranuleCounts The finish granule counts of the periods
+   */
+  public PeriodIntervalTree(@NonNull List<@NonNull T> values, @NonNull long[] startGranuleCounts,
+    @NonNull long[] finishGranuleCounts)
+  {
+    int size = values.size();
+
+    if (startGranuleCounts.length != size || finishGranuleCounts.length != size)
+      throw new IllegalArgumentException("expecting " + size + " start and finish granule counts");
+
+    int[] order = IntStream.range(0, size).boxed().sorted(Comparator.comparingLong(i -> startGranuleCounts[i]))
+      .mapToInt(Integer::intValue).toArray();
+
+    this.startGranuleCounts = new long[size];
+    this.finishGranuleCounts = new long[size];
+    this.maxFinishGranuleCounts = new long[size];
+    this.values = new ArrayList<>(size);
+
+    for (int i = 0; i < size; i++) {
+      this.startGranuleCounts[i] = startGranuleCounts[order[i]];
+      this.finishGranuleCounts[i] = finishGranuleCounts[order[i]];
+      this.values.add(values.get(order[i]));
+    }
+    computeMaxFinishGranuleCounts(0, size);
+  }
+
+  public int size()
+  {
+    return this.values.size();
+  }
+
+  /**
+   * Find the periods with a start granule count between minStart and maxStart inclusive and a finish granule count of
+   * at least minFinish that are in the specified relation to the query period.
+   *
+   * @param minStart    The earliest start granule count of a matching period
+   * @param maxStart    The latest start granule count of a matching period
+   * @param minFinish   The earliest finish granule count of a matching period
+   * @param relation    The relation that a matching period must have with the query period
+   * @param queryStart  The start granule count of the query period
+   * @param queryFinish The finish granule count of the query period
+   * @return The values of the matching periods
+   */
+  @NonNull public List<@NonNull T> find(long minStart, long maxStart, long minFinish, @NonNull PeriodRelation relation,
+    long queryStart, long queryFinish)
+  {
+    List<@NonNull T> matches = new ArrayList<>();
+
+    if (minStart <= maxStart)
+      find(0, size(), firstPosition(minStart, false), firstPosition(maxStart, true), minFinish, relation, queryStart,
+        queryFinish, matches);
+
+    return matches;
+  }
+
+  // Subtree [low, high) is rooted at its midpoint; positions [from, to) are those within the start bounds
+  private void find(int low, int high, int from, int to, long minFinish, @NonNull PeriodRelation relation,
+    long queryStart, long queryFinish, @NonNull List<@NonNull T> matches)
+  {
+    if (low >= high || high <= from || low >= to)
+      return;
+
+    int mid = (low + high) >>> 1;
+
+    if (this.maxFinishGranuleCounts[mid] < minFinish)
+      return;
+
+    find(low, mid, from, to, minFinish, relation, queryStart, queryFinish, matches);
+
+    if (mid >= from && mid < to && this.finishGranuleCounts[mid] >= minFinish && relation
+      .test(this.startGranuleCounts[mid], this.finishGranuleCounts[mid], queryStart, queryFinish))
+      matches.add(this.values.get(mid));
+
+    find(mid + 1, high, from, to, minFinish, relation, queryStart, queryFinish, matches);
+  }
+
+  // The first position with a start granule count after (or, if not strictly after, at or after) the specified count
+  private int firstPosition(long startGranuleCount, boolean strictlyAfter)
+  {
+    int low = 0, high = size();
+
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      long start = this.startGranuleCounts[mid];
+      if (start < startGranuleCount || (strictlyAfter && start == startGranuleCount))
+        low = mid + 1;
+      else
+        high = mid;
+    }
+    return low;
+  }
+
+  private long computeMaxFinishGranuleCounts(int low, int high)
+  {
+    if (low >= high)
+      return Long.MIN_VALUE;
+
+    int mid = (low + high) >>> 1;
+    long maxFinish = Math.max(this.finishGranuleCounts[mid],
+      Math.max(computeMaxFinishGranuleCounts(low, mid), computeMaxFinishGranuleCounts(mid + 1, high)));
+
+    this.maxFinishGranuleCounts[mid] = maxFinish;
+
+    return maxFinish;
+  }
+}
@@ -1,11 +1,21 @@
 package org.swrlapi.builtins.temporal;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.AxiomType;
 import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
 import org.semanticweb.owlapi.model.OWLIndividual;
-import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.swrlapi.builtins.AbstractSWRLBuiltInLibrary;
 import org.swrlapi.builtins.SWRLBuiltInBridge;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
@@ -17,15 +27,20 @@ import org.swrlapi.exceptions.SWRLBuiltInLibraryException;
 import org.swrlapi.literal.XSDDate;
 import org.swrlapi.literal.XSDDateTime;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 /**
  * Implementation library for SWRL temporal built-ins.
  */
 public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 {
+  private static final Logger log = LoggerFactory.getLogger(SWRLBuiltInLibraryImpl.class);
+
   private static final String TemporalLibraryName = "SWRLTemporalBuiltIns";
 
   private static final String Prefix = "temporal:";
@@ -57,17 +72,31 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
 
   @NonNull private final Temporal temporal;
 
+  // The start and finish datetime strings of the ontology's ValidPeriod individuals and interval trees of the periods,
+  // keyed by granularity; built lazily and discarded on reset and when a run finishes
+  @Nullable private Map<@NonNull OWLNamedIndividual, @NonNull DatetimeStrings> validPeriodDatetimeStrings;
+  @NonNull private final Map<@NonNull Integer, @NonNull PeriodIntervalTree<@NonNull OWLNamedIndividual>>
+    validPeriodIntervalTrees;
+
   public SWRLBuiltInLibraryImpl()
   {
     super(TemporalLibraryName);
 
     this.temporal = new Temporal(new XSDDateTimeStringProcessor());
     this.temporal.setNow();
+    this.validPeriodIntervalTrees = new HashMap<>();
   }
 
   @Override public void reset() throws SWRLBuiltInLibraryException
   {
     this.temporal.setNow();
+    discardValidPeriods();
+  }
+
+  // The ontology may change before the next run
+  @Override public void runFinished()
+  {
+    discardValidPeriods();
   }
 
   /**
@@ -210,6 +239,62 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     return temporalOperation(TemporalIntersects, arguments);
   }
 
+  /**
+   * Accepts two or three arguments. If the first argument is unbound, it is bound to each ValidPeriod individual that
+   * overlaps the period specified by the second argument at the granularity specified by the optional third argument.
+   * Otherwise behaves like temporal:overlaps.
+   *
+   * @param arguments The built-in arguments
+   * @return The result of the built-in
+   * @throws SWRLBuiltInException If an error occurs during processing
+   */
+  public boolean findOverlaps(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    return findValidPeriods(TemporalOverlaps, arguments);
+  }
+
+  /**
+   * Accepts two or three arguments. If the first argument is unbound, it is bound to each ValidPeriod individual that
+   * is during the period specified by the second argument at the granularity specified by the optional third argument.
+   * Otherwise behaves like temporal:during.
+   *
+   * @param arguments The built-in arguments
+   * @return The result of the built-in
+   * @throws SWRLBuiltInException If an error occurs during processing
+   */
+  public boolean findDuring(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    return findValidPeriods(TemporalDuring, arguments);
+  }
+
+  /**
+   * Accepts two or three arguments. If the first argument is unbound, it is bound to each ValidPeriod individual that
+   * contains the period specified by the second argument at the granularity specified by the optional third argument.
+   * Otherwise behaves like temporal:contains.
+   *
+   * @param arguments The built-in arguments
+   * @return The result of the built-in
+   * @throws SWRLBuiltInException If an error occurs during processing
+   */
+  public boolean findContains(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    return findValidPeriods(TemporalContains, arguments);
+  }
+
+  /**
+   * Accepts two or three arguments. If the first argument is unbound, it is bound to each ValidPeriod individual that
+   * intersects the period specified by the second argument at the granularity specified by the optional third
+   * argument. Otherwise behaves like temporal:intersects.
+   *
+   * @param arguments The built-in arguments
+   * @return The result of the built-in
+   * @throws SWRLBuiltInException If an error occurs during processing
+   */
+  public boolean findIntersects(@NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    return findValidPeriods(TemporalIntersects, arguments);
+  }
+
   /**
    * @param arguments The built-in arguments
    * @return The result of the built-in
@@ -429,9 +514,9 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
         operationResult = period.duration(granularity);
       } else { // 4 arguments
         int granularity = getBuiltInArgumentAsAGranularity(3, arguments);
-        Instant i1 = getArgumentAsAnInstant(1, arguments, granularity);
-        Instant i2 = getArgumentAsAnInstant(2, arguments, granularity);
-        operationResult = i1.duration(i2, granularity);
+        long granuleCount1 = getArgumentAsAGranuleCount(1, arguments, granularity);
+        long granuleCount2 = getArgumentAsAGranuleCount(2, arguments, granularity);
+        operationResult = Math.abs(granuleCount1 - granuleCount2);
       }
     } catch (TemporalException e) {
       throw new SWRLBuiltInException(e.getMessage() == null ? "" : e.getMessage(), e);
@@ -611,40 +696,58 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       int granularity = hasGranularityArgument ?
         getBuiltInArgumentAsAGranularity(numberOfArguments - 1, arguments) :
         Temporal.FINEST;
-      Period p1 = getArgumentAsAPeriod(0, arguments, granularity);
-      Period p2 = has2nd3rdInstantArguments ?
-        getTwoInstantArgumentsAsAPeriod(1, 2, arguments, granularity) :
-        getArgumentAsAPeriod(1, arguments, granularity);
+      long start1, finish1, start2, finish2;
+
+      // A literal argument is a period containing a single instant
+      if (isArgumentALiteral(0, arguments))
+        start1 = finish1 = getArgumentAsAGranuleCount(0, arguments, granularity);
+      else {
+        Period p1 = getArgumentAsAPeriod(0, arguments, granularity);
+        start1 = p1.getStartGranuleCount(granularity);
+        finish1 = p1.getFinishGranuleCount(granularity);
+      }
+
+      if (has2nd3rdInstantArguments) {
+        start2 = getArgumentAsAGranuleCount(1, arguments, granularity);
+        finish2 = getArgumentAsAGranuleCount(2, arguments, granularity);
+        Period.orderCheck(this.temporal, start2, finish2, granularity);
+      } else if (isArgumentALiteral(1, arguments))
+        start2 = finish2 = getArgumentAsAGranuleCount(1, arguments, granularity);
+      else {
+        Period p2 = getArgumentAsAPeriod(1, arguments, granularity);
+        start2 = p2.getStartGranuleCount(granularity);
+        finish2 = p2.getFinishGranuleCount(granularity);
+      }
 
       switch (operation) {
       case TemporalEquals:
-        return p1.equals(p2, granularity);
+        return Period.equals(start1, finish1, start2, finish2);
       case TemporalBefore:
-        return p1.before(p2, granularity);
+        return Period.before(start1, finish1, start2, finish2);
       case TemporalAfter:
-        return p1.after(p2, granularity);
+        return Period.after(start1, finish1, start2, finish2);
       case TemporalMeets:
-        return p1.meets(p2, granularity);
+        return Period.meets(start1, finish1, start2, finish2);
       case TemporalMetBy:
-        return p1.met_by(p2, granularity);
+        return Period.met_by(start1, finish1, start2, finish2);
       case TemporalOverlaps:
-        return p1.overlaps(p2, granularity);
+        return Period.overlaps(start1, finish1, start2, finish2);
       case TemporalOverlappedBy:
-        return p1.overlapped_by(p2, granularity);
+        return Period.overlapped_by(start1, finish1, start2, finish2);
       case TemporalContains:
-        return p1.contains(p2, granularity);
+        return Period.contains(start1, finish1, start2, finish2);
       case TemporalDuring:
-        return p1.during(p2, granularity);
+        return Period.during(start1, finish1, start2, finish2);
       case TemporalStarts:
-        return p1.starts(p2, granularity);
+        return Period.starts(start1, finish1, start2, finish2);
       case TemporalStartedBy:
-        return p1.started_by(p2, granularity);
+        return Period.started_by(start1, finish1, start2, finish2);
       case TemporalFinishes:
-        return p1.finishes(p2, granularity);
+        return Period.finishes(start1, finish1, start2, finish2);
       case TemporalFinishedBy:
-        return p1.finished_by(p2, granularity);
+        return Period.finished_by(start1, finish1, start2, finish2);
       case TemporalIntersects:
-        return p1.intersects(p2, granularity);
+        return Period.intersects(start1, finish1, start2, finish2);
       default:
         throw new SWRLBuiltInException("internal error - unknown temporal operator " + operation);
       }
@@ -653,19 +756,169 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     }
   }
 
-  @NonNull private Period getTwoInstantArgumentsAsAPeriod(int firstArgumentNumber, int secondArgumentNumber,
-    @NonNull List<@NonNull SWRLBuiltInArgument> arguments, int granularity)
+  // Find the ValidPeriod individuals in the specified relation to a bound period using an interval tree. Each query's
+  // start and finish bounds include every period that can satisfy the relation; the relation itself is then applied.
+  private boolean findValidPeriods(@NonNull String operation, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
+    throws SWRLBuiltInException
+  {
+    checkNumberOfArgumentsInRange(2, 3, arguments.size());
+    checkForUnboundNonFirstArguments(arguments);
+
+    if (!isUnboundArgument(0, arguments))
+      return temporalOperation(operation, arguments);
+
+    try {
+      int granularity = arguments.size() == 3 ? getBuiltInArgumentAsAGranularity(2, arguments) : Temporal.FINEST;
+      long start, finish;
+
+      if (isArgumentALiteral(1, arguments))
+        start = finish = getArgumentAsAGranuleCount(1, arguments, granularity);
+      else {
+        Period period = getArgumentAsAPeriod(1, arguments, granularity);
+        start = period.getStartGranuleCount(granularity);
+        finish = period.getFinishGranuleCount(granularity);
+      }
+
+      PeriodIntervalTree<@NonNull OWLNamedIndividual> tree = getValidPeriodIntervalTree(granularity);
+      List<@NonNull OWLNamedIndividual> matches;
+
+      switch (operation) {
+      case TemporalOverlaps:
+        matches = tree.find(Long.MIN_VALUE, start, start, Period::overlaps, start, finish);
+        break;
+      case TemporalDuring:
+        matches = tree.find(start, finish, start, Period::during, start, finish);
+        break;
+      case TemporalContains:
+        matches = tree.find(Long.MIN_VALUE, start, finish, Period::contains, start, finish);
+        break;
+      case TemporalIntersects:
+        matches = tree.find(Long.MIN_VALUE, finish, start, Period::intersects, start, finish);
+        break;
+      default:
+        throw new SWRLBuiltInException("internal error - unknown temporal operator " + operation);
+      }
+
+      List<@NonNull SWRLBuiltInArgument> resultArguments = new ArrayList<>(matches.size());
+
+      for (OWLNamedIndividual individual : matches)
+        resultArguments.add(createNamedIndividualBuiltInArgument(individual));
+
+      return processResultArgument(arguments, 0, resultArguments);
+    } catch (TemporalException e) {
+      throw new SWRLBuiltInException(e.getMessage() == null ? "" : e.getMessage(), e);
+    }
+  }
+
+  @NonNull private PeriodIntervalTree<@NonNull OWLNamedIndividual> getValidPeriodIntervalTree(int granularity)
     throws SWRLBuiltInException, TemporalException
   {
-    if (firstArgumentNumber >= arguments.size())
-      throw new InvalidSWRLBuiltInArgumentException(firstArgumentNumber, "out of range");
-    if (secondArgumentNumber >= arguments.size())
-      throw new InvalidSWRLBuiltInArgumentException(secondArgumentNumber, "out of range");
+    PeriodIntervalTree<@NonNull OWLNamedIndividual> tree = this.validPeriodIntervalTrees.get(granularity);
+
+    if (tree != null)
+      return tree;
+
+    Map<@NonNull OWLNamedIndividual, @NonNull DatetimeStrings> validPeriods = getValidPeriodDatetimeStrings();
+    List<@NonNull OWLNamedIndividual> periods = new ArrayList<>(validPeriods.size());
+    long[] startGranuleCounts = new long[validPeriods.size()];
+    long[] finishGranuleCounts = new long[validPeriods.size()];
+    int i = 0;
+
+    // Invalid periods are skipped so that they do not cause every query to fail
+    for (Map.Entry<@NonNull OWLNamedIndividual, @NonNull DatetimeStrings> validPeriod : validPeriods
+      .entrySet()) {
+      try {
+        long start = this.temporal.datetimeString2GranuleCount(validPeriod.getValue().start, granularity, false);
+        long finish = this.temporal.datetimeString2GranuleCount(validPeriod.getValue().finish, granularity, false);
+        Period.orderCheck(this.temporal, start, finish, granularity);
+        periods.add(validPeriod.getKey());
+        startGranuleCounts[i] = start;
+        finishGranuleCounts[i] = finish;
+        i++;
+      } catch (TemporalException e) {
+        log.warn("Ignoring invalid period " + validPeriod.getKey().getIRI() + ": " + e.getMessage());
+      }
+    }
 
-    Instant i1 = getArgumentAsAnInstant(firstArgumentNumber, arguments, granularity);
-    Instant i2 = getArgumentAsAnInstant(secondArgumentNumber, arguments, granularity);
+    tree = new PeriodIntervalTree<>(periods, Arrays.copyOf(startGranuleCounts, i),
+      Arrays.copyOf(finishGranuleCounts, i));
+    this.validPeriodIntervalTrees.put(granularity, tree);
 
-    return new Period(this.temporal, i1, i2, granularity);
+    return tree;
+  }
+
+  // ValidPeriod individuals without both a start and a finish time are left out
+  @NonNull private Map<@NonNull OWLNamedIndividual, @NonNull DatetimeStrings> getValidPeriodDatetimeStrings()
+    throws SWRLBuiltInException
+  {
+    if (this.validPeriodDatetimeStrings != null)
+      return this.validPeriodDatetimeStrings;
+
+    OWLOntology ontology = getBuiltInBridge().getOWLOntology();
+    IRI validPeriodClassIRI = createIRI(ValidPeriodClassName);
+    IRI hasStartTimePropertyIRI = createIRI(HasStartTimePropertyName);
+    IRI hasFinishTimePropertyIRI = createIRI(HasFinishTimePropertyName);
+    Map<@NonNull OWLIndividual, @NonNull String> startDatetimeStrings = new HashMap<>();
+    Map<@NonNull OWLIndividual, @NonNull String> finishDatetimeStrings = new HashMap<>();
+    Map<@NonNull OWLNamedIndividual, @NonNull DatetimeStrings> validPeriods = new LinkedHashMap<>();
+
+    for (OWLDataPropertyAssertionAxiom axiom : ontology
+      .getAxioms(AxiomType.DATA_PROPERTY_ASSERTION, Imports.INCLUDED)) {
+      OWLDataPropertyExpression property = axiom.getProperty();
+      if (!property.isAnonymous()) {
+        IRI propertyIRI = property.asOWLDataProperty().getIRI();
+        if (propertyIRI.equals(hasStartTimePropertyIRI))
+          startDatetimeStrings.put(axiom.getSubject(), axiom.getObject().getLiteral());
+        else if (propertyIRI.equals(hasFinishTimePropertyIRI))
+          finishDatetimeStrings.put(axiom.getSubject(), axiom.getObject().getLiteral());
+      }
+    }
+
+    for (OWLClassAssertionAxiom axiom : ontology.getAxioms(AxiomType.CLASS_ASSERTION, Imports.INCLUDED)) {
+      OWLClassExpression classExpression = axiom.getClassExpression();
+      OWLIndividual individual = axiom.getIndividual();
+      if (!classExpression.isAnonymous() && classExpression.asOWLClass().getIRI().equals(validPeriodClassIRI)
+        && individual.isNamed() && startDatetimeStrings.containsKey(individual) && finishDatetimeStrings
+        .containsKey(individual))
+        validPeriods.put(individual.asOWLNamedIndividual(),
+          new DatetimeStrings(startDatetimeStrings.get(individual), finishDatetimeStrings.get(individual)));
+    }
+
+    this.validPeriodDatetimeStrings = validPeriods;
+
+    return validPeriods;
+  }
+
+  private void discardValidPeriods()
+  {
+    this.validPeriodDatetimeStrings = null;
+    this.validPeriodIntervalTrees.clear();
+  }
+
+  // Literal arguments are converted using the granule count cache without creating an instant
+  private long getArgumentAsAGranuleCount(int argumentNumber, @NonNull List<@NonNull SWRLBuiltInArgument> arguments,
+    int granularity) throws SWRLBuiltInException, TemporalException
+  {
+    if (isArgumentALiteral(argumentNumber, arguments)) {
+      String datetimeString = getLiteralArgumentAsADatetimeString(argumentNumber, arguments);
+      return this.temporal.datetimeString2GranuleCount(datetimeString, granularity, false);
+    } else
+      return getArgumentAsAnInstant(argumentNumber, arguments, granularity).getGranuleCount(granularity);
+  }
+
+  @NonNull private String getLiteralArgumentAsADatetimeString(int argumentNumber,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    if (isArgumentAString(argumentNumber, arguments)) // Strings may hold partial datetimes, which are used as is
+      return getArgumentAsAString(argumentNumber, arguments);
+    else if (isArgumentADate(argumentNumber, arguments))
+      return getArgumentAsADate(argumentNumber, arguments).getContent();
+    else if (isArgumentADateTime(argumentNumber, arguments))
+      return getArgumentAsADateTime(argumentNumber, arguments).getContent();
+    else
+      throw new InvalidSWRLBuiltInArgumentException(argumentNumber,
+        "expecting an xsd:date, an xsd:dateTime, or an xsd:string containing a correctly-formatted XSD date or datetime value, got "
+          + arguments.get(argumentNumber));
   }
 
   @NonNull private Period getArgumentAsAPeriod(int argumentNumber,
@@ -673,18 +926,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     throws SWRLBuiltInException, TemporalException
   {
     if (isArgumentALiteral(argumentNumber, arguments)) {
-      String datetimeString;
-      if (isArgumentAString(argumentNumber, arguments)) {
-        datetimeString = getArgumentAsAString(argumentNumber, arguments);
-        // rewriteStringArgumentAsADateOrDateTime(argumentNumber, arguments);
-      } else if (isArgumentADate(argumentNumber, arguments)) {
-        datetimeString = getArgumentAsADate(argumentNumber, arguments).getContent();
-      } else if (isArgumentADateTime(argumentNumber, arguments)) {
-        datetimeString = getArgumentAsADateTime(argumentNumber, arguments).getContent();
-      } else
-        throw new InvalidSWRLBuiltInArgumentException(argumentNumber,
-          "expecting an xsd:date, an xsd:dateTime, or an xsd:string containing a correctly-formatted XSD date or datetime value, got "
-            + arguments.get(argumentNumber));
+      String datetimeString = getLiteralArgumentAsADatetimeString(argumentNumber, arguments);
       return new Period(this.temporal, datetimeString, datetimeString, granularity);
     } else if (isArgumentAnOWLNamedIndividual(argumentNumber, arguments)) {
       IRI individualIRI = getArgumentAsANamedIndividualIRI(argumentNumber, arguments);
@@ -710,19 +952,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     throws SWRLBuiltInException, TemporalException
   {
     if (isArgumentALiteral(argumentNumber, arguments)) {
-      String datetimeString;
-      if (isArgumentAString(argumentNumber, arguments)) {
-        datetimeString = getArgumentAsAString(argumentNumber, arguments);
-        // rewriteStringArgumentAsADateOrDateTime(argumentNumber, arguments);
-      } else if (isArgumentADate(argumentNumber, arguments)) {
-        datetimeString = getArgumentAsADate(argumentNumber, arguments).getContent();
-      } else if (isArgumentADateTime(argumentNumber, arguments)) {
-        datetimeString = getArgumentAsADateTime(argumentNumber, arguments).getContent();
-      } else
-        throw new InvalidSWRLBuiltInArgumentException(argumentNumber,
-          "expecting an xsd:date, an xsd:dateTime, or an xsd:string containing a correctly-formatted XSD date or datetime value, got "
-            + arguments.get(argumentNumber));
-      return new Instant(this.temporal, datetimeString, granularity);
+      return new Instant(this.temporal, getLiteralArgumentAsADatetimeString(argumentNumber, arguments), granularity);
     } else if (isArgumentAnOWLNamedIndividual(argumentNumber, arguments)) {
       IRI individualIRI = getArgumentAsANamedIndividualIRI(argumentNumber, arguments);
       if (isOWLIndividualOfType(individualIRI, createIRI(ValidInstantClassName))) {
@@ -750,7 +980,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       IRI individualIRI = individualArgument.getIRI();
       String fullName = individualIRI.toString();
       String granularityName;
-      if (isOWLIndividualOfType(individualIRI, createIRI(GranularityClassName))) {
+      if (isGranularityIndividual(individualIRI)) {
         int hashIndex = fullName.indexOf('#');
         if (hashIndex == -1)
           granularityName = fullName;
@@ -773,7 +1003,7 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       return Temporal.isValidGranularityString(granularityName);
     } else if (isArgumentAnOWLNamedIndividual(argumentNumber, arguments)) {
       IRI individualIRI = getArgumentAsANamedIndividualIRI(argumentNumber, arguments);
-      return isOWLIndividualOfType(individualIRI, createIRI(GranularityClassName));
+      return isGranularityIndividual(individualIRI);
     } else
       return false;
   }
@@ -787,15 +1017,17 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
     return new Instant(this.temporal, datetimeString, granularity);
   }
 
+  // The start and finish times are those collected for the interval trees
   @NonNull private Period validPeriodIndividual2Period(@NonNull IRI individualIRI, int granularity)
     throws SWRLBuiltInException, TemporalException
   {
-    String startDatetimeString = getDataPropertyValueAsAString(getBuiltInBridge(), individualIRI,
-      createIRI(HasStartTimePropertyName));
-    String finishDatetimeString = getDataPropertyValueAsAString(getBuiltInBridge(), individualIRI,
-      createIRI(HasFinishTimePropertyName));
+    DatetimeStrings datetimeStrings = getValidPeriodDatetimeStrings()
+      .get(getOWLDataFactory().getOWLNamedIndividual(individualIRI));
+
+    if (datetimeStrings == null)
+      throw new SWRLBuiltInException("period " + individualIRI + " does not have a start and a finish time");
 
-    return new Period(this.temporal, startDatetimeString, finishDatetimeString, granularity);
+    return new Period(this.temporal, datetimeStrings.start, datetimeStrings.finish, granularity);
   }
 
   @NonNull private Period extendedPropositionIndividual2Period(@NonNull IRI extendedPropositionIRI, int granularity)
@@ -824,29 +1056,61 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
   }
 
   @NonNull private IRI getObjectPropertyValueAsIRI(@NonNull SWRLBuiltInBridge bridge, @NonNull IRI individualIRI,
-    @NonNull IRI propertyIRI)
+    @NonNull IRI propertyIRI) throws SWRLBuiltInException
   {
-    Set<@NonNull OWLObjectPropertyAssertionAxiom> axioms = new HashSet<>(); // TODO Get assertions for this individual/property
-    OWLObjectPropertyAssertionAxiom axiom = axioms.toArray(new OWLObjectPropertyAssertionAxiom[axioms.size()])[0];
-    OWLIndividual subject = axiom.getObject();
+    OWLNamedIndividual individual = getOWLDataFactory().getOWLNamedIndividual(individualIRI);
 
-    return subject.asOWLNamedIndividual().getIRI();
+    for (OWLOntology ontology : bridge.getOWLOntology().getImportsClosure()) {
+      for (OWLObjectPropertyAssertionAxiom axiom : ontology.getObjectPropertyAssertionAxioms(individual)) {
+        if (!axiom.getProperty().isAnonymous() && axiom.getProperty().asOWLObjectProperty().getIRI()
+          .equals(propertyIRI) && axiom.getObject().isNamed())
+          return axiom.getObject().asOWLNamedIndividual().getIRI();
+      }
+    }
+    throw new SWRLBuiltInException("individual " + individualIRI + " has no value for property " + propertyIRI);
   }
 
   private boolean isOWLIndividualOfType(@NonNull IRI individualIRI, @NonNull IRI classIRI)
-    throws SWRLBuiltInLibraryException
+    throws SWRLBuiltInException
+  {
+    OWLNamedIndividual individual = getOWLDataFactory().getOWLNamedIndividual(individualIRI);
+
+    for (OWLOntology ontology : getBuiltInBridge().getOWLOntology().getImportsClosure()) {
+      for (OWLClassAssertionAxiom axiom : ontology.getClassAssertionAxioms(individual)) {
+        if (!axiom.getClassExpression().isAnonymous() && axiom.getClassExpression().asOWLClass().getIRI()
+          .equals(classIRI))
+          return true;
+      }
+    }
+    return false;
+  }
+
+  // The granularity individuals are defined by the temporal ontology, which need not be imported
+  private boolean isGranularityIndividual(@NonNull IRI individualIRI) throws SWRLBuiltInException
   {
-    return true; // TODO Implement isOWLIndividualOfType
+    String fullName = individualIRI.toString();
+
+    return isOWLIndividualOfType(individualIRI, createIRI(GranularityClassName)) || (fullName.startsWith(Namespace)
+      && Temporal.isValidGranularityString(fullName.substring(Namespace.length())));
   }
 
   @NonNull private String getDataPropertyValueAsAString(@NonNull SWRLBuiltInBridge bridge, @NonNull IRI individualIRI,
-    @NonNull IRI propertyIRI)
+    @NonNull IRI propertyIRI) throws SWRLBuiltInException
   {
-    Set<@NonNull OWLDataPropertyAssertionAxiom> axioms = new HashSet<>(); // TODO Get assertions for this individual/property
-    OWLDataPropertyAssertionAxiom axiom = axioms.toArray(new OWLDataPropertyAssertionAxiom[axioms.size()])[0];
-    OWLLiteral value = axiom.getObject();
+    OWLNamedIndividual individual = getOWLDataFactory().getOWLNamedIndividual(individualIRI);
 
-    return value.toString();
+    for (OWLOntology ontology : bridge.getOWLOntology().getImportsClosure()) {
+      for (OWLDataPropertyAssertionAxiom axiom : ontology.getDataPropertyAssertionAxioms(individual)) {
+        if (!axiom.getProperty().isAnonymous() && axiom.getProperty().asOWLDataProperty().getIRI().equals(propertyIRI))
+          return axiom.getObject().getLiteral();
+      }
+    }
+    throw new SWRLBuiltInException("individual " + individualIRI + " has no value for property " + propertyIRI);
+  }
+
+  @NonNull private OWLDataFactory getOWLDataFactory() throws SWRLBuiltInException
+  {
+    return getBuiltInBridge().getOWLOntology().getOWLOntologyManager().getOWLDataFactory();
   }
 
   /*
@@ -874,4 +1138,16 @@ public class SWRLBuiltInLibraryImpl extends AbstractSWRLBuiltInLibrary
       throw new SWRLBuiltInException("invalid xsd:date or xsd:dateTime string " + datetimeString);
     }
   }
+
+  private static final class DatetimeStrings
+  {
+    @NonNull private final String start;
+    @NonNull private final String finish;
+
+    public DatetimeStrings(@NonNull String start, @NonNull String finish)
+    {
+      this.start = start;
+      this.finish = finish;
+    }
+  }
 }
@@ -3,7 +3,10 @@ package org.swrlapi.builtins.temporal;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.sql.Timestamp;
+import java.util.Arrays;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * A class that supports temporal operations using the Gregorian calendar. In instance of this class is supplied with a
@@ -28,6 +31,11 @@ class Temporal
 
   private long nowGranuleCountInMillis = -1; // Granule count in milliseconds since 1 C.E.
 
+  // Cached granule counts of datetime strings. Each array holds the rounded-down granule counts at each granularity
+  // followed by the rounded-up granule counts. The cache is cleared when 'now' changes.
+  @NonNull private final Map<@NonNull String, long[]> granuleCountCache = new HashMap<>();
+  private static final long UNKNOWN_GRANULE_COUNT = Long.MIN_VALUE;
+
   private final DatetimeStringProcessor datetimeStringProcessor;
 
   // Number of milliseconds to January 1st 1970 from January 1st 1 C.E.
@@ -105,6 +113,7 @@ class Temporal
   public void setNow(@NonNull String nowDatetimeString) throws TemporalException
   {
     this.nowGranuleCountInMillis = datetimeString2GranuleCount(nowDatetimeString, MILLISECONDS);
+    this.granuleCountCache.clear();
   }
 
   public void setNow()
@@ -112,6 +121,7 @@ class Temporal
     long millisecondsFrom1970 = System.currentTimeMillis();
 
     this.nowGranuleCountInMillis = millisecondsFrom1970 + MillisecondsTo1970;
+    this.granuleCountCache.clear();
   }
 
   /**
@@ -230,6 +240,38 @@ class Temporal
     return convertGranuleCount(granuleCountInMillis, MILLISECONDS, granularity);
   }
 
+  /**
+   * Take a possibly incomplete datetime string or 'now' and return the number of granules at the specified granularity
+   * since 1 C.E., rounding any unspecified components up or down. Results are cached until 'now' changes so each
+   * distinct datetime string is parsed at most once for each granularity.
+   */
+  public long datetimeString2GranuleCount(@NonNull String datetimeString, int granularity, boolean roundUp)
+    throws TemporalException
+  {
+    checkGranularity(granularity);
+
+    long[] granuleCounts = this.granuleCountCache.get(datetimeString);
+    int index = roundUp ? NUMBER_OF_GRANULARITIES + granularity : granularity;
+
+    if (granuleCounts != null && granuleCounts[index] != UNKNOWN_GRANULE_COUNT)
+      return granuleCounts[index];
+
+    String localDatetimeString = datetimeString.equals("now") ? getNowDatetimeString() : datetimeString.trim();
+    localDatetimeString = normalizeDatetimeString(localDatetimeString, granularity, roundUp);
+    localDatetimeString = expressDatetimeStringAtGranularity(localDatetimeString, granularity);
+
+    long granuleCount = datetimeString2GranuleCount(localDatetimeString, granularity);
+
+    if (granuleCounts == null) {
+      granuleCounts = new long[2 * NUMBER_OF_GRANULARITIES];
+      Arrays.fill(granuleCounts, UNKNOWN_GRANULE_COUNT);
+      this.granuleCountCache.put(datetimeString, granuleCounts);
+    }
+    granuleCounts[index] = granuleCount;
+
+    return granuleCount;
+  }
+
   public static long utilDate2GranuleCount(java.util.Date date, int granularity) throws TemporalException
   {
     checkGranularity(granularity);
@@ -0,0 +1,18 @@
+package org.swrlapi.core;
+
+/**
+ * Receives progress notifications while OWL axioms inferred or injected by a rule engine are written back to its
+ * ontology. A notification is sent after each chunk of axioms has been written.
+ *
+ * @see org.swrlapi.core.SWRLRuleEngine#exportInferredOWLAxioms(int, InferredOWLAxiomWriteListener)
+ */
+@FunctionalInterface public interface InferredOWLAxiomWriteListener
+{
+  /**
+   * Axioms that are trivially entailed are processed but not written.
+   *
+   * @param numberOfProcessedOWLAxioms The number of axioms processed so far
+   * @param numberOfOWLAxioms          The total number of axioms to be processed
+   */
+  void owlAxiomsWritten(int numberOfProcessedOWLAxioms, int numberOfOWLAxioms);
+}
@@ -3,10 +3,12 @@ package org.swrlapi.core;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.SWRLBuiltInAtom;
+import org.swrlapi.builtins.SWRLBuiltInInvoker;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -27,6 +29,16 @@ public interface SWRLAPIBuiltInAtom extends SWRLBuiltInAtom
    */
   @NonNull IRI getBuiltInIRI();
 
+  /**
+   * @return The invoker for the built-in; empty if it was not resolved when the enclosing rule was converted
+   */
+  @NonNull Optional<@NonNull SWRLBuiltInInvoker> getBuiltInInvoker();
+
+  /**
+   * @param builtInInvoker The invoker for the built-in
+   */
+  void setBuiltInInvoker(@NonNull SWRLBuiltInInvoker builtInInvoker);
+
   /**
    * @return The 0-based index of the built-in in the enclosing rule
    */
@@ -9,6 +9,7 @@ import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.exceptions.SWRLRuleException;
+import org.swrlapi.factory.OWLObjectDictionary;
 import org.swrlapi.factory.SWRLAPIOWLDataFactory;
 import org.swrlapi.parser.SWRLParseException;
 import org.swrlapi.parser.SWRLParser;
@@ -66,6 +67,11 @@ public interface SWRLAPIOWLOntology
 
   @NonNull Optional<@NonNull SWRLAPIRule> getSWRLRule(@NonNull String ruleName) throws SWRLRuleException;
 
+  /**
+   * @return A dependency graph over the SWRL rules in the ontology, which is kept up to date as rules change
+   */
+  @NonNull SWRLRuleDependencyGraph getSWRLRuleDependencyGraph();
+
   /**
    * @param ruleName The name of the rule
    * @param rule     Rule text
@@ -159,12 +165,47 @@ public interface SWRLAPIOWLOntology
 
   void startEventFreezeMode(); // Can be used, for example, to switch off notification during bulk conversion.
 
-  void finishEventFreezeMode();
+  void finishEventFreezeMode(); // Changes received in event freeze mode are then processed.
 
   boolean hasOntologyChanged();
 
   void resetOntologyChanged();
 
+  /**
+   * @return True if changes received in event freeze mode have not yet been processed
+   */
+  boolean hasUnprocessedChanges();
+
+  /**
+   * Start recording the OWL axioms added to and removed from {@link #getOWLAxioms()}, discarding any changes recorded
+   * so far. While recording, the ontology listens for changes to its OWL ontology and processes them as they occur.
+   */
+  void startOWLAxiomChangeRecording();
+
+  void stopOWLAxiomChangeRecording();
+
+  /**
+   * @return The OWL axioms added to {@link #getOWLAxioms()} since recording started
+   */
+  @NonNull Set<@NonNull OWLAxiom> getAddedOWLAxioms();
+
+  /**
+   * @return The OWL axioms removed from {@link #getOWLAxioms()} since recording started
+   */
+  @NonNull Set<@NonNull OWLAxiom> getRemovedOWLAxioms();
+
+  /**
+   * By default the body atoms of rules and queries are ordered by type, with class atoms first and built-in atoms
+   * last. If cost-based ordering is enabled the non-built-in atoms are instead ordered by their estimated number of
+   * matches, using counts of the class and property assertions in the ontology. Body atoms are ordered when a rule is
+   * processed, so existing rules are only reordered when the ontology is next processed.
+   *
+   * @param enabled True to order body atoms using assertion statistics
+   */
+  void setCostBasedBodyAtomOrderingEnabled(boolean enabled);
+
+  boolean isCostBasedBodyAtomOrderingEnabled();
+
   // Axiom counting methods
 
   boolean hasAssertedOWLAxiom(OWLAxiom axiom);
@@ -189,6 +230,17 @@ public interface SWRLAPIOWLOntology
 
   @NonNull IRIResolver getIRIResolver();
 
+  /**
+   * The dictionary assigns dense ids to the entities that are declared in or referenced by the processed axioms of the
+   * ontology. Ids are stable for the lifetime of the SWRLAPI ontology and are carried by named built-in arguments, so
+   * target rule engines can index their own structures by id. Entities created by built-ins during inference are not
+   * given ids.
+   *
+   * @return The symbol table of the ontology
+   * @see org.swrlapi.builtins.arguments.SWRLNamedBuiltInArgument#getEntityId()
+   */
+  @NonNull OWLObjectDictionary getOWLObjectDictionary();
+
   @NonNull OWLOntologyManager getOWLOntologyManager();
 
   @NonNull OWLOntology getOWLOntology();
@@ -0,0 +1,63 @@
+package org.swrlapi.core;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.swrlapi.sqwrl.SQWRLQuery;
+
+import java.util.Set;
+
+/**
+ * A predicate dependency graph over the SWRL rules in a {@link org.swrlapi.core.SWRLAPIOWLOntology}. Each rule reads
+ * the predicates in its body and derives the predicates in its head. Predicates are OWL classes and class expressions,
+ * named object and data properties, and the IRIs of built-ins, <code>owl:sameAs</code> and
+ * <code>owl:differentFrom</code>.
+ * <p>
+ * The graph is used to slice the rules and OWL axioms exported to a rule engine down to those that can contribute to a
+ * set of target predicates. Only active rules take part in a slice.
+ *
+ * @see org.swrlapi.core.SWRLAPIOWLOntology#getSWRLRuleDependencyGraph()
+ */
+public interface SWRLRuleDependencyGraph
+{
+  /**
+   * @param predicate A predicate
+   * @return The active rules whose heads contain the predicate
+   */
+  @NonNull Set<@NonNull SWRLAPIRule> getDerivingSWRLRules(@NonNull OWLObject predicate);
+
+  /**
+   * @param query A SQWRL query
+   * @return The predicates read by the body of the query
+   */
+  @NonNull Set<@NonNull OWLObject> getTargetPredicates(@NonNull SQWRLQuery query);
+
+  /**
+   * @param targetPredicates A set of target predicates
+   * @return The active rules that the target predicates depend on, directly or through other rules
+   */
+  @NonNull Set<@NonNull SWRLAPIRule> getRelevantSWRLRules(@NonNull Set<@NonNull OWLObject> targetPredicates);
+
+  /**
+   * @param targetPredicates A set of target predicates
+   * @return The target predicates and the predicates read by the rules they depend on
+   */
+  @NonNull Set<@NonNull OWLObject> getRelevantPredicates(@NonNull Set<@NonNull OWLObject> targetPredicates);
+
+  /**
+   * Remove the rules that the target predicates do not depend on and the class and property assertions whose
+   * predicates are not relevant from a set of OWL axioms. SQWRL queries and all other axioms are retained.
+   *
+   * @param axioms           A set of OWL axioms, including SWRL rules
+   * @param targetPredicates A set of target predicates
+   * @return The axioms relevant to the target predicates
+   */
+  @NonNull Set<@NonNull OWLAxiom> getRelevantOWLAxioms(@NonNull Set<@NonNull OWLAxiom> axioms,
+    @NonNull Set<@NonNull OWLObject> targetPredicates);
+
+  /**
+   * @param targetPredicates A set of target predicates
+   * @return A description of the rules retained and pruned for the target predicates
+   */
+  @NonNull String explain(@NonNull Set<@NonNull OWLObject> targetPredicates);
+}
@@ -3,6 +3,7 @@ package org.swrlapi.core;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
 import org.swrlapi.exceptions.SWRLBuiltInException;
@@ -16,6 +17,7 @@ import org.swrlapi.ui.model.SWRLAutoCompleter;
 import javax.swing.*;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * This interface defines methods that must be provided by a SWRL rule engine in the SWRLAPI.
@@ -35,6 +37,36 @@ public interface SWRLRuleEngine
    */
   void infer() throws SWRLRuleEngineException;
 
+  /**
+   * Infer only the knowledge that the given classes and properties depend on. Unless the target rule engine performs
+   * OWL 2 RL reasoning, only the rules and asserted facts that can contribute to the targets are sent to the rule
+   * engine.
+   *
+   * @param inferenceTargets The classes and properties of interest
+   * @throws SWRLRuleEngineException If an error occurs during inference
+   * @see org.swrlapi.core.SWRLRuleDependencyGraph
+   */
+  void infer(@NonNull Set<@NonNull OWLEntity> inferenceTargets) throws SWRLRuleEngineException;
+
+  /**
+   * Load rules and knowledge from OWL, send them to the rule engine, run the rule engine, and pass any inferred
+   * knowledge to the given sink instead of writing it back to OWL. The source ontology is not modified.
+   *
+   * @param inferredOWLAxiomSink A consumer of inferred OWL axioms, such as a streaming writer
+   * @throws SWRLRuleEngineException If an error occurs during inference
+   */
+  void infer(@NonNull Consumer<@NonNull OWLAxiom> inferredOWLAxiomSink) throws SWRLRuleEngineException;
+
+  /**
+   * Load rules and knowledge from OWL, send them to the rule engine, run the rule engine, and write any inferred
+   * knowledge to the given ontology. Unless the target ontology is the source ontology, the source ontology is not
+   * modified.
+   *
+   * @param targetOntology The ontology to write inferred OWL axioms to
+   * @throws SWRLRuleEngineException If an error occurs during inference
+   */
+  void infer(@NonNull OWLOntology targetOntology) throws SWRLRuleEngineException;
+
   /**
    * Load asserted OWL axioms (which include SWRL rules) from a source OWL ontology.
    *
@@ -56,6 +88,24 @@ public interface SWRLRuleEngine
    */
   void exportInferredOWLAxioms() throws SWRLRuleEngineException;
 
+  /**
+   * Write OWL axioms inferred by rule engine back to the source OWL ontology in chunks of at most the given size. The
+   * chunks are written in event freeze mode, so changes they make are processed once, after the last chunk.
+   *
+   * @param chunkSize The maximum number of axioms written to the ontology in one change
+   * @param listener  A listener notified after each chunk has been written
+   * @throws SWRLRuleEngineException If an error occurs during the export process
+   */
+  void exportInferredOWLAxioms(int chunkSize, @NonNull InferredOWLAxiomWriteListener listener)
+    throws SWRLRuleEngineException;
+
+  /**
+   * Pass OWL axioms inferred by rule engine to the given sink, one at a time. The source OWL ontology is not modified.
+   *
+   * @param inferredOWLAxiomSink A consumer of inferred OWL axioms
+   */
+  void exportInferredOWLAxioms(@NonNull Consumer<@NonNull OWLAxiom> inferredOWLAxiomSink);
+
   /**
    * @param ruleName The name of the rule
    * @param rule     The rule text
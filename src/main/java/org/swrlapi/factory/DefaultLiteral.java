@@ -10,7 +10,8 @@ import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 import org.semanticweb.owlapi.vocab.XSDVocabulary;
 import org.swrlapi.exceptions.LiteralException;
 import org.swrlapi.literal.Literal;
-import org.swrlapi.literal.OWLLiteralComparator;
+import org.swrlapi.literal.LiteralType;
+import org.swrlapi.literal.TypedLiteral;
 import org.swrlapi.literal.XSDDate;
 import org.swrlapi.literal.XSDDateTime;
 import org.swrlapi.literal.XSDDuration;
@@ -23,10 +24,12 @@ import java.net.URI;
 class DefaultLiteral implements Literal
 {
   @NonNull private final OWLLiteral literal;
+  @NonNull private final TypedLiteral typedLiteral;
 
   public DefaultLiteral(@NonNull OWLLiteral literal)
   {
     this.literal = literal;
+    this.typedLiteral = new TypedLiteral(literal);
   }
 
   @NonNull @Override public OWLLiteral getOWLLiteral()
@@ -34,139 +37,144 @@ class DefaultLiteral implements Literal
     return this.literal;
   }
 
+  @NonNull TypedLiteral getTypedLiteral()
+  {
+    return this.typedLiteral;
+  }
+
   @Override public boolean isNumeric()
   {
-    return OWLLiteralComparator.isNumeric(literal);
+    return this.typedLiteral.isNumeric();
   }
 
   @Override public boolean isByte()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.BYTE.getIRI());
+    return this.typedLiteral.getType() == LiteralType.BYTE;
   }
 
   @Override public boolean isShort()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.SHORT.getIRI());
+    return this.typedLiteral.getType() == LiteralType.SHORT;
   }
 
   @Override public boolean isInt()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.INT.getIRI());
+    return this.typedLiteral.getType() == LiteralType.INT;
   }
 
   @Override public boolean isLong()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.LONG.getIRI());
+    return this.typedLiteral.getType() == LiteralType.LONG;
   }
 
   @Override public boolean isFloat()
   {
-    return this.literal.getDatatype().isFloat();
+    return this.typedLiteral.getType() == LiteralType.FLOAT;
   }
 
   @Override public boolean isDouble()
   {
-    return this.literal.getDatatype().isDouble();
+    return this.typedLiteral.getType() == LiteralType.DOUBLE;
   }
 
   @Override public boolean isDecimal()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.DECIMAL.getIRI());
+    return this.typedLiteral.getType() == LiteralType.DECIMAL;
   }
 
   @Override public boolean isInteger()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.INTEGER.getIRI());
+    return this.typedLiteral.getType() == LiteralType.INTEGER;
   }
 
   @Override public boolean isNegativeInteger()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.NEGATIVE_INTEGER.getIRI());
+    return this.typedLiteral.getType() == LiteralType.NEGATIVE_INTEGER;
   }
 
   @Override public boolean isPositiveInteger()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.POSITIVE_INTEGER.getIRI());
+    return this.typedLiteral.getType() == LiteralType.POSITIVE_INTEGER;
   }
 
   @Override public boolean isNonNegativeInteger()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.NON_NEGATIVE_INTEGER.getIRI());
+    return this.typedLiteral.getType() == LiteralType.NON_NEGATIVE_INTEGER;
   }
 
   @Override public boolean isNonPositiveInteger()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.NON_POSITIVE_INTEGER.getIRI());
+    return this.typedLiteral.getType() == LiteralType.NON_POSITIVE_INTEGER;
   }
 
   @Override public boolean isUnsignedLong()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.UNSIGNED_LONG.getIRI());
+    return this.typedLiteral.getType() == LiteralType.UNSIGNED_LONG;
   }
 
   @Override public boolean isUnsignedInt()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.UNSIGNED_INT.getIRI());
+    return this.typedLiteral.getType() == LiteralType.UNSIGNED_INT;
   }
 
   @Override public boolean isUnsignedShort()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.UNSIGNED_SHORT.getIRI());
+    return this.typedLiteral.getType() == LiteralType.UNSIGNED_SHORT;
   }
 
   @Override public boolean isUnsignedByte()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.UNSIGNED_BYTE.getIRI());
+    return this.typedLiteral.getType() == LiteralType.UNSIGNED_BYTE;
   }
 
   @Override public boolean isRDFPlainLiteral()
   {
-    return this.literal.getDatatype().getIRI().equals(OWLRDFVocabulary.RDF_PLAIN_LITERAL.getIRI());
+    return this.typedLiteral.getType() == LiteralType.RDF_PLAIN_LITERAL;
   }
 
   @Override public boolean isRDFSLiteral()
   {
-    return this.literal.getDatatype().getIRI().equals(OWLRDFVocabulary.RDFS_LITERAL.getIRI());
+    return this.typedLiteral.getType() == LiteralType.RDFS_LITERAL;
   }
 
   @Override public boolean isRDFXMLLiteral()
   {
-    return this.literal.getDatatype().getIRI().equals(OWLRDFVocabulary.RDF_XML_LITERAL.getIRI());
+    return this.typedLiteral.getType() == LiteralType.RDF_XML_LITERAL;
   }
 
   @Override public boolean isString()
   {
-    return this.literal.getDatatype().isString();
+    return this.typedLiteral.getType() == LiteralType.STRING;
   }
 
   @Override public boolean isBoolean()
   {
-    return this.literal.getDatatype().isBoolean();
+    return this.typedLiteral.getType() == LiteralType.BOOLEAN;
   }
 
   @Override public boolean isAnyURI()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.ANY_URI.getIRI());
+    return this.typedLiteral.getType() == LiteralType.ANY_URI;
   }
 
   @Override public boolean isTime()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.TIME.getIRI());
+    return this.typedLiteral.getType() == LiteralType.TIME;
   }
 
   @Override public boolean isDate()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.DATE.getIRI());
+    return this.typedLiteral.getType() == LiteralType.DATE;
   }
 
   @Override public boolean isDateTime()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.DATE_TIME.getIRI());
+    return this.typedLiteral.getType() == LiteralType.DATE_TIME;
   }
 
   @Override public boolean isDuration()
   {
-    return this.literal.getDatatype().getIRI().equals(XSDVocabulary.DURATION.getIRI());
+    return this.typedLiteral.getType() == LiteralType.DURATION;
   }
 
   @Override public boolean isComparable()
@@ -225,7 +233,7 @@ class DefaultLiteral implements Literal
         "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.BOOLEAN
           .getPrefixedName());
 
-    return Boolean.parseBoolean(this.literal.getLiteral());
+    return this.typedLiteral.getBooleanValue();
   }
 
   @Override public byte getByte() throws LiteralException
@@ -234,8 +242,8 @@ class DefaultLiteral implements Literal
       if (!isByte())
         throw new LiteralException(
           "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.BYTE.getPrefixedName());
-      return Byte.parseByte(this.literal.getLiteral());
-    } catch (NumberFormatException e) {
+      return (byte)this.typedLiteral.getLongValue();
+    } catch (IllegalArgumentException e) { // Includes NumberFormatException
       throw new LiteralException(
         "cannot convert value " + this.literal.getLiteral() + " of type " + this.literal.getDatatype()
           + XSDVocabulary.BYTE.getPrefixedName());
@@ -245,15 +253,13 @@ class DefaultLiteral implements Literal
   @Override public short getShort() throws LiteralException
   {
     try {
-      if (isShort())
-        return Short.parseShort(this.literal.getLiteral());
-      else if (isByte())
-        return Byte.parseByte(this.literal.getLiteral());
+      if (isShort() || isByte())
+        return (short)this.typedLiteral.getLongValue();
       else
         throw new LiteralException(
           "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.SHORT
             .getPrefixedName());
-    } catch (NumberFormatException e) {
+    } catch (IllegalArgumentException e) { // Includes NumberFormatException
       throw new LiteralException(
         "cannot convert value " + this.literal.getLiteral() + " of type " + this.literal.getDatatype() + " to "
           + XSDVocabulary.SHORT.getPrefixedName());
@@ -263,16 +269,12 @@ class DefaultLiteral implements Literal
   @Override public int getInt() throws LiteralException
   {
     try {
-      if (isInt())
-        return Integer.parseInt(this.literal.getLiteral());
-      else if (isShort())
-        return Short.parseShort(this.literal.getLiteral());
-      else if (isByte())
-        return Byte.parseByte(this.literal.getLiteral());
+      if (isInt() || isShort() || isByte())
+        return (int)this.typedLiteral.getLongValue();
       else
         throw new LiteralException(
           "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.INT.getPrefixedName());
-    } catch (NumberFormatException e) {
+    } catch (IllegalArgumentException e) { // Includes NumberFormatException
       throw new LiteralException(
         "cannot convert value " + this.literal.getLiteral() + " of type " + this.literal.getDatatype() + " to "
           + XSDVocabulary.INT.getPrefixedName());
@@ -282,18 +284,12 @@ class DefaultLiteral implements Literal
   @Override public long getLong() throws LiteralException
   {
     try {
-      if (isLong())
-        return Long.parseLong(this.literal.getLiteral());
-      else if (isInt())
-        return Integer.parseInt(this.literal.getLiteral());
-      else if (isShort())
-        return Short.parseShort(this.literal.getLiteral());
-      else if (isByte())
-        return Byte.parseByte(this.literal.getLiteral());
+      if (isLong() || isInt() || isShort() || isByte())
+        return this.typedLiteral.getLongValue();
       else
         throw new LiteralException(
           "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.LONG.getPrefixedName());
-    } catch (NumberFormatException e) {
+    } catch (IllegalArgumentException e) { // Includes NumberFormatException
       throw new LiteralException(
         "cannot convert value " + this.literal.getLiteral() + " of type " + this.literal.getDatatype() + " to "
           + XSDVocabulary.LONG.getPrefixedName());
@@ -306,22 +302,16 @@ class DefaultLiteral implements Literal
   {
     try {
       if (isFloat())
-        return Float.parseFloat(this.literal.getLiteral());
+        return (float)this.typedLiteral.getDoubleValue();
       else if (isDouble())
         return Float.parseFloat(this.literal.getLiteral());
-      else if (isInt())
-        return Integer.parseInt(this.literal.getLiteral());
-      else if (isLong())
-        return Long.parseLong(this.literal.getLiteral());
-      else if (isShort())
-        return Short.parseShort(this.literal.getLiteral());
-      else if (isByte())
-        return Byte.parseByte(this.literal.getLiteral());
+      else if (isInt() || isLong() || isShort() || isByte())
+        return this.typedLiteral.getLongValue();
       else
         throw new LiteralException(
           "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.FLOAT
             .getPrefixedName());
-    } catch (NumberFormatException e) {
+    } catch (IllegalArgumentException e) { // Includes NumberFormatException
       throw new LiteralException(
         "cannot convert value " + this.literal.getLiteral() + " of type " + this.literal.getDatatype() + " to "
           + XSDVocabulary.FLOAT);
@@ -333,23 +323,15 @@ class DefaultLiteral implements Literal
   @Override public double getDouble() throws LiteralException
   {
     try {
-      if (isDouble())
-        return Double.parseDouble(this.literal.getLiteral());
-      else if (isFloat())
-        return Float.parseFloat(this.literal.getLiteral());
-      else if (isInt())
-        return Integer.parseInt(this.literal.getLiteral());
-      else if (isLong())
-        return Long.parseLong(this.literal.getLiteral());
-      else if (isShort())
-        return Short.parseShort(this.literal.getLiteral());
-      else if (isByte())
-        return Byte.parseByte(this.literal.getLiteral());
+      if (isDouble() || isFloat())
+        return this.typedLiteral.getDoubleValue();
+      else if (isInt() || isLong() || isShort() || isByte())
+        return this.typedLiteral.getLongValue();
       else
         throw new LiteralException(
           "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.DOUBLE
             .getPrefixedName());
-    } catch (NumberFormatException e) {
+    } catch (IllegalArgumentException e) { // Includes NumberFormatException
       throw new LiteralException(
         "cannot convert value " + this.literal.getLiteral() + " of type " + this.literal.getDatatype() + " to "
           + XSDVocabulary.DOUBLE);
@@ -360,7 +342,7 @@ class DefaultLiteral implements Literal
   {
     try {
       if (isNumeric())
-        return new BigDecimal(this.literal.getLiteral());
+        return this.typedLiteral.getDecimalValue();
       else
         throw new LiteralException(
           "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.DECIMAL
@@ -563,7 +545,7 @@ class DefaultLiteral implements Literal
         throw new LiteralException(
           "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.ANY_URI
             .getPrefixedName());
-      return URI.create(this.literal.getLiteral());
+      return this.typedLiteral.getAnyURIValue();
     } catch (IllegalArgumentException e) {
       throw new LiteralException(
         "cannot convert value " + this.literal.getLiteral() + " of type " + this.literal.getDatatype() + " to "
@@ -576,7 +558,7 @@ class DefaultLiteral implements Literal
     if (!isTime())
       throw new LiteralException(
         "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.TIME.getPrefixedName());
-    return new XSDTime(this.literal.getLiteral());
+    return this.typedLiteral.getTimeValue();
   }
 
   @NonNull @Override public XSDDate getDate() throws LiteralException
@@ -584,7 +566,7 @@ class DefaultLiteral implements Literal
     if (!isDate())
       throw new LiteralException(
         "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.DATE.getPrefixedName());
-    return new XSDDate(this.literal.getLiteral());
+    return this.typedLiteral.getDateValue();
   }
 
   @NonNull @Override public XSDDateTime getDateTime() throws LiteralException
@@ -593,7 +575,7 @@ class DefaultLiteral implements Literal
       throw new LiteralException(
         "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.DATE_TIME
           .getPrefixedName());
-    return new XSDDateTime(this.literal.getLiteral());
+    return this.typedLiteral.getDateTimeValue();
   }
 
   @NonNull @Override public XSDDuration getDuration() throws LiteralException
@@ -603,7 +585,7 @@ class DefaultLiteral implements Literal
         "cannot convert value of type " + this.literal.getDatatype() + " to " + XSDVocabulary.DURATION
           .getPrefixedName());
 
-    return new XSDDuration(this.literal.getLiteral());
+    return this.typedLiteral.getDurationValue();
   }
 
   @NonNull @Override public String getValue()
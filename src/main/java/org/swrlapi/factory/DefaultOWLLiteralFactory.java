@@ -57,7 +57,7 @@ class DefaultOWLLiteralFactory implements OWLLiteralFactory
 
   @NonNull @Override public OWLLiteral getOWLLiteral(@NonNull BigDecimal d)
   {
-    return new OWLLiteralImpl("" + d, "", getOWLDatatypeFactory().getDecimalDatatype());
+    return new OWLLiteralImpl(d.toPlainString(), "", getOWLDatatypeFactory().getDecimalDatatype());
   }
 
   @NonNull @Override public OWLLiteral getOWLLiteral(@NonNull BigInteger i)
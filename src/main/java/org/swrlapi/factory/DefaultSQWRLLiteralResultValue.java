@@ -193,14 +193,12 @@ class DefaultSQWRLLiteralResultValue extends DefaultLiteral implements SQWRLLite
       return false;
     DefaultSQWRLLiteralResultValue l = (DefaultSQWRLLiteralResultValue)obj;
 
-    return owlLiteralComparator.compare(this.getOWLLiteral(), l.getOWLLiteral()) == 0;
+    return OWLLiteralComparator.compare(this.getTypedLiteral(), l.getTypedLiteral()) == 0;
   }
 
   @SideEffectFree @Deterministic @Override public int hashCode()
   {
-    int hash = 98;
-    hash = hash + (null == this.getOWLLiteral() ? 0 : this.getOWLLiteral().hashCode());
-    return hash;
+    return 98 + OWLLiteralComparator.hash(this.getTypedLiteral()); // Consistent with equals
   }
 
   @SideEffectFree @Deterministic @Override public int compareTo(@NonNull SQWRLLiteralResultValue o)
@@ -208,6 +206,9 @@ class DefaultSQWRLLiteralResultValue extends DefaultLiteral implements SQWRLLite
     if (o == null)
       throw new NullPointerException();
 
-    return owlLiteralComparator.compare(this.getOWLLiteral(), o.getOWLLiteral());
+    if (o instanceof DefaultLiteral) // Use the cached parsed values
+      return OWLLiteralComparator.compare(this.getTypedLiteral(), ((DefaultLiteral)o).getTypedLiteral());
+    else
+      return owlLiteralComparator.compare(this.getOWLLiteral(), o.getOWLLiteral());
   }
 }
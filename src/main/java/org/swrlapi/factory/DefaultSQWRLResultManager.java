@@ -1,9 +1,12 @@
 package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.dataflow.qual.SideEffectFree;
+import org.semanticweb.owlapi.model.OWLDatatype;
 import org.swrlapi.core.IRIResolver;
 import org.swrlapi.exceptions.SWRLAPIInternalException;
+import org.swrlapi.literal.OWLLiteralComparator;
 import org.swrlapi.sqwrl.SQWRLResultManager;
 import org.swrlapi.sqwrl.SQWRLResultNames;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
@@ -19,6 +22,8 @@ import org.swrlapi.sqwrl.values.SQWRLClassExpressionResultValue;
 import org.swrlapi.sqwrl.values.SQWRLClassResultValue;
 import org.swrlapi.sqwrl.values.SQWRLDataPropertyResultValue;
 import org.swrlapi.sqwrl.values.SQWRLDataRangeResultValue;
+import org.swrlapi.sqwrl.values.SQWRLEntityResultValue;
+import org.swrlapi.sqwrl.values.SQWRLExpressionResultValue;
 import org.swrlapi.sqwrl.values.SQWRLLiteralResultValue;
 import org.swrlapi.sqwrl.values.SQWRLNamedIndividualResultValue;
 import org.swrlapi.sqwrl.values.SQWRLObjectPropertyResultValue;
@@ -32,9 +37,10 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
 
 class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
@@ -58,6 +64,14 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
   @NonNull private List<@NonNull SQWRLResultValue> rowData; // List of SQWRLResultValue objects used when assembling a row.
   @NonNull private Map<@NonNull String, @NonNull List<@NonNull SQWRLResultValue>> columnValuesMap; // Column name -> List<@NonNull SQWRLResultValue>
   private int currentRowIndex;
+  // Keys of the rows added so far when the result is distinct; used to reject duplicate rows as they are closed
+  @Nullable private transient Set<@NonNull SQWRLResultRowKey> distinctRowKeys;
+  @Nullable private transient SQWRLResultRowComparator distinctRowComparator;
+  // Bounded heap holding the best rows so far when only the first rows of an ordered result are selected
+  @Nullable private transient PriorityQueue<@NonNull SQWRLRankedRow> topKRows;
+  @Nullable private transient Comparator<@NonNull SQWRLRankedRow> topKComparator;
+  private int topK = -1;
+  private long rowSequenceNumber = 0;
 
   public DefaultSQWRLResultManager(@NonNull IRIResolver iriResolver)
   {
@@ -181,6 +195,18 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
 
     this.hasAggregates = !this.aggregateColumnIndexes.isEmpty();
 
+    this.topK = getTopK();
+    if (this.topK != -1) {
+      SQWRLResultRowComparator rowComparator = new SQWRLResultRowComparator(this.allColumnNames,
+        this.orderByColumnIndexes, this.isAscending);
+      // Rows that are equal in order are ranked by arrival to preserve the outcome of a stable sort
+      this.topKComparator = (r1, r2) -> {
+        int diff = rowComparator.compare(r1.getRow(), r2.getRow());
+        return diff != 0 ? diff : Long.compare(r1.getSequenceNumber(), r2.getSequenceNumber());
+      };
+      this.topKRows = new PriorityQueue<>(Math.min(this.topK, 1024) + 1, this.topKComparator.reversed());
+    }
+
     this.isConfigured = true;
   }
 
@@ -283,8 +309,12 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     throwExceptionIfNotConfigured();
     throwExceptionIfAlreadyPrepared();
 
-    if (this.isRowOpen)
-      this.rows.add(this.rowData);
+    if (this.isRowOpen && (!this.isDistinct || this.hasAggregates || isNewDistinctRow(this.rowData))) {
+      if (this.topKRows != null)
+        offerTopKRow(this.rowData);
+      else
+        this.rows.add(this.rowData);
+    }
 
     this.isRowOpen = false;
   }
@@ -305,10 +335,15 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     else
       this.currentRowIndex = -1;
 
+    if (this.topKRows != null)
+      this.rows = drainTopKRows();
+
     if (this.hasAggregates)
       this.rows = aggregate(this.rows); // Aggregation implies killing duplicate rows
-    else if (this.isDistinct)
-      this.rows = distinct(this.rows);
+    else if (this.isDistinct && this.distinctRowKeys == null)
+      this.rows = distinct(this.rows); // Distinct was requested after rows were added
+    this.distinctRowKeys = null;
+    this.distinctRowComparator = null;
 
     if (this.isOrdered && this.rows.size() > 0)
       this.rows = orderBy(this.rows, this.isAscending);
@@ -987,19 +1022,86 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     return ((value instanceof SQWRLLiteralResultValue) && (((SQWRLLiteralResultValue)value).isNumeric()));
   }
 
-  // TODO Fix - very inefficient
+  /**
+   * The rows of an ordered result can be kept in a bounded heap if the only selection operator retains the first N
+   * rows. Aggregation needs all rows so is excluded.
+   *
+   * @return The number of rows to retain or -1 if all rows are required
+   */
+  private int getTopK()
+  {
+    if (!this.isOrdered || this.hasAggregates)
+      return -1;
+    else if (hasLimit())
+      return this.limit > 0 ? this.limit : -1;
+    else if (hasFirstSelection() && !hasNth() && !hasNotNth() && !hasNotFirstSelection() && !hasLastSelection()
+      && !hasNotLastSelection() && !hasNthSliceSelection() && !hasNotNthSliceSelection() && !hasNthLastSliceSelection()
+      && !hasNotNthLastSliceSelection())
+      return this.firstN < 1 ? 1 : this.firstN;
+    else
+      return -1;
+  }
+
+  private void offerTopKRow(@NonNull List<@NonNull SQWRLResultValue> row) throws SQWRLException
+  {
+    SQWRLRankedRow rankedRow = new SQWRLRankedRow(row, this.rowSequenceNumber++);
+
+    try {
+      if (this.topKRows.size() < this.topK)
+        this.topKRows.add(rankedRow);
+      else if (this.topKComparator.compare(rankedRow, this.topKRows.peek()) < 0) {
+        this.topKRows.poll(); // Evict the lowest ranked row
+        this.topKRows.add(rankedRow);
+      }
+    } catch (RuntimeException e) {
+      throw new SQWRLException("Internal error comparing rows", e);
+    }
+  }
+
+  @NonNull private List<@NonNull List<@NonNull SQWRLResultValue>> drainTopKRows() throws SQWRLException
+  {
+    List<@NonNull SQWRLRankedRow> rankedRows = new ArrayList<>(this.topKRows);
+    List<@NonNull List<@NonNull SQWRLResultValue>> result = new ArrayList<>(rankedRows.size());
+
+    try {
+      Collections.sort(rankedRows, this.topKComparator);
+    } catch (RuntimeException e) {
+      throw new SQWRLException("Internal error comparing rows", e);
+    }
+
+    for (SQWRLRankedRow rankedRow : rankedRows)
+      result.add(rankedRow.getRow());
+
+    this.topKRows = null;
+    this.topKComparator = null;
+
+    return result;
+  }
+
+  private boolean isNewDistinctRow(@NonNull List<@NonNull SQWRLResultValue> row) throws SQWRLException
+  {
+    if (this.distinctRowKeys == null)
+      this.rows = distinct(this.rows); // Distinct was requested after rows were added
+
+    try {
+      return this.distinctRowKeys.add(createDistinctRowKey(row));
+    } catch (RuntimeException e) {
+      throw new SQWRLException("Internal error comparing rows", e);
+    }
+  }
+
+  // Retains the first occurrence of each row and records the keys of the retained rows
   @NonNull private List<@NonNull List<@NonNull SQWRLResultValue>> distinct(
     @NonNull List<@NonNull List<@NonNull SQWRLResultValue>> sourceRows) throws SQWRLException
   {
-    List<@NonNull List<@NonNull SQWRLResultValue>> localRows = new ArrayList<>(sourceRows);
     List<@NonNull List<@NonNull SQWRLResultValue>> processedRows = new ArrayList<>();
-    SQWRLResultRowComparator rowComparator = new SQWRLResultRowComparator(this.allColumnNames, true); // Look at the
-    // entire row.
+
+    this.distinctRowKeys = new HashSet<>();
+    this.distinctRowComparator = new SQWRLResultRowComparator(this.allColumnNames, true); // Look at the entire row
 
     try {
-      Collections.sort(localRows, rowComparator); // Binary search is expecting a sorted list
-      for (List<@NonNull SQWRLResultValue> row : localRows) {
-        if (Collections.binarySearch(processedRows, row, rowComparator) < 0)
+      for (List<@NonNull SQWRLResultValue> row : sourceRows) {
+        if (this.distinctRowKeys.add(createDistinctRowKey(row)))
           processedRows.add(row);
       }
     } catch (RuntimeException e) {
@@ -1008,83 +1110,54 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     return processedRows;
   }
 
+  @NonNull private SQWRLResultRowKey createDistinctRowKey(@NonNull List<@NonNull SQWRLResultValue> row)
+  {
+    return new SQWRLResultRowKey(row, this.distinctRowComparator);
+  }
+
   @NonNull private List<@NonNull List<@NonNull SQWRLResultValue>> aggregate(
     @NonNull List<@NonNull List<@NonNull SQWRLResultValue>> sourceRows) throws SQWRLException
   {
-    List<@NonNull List<@NonNull SQWRLResultValue>> result = new ArrayList<>();
     SQWRLResultRowComparator rowComparator = new SQWRLResultRowComparator(this.allColumnNames,
       this.selectedColumnIndexes, true);
-    // Key is index of aggregated row in result, value is hash map of aggregate column index to list of original values.
-    Map<@NonNull Integer, Map<@NonNull Integer, @NonNull List<@NonNull SQWRLResultValue>>> aggregatesMap = new HashMap<>();
-    // Map of column indexes to value lists; used to accumulate values for aggregation.
-    Map<@NonNull Integer, @NonNull List<@NonNull SQWRLResultValue>> aggregateRowMap;
-    List<@NonNull SQWRLResultValue> values;
-    SQWRLResultValue value;
-
-    for (List<@NonNull SQWRLResultValue> row : sourceRows) {
-      Optional<@NonNull Integer> foundRowIndex = findRowIndex(result, row,
-        rowComparator); // Find row with same values for non aggregated columns
-
-      if (foundRowIndex.isPresent()) { // Row with same values for non aggregated columns not yet present in result.
-        aggregateRowMap = aggregatesMap.get(foundRowIndex.get()); // Find the aggregate map
-        for (Integer aggregateColumnIndex : this.aggregateColumnIndexes.keySet()) {
-          value = row.get(aggregateColumnIndex); // Find value
-          values = aggregateRowMap.get(aggregateColumnIndex); // Find row map
-          values.add(value); // Add value
-        }
-      } else { // We found a row that has the same values for the non aggregated columns.
-        aggregateRowMap = new HashMap<>();
-        // Find value for each aggregated column in row and add each to map indexed by result row
-        for (Integer aggregateColumnIndex : this.aggregateColumnIndexes.keySet()) {
-          values = new ArrayList<>();
-          value = row.get(aggregateColumnIndex);
-          values.add(value);
-          aggregateRowMap.put(aggregateColumnIndex, values);
+    // Resolve the aggregate function of each aggregated column once
+    int[] aggregateColumnIndexes = new int[this.aggregateColumnIndexes.size()];
+    AggregateFunction[] aggregateFunctions = new AggregateFunction[this.aggregateColumnIndexes.size()];
+    int aggregateIndex = 0;
+    for (Map.Entry<@NonNull Integer, @NonNull String> e : this.aggregateColumnIndexes.entrySet()) {
+      aggregateColumnIndexes[aggregateIndex] = e.getKey();
+      aggregateFunctions[aggregateIndex] = AggregateFunction.forName(e.getValue());
+      aggregateIndex++;
+    }
+    // Rows are grouped by the values of their non aggregated columns; groups are kept in the order they are first seen
+    Map<@NonNull SQWRLResultRowKey, @NonNull AggregateAccumulator[]> groups = new LinkedHashMap<>();
+
+    try {
+      for (List<@NonNull SQWRLResultValue> row : sourceRows) {
+        SQWRLResultRowKey rowKey = new SQWRLResultRowKey(row, rowComparator);
+        AggregateAccumulator[] accumulators = groups.get(rowKey);
+
+        if (accumulators == null) {
+          accumulators = new AggregateAccumulator[aggregateColumnIndexes.length];
+          for (int i = 0; i < aggregateColumnIndexes.length; i++)
+            accumulators[i] = createAggregateAccumulator(aggregateFunctions[i], aggregateColumnIndexes[i]);
+          groups.put(rowKey, accumulators);
         }
-        aggregatesMap.put(result.size(), aggregateRowMap); //
-        result.add(row);
+
+        for (int i = 0; i < aggregateColumnIndexes.length; i++)
+          accumulators[i].add(row.get(aggregateColumnIndexes[i]));
       }
+    } catch (RuntimeException e) {
+      throw new SQWRLException("Internal error comparing rows", e);
     }
 
-    int rowIndex = 0;
-    for (List<@NonNull SQWRLResultValue> row : result) {
-      aggregateRowMap = aggregatesMap.get(rowIndex);
-
-      for (Integer aggregateColumnIndex : this.aggregateColumnIndexes.keySet()) {
-        String aggregateFunctionName = this.aggregateColumnIndexes.get(aggregateColumnIndex);
-        List<@NonNull SQWRLResultValue> columnValues = aggregateRowMap.get(aggregateColumnIndex);
-
-        // We have checked in addCell that only numeric data are added for sum, max, min, and avg
-        if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MinAggregateFunction)) {
-          List<@NonNull SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-            aggregateColumnIndex);
-          value = min(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MaxAggregateFunction)) {
-          List<@NonNull SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-            aggregateColumnIndex);
-          value = max(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.SumAggregateFunction)) {
-          List<@NonNull SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-            aggregateColumnIndex);
-          value = sum(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.AvgAggregateFunction)) {
-          List<@NonNull SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-            aggregateColumnIndex);
-          value = avg(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.MedianAggregateFunction)) {
-          List<@NonNull SQWRLLiteralResultValue> literalColumnValues = convert2LiteralResultValues(columnValues,
-            aggregateColumnIndex);
-          value = median(literalColumnValues, aggregateColumnIndex);
-        } else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.CountAggregateFunction))
-          value = count(columnValues);
-        else if (aggregateFunctionName.equalsIgnoreCase(SQWRLResultNames.CountDistinctAggregateFunction))
-          value = countDistinct(columnValues);
-        else
-          throw new SQWRLInvalidAggregateFunctionNameException("invalid aggregate function " + aggregateFunctionName);
+    List<@NonNull List<@NonNull SQWRLResultValue>> result = new ArrayList<>(groups.size());
+    for (Map.Entry<@NonNull SQWRLResultRowKey, @NonNull AggregateAccumulator[]> group : groups.entrySet()) {
+      List<@NonNull SQWRLResultValue> row = group.getKey().getRow(); // The first row seen in the group
 
-        row.set(aggregateColumnIndex, value);
-      }
-      rowIndex++;
+      for (int i = 0; i < aggregateColumnIndexes.length; i++)
+        row.set(aggregateColumnIndexes[i], group.getValue()[i].getResult());
+      result.add(row);
     }
     return result;
   }
@@ -1105,170 +1178,343 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     return result;
   }
 
-  @NonNull private SQWRLLiteralResultValue min(@NonNull List<@NonNull SQWRLLiteralResultValue> columnValues,
-    int columnIndex) throws SQWRLException
+  @NonNull private AggregateAccumulator createAggregateAccumulator(@NonNull AggregateFunction aggregateFunction,
+    int columnIndex)
+  {
+    switch (aggregateFunction) {
+    case MIN:
+      return new MinAggregateAccumulator(columnIndex);
+    case MAX:
+      return new MaxAggregateAccumulator(columnIndex);
+    case SUM:
+      return new SumAggregateAccumulator(columnIndex);
+    case AVG:
+      return new AvgAggregateAccumulator(columnIndex);
+    case MEDIAN:
+      return new MedianAggregateAccumulator(columnIndex);
+    case COUNT:
+      return new CountAggregateAccumulator();
+    case COUNT_DISTINCT:
+      return new CountDistinctAggregateAccumulator();
+    default:
+      throw new SWRLAPIInternalException("unknown aggregate function " + aggregateFunction);
+    }
+  }
+
+  private enum AggregateFunction
   {
-    if (columnValues.isEmpty())
-      throw new SQWRLException("empty aggregate list for " + SQWRLResultNames.MinAggregateFunction);
+    MIN(SQWRLResultNames.MinAggregateFunction), MAX(SQWRLResultNames.MaxAggregateFunction),
+    SUM(SQWRLResultNames.SumAggregateFunction), AVG(SQWRLResultNames.AvgAggregateFunction),
+    MEDIAN(SQWRLResultNames.MedianAggregateFunction), COUNT(SQWRLResultNames.CountAggregateFunction),
+    COUNT_DISTINCT(SQWRLResultNames.CountDistinctAggregateFunction);
+
+    @NonNull private final String functionName;
 
-    SQWRLLiteralResultValue result = columnValues.get(0);
+    AggregateFunction(@NonNull String functionName)
+    {
+      this.functionName = functionName;
+    }
 
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
+    @NonNull public static AggregateFunction forName(@NonNull String functionName)
+      throws SQWRLInvalidAggregateFunctionNameException
+    {
+      for (AggregateFunction aggregateFunction : values())
+        if (aggregateFunction.functionName.equalsIgnoreCase(functionName))
+          return aggregateFunction;
 
-      if (!isNumericValue(value))
-        throw new SQWRLException(
-          "attempt to use " + SQWRLResultNames.MinAggregateFunction + " aggregate on column with non numeric literal "
-            + value + " with type " + value.getOWLDatatype() + "in (0-based) row " + rowIndex + ", column "
-            + columnIndex);
-
-      if (result == null)
-        result = value;
-      else if (value.compareTo(result) < 0)
-        result = value;
-      rowIndex++;
+      throw new SQWRLInvalidAggregateFunctionNameException("invalid aggregate function " + functionName);
     }
+  }
 
-    return result;
+  /**
+   * Accumulates the values of an aggregated column for a single group of rows.
+   */
+  private interface AggregateAccumulator
+  {
+    void add(@NonNull SQWRLResultValue value) throws SQWRLException;
+
+    @NonNull SQWRLResultValue getResult() throws SQWRLException;
   }
 
-  @NonNull private SQWRLLiteralResultValue max(@NonNull List<@NonNull SQWRLLiteralResultValue> columnValues,
-    int columnIndex) throws SQWRLException
+  private class CountAggregateAccumulator implements AggregateAccumulator
   {
-    if (columnValues.isEmpty())
-      throw new SQWRLException("empty aggregate list for " + SQWRLResultNames.MaxAggregateFunction);
+    private int count = 0;
 
-    SQWRLLiteralResultValue result = columnValues.get(0);
+    @Override public void add(@NonNull SQWRLResultValue value)
+    {
+      this.count++;
+    }
 
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
+    @NonNull @Override public SQWRLResultValue getResult()
+    {
+      return getSQWRLResultValueFactory().getLiteralValue(this.count);
+    }
+  }
 
-      if (!isNumericValue(value))
-        throw new SQWRLException(
-          "attempt to use " + SQWRLResultNames.MaxAggregateFunction + " aggregate with non numeric literal " + value
-            + " with type " + value.getOWLDatatype() + "in (0-based) row " + rowIndex + ", column " + columnIndex);
-
-      if (result == null)
-        result = value;
-      else if (value.compareTo(result) > 0)
-        result = value;
-      rowIndex++;
+  private class CountDistinctAggregateAccumulator implements AggregateAccumulator
+  {
+    @NonNull private final Set<@NonNull SQWRLResultValue> distinctValues = new HashSet<>();
+
+    @Override public void add(@NonNull SQWRLResultValue value)
+    {
+      this.distinctValues.add(value);
     }
 
-    return result;
+    @NonNull @Override public SQWRLResultValue getResult()
+    {
+      return getSQWRLResultValueFactory().getLiteralValue(this.distinctValues.size());
+    }
   }
 
-  @NonNull private SQWRLLiteralResultValue sum(@NonNull List<@NonNull SQWRLLiteralResultValue> columnValues,
-    int columnIndex) throws SQWRLException
+  /**
+   * Keeps a running value for a numeric aggregate. One literal of each datatype seen is retained to determine the
+   * least narrow type of the result.
+   */
+  private abstract class NumericAggregateAccumulator implements AggregateAccumulator
   {
-    double sum = 0;
+    @NonNull private final String functionName;
+    private final int columnIndex;
+    @NonNull private final Map<@NonNull OWLDatatype, @NonNull SQWRLLiteralResultValue> datatypeValues = new HashMap<>();
+    protected int count = 0;
 
-    if (columnValues.isEmpty())
-      throw new SQWRLException("empty aggregate list for " + SQWRLResultNames.SumAggregateFunction);
+    protected NumericAggregateAccumulator(@NonNull String functionName, int columnIndex)
+    {
+      this.functionName = functionName;
+      this.columnIndex = columnIndex;
+    }
 
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
+    @Override public void add(@NonNull SQWRLResultValue value) throws SQWRLException
+    {
+      if (!value.isLiteral())
+        throw new SQWRLException(
+          "Found non literal value " + value + " in (0-based) row " + this.count + ", column " + this.columnIndex
+            + " - expecting literal");
 
-      if (!isNumericValue(value))
+      SQWRLLiteralResultValue literalValue = value.asLiteralResult();
+
+      if (!isNumericValue(literalValue))
         throw new SQWRLException(
-          "attempt to use " + SQWRLResultNames.SumAggregateFunction + " aggregate  on non numeric value: " + value
-            + " with type " + value.getOWLDatatype() + " in (0-based) row " + rowIndex + ", column " + columnIndex);
+          "attempt to use " + this.functionName + " aggregate on column with non numeric value " + literalValue
+            + " with type " + literalValue.getOWLDatatype() + " in (0-based) row " + this.count + ", column "
+            + this.columnIndex);
+
+      this.datatypeValues.putIfAbsent(literalValue.getOWLDatatype(), literalValue);
+      addNumeric(literalValue);
+      this.count++;
+    }
+
+    @NonNull @Override public SQWRLResultValue getResult() throws SQWRLException
+    {
+      if (this.count == 0)
+        throw new SQWRLException("empty aggregate list for " + this.functionName);
+
+      return getNumericResult();
+    }
 
-      double d = value.getDouble();
+    protected abstract void addNumeric(@NonNull SQWRLLiteralResultValue value) throws SQWRLException;
 
-      sum = sum + d;
-      rowIndex++;
+    @NonNull protected abstract SQWRLLiteralResultValue getNumericResult() throws SQWRLException;
+
+    @NonNull protected SQWRLLiteralResultValue createLeastNarrowNumericLiteralValue(double value)
+    {
+      return getSQWRLResultValueFactory()
+        .createLeastNarrowNumericLiteralValue(value, new ArrayList<>(this.datatypeValues.values()));
     }
-    return getSQWRLResultValueFactory().createLeastNarrowNumericLiteralValue(sum, columnValues);
   }
 
-  @NonNull private SQWRLLiteralResultValue avg(@NonNull List<@NonNull SQWRLLiteralResultValue> columnValues,
-    int columnIndex) throws SQWRLException
+  private class MinAggregateAccumulator extends NumericAggregateAccumulator
   {
-    double sum = 0;
-    int count = 0;
+    @Nullable private SQWRLLiteralResultValue min = null;
 
-    if (columnValues.isEmpty())
-      throw new SQWRLException("empty aggregate list for function " + SQWRLResultNames.AvgAggregateFunction);
+    public MinAggregateAccumulator(int columnIndex)
+    {
+      super(SQWRLResultNames.MinAggregateFunction, columnIndex);
+    }
 
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
+    @Override protected void addNumeric(@NonNull SQWRLLiteralResultValue value)
+    {
+      if (this.min == null || value.compareTo(this.min) < 0)
+        this.min = value;
+    }
 
-      if (!isNumericValue(value))
-        throw new SQWRLException(
-          "attempt to use " + SQWRLResultNames.AvgAggregateFunction + " aggregate on column with non literal value "
-            + value + " with type " + value.getOWLDatatype() + " in (0-based) row " + rowIndex + ", column "
-            + columnIndex);
+    @NonNull @Override protected SQWRLLiteralResultValue getNumericResult()
+    {
+      return this.min;
+    }
+  }
+
+  private class MaxAggregateAccumulator extends NumericAggregateAccumulator
+  {
+    @Nullable private SQWRLLiteralResultValue max = null;
 
-      double d = value.getDouble();
+    public MaxAggregateAccumulator(int columnIndex)
+    {
+      super(SQWRLResultNames.MaxAggregateFunction, columnIndex);
+    }
 
-      count++;
-      sum = sum + d;
-      rowIndex++;
+    @Override protected void addNumeric(@NonNull SQWRLLiteralResultValue value)
+    {
+      if (this.max == null || value.compareTo(this.max) > 0)
+        this.max = value;
     }
-    double avgValue = sum / count;
 
-    return getSQWRLResultValueFactory().createLeastNarrowNumericLiteralValue(avgValue, columnValues);
+    @NonNull @Override protected SQWRLLiteralResultValue getNumericResult()
+    {
+      return this.max;
+    }
   }
 
-  @NonNull private SQWRLLiteralResultValue median(@NonNull List<@NonNull SQWRLLiteralResultValue> columnValues,
-    int columnIndex) throws SQWRLException
+  private class SumAggregateAccumulator extends NumericAggregateAccumulator
   {
-    double[] valueArray = new double[columnValues.size()];
-    int count = 0, middle = columnValues.size() / 2;
-    double medianValue;
+    protected double sum = 0;
 
-    int rowIndex = 0;
-    for (SQWRLLiteralResultValue value : columnValues) {
-      if (!isNumericValue(value))
-        throw new SQWRLException(
-          "attempt to use " + SQWRLResultNames.MedianAggregateFunction + " aggregate on column with non literal value "
-            + value + " with type " + value.getOWLDatatype() + " in (0-based) row " + rowIndex + ", column "
-            + columnIndex);
+    public SumAggregateAccumulator(int columnIndex)
+    {
+      this(SQWRLResultNames.SumAggregateFunction, columnIndex);
+    }
+
+    protected SumAggregateAccumulator(@NonNull String functionName, int columnIndex)
+    {
+      super(functionName, columnIndex);
+    }
 
-      double d = value.getDouble();
-      valueArray[count++] = d;
+    @Override protected void addNumeric(@NonNull SQWRLLiteralResultValue value) throws SQWRLException
+    {
+      this.sum = this.sum + value.getDouble();
     }
 
-    Arrays.sort(valueArray);
+    @NonNull @Override protected SQWRLLiteralResultValue getNumericResult()
+    {
+      return createLeastNarrowNumericLiteralValue(this.sum);
+    }
+  }
 
-    if (columnValues.size() % 2 == 1)
-      medianValue = valueArray[middle];
-    else
-      medianValue = (valueArray[middle - 1] + valueArray[middle]) / 2;
+  private class AvgAggregateAccumulator extends SumAggregateAccumulator
+  {
+    public AvgAggregateAccumulator(int columnIndex)
+    {
+      super(SQWRLResultNames.AvgAggregateFunction, columnIndex);
+    }
 
-    return getSQWRLResultValueFactory().createLeastNarrowNumericLiteralValue(medianValue, columnValues);
+    @NonNull @Override protected SQWRLLiteralResultValue getNumericResult()
+    {
+      return createLeastNarrowNumericLiteralValue(this.sum / this.count);
+    }
   }
 
-  @NonNull private SQWRLLiteralResultValue count(@NonNull List<@NonNull SQWRLResultValue> columnValues)
+  // The median is not computable from running values so all values in the group are kept
+  private class MedianAggregateAccumulator extends NumericAggregateAccumulator
   {
-    return getSQWRLResultValueFactory().getLiteralValue(columnValues.size());
+    @NonNull private double[] values = new double[8];
+
+    public MedianAggregateAccumulator(int columnIndex)
+    {
+      super(SQWRLResultNames.MedianAggregateFunction, columnIndex);
+    }
+
+    @Override protected void addNumeric(@NonNull SQWRLLiteralResultValue value) throws SQWRLException
+    {
+      if (this.count == this.values.length)
+        this.values = Arrays.copyOf(this.values, 2 * this.values.length);
+
+      this.values[this.count] = value.getDouble();
+    }
+
+    @NonNull @Override protected SQWRLLiteralResultValue getNumericResult()
+    {
+      double[] sortedValues = Arrays.copyOf(this.values, this.count);
+      int middle = this.count / 2;
+      double medianValue;
+
+      Arrays.sort(sortedValues);
+
+      if (this.count % 2 == 1)
+        medianValue = sortedValues[middle];
+      else
+        medianValue = (sortedValues[middle - 1] + sortedValues[middle]) / 2;
+
+      return createLeastNarrowNumericLiteralValue(medianValue);
+    }
   }
 
-  @NonNull private SQWRLLiteralResultValue countDistinct(@NonNull List<@NonNull SQWRLResultValue> columnValues)
+  /**
+   * Hash key for a row that considers only the columns compared by the supplied comparator. Keys are equal if the
+   * comparator considers their rows equal; hash codes are consistent with that comparison.
+   */
+  private static final class SQWRLResultRowKey
   {
-    Set<@NonNull SQWRLResultValue> distinctValues = new HashSet<>(columnValues);
+    @NonNull private final List<@NonNull SQWRLResultValue> row;
+    @NonNull private final SQWRLResultRowComparator rowComparator;
+    private final int hashCode;
+
+    public SQWRLResultRowKey(@NonNull List<@NonNull SQWRLResultValue> row,
+      @NonNull SQWRLResultRowComparator rowComparator)
+    {
+      this.row = row;
+      this.rowComparator = rowComparator;
+
+      int hash = 17;
+      for (Integer columnIndex : rowComparator.getColumnIndexes())
+        hash = 31 * hash + hash(row.get(columnIndex));
+      this.hashCode = hash;
+    }
+
+    @NonNull public List<@NonNull SQWRLResultValue> getRow()
+    {
+      return this.row;
+    }
+
+    @SideEffectFree @Override public boolean equals(@Nullable Object obj)
+    {
+      if (this == obj)
+        return true;
+      if ((obj == null) || (obj.getClass() != this.getClass()))
+        return false;
+
+      return this.rowComparator.compare(this.row, ((SQWRLResultRowKey)obj).row) == 0;
+    }
 
-    return getSQWRLResultValueFactory().getLiteralValue(distinctValues.size());
+    @SideEffectFree @Override public int hashCode()
+    {
+      return this.hashCode;
+    }
+
+    // Must be consistent with the value comparisons in SQWRLResultRowComparator
+    private static int hash(@NonNull SQWRLResultValue value)
+    {
+      if (value instanceof DefaultLiteral)
+        return OWLLiteralComparator.hash(((DefaultLiteral)value).getTypedLiteral());
+      else if (value.isLiteral())
+        return OWLLiteralComparator.hash(((SQWRLLiteralResultValue)value).getOWLLiteral());
+      else if (value.isClassExpression())
+        return ((SQWRLExpressionResultValue)value).getRendering().hashCode();
+      else if (value.isEntity())
+        return ((SQWRLEntityResultValue)value).getIRI().hashCode();
+      else
+        return 0;
+    }
   }
 
-  // TODO: linear search is not very efficient.
-  @NonNull private Optional<@NonNull Integer> findRowIndex(
-    @NonNull List<@NonNull List<@NonNull SQWRLResultValue>> result, @NonNull List<@NonNull SQWRLResultValue> rowToFind,
-    @NonNull Comparator<List<@NonNull SQWRLResultValue>> rowComparator) throws SQWRLException
+  private static final class SQWRLRankedRow
   {
-    int rowIndex = 0;
+    @NonNull private final List<@NonNull SQWRLResultValue> row;
+    private final long sequenceNumber;
 
-    try {
-      for (List<@NonNull SQWRLResultValue> row : result) {
-        if (rowComparator.compare(rowToFind, row) == 0)
-          return Optional.of(rowIndex);
-        rowIndex++;
-      }
-    } catch (RuntimeException e) {
-      throw new SQWRLException("Internal error comparing rows", e);
+    public SQWRLRankedRow(@NonNull List<@NonNull SQWRLResultValue> row, long sequenceNumber)
+    {
+      this.row = row;
+      this.sequenceNumber = sequenceNumber;
+    }
+
+    @NonNull public List<@NonNull SQWRLResultValue> getRow()
+    {
+      return this.row;
+    }
+
+    public long getSequenceNumber()
+    {
+      return this.sequenceNumber;
     }
-    return Optional.<@NonNull Integer>empty();
   }
 
   private static class SQWRLResultRowComparator implements Comparator<List<@NonNull SQWRLResultValue>>
@@ -1292,6 +1538,11 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
         this.orderByColumnIndexes.add(allColumnNames.indexOf(columnName));
     }
 
+    @NonNull public List<@NonNull Integer> getColumnIndexes()
+    {
+      return this.orderByColumnIndexes;
+    }
+
     @Override public int compare(@NonNull List<@NonNull SQWRLResultValue> row1,
       @NonNull List<@NonNull SQWRLResultValue> row2)
     {
@@ -1326,24 +1577,6 @@ class DefaultSQWRLResultManager implements SQWRLResultManager, Serializable
     }
   }
 
-  @NonNull private List<@NonNull SQWRLLiteralResultValue> convert2LiteralResultValues(
-    @NonNull List<@NonNull SQWRLResultValue> columnValues, int columnIndex) throws SQWRLException
-  {
-    List<@NonNull SQWRLLiteralResultValue> literalValues = new ArrayList<>();
-
-    int rowIndex = 0;
-    for (SQWRLResultValue value : columnValues) {
-      if (value.isLiteral())
-        literalValues.add(value.asLiteralResult());
-      else
-        throw new SQWRLException(
-          "Found non literal value " + value + " in (0-based) row " + rowIndex + ", column " + columnIndex
-            + " - expecting literal");
-      rowIndex++;
-    }
-    return literalValues;
-  }
-
   private SQWRLResultValueFactory getSQWRLResultValueFactory()
   {
     return this.sqwrlResultValueFactory;
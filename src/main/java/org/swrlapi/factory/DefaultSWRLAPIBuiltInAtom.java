@@ -1,7 +1,9 @@
 package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.semanticweb.owlapi.model.IRI;
+import org.swrlapi.builtins.SWRLBuiltInInvoker;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLVariableBuiltInArgument;
 import org.swrlapi.core.SWRLAPIBuiltInAtom;
@@ -13,6 +15,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 class DefaultSWRLAPIBuiltInAtom extends SWRLBuiltInAtomImpl implements SWRLAPIBuiltInAtom
@@ -24,6 +27,7 @@ class DefaultSWRLAPIBuiltInAtom extends SWRLBuiltInAtomImpl implements SWRLAPIBu
   @NonNull private final String builtInPrefixedName;
   @NonNull private List<@NonNull SWRLBuiltInArgument> arguments;
   @NonNull private Set<@NonNull String> pathVariableNames = new HashSet<>();
+  @Nullable private transient SWRLBuiltInInvoker builtInInvoker;
 
   private boolean sqwrlCollectionResultsUsed = false;
   private int builtInIndex = -1; // Index of this built-in atom in rule body; left-to-right, first built-in index is 0,
@@ -69,6 +73,16 @@ class DefaultSWRLAPIBuiltInAtom extends SWRLBuiltInAtomImpl implements SWRLAPIBu
     return this.arguments.size();
   }
 
+  @NonNull @Override public Optional<@NonNull SWRLBuiltInInvoker> getBuiltInInvoker()
+  {
+    return Optional.ofNullable(this.builtInInvoker);
+  }
+
+  @Override public void setBuiltInInvoker(@NonNull SWRLBuiltInInvoker builtInInvoker)
+  {
+    this.builtInInvoker = builtInInvoker;
+  }
+
   @Override public int getBuiltInIndex()
   {
     return this.builtInIndex;
@@ -28,12 +28,18 @@ public class DefaultSWRLAPIOWLDataFactory extends OWLDataFactoryImpl implements
   @NonNull private final SQWRLResultValueFactory sqwrlResultValueFactory;
 
   public DefaultSWRLAPIOWLDataFactory(@NonNull IRIResolver iriResolver)
+  {
+    this(iriResolver, new OWLObjectDictionary());
+  }
+
+  public DefaultSWRLAPIOWLDataFactory(@NonNull IRIResolver iriResolver, @NonNull OWLObjectDictionary dictionary)
   {
     this.iriResolver = iriResolver;
     this.owlDatatypeFactory = SWRLAPIInternalFactory.createOWLDatatypeFactory();
     this.owlLiteralFactory = SWRLAPIInternalFactory.createOWLLiteralFactory();
     this.literalFactory = SWRLAPIInternalFactory.createLiteralFactory();
-    this.swrlBuiltInArgumentFactory = SWRLAPIInternalFactory.createSWRLBuiltInArgumentFactory(this.iriResolver);
+    this.swrlBuiltInArgumentFactory = SWRLAPIInternalFactory
+      .createSWRLBuiltInArgumentFactory(this.iriResolver, dictionary);
     this.sqwrlResultValueFactory = SWRLAPIInternalFactory.createSQWRLResultValueFactory(this.iriResolver);
   }
 
@@ -68,6 +68,7 @@ import org.semanticweb.owlapi.model.SWRLLiteralArgument;
 import org.semanticweb.owlapi.model.SWRLPredicate;
 import org.semanticweb.owlapi.model.SWRLRule;
 import org.semanticweb.owlapi.model.SWRLVariable;
+import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
 import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.util.SimpleIRIMapper;
 import org.semanticweb.owlapi.vocab.OWL2Datatype;
@@ -75,11 +76,14 @@ import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 import org.semanticweb.owlapi.vocab.SWRLVocabulary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.swrlapi.builtins.SWRLBuiltInLibraryManager;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.builtins.arguments.SWRLVariableBuiltInArgument;
 import org.swrlapi.core.IRIResolver;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
 import org.swrlapi.core.SWRLAPIOWLOntology;
 import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.core.SWRLRuleDependencyGraph;
 import org.swrlapi.core.SWRLRuleRenderer;
 import org.swrlapi.exceptions.SWRLAPIException;
 import org.swrlapi.exceptions.SWRLAPIInternalException;
@@ -99,6 +103,7 @@ import org.swrlapi.ui.model.SWRLRuleEngineModel;
 import javax.annotation.Nonnull;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -107,6 +112,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChangeListener
 {
@@ -114,6 +120,18 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
 
   private static final String AUTOGENERATED_RULE_NAME_PREFIX = "S";
 
+  // Non-declaration axiom types recorded by processOWLAxioms(); other types are ignored during delta processing
+  @NonNull private static final Set<@NonNull AxiomType<?>> PROCESSED_AXIOM_TYPES = new HashSet<>(Arrays
+    .asList(AxiomType.CLASS_ASSERTION, AxiomType.OBJECT_PROPERTY_ASSERTION, AxiomType.DATA_PROPERTY_ASSERTION,
+      AxiomType.SAME_INDIVIDUAL, AxiomType.DIFFERENT_INDIVIDUALS, AxiomType.SUBCLASS_OF, AxiomType.EQUIVALENT_CLASSES,
+      AxiomType.SUB_OBJECT_PROPERTY, AxiomType.SUB_DATA_PROPERTY, AxiomType.EQUIVALENT_DATA_PROPERTIES,
+      AxiomType.EQUIVALENT_OBJECT_PROPERTIES, AxiomType.TRANSITIVE_OBJECT_PROPERTY,
+      AxiomType.SYMMETRIC_OBJECT_PROPERTY, AxiomType.FUNCTIONAL_OBJECT_PROPERTY,
+      AxiomType.INVERSE_FUNCTIONAL_OBJECT_PROPERTY, AxiomType.FUNCTIONAL_DATA_PROPERTY,
+      AxiomType.OBJECT_PROPERTY_DOMAIN, AxiomType.DATA_PROPERTY_DOMAIN, AxiomType.OBJECT_PROPERTY_RANGE,
+      AxiomType.DATA_PROPERTY_RANGE, AxiomType.INVERSE_OBJECT_PROPERTIES, AxiomType.IRREFLEXIVE_OBJECT_PROPERTY,
+      AxiomType.ASYMMETRIC_OBJECT_PROPERTY, AxiomType.DISJOINT_OBJECT_PROPERTIES, AxiomType.DISJOINT_DATA_PROPERTIES));
+
   @NonNull private final OWLOntology ontology;
   @NonNull private final IRIResolver iriResolver;
   @NonNull private final SWRLAPIOWLDataFactory swrlapiOWLDataFactory;
@@ -122,33 +140,53 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
   @NonNull private final Map<@NonNull String, @NonNull SWRLAPIRule> swrlRules; // Rules and queries extracted from ontology
   @NonNull private final Map<@NonNull String, @NonNull SWRLRule> owlapiRules; // All SWRL rules in supplied ontology
   @NonNull private final Map<@NonNull String, @NonNull SQWRLQuery> sqwrlQueries;
+  @NonNull private final DefaultSWRLRuleDependencyGraph swrlRuleDependencyGraph; // Maintained with the rules
+  @NonNull private final OWLAssertionStatistics assertionStatistics; // Only kept while cost-based ordering is enabled
+  @NonNull private final OWLObjectDictionary owlObjectDictionary; // Kept across processing so that ids remain stable
 
   // All asserted OWL axioms extracted from the supplied ontology; includes SWRL rules
   @NonNull private final Set<@NonNull OWLAxiom> assertedOWLAxioms;
 
+  // Asserted OWL axioms added and removed since change recording started
+  @NonNull private final Set<@NonNull OWLAxiom> addedOWLAxioms;
+  @NonNull private final Set<@NonNull OWLAxiom> removedOWLAxioms;
+
   @NonNull private final Map<@NonNull IRI, @NonNull OWLDeclarationAxiom> classDeclarationAxioms;
   @NonNull private final Map<@NonNull IRI, @NonNull OWLDeclarationAxiom> individualDeclarationAxioms;
   @NonNull private final Map<@NonNull IRI, @NonNull OWLDeclarationAxiom> objectPropertyDeclarationAxioms;
   @NonNull private final Map<@NonNull IRI, @NonNull OWLDeclarationAxiom> dataPropertyDeclarationAxioms;
   @NonNull private final Map<@NonNull IRI, @NonNull OWLDeclarationAxiom> annotationPropertyDeclarationAxioms;
 
+  // Number of processed axioms referencing each entity; used to retract generated declarations during delta processing
+  @NonNull private final Map<@NonNull OWLEntity, @NonNull Integer> declarationReferenceCounts;
+  @NonNull private final OWLDeclarationReferenceCollector declarationReferenceCollector;
+
   @NonNull private final Set<SWRLRuleEngineModel> swrlRuleEngineModels;
 
   private boolean hasOntologyChanged = true; // Ensure initial processing
   private boolean eventFreezeMode = false;
+  private boolean hasUnprocessedChanges = false; // Changes received in event freeze mode require full processing
+  private boolean isRecordingOWLAxiomChanges = false;
+  private boolean costBasedBodyAtomOrderingEnabled = false;
 
   public DefaultSWRLAPIOWLOntology(@NonNull OWLOntology ontology, @NonNull IRIResolver iriResolver)
   {
     this.ontology = ontology;
     this.iriResolver = iriResolver;
-    this.swrlapiOWLDataFactory = SWRLAPIInternalFactory.createSWRLAPIOWLDataFactory(this.iriResolver);
+    this.owlObjectDictionary = new OWLObjectDictionary();
+    this.swrlapiOWLDataFactory = SWRLAPIInternalFactory
+      .createSWRLAPIOWLDataFactory(this.iriResolver, this.owlObjectDictionary);
     this.swrlBuiltInIRIs = new HashSet<>();
 
     this.swrlRules = new HashMap<>();
     this.owlapiRules = new HashMap<>();
     this.sqwrlQueries = new HashMap<>();
+    this.swrlRuleDependencyGraph = new DefaultSWRLRuleDependencyGraph();
+    this.assertionStatistics = new OWLAssertionStatistics();
 
     this.assertedOWLAxioms = new HashSet<>();
+    this.addedOWLAxioms = new HashSet<>();
+    this.removedOWLAxioms = new HashSet<>();
 
     this.classDeclarationAxioms = new HashMap<>();
     this.individualDeclarationAxioms = new HashMap<>();
@@ -156,6 +194,9 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     this.dataPropertyDeclarationAxioms = new HashMap<>();
     this.annotationPropertyDeclarationAxioms = new HashMap<>();
 
+    this.declarationReferenceCounts = new HashMap<>();
+    this.declarationReferenceCollector = new OWLDeclarationReferenceCollector();
+
     this.swrlRuleEngineModels = new HashSet<>();
 
     addDefaultSWRLBuiltIns();
@@ -164,12 +205,33 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     iriResolver.updatePrefixes(ontology);
   }
 
+  /**
+   * If changes are being recorded they are found by comparing the asserted OWL axioms before and after processing.
+   */
   @Override public void processOntology() throws SWRLBuiltInException
   {
-    reset(); // Will reset hasOntologyChanged
-    this.iriResolver.updatePrefixes(this.ontology);
-    processSWRLRulesAndSQWRLQueries();
-    processOWLAxioms();
+    boolean isRecording = this.isRecordingOWLAxiomChanges;
+    Set<@NonNull OWLAxiom> previousOWLAxioms = isRecording ?
+      new HashSet<>(this.assertedOWLAxioms) :
+      Collections.emptySet();
+
+    this.isRecordingOWLAxiomChanges = false;
+    try {
+      reset(); // Will reset hasOntologyChanged
+      this.iriResolver.updatePrefixes(this.ontology);
+      if (this.costBasedBodyAtomOrderingEnabled)
+        processOWLAssertionStatistics(); // Rules are ordered using the statistics
+      processSWRLRulesAndSQWRLQueries();
+      processOWLAxioms();
+    } finally {
+      if (isRecording) {
+        this.isRecordingOWLAxiomChanges = true;
+        previousOWLAxioms.stream().filter(axiom -> !this.assertedOWLAxioms.contains(axiom))
+          .forEach(this::recordRemovedOWLAxiom);
+        this.assertedOWLAxioms.stream().filter(axiom -> !previousOWLAxioms.contains(axiom))
+          .forEach(this::recordAddedOWLAxiom);
+      }
+    }
     notifyRegisteredRuleEngineModels();
   }
 
@@ -178,6 +240,8 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     this.swrlRules.clear();
     this.owlapiRules.clear();
     this.sqwrlQueries.clear();
+    this.swrlRuleDependencyGraph.clear();
+    this.assertionStatistics.clear();
 
     getIRIResolver().reset();
 
@@ -189,22 +253,22 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     this.dataPropertyDeclarationAxioms.clear();
     this.annotationPropertyDeclarationAxioms.clear();
 
+    this.declarationReferenceCounts.clear();
+
     this.hasOntologyChanged = false;
+    this.hasUnprocessedChanges = false;
   }
 
   @Override public void registerRuleEngineModel(SWRLRuleEngineModel swrlRuleEngineModel)
   {
-    if (this.swrlRuleEngineModels.isEmpty())
-      this.ontology.getOWLOntologyManager().addOntologyChangeListener(this);
-
     this.swrlRuleEngineModels.add(swrlRuleEngineModel);
+    updateOntologyChangeListener();
   }
 
   @Override public void unregisterRuleEngineModel(SWRLRuleEngineModel swrlRuleEngineModel)
   {
     this.swrlRuleEngineModels.remove(swrlRuleEngineModel);
-    if (this.swrlRuleEngineModels.isEmpty())
-      this.ontology.getOWLOntologyManager().removeOntologyChangeListener(this);
+    updateOntologyChangeListener();
   }
 
   @NonNull @Override public SWRLAPIRule createSWRLRule(@NonNull String ruleName, @NonNull String rule)
@@ -231,9 +295,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
   @Override public void replaceSWRLRule(@NonNull String originalRuleName, @NonNull String ruleName,
     @NonNull String rule, @NonNull String comment, boolean isActive) throws SWRLParseException, SWRLBuiltInException
   {
-    startEventFreezeMode();
     deleteSWRLRule(originalRuleName);
-    finishEventFreezeMode();
 
     createSWRLRule(ruleName, rule, comment, isActive);
   }
@@ -241,14 +303,9 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
   @Override public void deleteSWRLRule(@NonNull String ruleName)
   {
     if (this.swrlRules.containsKey(ruleName)) {
-      SWRLAPIRule rule = this.swrlRules.get(ruleName);
       SWRLRule owlapiRule = this.owlapiRules.get(ruleName);
 
-      if (rule.isSQWRLQuery())
-        this.sqwrlQueries.remove(ruleName);
-
-      this.swrlRules.remove(ruleName);
-      this.owlapiRules.remove(ruleName);
+      unprocessSWRLRule(ruleName);
 
       this.ontology.getOWLOntologyManager().removeAxiom(this.ontology, owlapiRule);
     }
@@ -268,14 +325,15 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     if (owlapiRule.isPresent()) {
       SWRLAPIRule swrlapiRule = convertOWLAPIRule2SWRLAPIRule(owlapiRule.get(), queryName, comment, isActive);
 
-      addSWRLRule(swrlapiRule, owlapiRule.get()); // Adds query to the underlying ontology
-
       if (swrlapiRule.isSQWRLQuery()) {
-        SQWRLQuery query = createSQWRLQueryFromSWRLRule(swrlapiRule);
+        SQWRLQuery query = createSQWRLQueryFromSWRLRule(swrlapiRule); // Query creation may modify rule's atoms
         this.sqwrlQueries.put(queryName, query);
+        addSWRLRule(swrlapiRule, owlapiRule.get()); // Adds query to the underlying ontology
         return query;
-      } else
+      } else {
+        addSWRLRule(swrlapiRule, owlapiRule.get());
         throw new SWRLParseException(queryName + " is not a SQWRL query");
+      }
     } else
       throw new SWRLParseException("Unknown error - parser failed to generate a query");
   }
@@ -292,23 +350,13 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     this.swrlRules.clear();
     this.owlapiRules.clear();
     this.sqwrlQueries.clear();
+    this.swrlRuleDependencyGraph.clear();
 
     for (SWRLRule owlapiRule : getOWLOntology().getAxioms(AxiomType.SWRL_RULE, Imports.INCLUDED)) {
       Optional<@NonNull String> ruleName = getRuleName(owlapiRule);
-      boolean isActive = getIsRuleEnabled(owlapiRule);
-      String comment = getRuleComment(owlapiRule);
       String finalRuleName = ruleName.isPresent() ? ruleName.get() : "S" + ++ruleNameIndex;
 
-      SWRLAPIRule swrlapiRule = convertOWLAPIRule2SWRLAPIRule(owlapiRule, finalRuleName, comment, isActive);
-
-      this.swrlRules.put(finalRuleName, swrlapiRule);
-      this.owlapiRules.put(finalRuleName, owlapiRule);
-      this.assertedOWLAxioms.add(swrlapiRule);
-
-      if (swrlapiRule.isSQWRLQuery()) {
-        SQWRLQuery query = createSQWRLQueryFromSWRLRule(swrlapiRule);
-        this.sqwrlQueries.put(finalRuleName, query);
-      }
+      processSWRLRule(owlapiRule, finalRuleName);
       // TODO Do we want to add axioms to OWLAPI rule that does not have them?
       // generateRuleAnnotations(ruleName, comment, true)
       // ontologyManager.removeAxiom(ontology, owlapiRule); // Remove the original annotated rule
@@ -316,6 +364,40 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     }
   }
 
+  private void processSWRLRule(@NonNull SWRLRule owlapiRule, @NonNull String ruleName) throws SWRLBuiltInException
+  {
+    boolean isActive = getIsRuleEnabled(owlapiRule);
+    String comment = getRuleComment(owlapiRule);
+    SWRLAPIRule swrlapiRule = convertOWLAPIRule2SWRLAPIRule(owlapiRule, ruleName, comment, isActive);
+
+    if (swrlapiRule.isSQWRLQuery()) {
+      SQWRLQuery query = createSQWRLQueryFromSWRLRule(swrlapiRule); // Query creation may modify rule's atoms
+      this.sqwrlQueries.put(ruleName, query);
+    }
+
+    this.swrlRules.put(ruleName, swrlapiRule);
+    this.owlapiRules.put(ruleName, owlapiRule);
+    addAssertedOWLAxiom(swrlapiRule);
+    this.swrlRuleDependencyGraph.addSWRLRule(swrlapiRule);
+  }
+
+  private void unprocessSWRLRule(@NonNull String ruleName)
+  {
+    SWRLAPIRule swrlapiRule = this.swrlRules.remove(ruleName);
+
+    this.owlapiRules.remove(ruleName);
+    this.sqwrlQueries.remove(ruleName);
+    this.swrlRuleDependencyGraph.removeSWRLRule(ruleName);
+
+    if (swrlapiRule != null)
+      removeAssertedOWLAxiom(swrlapiRule);
+  }
+
+  @NonNull @Override public SWRLRuleDependencyGraph getSWRLRuleDependencyGraph()
+  {
+    return this.swrlRuleDependencyGraph;
+  }
+
   @NonNull @Override public Optional<@NonNull SWRLAPIRule> getSWRLRule(@NonNull String ruleName)
     throws SWRLRuleException
   {
@@ -524,6 +606,11 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     return this.ontology.getOWLOntologyManager().getOWLDataFactory();
   }
 
+  @NonNull @Override public OWLObjectDictionary getOWLObjectDictionary()
+  {
+    return this.owlObjectDictionary;
+  }
+
   @NonNull @Override public IRIResolver getIRIResolver()
   {
     return this.iriResolver;
@@ -544,9 +631,20 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     this.eventFreezeMode = true;
   }
 
+  /**
+   * Changes received in event freeze mode are processed when it finishes.
+   */
   @Override public void finishEventFreezeMode()
   {
     this.eventFreezeMode = false;
+
+    if (this.hasUnprocessedChanges) {
+      try {
+        processOntology();
+      } catch (SWRLBuiltInException e) {
+        throw new SWRLAPIException("error processing ontology: " + e.getMessage(), e);
+      }
+    }
   }
 
   @Override public boolean hasOntologyChanged()
@@ -559,6 +657,56 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     hasOntologyChanged = false;
   }
 
+  @Override public boolean hasUnprocessedChanges()
+  {
+    return this.hasUnprocessedChanges;
+  }
+
+  @Override public void startOWLAxiomChangeRecording()
+  {
+    this.addedOWLAxioms.clear();
+    this.removedOWLAxioms.clear();
+    this.isRecordingOWLAxiomChanges = true;
+    updateOntologyChangeListener();
+  }
+
+  @Override public void stopOWLAxiomChangeRecording()
+  {
+    this.addedOWLAxioms.clear();
+    this.removedOWLAxioms.clear();
+    this.isRecordingOWLAxiomChanges = false;
+    updateOntologyChangeListener();
+  }
+
+  @NonNull @Override public Set<@NonNull OWLAxiom> getAddedOWLAxioms()
+  {
+    return Collections.unmodifiableSet(this.addedOWLAxioms);
+  }
+
+  @NonNull @Override public Set<@NonNull OWLAxiom> getRemovedOWLAxioms()
+  {
+    return Collections.unmodifiableSet(this.removedOWLAxioms);
+  }
+
+  @Override public void setCostBasedBodyAtomOrderingEnabled(boolean enabled)
+  {
+    if (this.costBasedBodyAtomOrderingEnabled != enabled) {
+      this.costBasedBodyAtomOrderingEnabled = enabled;
+      this.hasOntologyChanged = true; // Rules must be processed again
+      this.hasUnprocessedChanges = true;
+
+      if (enabled) // Statistics are only collected while ordering is enabled
+        processOWLAssertionStatistics();
+      else
+        this.assertionStatistics.clear();
+    }
+  }
+
+  @Override public boolean isCostBasedBodyAtomOrderingEnabled()
+  {
+    return this.costBasedBodyAtomOrderingEnabled;
+  }
+
   // void addRuleNameAnnotation(@NonNull SWRLRule rule, @NonNull String ruleName)
   // {
   // OWLAnnotationProperty labelAnnotationProperty = getOWLDataFactory().getRDFSLabel();
@@ -592,7 +740,8 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
   /**
    * We take an OWLAPI {@link org.semanticweb.owlapi.model.SWRLRule} object and for every OWLAPI
    * {@link org.semanticweb.owlapi.model.SWRLBuiltInAtom} in it we create a SWRLAPI
-   * {@link org.swrlapi.core.SWRLAPIBuiltInAtom}; all other atoms remain the same.
+   * {@link org.swrlapi.core.SWRLAPIBuiltInAtom}; all other atoms remain the same. Each built-in atom is bound to the
+   * invoker for its built-in so that rule engines need not resolve built-ins by name.
    *
    * @see org.semanticweb.owlapi.model.SWRLRule
    * @see org.swrlapi.core.SWRLAPIRule
@@ -613,8 +762,10 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
         List<@NonNull SWRLDArgument> swrlDArguments = builtInAtom.getArguments();
         List<@NonNull SWRLBuiltInArgument> swrlBuiltInArguments = convertSWRLDArguments2SWRLBuiltInArguments(
           swrlDArguments);
-        SWRLBuiltInAtom swrlapiBuiltInAtom = getSWRLAPIOWLDataFactory()
+        SWRLAPIBuiltInAtom swrlapiBuiltInAtom = getSWRLAPIOWLDataFactory()
           .getSWRLAPIBuiltInAtom(ruleName, builtInIRI, builtInPrefixedName, swrlBuiltInArguments);
+        SWRLBuiltInLibraryManager.resolveSWRLBuiltInInvoker(builtInPrefixedName)
+          .ifPresent(swrlapiBuiltInAtom::setBuiltInInvoker);
         swrlapiBodyAtoms.add(swrlapiBuiltInAtom);
       } else
         swrlapiBodyAtoms.add(atom); // Only built-in atoms are converted; other atoms remain the same
@@ -628,13 +779,16 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
         List<@NonNull SWRLDArgument> swrlDArguments = builtInAtom.getArguments();
         List<@NonNull SWRLBuiltInArgument> swrlBuiltInArguments = convertSWRLDArguments2SWRLBuiltInArguments(
           swrlDArguments);
-        SWRLBuiltInAtom swrlapiBuiltInAtom = getSWRLAPIOWLDataFactory()
+        SWRLAPIBuiltInAtom swrlapiBuiltInAtom = getSWRLAPIOWLDataFactory()
           .getSWRLAPIBuiltInAtom(ruleName, builtInIRI, builtInPrefixedName, swrlBuiltInArguments);
+        SWRLBuiltInLibraryManager.resolveSWRLBuiltInInvoker(builtInPrefixedName)
+          .ifPresent(swrlapiBuiltInAtom::setBuiltInInvoker);
         swrlapiHeadAtoms.add(swrlapiBuiltInAtom);
       } else
         swrlapiHeadAtoms.add(atom); // Only built-in atoms are converted; other atoms remain the same
     }
-    return SWRLAPIInternalFactory.createSWRLAPIRule(ruleName, swrlapiBodyAtoms, swrlapiHeadAtoms, comment, isActive);
+    return SWRLAPIInternalFactory.createSWRLAPIRule(ruleName, swrlapiBodyAtoms, swrlapiHeadAtoms, comment, isActive,
+      this.costBasedBodyAtomOrderingEnabled ? Optional.of(this.assertionStatistics) : Optional.empty());
   }
 
   /**
@@ -1024,6 +1178,10 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     addSWRLBuiltIn(IRI.create(prefix, "durationLessThan"));
     addSWRLBuiltIn(IRI.create(prefix, "after"));
     addSWRLBuiltIn(IRI.create(prefix, "notMetBy"));
+    addSWRLBuiltIn(IRI.create(prefix, "findOverlaps"));
+    addSWRLBuiltIn(IRI.create(prefix, "findDuring"));
+    addSWRLBuiltIn(IRI.create(prefix, "findContains"));
+    addSWRLBuiltIn(IRI.create(prefix, "findIntersects"));
   }
 
   private void addSWRLXBuiltIns()
@@ -1110,7 +1268,8 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
 
     this.swrlRules.put(ruleName, swrlapiRule);
     this.owlapiRules.put(ruleName, owlapiRule);
-    this.assertedOWLAxioms.add(swrlapiRule);
+    addAssertedOWLAxiom(swrlapiRule);
+    this.swrlRuleDependencyGraph.addSWRLRule(swrlapiRule);
 
     this.ontology.getOWLOntologyManager().addAxiom(this.ontology, owlapiRule);
   }
@@ -1120,8 +1279,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
    * axioms (with an instance of the {@link DefaultIRIResolver} class) and generating declaration
    * axioms for these properties.
    * <p/>
-   * TODO The current approach is clunky. A better approach would be to walk the axioms with a visitor and recordOWLClassExpression the
-   * properties and generate the declaration axioms.
+   * Explicit declaration axioms are processed first so that they take precedence over generated declaration axioms.
    */
   private void processOWLAxioms()
   {
@@ -1157,298 +1315,334 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
     processOWLDisjointDataPropertiesAxioms();
   }
 
-  private void processOWLClassAssertionAxioms()
+  private void processOWLAssertionStatistics()
   {
-    for (OWLClassAssertionAxiom axiom : getOWLClassAssertionAxioms()) {
-
-      if (!axiom.getClassExpression().isAnonymous() && axiom.getClassExpression().asOWLClass().getIRI()
-        .equals(SWRLVocabulary.BUILT_IN_CLASS.getIRI())) {
-        if (axiom.getIndividual().isNamed())
-          addSWRLBuiltIn(axiom.getIndividual().asOWLNamedIndividual().getIRI());
-      }
-
-      generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getIndividual());
-      this.assertedOWLAxioms.add(axiom);
-    }
+    this.assertionStatistics.build(Stream.of(getOWLClassAssertionAxioms(), getOWLObjectPropertyAssertionAxioms(),
+      getOWLDataPropertyAssertionAxioms()).flatMap(Set::stream));
+  }
 
+  private void processOWLClassAssertionAxioms()
+  {
+    getOWLClassAssertionAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLObjectPropertyAssertionAxioms()
   {
-    for (OWLObjectPropertyAssertionAxiom axiom : getOWLObjectPropertyAssertionAxioms()) {
-      generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getSubject());
-      generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getObject());
-      this.assertedOWLAxioms.add(axiom);
-    }
+    getOWLObjectPropertyAssertionAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLDataPropertyAssertionAxioms()
   {
-    for (OWLDataPropertyAssertionAxiom axiom : getOWLDataPropertyAssertionAxioms()) {
-      generateOWLIndividualDeclarationAxiomIfNecessary(axiom.getSubject());
-      this.assertedOWLAxioms.add(axiom);
-    }
+    getOWLDataPropertyAssertionAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLClassDeclarationAxioms()
   {
-    for (OWLDeclarationAxiom axiom : getOWLClassDeclarationAxioms()) {
-      OWLEntity cls = axiom.getEntity();
-      this.classDeclarationAxioms.put(cls.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
-    }
+    getOWLClassDeclarationAxioms().forEach(this::processOWLDeclarationAxiom);
   }
 
   private void processOWLIndividualDeclarationAxioms()
   {
-    for (OWLDeclarationAxiom axiom : getOWLIndividualDeclarationAxioms()) {
-      OWLEntity individual = axiom.getEntity();
-      this.individualDeclarationAxioms.put(individual.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
-    }
+    getOWLIndividualDeclarationAxioms().forEach(this::processOWLDeclarationAxiom);
   }
 
   private void processOWLObjectPropertyDeclarationAxioms()
   {
-    for (OWLDeclarationAxiom axiom : getOWLObjectPropertyDeclarationAxioms()) {
-      OWLEntity property = axiom.getEntity();
-      this.objectPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
-    }
+    getOWLObjectPropertyDeclarationAxioms().forEach(this::processOWLDeclarationAxiom);
   }
 
   private void processOWLDataPropertyDeclarationAxioms()
   {
-    for (OWLDeclarationAxiom axiom : getOWLDataPropertyDeclarationAxioms()) {
-      OWLEntity property = axiom.getEntity();
-
-      this.dataPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
-    }
+    getOWLDataPropertyDeclarationAxioms().forEach(this::processOWLDeclarationAxiom);
   }
 
   private void processOWLAnnotationPropertyDeclarationAxioms()
   {
-    for (OWLDeclarationAxiom axiom : getOWLAnnotationPropertyDeclarationAxioms()) {
-      OWLEntity property = axiom.getEntity();
-
-      this.annotationPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
-    }
+    getOWLAnnotationPropertyDeclarationAxioms().forEach(this::processOWLDeclarationAxiom);
   }
 
   private void processOWLSameIndividualAxioms()
   {
-    Set<@NonNull OWLSameIndividualAxiom> axioms = getOWLSameIndividualAxioms();
-    for (OWLSameIndividualAxiom axiom : axioms) {
-      axiom.getIndividuals().forEach(this::generateOWLIndividualDeclarationAxiomIfNecessary);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLSameIndividualAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLDifferentIndividualsAxioms()
   {
-    Set<@NonNull OWLDifferentIndividualsAxiom> axioms = getOWLDifferentIndividualsAxioms();
-    for (OWLDifferentIndividualsAxiom axiom : axioms) {
-      axiom.getIndividuals().forEach(this::generateOWLIndividualDeclarationAxiomIfNecessary);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLDifferentIndividualsAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLSubClassOfAxioms()
   {
-    Set<@NonNull OWLSubClassOfAxiom> axioms = getOWLSubClassOfAxioms();
-    for (OWLSubClassOfAxiom axiom : axioms) {
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getSubClass());
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getSuperClass());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLSubClassOfAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLEquivalentClassesAxioms()
   {
-    Set<@NonNull OWLEquivalentClassesAxiom> axioms = getOWLEquivalentClassesAxioms();
-    for (OWLEquivalentClassesAxiom axiom : axioms) {
-      axiom.getNamedClasses().forEach(this::generateOWLClassDeclarationAxiom);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLEquivalentClassesAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLSubObjectPropertyOfAxioms()
   {
-    Set<@NonNull OWLSubObjectPropertyOfAxiom> axioms = getOWLSubObjectPropertyOfAxioms();
-    for (OWLSubObjectPropertyOfAxiom axiom : axioms) {
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getSubProperty());
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getSuperProperty());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLSubObjectPropertyOfAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLSubDataPropertyOfAxioms()
   {
-    Set<@NonNull OWLSubDataPropertyOfAxiom> axioms = getOWLSubDataPropertyOfAxioms();
-    for (OWLSubDataPropertyOfAxiom axiom : axioms) {
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getSubProperty());
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getSuperProperty());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLSubDataPropertyOfAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLTransitiveObjectPropertyAxioms()
   {
-    Set<@NonNull OWLTransitiveObjectPropertyAxiom> axioms = getOWLTransitiveObjectPropertyAxioms();
-    for (OWLTransitiveObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLTransitiveObjectPropertyAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLSymmetricObjectPropertyAxioms()
   {
-    Set<@NonNull OWLSymmetricObjectPropertyAxiom> axioms = getOWLSymmetricObjectPropertyAxioms();
-    for (OWLSymmetricObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLSymmetricObjectPropertyAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLFunctionalObjectPropertyAxioms()
   {
-    Set<@NonNull OWLFunctionalObjectPropertyAxiom> axioms = getOWLFunctionalObjectPropertyAxioms();
-    for (OWLFunctionalObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLFunctionalObjectPropertyAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLInverseFunctionalObjectPropertyAxioms()
   {
-    Set<@NonNull OWLInverseFunctionalObjectPropertyAxiom> axioms = getOWLInverseFunctionalObjectPropertyAxioms();
-    for (OWLInverseFunctionalObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLInverseFunctionalObjectPropertyAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLFunctionalDataPropertyAxioms()
   {
-    Set<@NonNull OWLFunctionalDataPropertyAxiom> axioms = getOWLFunctionalDataPropertyAxioms();
-    for (OWLFunctionalDataPropertyAxiom axiom : axioms)
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLFunctionalDataPropertyAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLObjectPropertyDomainAxioms()
   {
-    Set<@NonNull OWLObjectPropertyDomainAxiom> axioms = getOWLObjectPropertyDomainAxioms();
-    for (OWLObjectPropertyDomainAxiom axiom : axioms) {
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getDomain());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLObjectPropertyDomainAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLDataPropertyDomainAxioms()
   {
-    Set<@NonNull OWLDataPropertyDomainAxiom> axioms = getOWLDataPropertyDomainAxioms();
-    for (OWLDataPropertyDomainAxiom axiom : axioms) {
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getDomain());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLDataPropertyDomainAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLObjectPropertyRangeAxioms()
   {
-    Set<@NonNull OWLObjectPropertyRangeAxiom> axioms = getOWLObjectPropertyRangeAxioms();
-    for (OWLObjectPropertyRangeAxiom axiom : axioms) {
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-      generateOWLClassDeclarationAxiomIfNecessary(axiom.getRange());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLObjectPropertyRangeAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLDataPropertyRangeAxioms()
   {
-    Set<@NonNull OWLDataPropertyRangeAxiom> axioms = getOWLDataPropertyRangeAxioms();
-    for (OWLDataPropertyRangeAxiom axiom : axioms) {
-      generateOWLDataPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLDataPropertyRangeAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLIrreflexiveObjectPropertyAxioms()
   {
-    Set<@NonNull OWLIrreflexiveObjectPropertyAxiom> axioms = getOWLIrreflexiveObjectPropertyAxioms();
-    for (OWLIrreflexiveObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLIrreflexiveObjectPropertyAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLAsymmetricObjectPropertyAxioms()
   {
-    Set<@NonNull OWLAsymmetricObjectPropertyAxiom> axioms = getOWLAsymmetricObjectPropertyAxioms();
-    for (OWLAsymmetricObjectPropertyAxiom axiom : axioms)
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getProperty());
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLAsymmetricObjectPropertyAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLEquivalentObjectPropertiesAxioms()
   {
-    Set<@NonNull OWLEquivalentObjectPropertiesAxiom> axioms = getOWLEquivalentObjectPropertiesAxioms();
-    for (OWLEquivalentObjectPropertiesAxiom axiom : axioms) {
-      axiom.getProperties().forEach(this::generateOWLObjectPropertyDeclarationAxiomIfNecessary);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLEquivalentObjectPropertiesAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLEquivalentDataPropertiesAxioms()
   {
-    Set<@NonNull OWLEquivalentDataPropertiesAxiom> axioms = getOWLEquivalentDataPropertiesAxioms();
-    for (OWLEquivalentDataPropertiesAxiom axiom : axioms) {
-      axiom.getProperties().forEach(this::generateOWLDataPropertyDeclarationAxiomIfNecessary);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLEquivalentDataPropertiesAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLInverseObjectPropertiesAxioms()
   {
-    Set<@NonNull OWLInverseObjectPropertiesAxiom> axioms = getOWLInverseObjectPropertiesAxioms();
-    for (OWLInverseObjectPropertiesAxiom axiom : axioms) {
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getFirstProperty());
-      generateOWLObjectPropertyDeclarationAxiomIfNecessary(axiom.getSecondProperty());
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLInverseObjectPropertiesAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLDisjointObjectPropertiesAxioms()
   {
-    Set<@NonNull OWLDisjointObjectPropertiesAxiom> axioms = getOWLDisjointObjectPropertiesAxioms();
-    for (OWLDisjointObjectPropertiesAxiom axiom : axioms) {
-      axiom.getProperties().forEach(this::generateOWLObjectPropertyDeclarationAxiomIfNecessary);
-    }
-    this.assertedOWLAxioms.addAll(axioms);
+    getOWLDisjointObjectPropertiesAxioms().forEach(this::processOWLAxiom);
   }
 
   private void processOWLDisjointDataPropertiesAxioms()
   {
-    Set<@NonNull OWLDisjointDataPropertiesAxiom> axioms = getOWLDisjointDataPropertiesAxioms();
-    for (OWLDisjointDataPropertiesAxiom axiom : axioms) {
-      axiom.getProperties().forEach(this::generateOWLDataPropertyDeclarationAxiomIfNecessary);
+    getOWLDisjointDataPropertiesAxioms().forEach(this::processOWLAxiom);
+  }
+
+  /**
+   * Record a single (non-declaration) OWL axiom and generate declaration axioms for the entities it references.
+   * Shared by full and delta processing.
+   */
+  private void processOWLAxiom(@NonNull OWLAxiom axiom)
+  {
+    if (axiom instanceof OWLClassAssertionAxiom) {
+      OWLClassAssertionAxiom classAssertionAxiom = (OWLClassAssertionAxiom)axiom;
+
+      if (!classAssertionAxiom.getClassExpression().isAnonymous() && classAssertionAxiom.getClassExpression()
+        .asOWLClass().getIRI().equals(SWRLVocabulary.BUILT_IN_CLASS.getIRI())) {
+        if (classAssertionAxiom.getIndividual().isNamed())
+          addSWRLBuiltIn(classAssertionAxiom.getIndividual().asOWLNamedIndividual().getIRI());
+      }
     }
-    this.assertedOWLAxioms.addAll(axioms);
+
+    for (OWLEntity entity : axiom.accept(this.declarationReferenceCollector))
+      addDeclarationReference(entity);
+
+    addAssertedOWLAxiom(axiom);
   }
 
-  private void generateOWLClassDeclarationAxiom(@NonNull OWLClass cls)
+  private void addAssertedOWLAxiom(@NonNull OWLAxiom axiom)
   {
-    if (!this.classDeclarationAxioms.containsKey(cls.getIRI())) {
-      OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLClassDeclarationAxiom(cls);
-      this.classDeclarationAxioms.put(cls.getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
+    if (this.assertedOWLAxioms.add(axiom) && this.isRecordingOWLAxiomChanges)
+      recordAddedOWLAxiom(axiom);
+  }
+
+  private void removeAssertedOWLAxiom(@NonNull OWLAxiom axiom)
+  {
+    if (this.assertedOWLAxioms.remove(axiom) && this.isRecordingOWLAxiomChanges)
+      recordRemovedOWLAxiom(axiom);
+  }
+
+  // An axiom that is removed and then added again, or vice versa, is not recorded as changed
+  private void recordAddedOWLAxiom(@NonNull OWLAxiom axiom)
+  {
+    if (!this.removedOWLAxioms.remove(axiom))
+      this.addedOWLAxioms.add(axiom);
+  }
+
+  private void recordRemovedOWLAxiom(@NonNull OWLAxiom axiom)
+  {
+    if (!this.addedOWLAxioms.remove(axiom))
+      this.removedOWLAxioms.add(axiom);
+  }
+
+  /**
+   * Reverse the effect of {@link #processOWLAxiom(OWLAxiom)}, removing any generated declaration axioms that are no
+   * longer referenced by a processed axiom.
+   */
+  private void unprocessOWLAxiom(@NonNull OWLAxiom axiom)
+  {
+    removeAssertedOWLAxiom(axiom);
+
+    for (OWLEntity entity : axiom.accept(this.declarationReferenceCollector))
+      removeDeclarationReference(entity);
+  }
+
+  private void processOWLDeclarationAxiom(@NonNull OWLDeclarationAxiom axiom)
+  {
+    OWLEntity entity = axiom.getEntity();
+    Optional<@NonNull Map<@NonNull IRI, @NonNull OWLDeclarationAxiom>> declarationAxioms = getDeclarationAxiomMap(
+      entity);
+
+    if (declarationAxioms.isPresent()) {
+      OWLDeclarationAxiom existingAxiom = declarationAxioms.get().put(entity.getIRI(), axiom);
+
+      this.owlObjectDictionary.getId(entity);
+
+      if (existingAxiom != null && !existingAxiom.equals(axiom) && !isExplicitOWLDeclarationAxiom(existingAxiom))
+        removeAssertedOWLAxiom(existingAxiom); // Explicit declaration replaces generated declaration
+
+      addAssertedOWLAxiom(axiom);
+    }
+  }
+
+  private void unprocessOWLDeclarationAxiom(@NonNull OWLDeclarationAxiom axiom)
+  {
+    OWLEntity entity = axiom.getEntity();
+    Optional<@NonNull Map<@NonNull IRI, @NonNull OWLDeclarationAxiom>> declarationAxioms = getDeclarationAxiomMap(
+      entity);
+
+    if (declarationAxioms.isPresent()) {
+      removeAssertedOWLAxiom(axiom);
+
+      if (axiom.equals(declarationAxioms.get().get(entity.getIRI()))) {
+        declarationAxioms.get().remove(entity.getIRI());
+
+        for (OWLOntology importedOntology : getOWLOntology().getImportsClosure()) {
+          for (OWLDeclarationAxiom remainingAxiom : importedOntology.getDeclarationAxioms(entity)) {
+            declarationAxioms.get().put(entity.getIRI(), remainingAxiom);
+            addAssertedOWLAxiom(remainingAxiom);
+          }
+        }
+        if (this.declarationReferenceCounts.containsKey(entity))
+          generateOWLDeclarationAxiomIfNecessary(entity);
+      }
     }
   }
 
-  private void generateOWLClassDeclarationAxiomIfNecessary(@NonNull OWLClassExpression classExpression)
+  private void addDeclarationReference(@NonNull OWLEntity entity)
+  {
+    this.declarationReferenceCounts.merge(entity, 1, Integer::sum);
+    this.owlObjectDictionary.getId(entity);
+    generateOWLDeclarationAxiomIfNecessary(entity);
+  }
+
+  private void removeDeclarationReference(@NonNull OWLEntity entity)
+  {
+    Integer referenceCount = this.declarationReferenceCounts.get(entity);
+
+    if (referenceCount == null)
+      return;
+
+    if (referenceCount > 1)
+      this.declarationReferenceCounts.put(entity, referenceCount - 1);
+    else {
+      this.declarationReferenceCounts.remove(entity);
+
+      Optional<@NonNull Map<@NonNull IRI, @NonNull OWLDeclarationAxiom>> declarationAxioms = getDeclarationAxiomMap(
+        entity);
+      if (declarationAxioms.isPresent()) {
+        OWLDeclarationAxiom axiom = declarationAxioms.get().get(entity.getIRI());
+        if (axiom != null && !isExplicitOWLDeclarationAxiom(axiom)) {
+          declarationAxioms.get().remove(entity.getIRI());
+          removeAssertedOWLAxiom(axiom);
+        }
+      }
+    }
+  }
+
+  private boolean isExplicitOWLDeclarationAxiom(@NonNull OWLDeclarationAxiom axiom)
+  {
+    return getOWLOntology().containsAxiom(axiom, Imports.INCLUDED, AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS);
+  }
+
+  @NonNull private Optional<@NonNull Map<@NonNull IRI, @NonNull OWLDeclarationAxiom>> getDeclarationAxiomMap(
+    @NonNull OWLEntity entity)
+  {
+    if (entity.isOWLClass())
+      return Optional.of(this.classDeclarationAxioms);
+    else if (entity.isOWLNamedIndividual())
+      return Optional.of(this.individualDeclarationAxioms);
+    else if (entity.isOWLObjectProperty())
+      return Optional.of(this.objectPropertyDeclarationAxioms);
+    else if (entity.isOWLDataProperty())
+      return Optional.of(this.dataPropertyDeclarationAxioms);
+    else if (entity.isOWLAnnotationProperty())
+      return Optional.of(this.annotationPropertyDeclarationAxioms);
+    else
+      return Optional.<@NonNull Map<@NonNull IRI, @NonNull OWLDeclarationAxiom>>empty();
+  }
+
+  private void generateOWLDeclarationAxiomIfNecessary(@NonNull OWLEntity entity)
   {
-    if (classExpression instanceof OWLClass) {
-      OWLClass cls = (OWLClass)classExpression;
-      generateOWLClassDeclarationAxiom(cls);
+    if (entity.isOWLClass())
+      generateOWLClassDeclarationAxiom(entity.asOWLClass());
+    else if (entity.isOWLNamedIndividual())
+      generateOWLIndividualDeclarationAxiomIfNecessary(entity.asOWLNamedIndividual());
+    else if (entity.isOWLObjectProperty())
+      generateOWLObjectPropertyDeclarationAxiomIfNecessary(entity.asOWLObjectProperty());
+    else if (entity.isOWLDataProperty())
+      generateOWLDataPropertyDeclarationAxiomIfNecessary(entity.asOWLDataProperty());
+  }
+
+  private void generateOWLClassDeclarationAxiom(@NonNull OWLClass cls)
+  {
+    if (!this.classDeclarationAxioms.containsKey(cls.getIRI())) {
+      OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLClassDeclarationAxiom(cls);
+      this.classDeclarationAxioms.put(cls.getIRI(), axiom);
+      addAssertedOWLAxiom(axiom);
     }
   }
 
@@ -1459,7 +1653,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
       OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory()
         .getOWLIndividualDeclarationAxiom(individual.asOWLNamedIndividual());
       this.individualDeclarationAxioms.put(individual.asOWLNamedIndividual().getIRI(), axiom);
-      this.assertedOWLAxioms.add(axiom);
+      addAssertedOWLAxiom(axiom);
     }
   }
 
@@ -1471,7 +1665,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
       if (!this.objectPropertyDeclarationAxioms.containsKey(property.getIRI())) {
         OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLObjectPropertyDeclarationAxiom(property);
         this.objectPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-        this.assertedOWLAxioms.add(axiom);
+        addAssertedOWLAxiom(axiom);
       }
     }
   }
@@ -1483,7 +1677,7 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
       if (!this.dataPropertyDeclarationAxioms.containsKey(property.getIRI())) {
         OWLDeclarationAxiom axiom = getSWRLAPIOWLDataFactory().getOWLDataPropertyDeclarationAxiom(property);
         this.dataPropertyDeclarationAxioms.put(property.getIRI(), axiom);
-        this.assertedOWLAxioms.add(axiom);
+        addAssertedOWLAxiom(axiom);
       }
     }
   }
@@ -1705,20 +1899,149 @@ class DefaultSWRLAPIOWLOntology implements SWRLAPIOWLOntology, OWLOntologyChange
       .collect(Collectors.toSet());
   }
 
+  /**
+   * Changes to ontologies outside the imports closure of the ontology, such as an ontology receiving inferred axioms,
+   * are ignored.
+   */
   @Override public void ontologiesChanged(@Nonnull List<? extends OWLOntologyChange> list) throws OWLException
   {
+    Set<@NonNull OWLOntology> importsClosure = getOWLOntology().getImportsClosure();
+    List<? extends OWLOntologyChange> changes = list.stream()
+      .filter(change -> importsClosure.contains(change.getOntology())).collect(Collectors.toList());
+
+    if (changes.isEmpty())
+      return;
+
     this.hasOntologyChanged = true;
 
     if (!eventFreezeMode) {
       try {
-        processOntology();
+        if (this.hasUnprocessedChanges || !changes.stream().allMatch(OWLOntologyChange::isAxiomChange))
+          processOntology();
+        else
+          processOntologyChanges(changes);
       } catch (SWRLBuiltInException e) {
         String message = "error processing SQWRL queries in ontology: " + e.getMessage();
         throw new OWLException(message);
       }
+    } else
+      this.hasUnprocessedChanges = true;
+  }
+
+  /**
+   * Delta processing of axiom additions and removals. Only the rules, queries and axioms affected by the changes are
+   * updated; the result is identical to that produced by {@link #processOntology()}. Changes are assumed to have
+   * been applied, so each change is checked against the current state of the ontology and its imports closure. The
+   * changes must be to ontologies in the imports closure.
+   */
+  private void processOntologyChanges(@NonNull List<? extends OWLOntologyChange> changes) throws SWRLBuiltInException
+  {
+    Set<@NonNull IRI> changedEntityIRIs = new HashSet<>();
+
+    for (OWLOntologyChange change : changes) {
+      OWLAxiom axiom = change.getAxiom();
+      boolean isAsserted = getOWLOntology()
+        .containsAxiom(axiom, Imports.INCLUDED, AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS);
+
+      if (change.isAddAxiom() && isAsserted)
+        processAddedOWLAxiom(axiom);
+      else if (change.isRemoveAxiom() && !isAsserted)
+        processRemovedOWLAxiom(axiom);
+
+      if (!(axiom instanceof SWRLRule))
+        axiom.getSignature().forEach(entity -> changedEntityIRIs.add(entity.getIRI()));
+    }
+    reconvertSWRLRulesWithBuiltInArguments(changedEntityIRIs);
+    notifyRegisteredRuleEngineModels();
+  }
+
+  private void processAddedOWLAxiom(@NonNull OWLAxiom axiom) throws SWRLBuiltInException
+  {
+    if (axiom instanceof SWRLRule) {
+      SWRLRule owlapiRule = (SWRLRule)axiom;
+      if (!this.owlapiRules.containsValue(owlapiRule)) {
+        Optional<@NonNull String> ruleName = getRuleName(owlapiRule);
+        Optional<String> finalRuleName = ruleName.isPresent() ? ruleName : getNextRuleName();
+        if (finalRuleName.isPresent())
+          processSWRLRule(owlapiRule, finalRuleName.get());
+      }
+    } else if (axiom instanceof OWLDeclarationAxiom)
+      processOWLDeclarationAxiom((OWLDeclarationAxiom)axiom);
+    else if (PROCESSED_AXIOM_TYPES.contains(axiom.getAxiomType()) && !this.assertedOWLAxioms.contains(axiom)) {
+      processOWLAxiom(axiom);
+      if (this.costBasedBodyAtomOrderingEnabled)
+        this.assertionStatistics.addOWLAxiom(axiom);
+    }
+  }
+
+  private void processRemovedOWLAxiom(@NonNull OWLAxiom axiom)
+  {
+    if (axiom instanceof SWRLRule) {
+      for (Map.Entry<@NonNull String, @NonNull SWRLRule> entry : this.owlapiRules.entrySet()) {
+        if (entry.getValue().equals(axiom)) {
+          unprocessSWRLRule(entry.getKey());
+          break;
+        }
+      }
+    } else if (axiom instanceof OWLDeclarationAxiom)
+      unprocessOWLDeclarationAxiom((OWLDeclarationAxiom)axiom);
+    else if (PROCESSED_AXIOM_TYPES.contains(axiom.getAxiomType()) && this.assertedOWLAxioms.contains(axiom)) {
+      unprocessOWLAxiom(axiom);
+      if (this.costBasedBodyAtomOrderingEnabled)
+        this.assertionStatistics.removeOWLAxiom(axiom);
     }
   }
 
+  /**
+   * Built-in arguments are converted using the signature of the ontology (see
+   * {@link #convertSWRLVariable2SWRLBuiltInArgument(SWRLVariable)}), so rules with built-in arguments that refer to
+   * entities whose signature status may have changed are converted again.
+   */
+  private void reconvertSWRLRulesWithBuiltInArguments(@NonNull Set<@NonNull IRI> changedEntityIRIs)
+    throws SWRLBuiltInException
+  {
+    if (changedEntityIRIs.isEmpty())
+      return;
+
+    for (Map.Entry<@NonNull String, @NonNull SWRLRule> entry : new ArrayList<>(this.owlapiRules.entrySet())) {
+      if (!Collections.disjoint(getBuiltInArgumentIRIs(entry.getValue()), changedEntityIRIs)) {
+        unprocessSWRLRule(entry.getKey());
+        processSWRLRule(entry.getValue(), entry.getKey());
+      }
+    }
+  }
+
+  @NonNull private Set<@NonNull IRI> getBuiltInArgumentIRIs(@NonNull SWRLRule owlapiRule)
+  {
+    Set<@NonNull IRI> iris = new HashSet<>();
+    List<@NonNull SWRLAtom> atoms = new ArrayList<>(owlapiRule.getBody());
+    atoms.addAll(owlapiRule.getHead());
+
+    for (SWRLAtom atom : atoms) {
+      if (atom instanceof SWRLBuiltInAtom) {
+        for (SWRLDArgument argument : ((SWRLBuiltInAtom)atom).getArguments()) {
+          if (argument instanceof SWRLVariable)
+            iris.add(((SWRLVariable)argument).getIRI());
+          else if (argument instanceof SWRLLiteralArgument) {
+            OWLLiteral literal = ((SWRLLiteralArgument)argument).getLiteral();
+            if (isURI(literal.getDatatype()))
+              iris.add(IRI.create(literal.getLiteral()));
+          }
+        }
+      }
+    }
+    return iris;
+  }
+
+  // The ontology listens for changes while a rule engine model is registered or changes are recorded
+  private void updateOntologyChangeListener()
+  {
+    if (this.swrlRuleEngineModels.isEmpty() && !this.isRecordingOWLAxiomChanges)
+      this.ontology.getOWLOntologyManager().removeOntologyChangeListener(this);
+    else
+      this.ontology.getOWLOntologyManager().addOntologyChangeListener(this);
+  }
+
   private void notifyRegisteredRuleEngineModels()
   {
     for (SWRLRuleEngineModel swrlRuleEngineModel : this.swrlRuleEngineModels)
@@ -8,6 +8,7 @@ import org.semanticweb.owlapi.model.SWRLBuiltInAtom;
 import org.semanticweb.owlapi.model.SWRLClassAtom;
 import org.semanticweb.owlapi.model.SWRLVariable;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLVariableBuiltInArgument;
 import org.swrlapi.core.SWRLAPIBuiltInAtom;
 import org.swrlapi.core.SWRLAPIRule;
 import org.swrlapi.exceptions.SWRLBuiltInException;
@@ -16,13 +17,16 @@ import uk.ac.manchester.cs.owl.owlapi.SWRLRuleImpl;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public class DefaultSWRLAPIRule extends SWRLRuleImpl implements SWRLAPIRule
 {
   private static final long serialVersionUID = 1L;
+  private static final String SWRLX_BUILT_IN_PREFIX = "swrlx:";
 
   @NonNull private final String ruleName;
   @NonNull private final String comment;
@@ -33,12 +37,23 @@ public class DefaultSWRLAPIRule extends SWRLRuleImpl implements SWRLAPIRule
   public DefaultSWRLAPIRule(@NonNull String ruleName, @NonNull List<? extends @NonNull SWRLAtom> bodyAtoms,
     @NonNull List<? extends @NonNull SWRLAtom> headAtoms, @NonNull String comment, boolean isActive)
     throws SWRLBuiltInException
+  {
+    this(ruleName, bodyAtoms, headAtoms, comment, isActive, Optional.empty());
+  }
+
+  /**
+   * If assertion statistics are supplied the non-built-in body atoms are ordered by their estimated cardinality rather
+   * than by type.
+   */
+  DefaultSWRLAPIRule(@NonNull String ruleName, @NonNull List<? extends @NonNull SWRLAtom> bodyAtoms,
+    @NonNull List<? extends @NonNull SWRLAtom> headAtoms, @NonNull String comment, boolean isActive,
+    @NonNull Optional<@NonNull OWLAssertionStatistics> assertionStatistics) throws SWRLBuiltInException
   {
     super(new LinkedHashSet<>(bodyAtoms), new LinkedHashSet<>(headAtoms), new HashSet<>());
     this.ruleName = ruleName;
     this.active = isActive;
     this.comment = comment;
-    this.bodyAtoms = processBuiltInArguments(bodyAtoms);
+    this.bodyAtoms = processBuiltInArguments(bodyAtoms, assertionStatistics);
     this.headAtoms = new ArrayList<>(headAtoms);
   }
 
@@ -93,8 +108,8 @@ public class DefaultSWRLAPIRule extends SWRLRuleImpl implements SWRLAPIRule
   /**
    * Find all built-in atoms with unbound arguments and tell them which of their arguments are unbound.
    */
-  private static List<@NonNull SWRLAtom> processBuiltInArguments(List<? extends @NonNull SWRLAtom> bodyAtoms)
-    throws SWRLBuiltInException
+  private static List<@NonNull SWRLAtom> processBuiltInArguments(List<? extends @NonNull SWRLAtom> bodyAtoms,
+    @NonNull Optional<@NonNull OWLAssertionStatistics> assertionStatistics) throws SWRLBuiltInException
   {
     List<@NonNull SWRLAPIBuiltInAtom> bodyBuiltInAtoms = new ArrayList<>();
     List<@NonNull SWRLAtom> bodyNonBuiltInAtoms = new ArrayList<>();
@@ -136,15 +151,86 @@ public class DefaultSWRLAPIRule extends SWRLRuleImpl implements SWRLAPIRule
         }
       }
     }
-    // If we have built-in atoms, construct a new body with built-in atoms moved to the end of the list. Some rule
-    // engines (e.g., Jess) expect variables used as parameters to functions to have been defined before their use in
-    // a left to right fashion.
+    // If we have built-in atoms, construct a new body with built-in atoms moved after the atoms that bind their
+    // variables. Some rule engines (e.g., Jess) expect variables used as parameters to functions to have been defined
+    // before their use in a left to right fashion.
     finalBodyAtoms = reorganizeBodyNonBuiltInAtoms(bodyNonBuiltInAtoms);
+    if (assertionStatistics.isPresent())
+      finalBodyAtoms = orderBodyNonBuiltInAtoms(finalBodyAtoms, assertionStatistics.get());
+
+    return placeBodyBuiltInAtoms(finalBodyAtoms, bodyBuiltInAtoms, variablesUsedByNonBuiltInBodyAtoms);
+  }
+
+  /**
+   * Place each filtering built-in atom directly after the earliest non-built-in atom at which all of its variables are
+   * bound, so that partial matches are filtered as soon as possible. All other built-in atoms follow the non-built-in
+   * atoms in their original order since they may bind variables used by later built-ins.
+   */
+  @NonNull private static List<@NonNull SWRLAtom> placeBodyBuiltInAtoms(
+    @NonNull List<@NonNull SWRLAtom> bodyNonBuiltInAtoms, @NonNull List<@NonNull SWRLAPIBuiltInAtom> bodyBuiltInAtoms,
+    @NonNull Set<@NonNull IRI> variablesUsedByNonBuiltInBodyAtoms)
+  {
+    List<@NonNull SWRLAPIBuiltInAtom> unplacedFilteringBuiltInAtoms = new ArrayList<>();
+    Set<@NonNull IRI> boundVariableIRIs = new HashSet<>();
+    List<@NonNull SWRLAtom> result = new ArrayList<>();
 
-    List<@NonNull SWRLAtom> processedBodyAtoms = new ArrayList<>(finalBodyAtoms);
-    processedBodyAtoms.addAll(bodyBuiltInAtoms);
+    for (SWRLAPIBuiltInAtom builtInAtom : bodyBuiltInAtoms)
+      if (isFilteringBuiltInAtom(builtInAtom, variablesUsedByNonBuiltInBodyAtoms))
+        unplacedFilteringBuiltInAtoms.add(builtInAtom);
 
-    return processedBodyAtoms;
+    placeBoundFilteringBuiltInAtoms(unplacedFilteringBuiltInAtoms, boundVariableIRIs, result);
+    for (SWRLAtom atom : bodyNonBuiltInAtoms) {
+      result.add(atom);
+      boundVariableIRIs.addAll(getReferencedVariableIRIs(atom));
+      placeBoundFilteringBuiltInAtoms(unplacedFilteringBuiltInAtoms, boundVariableIRIs, result);
+    }
+
+    for (SWRLAPIBuiltInAtom builtInAtom : bodyBuiltInAtoms)
+      if (!isFilteringBuiltInAtom(builtInAtom, variablesUsedByNonBuiltInBodyAtoms))
+        result.add(builtInAtom);
+
+    return result;
+  }
+
+  private static void placeBoundFilteringBuiltInAtoms(
+    @NonNull List<@NonNull SWRLAPIBuiltInAtom> unplacedFilteringBuiltInAtoms,
+    @NonNull Set<@NonNull IRI> boundVariableIRIs, @NonNull List<@NonNull SWRLAtom> bodyAtoms)
+  {
+    Iterator<@NonNull SWRLAPIBuiltInAtom> iterator = unplacedFilteringBuiltInAtoms.iterator();
+
+    while (iterator.hasNext()) {
+      SWRLAPIBuiltInAtom builtInAtom = iterator.next();
+      if (boundVariableIRIs.containsAll(getBuiltInArgumentVariableIRIs(builtInAtom))) {
+        bodyAtoms.add(builtInAtom);
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * A built-in atom is filtering if all its variables are bound by non-built-in atoms, so that it can only test its
+   * arguments. SQWRL built-ins and the swrlx built-ins, which have effects beyond testing their arguments, are never
+   * treated as filters.
+   */
+  private static boolean isFilteringBuiltInAtom(@NonNull SWRLAPIBuiltInAtom builtInAtom,
+    @NonNull Set<@NonNull IRI> variablesUsedByNonBuiltInBodyAtoms)
+  {
+    String builtInPrefixedName = builtInAtom.getBuiltInPrefixedName();
+
+    return !builtInPrefixedName.startsWith(SQWRLNames.SQWRLPrefix) && !builtInPrefixedName
+      .startsWith(SWRLX_BUILT_IN_PREFIX) && variablesUsedByNonBuiltInBodyAtoms
+      .containsAll(getBuiltInArgumentVariableIRIs(builtInAtom));
+  }
+
+  @NonNull private static Set<@NonNull IRI> getBuiltInArgumentVariableIRIs(@NonNull SWRLAPIBuiltInAtom builtInAtom)
+  {
+    Set<@NonNull IRI> variableIRIs = new HashSet<>();
+
+    for (SWRLBuiltInArgument argument : builtInAtom.getBuiltInArguments()) {
+      if (argument instanceof SWRLVariableBuiltInArgument)
+        variableIRIs.add(((SWRLVariableBuiltInArgument)argument).getIRI());
+    }
+    return variableIRIs;
   }
 
   /**
@@ -170,6 +256,53 @@ public class DefaultSWRLAPIRule extends SWRLRuleImpl implements SWRLAPIRule
     return result;
   }
 
+  /**
+   * Greedily order body non-built-in atoms so that each next atom is the one with the fewest estimated matches given
+   * the variables bound by the atoms before it. Atoms that share a variable with earlier atoms are preferred to atoms
+   * that would form a cross product, and ties keep the existing order. Built-in atoms still follow all other atoms, so
+   * the variables they expect to be bound are bound whatever the order.
+   */
+  @NonNull private static List<@NonNull SWRLAtom> orderBodyNonBuiltInAtoms(
+    @NonNull List<@NonNull SWRLAtom> bodyNonBuiltInAtoms, @NonNull OWLAssertionStatistics assertionStatistics)
+  {
+    List<@NonNull SWRLAtom> unorderedAtoms = new ArrayList<>(bodyNonBuiltInAtoms);
+    Set<@NonNull SWRLVariable> boundVariables = new HashSet<>();
+    List<@NonNull SWRLAtom> result = new ArrayList<>();
+
+    while (!unorderedAtoms.isEmpty()) {
+      SWRLAtom nextAtom = unorderedAtoms.get(0);
+      boolean nextAtomIsCrossProduct = isCrossProduct(nextAtom, boundVariables);
+      double nextAtomCardinality = assertionStatistics.estimateCardinality(nextAtom, boundVariables);
+
+      for (SWRLAtom atom : unorderedAtoms) {
+        boolean isCrossProduct = isCrossProduct(atom, boundVariables);
+        double cardinality = assertionStatistics.estimateCardinality(atom, boundVariables);
+        if (isCrossProduct == nextAtomIsCrossProduct ?
+          cardinality < nextAtomCardinality :
+          nextAtomIsCrossProduct) {
+          nextAtom = atom;
+          nextAtomIsCrossProduct = isCrossProduct;
+          nextAtomCardinality = cardinality;
+        }
+      }
+      unorderedAtoms.remove(nextAtom);
+      result.add(nextAtom);
+      nextAtom.getAllArguments().stream().filter(a -> a instanceof SWRLVariable)
+        .forEach(a -> boundVariables.add((SWRLVariable)a));
+    }
+    return result;
+  }
+
+  private static boolean isCrossProduct(@NonNull SWRLAtom atom, @NonNull Set<@NonNull SWRLVariable> boundVariables)
+  {
+    Set<@NonNull SWRLVariable> variables = new HashSet<>();
+
+    atom.getAllArguments().stream().filter(a -> a instanceof SWRLVariable).forEach(a -> variables.add((SWRLVariable)a));
+
+    return !boundVariables.isEmpty() && !variables.isEmpty() && variables.stream()
+      .noneMatch(boundVariables::contains);
+  }
+
   @NonNull private List<@NonNull SWRLAPIBuiltInAtom> getBuiltInAtoms(@NonNull List<@NonNull SWRLAtom> atoms,
     @NonNull Set<@NonNull String> builtInNames)
   {
@@ -18,6 +18,12 @@ class DefaultSWRLAnnotationPropertyBuiltInArgument extends DefaultSWRLNamedBuilt
     super(property);
   }
 
+  DefaultSWRLAnnotationPropertyBuiltInArgument(@NonNull OWLAnnotationProperty property,
+    @NonNull OWLObjectDictionary dictionary)
+  {
+    super(property, dictionary);
+  }
+
   @NonNull @Override public SWRLBuiltInArgumentType<?> getSWRLBuiltInArgumentType()
   {
     return SWRLBuiltInArgumentType.ANNOTATION_PROPERTY;
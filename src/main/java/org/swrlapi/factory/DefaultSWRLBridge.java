@@ -9,9 +9,11 @@ import org.semanticweb.owlapi.model.parameters.Imports;
 import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
 import org.swrlapi.bridge.SWRLBridge;
 import org.swrlapi.bridge.TargetSWRLRuleEngine;
+import org.swrlapi.builtins.SWRLBuiltInInvoker;
 import org.swrlapi.builtins.SWRLBuiltInLibraryManager;
 import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
 import org.swrlapi.core.IRIResolver;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
 import org.swrlapi.core.SWRLAPIOWLOntology;
 import org.swrlapi.exceptions.SWRLBuiltInBridgeException;
 import org.swrlapi.exceptions.SWRLBuiltInException;
@@ -23,8 +25,8 @@ import org.swrlapi.sqwrl.SQWRLResultGenerator;
 import org.swrlapi.sqwrl.exceptions.SQWRLException;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -55,6 +57,12 @@ public class DefaultSWRLBridge implements SWRLBridge
    */
   @NonNull private final Set<@NonNull OWLAxiom> injectedOWLAxioms;
 
+  /**
+   * Ids of the individuals and literals inferred or injected during a run, layered over the ids of the ontology's
+   * entities. Cleared on reset.
+   */
+  @NonNull private final OWLObjectDictionary owlObjectDictionary;
+
   /**
    * The target rule engine implementation (e.g., Drools, Jess)
    */
@@ -67,8 +75,11 @@ public class DefaultSWRLBridge implements SWRLBridge
     this.owl2RLPersistenceLayer = owl2RLPersistenceLayer;
     this.builtInLibraryManager = new SWRLBuiltInLibraryManager();
 
-    this.inferredOWLAxioms = new HashSet<>();
-    this.injectedOWLAxioms = new HashSet<>();
+    this.owlObjectDictionary = new OWLObjectDictionary(swrlapiOWLOntology.getOWLObjectDictionary());
+    this.inferredOWLAxioms = new DictionaryEncodedOWLAxiomSet(getOWLOntology().getOWLOntologyManager()
+      .getOWLDataFactory(), this.owlObjectDictionary);
+    this.injectedOWLAxioms = new DictionaryEncodedOWLAxiomSet(getOWLOntology().getOWLOntologyManager()
+      .getOWLDataFactory(), this.owlObjectDictionary);
 
     this.builtInLibraryManager.invokeAllBuiltInLibrariesResetMethod(this);
   }
@@ -82,10 +93,16 @@ public class DefaultSWRLBridge implements SWRLBridge
   {
     this.inferredOWLAxioms.clear();
     this.injectedOWLAxioms.clear();
+    this.owlObjectDictionary.clear();
 
     this.builtInLibraryManager.invokeAllBuiltInLibrariesResetMethod(this);
   }
 
+  @Override public void runFinished()
+  {
+    this.builtInLibraryManager.invokeAllBuiltInLibrariesRunFinishedMethod();
+  }
+
   @Override public boolean hasOntologyChanged()
   {
     return this.swrlapiOWLOntology.hasOntologyChanged();
@@ -97,10 +114,8 @@ public class DefaultSWRLBridge implements SWRLBridge
    */
   @Override public void injectOWLAxiom(@NonNull OWLAxiom axiom) throws SWRLBuiltInBridgeException
   {
-    if (!this.injectedOWLAxioms.contains(axiom)) {
-      this.injectedOWLAxioms.add(axiom);
+    if (this.injectedOWLAxioms.add(axiom))
       exportOWLAxiom(axiom); // Export the axiom to the rule engine
-    }
   }
 
   @NonNull @Override public IRIResolver getIRIResolver()
@@ -130,7 +145,7 @@ public class DefaultSWRLBridge implements SWRLBridge
 
   @NonNull @Override public Set<@NonNull OWLAxiom> getInferredOWLAxioms()
   {
-    return this.inferredOWLAxioms;
+    return Collections.unmodifiableSet(this.inferredOWLAxioms);
   }
 
   @Override public int getNumberOfInferredOWLAxioms()
@@ -153,6 +168,20 @@ public class DefaultSWRLBridge implements SWRLBridge
       .invokeSWRLBuiltIn(this, ruleName, builtInName, builtInIndex, isInConsequent, arguments);
   }
 
+  @NonNull @Override public List<@NonNull List<@NonNull SWRLBuiltInArgument>> invokeSWRLBuiltIn(
+    @NonNull SWRLAPIBuiltInAtom builtInAtom, boolean isInConsequent,
+    @NonNull List<@NonNull SWRLBuiltInArgument> arguments) throws SWRLBuiltInException
+  {
+    Optional<@NonNull SWRLBuiltInInvoker> invoker = builtInAtom.getBuiltInInvoker();
+
+    if (invoker.isPresent())
+      return builtInLibraryManager.invokeSWRLBuiltIn(this, builtInAtom.getRuleName(), invoker.get(),
+        builtInAtom.getBuiltInIndex(), isInConsequent, arguments);
+    else
+      return builtInLibraryManager.invokeSWRLBuiltIn(this, builtInAtom.getRuleName(),
+        builtInAtom.getBuiltInPrefixedName(), builtInAtom.getBuiltInIndex(), isInConsequent, arguments);
+  }
+
   public boolean isOWLClass(@NonNull IRI iri)
   {
     return getOWLOntology().containsClassInSignature(iri, Imports.INCLUDED) || iri
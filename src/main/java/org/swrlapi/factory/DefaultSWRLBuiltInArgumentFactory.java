@@ -42,10 +42,17 @@ class DefaultSWRLBuiltInArgumentFactory implements SWRLBuiltInArgumentFactory
 {
   @NonNull private final IRIResolver iriResolver;
   @NonNull private final OWLLiteralFactory owlLiteralFactory;
+  @NonNull private final OWLObjectDictionary dictionary;
 
   public DefaultSWRLBuiltInArgumentFactory(@NonNull IRIResolver iriResolver)
+  {
+    this(iriResolver, new OWLObjectDictionary());
+  }
+
+  public DefaultSWRLBuiltInArgumentFactory(@NonNull IRIResolver iriResolver, @NonNull OWLObjectDictionary dictionary)
   {
     this.iriResolver = iriResolver;
+    this.dictionary = dictionary;
     this.owlLiteralFactory = SWRLAPIInternalFactory.createOWLLiteralFactory();
   }
 
@@ -63,7 +70,7 @@ class DefaultSWRLBuiltInArgumentFactory implements SWRLBuiltInArgumentFactory
 
   @NonNull @Override public SWRLClassBuiltInArgument getClassBuiltInArgument(OWLClass cls)
   {
-    return new DefaultSWRLClassBuiltInArgument(cls);
+    return new DefaultSWRLClassBuiltInArgument(cls, this.dictionary);
   }
 
   @NonNull @Override public SWRLClassExpressionBuiltInArgument getClassExpressionBuiltInArgument(OWLClassExpression ce)
@@ -71,13 +78,13 @@ class DefaultSWRLBuiltInArgumentFactory implements SWRLBuiltInArgumentFactory
     if (ce.isAnonymous())
       return new DefaultSWRLClassExpressionBuiltInArgument(ce);
     else
-      return new DefaultSWRLClassBuiltInArgument(ce.asOWLClass());
+      return new DefaultSWRLClassBuiltInArgument(ce.asOWLClass(), this.dictionary);
   }
 
   @NonNull @Override public SWRLObjectPropertyBuiltInArgument getObjectPropertyBuiltInArgument(
     @NonNull OWLObjectProperty property)
   {
-    return new DefaultSWRLObjectPropertyBuiltInArgument(property);
+    return new DefaultSWRLObjectPropertyBuiltInArgument(property, this.dictionary);
   }
 
   @NonNull @Override public SWRLObjectPropertyExpressionBuiltInArgument getObjectPropertyExpressionBuiltInArgument(
@@ -86,13 +93,13 @@ class DefaultSWRLBuiltInArgumentFactory implements SWRLBuiltInArgumentFactory
     if (propertyExpression.isAnonymous())
       return new DefaultSWRLObjectPropertyExpressionBuiltInArgument(propertyExpression);
     else
-      return new DefaultSWRLObjectPropertyBuiltInArgument(propertyExpression.asOWLObjectProperty());
+      return new DefaultSWRLObjectPropertyBuiltInArgument(propertyExpression.asOWLObjectProperty(), this.dictionary);
   }
 
   @NonNull @Override public SWRLDataPropertyBuiltInArgument getDataPropertyBuiltInArgument(
     @NonNull OWLDataProperty property)
   {
-    return new DefaultSWRLDataPropertyBuiltInArgument(property);
+    return new DefaultSWRLDataPropertyBuiltInArgument(property, this.dictionary);
   }
 
   @NonNull @Override public SWRLDataPropertyExpressionBuiltInArgument getDataPropertyExpressionBuiltInArgument(
@@ -101,24 +108,24 @@ class DefaultSWRLBuiltInArgumentFactory implements SWRLBuiltInArgumentFactory
     if (propertyExpression.isAnonymous())
       return new DefaultSWRLDataPropertyExpressionBuiltInArgument(propertyExpression);
     else
-      return new DefaultSWRLDataPropertyBuiltInArgument(propertyExpression.asOWLDataProperty());
+      return new DefaultSWRLDataPropertyBuiltInArgument(propertyExpression.asOWLDataProperty(), this.dictionary);
   }
 
   @NonNull @Override public SWRLAnnotationPropertyBuiltInArgument getAnnotationPropertyBuiltInArgument(
     @NonNull OWLAnnotationProperty property)
   {
-    return new DefaultSWRLAnnotationPropertyBuiltInArgument(property);
+    return new DefaultSWRLAnnotationPropertyBuiltInArgument(property, this.dictionary);
   }
 
   @NonNull @Override public SWRLDatatypeBuiltInArgument getDatatypeBuiltInArgument(@NonNull OWLDatatype datatype)
   {
-    return new DefaultSWRLDatatypeBuiltInArgument(datatype);
+    return new DefaultSWRLDatatypeBuiltInArgument(datatype, this.dictionary);
   }
 
   @NonNull @Override public SWRLNamedIndividualBuiltInArgument getNamedIndividualBuiltInArgument(
     @NonNull OWLNamedIndividual individual)
   {
-    return new DefaultSWRLNamedIndividualBuiltInArgument(individual);
+    return new DefaultSWRLNamedIndividualBuiltInArgument(individual, this.dictionary);
   }
 
   @NonNull @Override public SWRLLiteralBuiltInArgument getLiteralBuiltInArgument(@NonNull OWLLiteral literal)
@@ -19,6 +19,11 @@ class DefaultSWRLClassBuiltInArgument extends DefaultSWRLNamedBuiltInArgument im
     super(cls);
   }
 
+  DefaultSWRLClassBuiltInArgument(@NonNull OWLClass cls, @NonNull OWLObjectDictionary dictionary)
+  {
+    super(cls, dictionary);
+  }
+
   @NonNull @Override public OWLClass getOWLClass()
   {
     return getOWLEntity().asOWLClass();
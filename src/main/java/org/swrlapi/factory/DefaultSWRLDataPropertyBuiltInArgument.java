@@ -19,6 +19,11 @@ class DefaultSWRLDataPropertyBuiltInArgument extends DefaultSWRLNamedBuiltInArgu
     super(property);
   }
 
+  DefaultSWRLDataPropertyBuiltInArgument(@NonNull OWLDataProperty property, @NonNull OWLObjectDictionary dictionary)
+  {
+    super(property, dictionary);
+  }
+
   @NonNull @Override public SWRLBuiltInArgumentType<?> getSWRLBuiltInArgumentType()
   {
     return SWRLBuiltInArgumentType.DATA_PROPERTY;
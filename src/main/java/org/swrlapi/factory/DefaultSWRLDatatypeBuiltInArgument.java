@@ -17,6 +17,11 @@ class DefaultSWRLDatatypeBuiltInArgument extends DefaultSWRLNamedBuiltInArgument
     super(datatype);
   }
 
+  DefaultSWRLDatatypeBuiltInArgument(@NonNull OWLDatatype datatype, @NonNull OWLObjectDictionary dictionary)
+  {
+    super(datatype, dictionary);
+  }
+
   @NonNull @Override public SWRLBuiltInArgumentType<?> getSWRLBuiltInArgumentType()
   {
     return SWRLBuiltInArgumentType.DATATYPE;
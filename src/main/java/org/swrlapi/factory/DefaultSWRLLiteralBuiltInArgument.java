@@ -17,18 +17,17 @@ import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentVisitorEx;
 import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
 import org.swrlapi.exceptions.SWRLBuiltInException;
 import org.swrlapi.literal.OWLLiteralComparator;
+import org.swrlapi.literal.TypedLiteral;
 
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Set;
 
 class DefaultSWRLLiteralBuiltInArgument extends DefaultSWRLBuiltInArgument implements SWRLLiteralBuiltInArgument
 {
   private static final long serialVersionUID = 1L;
 
-  @NonNull private static final Comparator<OWLLiteral> owlLiteralComparator = OWLLiteralComparator.COMPARATOR;
-
   @NonNull private final OWLLiteral literal;
+  @Nullable private transient TypedLiteral typedLiteral; // Created on first use; a racing thread may create another
 
   public DefaultSWRLLiteralBuiltInArgument(@NonNull OWLLiteral literal)
   {
@@ -45,6 +44,16 @@ class DefaultSWRLLiteralBuiltInArgument extends DefaultSWRLBuiltInArgument imple
     return this.literal;
   }
 
+  @NonNull @Override public TypedLiteral getTypedLiteral()
+  {
+    TypedLiteral typedLiteral = this.typedLiteral;
+
+    if (typedLiteral == null)
+      this.typedLiteral = typedLiteral = new TypedLiteral(this.literal);
+
+    return typedLiteral;
+  }
+
   @NonNull @Override public SWRLLiteralBuiltInArgument asSWRLLiteralBuiltInArgument() throws SWRLBuiltInException
   {
     return this;
@@ -79,7 +88,7 @@ class DefaultSWRLLiteralBuiltInArgument extends DefaultSWRLBuiltInArgument imple
 
     SWRLLiteralBuiltInArgument other = (SWRLLiteralBuiltInArgument)o;
 
-    return owlLiteralComparator.compare(this.getLiteral(), other.getLiteral());
+    return OWLLiteralComparator.compare(this.getTypedLiteral(), other.getTypedLiteral());
   }
 
   @Override public void accept(@NonNull SWRLObjectVisitor visitor)
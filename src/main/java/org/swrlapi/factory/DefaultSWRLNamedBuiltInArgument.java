@@ -22,10 +22,22 @@ abstract class DefaultSWRLNamedBuiltInArgument extends DefaultSWRLBuiltInArgumen
   private static final long serialVersionUID = 1L;
 
   @NonNull private final OWLEntity entity;
+  // Dictionary the entity id was found in; arguments that both have an id in the same dictionary are compared by id
+  @Nullable private final transient OWLObjectDictionary dictionary;
+  private final int entityId;
 
   protected DefaultSWRLNamedBuiltInArgument(@NonNull OWLEntity entity)
   {
     this.entity = entity;
+    this.dictionary = null;
+    this.entityId = OWLObjectDictionary.NO_ID;
+  }
+
+  protected DefaultSWRLNamedBuiltInArgument(@NonNull OWLEntity entity, @NonNull OWLObjectDictionary dictionary)
+  {
+    this.entity = entity;
+    this.dictionary = dictionary;
+    this.entityId = dictionary.findId(entity); // Built-ins may create arguments concurrently, so ids are not assigned
   }
 
   @NonNull OWLEntity getOWLEntity()
@@ -38,6 +50,11 @@ abstract class DefaultSWRLNamedBuiltInArgument extends DefaultSWRLBuiltInArgumen
     return this.entity.getIRI();
   }
 
+  @Override public int getEntityId()
+  {
+    return this.entityId;
+  }
+
   @NonNull @Override public SWRLNamedBuiltInArgument asSWRLNamedBuiltInArgument()
   {
     return this;
@@ -67,6 +84,10 @@ abstract class DefaultSWRLNamedBuiltInArgument extends DefaultSWRLBuiltInArgumen
 
     DefaultSWRLNamedBuiltInArgument that = (DefaultSWRLNamedBuiltInArgument)o;
 
+    if (this.dictionary != null && this.dictionary == that.dictionary && this.entityId != OWLObjectDictionary.NO_ID
+      && that.entityId != OWLObjectDictionary.NO_ID)
+      return this.entityId == that.entityId;
+
     return !(entity != null ? !entity.equals(that.entity) : that.entity != null);
 
   }
@@ -18,6 +18,12 @@ class DefaultSWRLNamedIndividualBuiltInArgument extends DefaultSWRLNamedBuiltInA
     super(individual);
   }
 
+  DefaultSWRLNamedIndividualBuiltInArgument(@NonNull OWLNamedIndividual individual,
+    @NonNull OWLObjectDictionary dictionary)
+  {
+    super(individual, dictionary);
+  }
+
   @NonNull @Override public SWRLBuiltInArgumentType<?> getSWRLBuiltInArgumentType()
   {
     return SWRLBuiltInArgumentType.NAMED_INDIVIDUAL;
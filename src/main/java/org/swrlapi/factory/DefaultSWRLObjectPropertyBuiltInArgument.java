@@ -19,6 +19,11 @@ class DefaultSWRLObjectPropertyBuiltInArgument extends DefaultSWRLNamedBuiltInAr
     super(property);
   }
 
+  DefaultSWRLObjectPropertyBuiltInArgument(@NonNull OWLObjectProperty property, @NonNull OWLObjectDictionary dictionary)
+  {
+    super(property, dictionary);
+  }
+
   @NonNull @Override public SWRLBuiltInArgumentType<?> getSWRLBuiltInArgumentType()
   {
     return SWRLBuiltInArgumentType.OBJECT_PROPERTY;
@@ -4,15 +4,20 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.AddAxiom;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObject;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
-import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.swrlapi.bridge.SWRLRuleEngineBridgeController;
 import org.swrlapi.bridge.TargetSWRLRuleEngine;
 import org.swrlapi.builtins.SWRLBuiltInBridgeController;
+import org.swrlapi.core.InferredOWLAxiomWriteListener;
 import org.swrlapi.core.SWRLAPIOWLOntology;
 import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.core.SWRLRuleDependencyGraph;
 import org.swrlapi.core.SWRLRuleEngine;
 import org.swrlapi.core.SWRLRuleRenderer;
 import org.swrlapi.exceptions.SWRLAPIException;
@@ -31,21 +36,31 @@ import org.swrlapi.sqwrl.exceptions.SQWRLException;
 import org.swrlapi.ui.model.SWRLAutoCompleter;
 
 import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * This class provides an implementation of some of the core functionality required by a SWRL rule engine.
  */
 class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
 {
+  private static final Logger log = LoggerFactory.getLogger(DefaultSWRLRuleAndQueryEngine.class);
+
+  private static final int DEFAULT_INFERRED_OWL_AXIOM_WRITE_CHUNK_SIZE = 10000;
+
   @NonNull private final SWRLAPIOWLOntology swrlapiOWLOntology;
   @NonNull private final TargetSWRLRuleEngine targetSWRLRuleEngine;
   @NonNull private final SWRLBuiltInBridgeController builtInBridgeController;
   @NonNull private final SWRLRuleEngineBridgeController ruleEngineBridgeController;
 
+  // True if the target rule engine's state reflects only the asserted OWL axioms, whose changes are then recorded
+  private boolean hasExportedAssertedOWLAxioms;
+
   public DefaultSWRLRuleAndQueryEngine(@NonNull SWRLAPIOWLOntology swrlapiOWLOntology,
     @NonNull TargetSWRLRuleEngine targetSWRLRuleEngine,
     @NonNull SWRLRuleEngineBridgeController ruleEngineBridgeController,
@@ -55,18 +70,13 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     this.targetSWRLRuleEngine = targetSWRLRuleEngine;
     this.builtInBridgeController = builtInBridgeController;
     this.ruleEngineBridgeController = ruleEngineBridgeController;
+    this.hasExportedAssertedOWLAxioms = false;
   }
 
   @Override public void importAssertedOWLAxioms() throws SWRLRuleEngineException
   {
     reset();
-
-    try {
-      exportOWLAxioms2TargetRuleEngine(this.swrlapiOWLOntology.getOWLAxioms()); // OWL axioms include SWRL rules
-    } catch (SWRLAPIException e) {
-      throw new SWRLRuleEngineException(
-        "error exporting knowledge to rule engine: " + (e.getMessage() != null ? e.getMessage() : ""), e);
-    }
+    exportAssertedOWLAxioms2TargetRuleEngine();
   }
 
   @Override public void importSQWRLQueryAndOWLAxioms(@NonNull String queryName)
@@ -75,7 +85,7 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     reset();
 
     try {
-      exportOWLAxioms2TargetRuleEngine(this.swrlapiOWLOntology.getOWLAxioms()); // OWL axioms include SWRL rules
+      exportOWLAxioms2TargetRuleEngine(getSQWRLQueryOWLAxioms(queryName)); // OWL axioms include SWRL rules
       exportSQWRLQuery2TargetRuleEngine(queryName);
     } catch (SWRLAPIException e) {
       throw new SWRLRuleEngineException(
@@ -85,26 +95,108 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
 
   @Override public void run() throws SWRLRuleEngineException
   {
-    getTargetSWRLRuleEngine().runRuleEngine();
+    try {
+      getTargetSWRLRuleEngine().runRuleEngine();
+    } finally {
+      this.builtInBridgeController.runFinished();
+    }
   }
 
   @Override public void exportInferredOWLAxioms() throws SWRLRuleEngineException
   {
-    try {
-      getSWRLAPIOWLOntology().startEventFreezeMode(); // Suspend possible event generation for bulk updates.
+    exportInferredOWLAxioms(DEFAULT_INFERRED_OWL_AXIOM_WRITE_CHUNK_SIZE, (processed, total) -> {
+    });
+  }
 
-      // Write OWL axioms generated by built-ins in rules.
-      writeOWLAxioms2OWLOntology(this.builtInBridgeController.getInjectedOWLAxioms());
-      // Write OWL axioms inferred by rules.
-      writeOWLAxioms2OWLOntology(this.ruleEngineBridgeController.getInferredOWLAxioms());
-    } finally {
-      getSWRLAPIOWLOntology().finishEventFreezeMode();
+  @Override public void exportInferredOWLAxioms(int chunkSize, @NonNull InferredOWLAxiomWriteListener listener)
+    throws SWRLRuleEngineException
+  {
+    writeInferredOWLAxioms(getOWLOntology(), chunkSize, listener);
+  }
+
+  @Override public void exportInferredOWLAxioms(@NonNull Consumer<@NonNull OWLAxiom> inferredOWLAxiomSink)
+  {
+    // Write OWL axioms generated by built-ins in rules, then OWL axioms inferred by rules.
+    for (Set<@NonNull OWLAxiom> axioms : Arrays.asList(this.builtInBridgeController.getInjectedOWLAxioms(),
+      this.ruleEngineBridgeController.getInferredOWLAxioms())) {
+      OWLInferredAxiomFilter inferredAxiomFilter = new OWLInferredAxiomFilter(axioms);
+      for (OWLAxiom axiom : axioms) {
+        if (isWrittenOWLAxiom(axiom, inferredAxiomFilter))
+          inferredOWLAxiomSink.accept(axiom);
+      }
     }
   }
 
   @Override public void infer() throws SWRLRuleEngineException
   {
-    importAssertedOWLAxioms(); // Import will call reset()
+    importAssertedOWLAxiomsAndRun();
+    exportInferredOWLAxioms();
+  }
+
+  @Override public void infer(@NonNull Consumer<@NonNull OWLAxiom> inferredOWLAxiomSink)
+    throws SWRLRuleEngineException
+  {
+    importAssertedOWLAxiomsAndRun();
+    exportInferredOWLAxioms(inferredOWLAxiomSink);
+  }
+
+  @Override public void infer(@NonNull OWLOntology targetOntology) throws SWRLRuleEngineException
+  {
+    importAssertedOWLAxiomsAndRun();
+    writeInferredOWLAxioms(targetOntology, DEFAULT_INFERRED_OWL_AXIOM_WRITE_CHUNK_SIZE, (processed, total) -> {
+    });
+  }
+
+  private void writeInferredOWLAxioms(@NonNull OWLOntology targetOntology, int chunkSize,
+    @NonNull InferredOWLAxiomWriteListener listener) throws SWRLRuleEngineException
+  {
+    if (chunkSize < 1)
+      throw new IllegalArgumentException("chunk size must be positive, got " + chunkSize);
+
+    Set<@NonNull OWLAxiom> injectedOWLAxioms = this.builtInBridgeController.getInjectedOWLAxioms();
+    Set<@NonNull OWLAxiom> inferredOWLAxioms = this.ruleEngineBridgeController.getInferredOWLAxioms();
+    int numberOfOWLAxioms = injectedOWLAxioms.size() + inferredOWLAxioms.size();
+
+    // Only writes to the source ontology or its imports change the SWRLAPI ontology
+    boolean isSourceOntologyChanged = getOWLOntology().getImportsClosure().contains(targetOntology);
+
+    try {
+      // Suspend possible event generation for bulk updates; changes received meanwhile are processed once afterwards
+      if (isSourceOntologyChanged)
+        getSWRLAPIOWLOntology().startEventFreezeMode();
+
+      // Write OWL axioms generated by built-ins in rules, then OWL axioms inferred by rules.
+      int numberOfProcessedOWLAxioms = writeOWLAxioms2OWLOntology(targetOntology, injectedOWLAxioms, 0,
+        numberOfOWLAxioms, chunkSize, listener);
+      writeOWLAxioms2OWLOntology(targetOntology, inferredOWLAxioms, numberOfProcessedOWLAxioms, numberOfOWLAxioms,
+        chunkSize, listener);
+    } finally {
+      if (isSourceOntologyChanged)
+        getSWRLAPIOWLOntology().finishEventFreezeMode();
+    }
+  }
+
+  private void importAssertedOWLAxiomsAndRun() throws SWRLRuleEngineException
+  {
+    if (this.hasExportedAssertedOWLAxioms && !getOWL2RLEngine().hasRuleSelectionChanged())
+      importAssertedOWLAxiomChanges();
+    else
+      importAssertedOWLAxioms(); // Import will call reset()
+    run();
+  }
+
+  @Override public void infer(@NonNull Set<@NonNull OWLEntity> inferenceTargets) throws SWRLRuleEngineException
+  {
+    Set<@NonNull OWLObject> targetPredicates = new HashSet<>(inferenceTargets);
+
+    reset(); // Only a slice is exported so the next call to infer() will import all asserted OWL axioms
+
+    try {
+      exportOWLAxioms2TargetRuleEngine(getRelevantOWLAxioms(this.swrlapiOWLOntology.getOWLAxioms(), targetPredicates));
+    } catch (SWRLAPIException e) {
+      throw new SWRLRuleEngineException(
+        "error exporting knowledge to rule engine: " + (e.getMessage() != null ? e.getMessage() : ""), e);
+    }
     run();
     exportInferredOWLAxioms();
   }
@@ -124,6 +216,7 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
   {
     try {
       importAssertedOWLAxioms();
+      stopRecordingAssertedOWLAxiomChanges(); // Queries are now defined in the target rule engine
       exportSQWRLQueries2TargetRuleEngine();
     } catch (SWRLRuleEngineException | TargetSWRLRuleEngineException | SWRLBuiltInException e) {
       throw new SQWRLException("error processing SQWRL queries: " + (e.getMessage() != null ? e.getMessage() : ""), e);
@@ -356,12 +449,68 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     return this.swrlapiOWLOntology;
   }
 
+  /**
+   * Define only the asserted OWL axioms that changed since the last export in the target rule engine, retaining its
+   * state and the state of the bridge. The changes are those recorded by the ontology, which is only processed again
+   * if it has unprocessed changes. If the target rule engine cannot process the changes it is reset and all asserted
+   * OWL axioms are exported again.
+   */
+  private void importAssertedOWLAxiomChanges() throws SWRLRuleEngineException
+  {
+    this.hasExportedAssertedOWLAxioms = false; // Until the changes have been defined
+
+    if (this.swrlapiOWLOntology.hasUnprocessedChanges())
+      processOntology();
+
+    Set<@NonNull OWLAxiom> addedOWLAxioms = this.swrlapiOWLOntology.getAddedOWLAxioms();
+    Set<@NonNull OWLAxiom> removedOWLAxioms = this.swrlapiOWLOntology.getRemovedOWLAxioms();
+
+    if ((addedOWLAxioms.isEmpty() && removedOWLAxioms.isEmpty()) || getTargetSWRLRuleEngine()
+      .defineOWLAxiomChanges(addedOWLAxioms, removedOWLAxioms)) {
+      this.swrlapiOWLOntology.startOWLAxiomChangeRecording(); // Discard the changes now defined
+      this.hasExportedAssertedOWLAxioms = true;
+    } else { // Ontology is up to date so only the engine and bridge need to be reset
+      resetTargetRuleEngine();
+      exportAssertedOWLAxioms2TargetRuleEngine();
+    }
+  }
+
+  private void exportAssertedOWLAxioms2TargetRuleEngine() throws SWRLRuleEngineException
+  {
+    try {
+      exportOWLAxioms2TargetRuleEngine(this.swrlapiOWLOntology.getOWLAxioms()); // OWL axioms include SWRL rules
+      this.swrlapiOWLOntology.startOWLAxiomChangeRecording();
+      this.hasExportedAssertedOWLAxioms = true;
+    } catch (SWRLAPIException e) {
+      throw new SWRLRuleEngineException(
+        "error exporting knowledge to rule engine: " + (e.getMessage() != null ? e.getMessage() : ""), e);
+    }
+  }
+
   private void reset()
+  {
+    resetTargetRuleEngine();
+    processOntology();
+  }
+
+  private void resetTargetRuleEngine()
+  {
+    stopRecordingAssertedOWLAxiomChanges();
+
+    getTargetSWRLRuleEngine().resetRuleEngine(); // Reset the target rule engine
+    getBuiltInBridgeController().reset();
+    getOWL2RLEngine().resetRuleSelectionChanged();
+  }
+
+  private void stopRecordingAssertedOWLAxiomChanges()
+  {
+    this.hasExportedAssertedOWLAxioms = false;
+    this.swrlapiOWLOntology.stopOWLAxiomChangeRecording();
+  }
+
+  private void processOntology()
   {
     try {
-      getTargetSWRLRuleEngine().resetRuleEngine(); // Reset the target rule engine
-      getBuiltInBridgeController().reset();
-      getOWL2RLEngine().resetRuleSelectionChanged();
       this.swrlapiOWLOntology.processOntology();
     } catch (SWRLBuiltInException e) {
       throw new SWRLRuleEngineException("error running rule engine: " + (e.getMessage() != null ? e.getMessage() : ""),
@@ -369,6 +518,52 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
     }
   }
 
+  /**
+   * Get the OWL axioms needed to answer a query. Unless the target rule engine performs OWL 2 RL reasoning, which can
+   * derive facts outside the SWRL rules, the rules are rewritten so that only facts relevant to the query are derived.
+   * If the rules cannot be rewritten only the rules and facts relevant to the query are exported.
+   *
+   * @see SQWRLQueryDemandTransformer
+   */
+  @NonNull private Set<@NonNull OWLAxiom> getSQWRLQueryOWLAxioms(@NonNull String queryName)
+    throws SWRLBuiltInException
+  {
+    Set<@NonNull OWLAxiom> owlAxioms = this.swrlapiOWLOntology.getOWLAxioms();
+
+    if (getOWL2RLEngine().getEnabledRules().isEmpty()) {
+      for (SQWRLQuery query : this.swrlapiOWLOntology.getSQWRLQueries()) {
+        if (query.getQueryName().equalsIgnoreCase(queryName)) {
+          Optional<@NonNull Set<@NonNull OWLAxiom>> transformedOWLAxioms = SQWRLQueryDemandTransformer
+            .transform(this.swrlapiOWLOntology, query);
+          if (transformedOWLAxioms.isPresent())
+            return transformedOWLAxioms.get();
+          else
+            return getRelevantOWLAxioms(owlAxioms,
+              this.swrlapiOWLOntology.getSWRLRuleDependencyGraph().getTargetPredicates(query));
+        }
+      }
+    }
+    return owlAxioms;
+  }
+
+  /**
+   * Slice a set of OWL axioms to those relevant to a set of target predicates unless the target rule engine performs
+   * OWL 2 RL reasoning.
+   */
+  @NonNull private Set<@NonNull OWLAxiom> getRelevantOWLAxioms(@NonNull Set<@NonNull OWLAxiom> owlAxioms,
+    @NonNull Set<@NonNull OWLObject> targetPredicates)
+  {
+    if (!getOWL2RLEngine().getEnabledRules().isEmpty())
+      return owlAxioms;
+
+    SWRLRuleDependencyGraph dependencyGraph = this.swrlapiOWLOntology.getSWRLRuleDependencyGraph();
+
+    if (log.isDebugEnabled())
+      log.debug(dependencyGraph.explain(targetPredicates));
+
+    return dependencyGraph.getRelevantOWLAxioms(owlAxioms, targetPredicates);
+  }
+
   private void exportSQWRLQuery2TargetRuleEngine(@NonNull String activeQueryName)
     throws SWRLRuleEngineException, TargetSWRLRuleEngineException, SWRLBuiltInException
   {
@@ -404,28 +599,55 @@ class DefaultSWRLRuleAndQueryEngine implements SWRLRuleEngine, SQWRLQueryEngine
   private void exportOWLAxioms2TargetRuleEngine(@NonNull Set<@NonNull OWLAxiom> axioms)
     throws SWRLRuleEngineException, TargetSWRLRuleEngineException
   {
-    for (OWLAxiom axiom : axioms)
-      getTargetSWRLRuleEngine().defineOWLAxiom(axiom);
+    getTargetSWRLRuleEngine().defineOWLAxioms(axioms);
   }
 
-  private void writeOWLAxioms2OWLOntology(@NonNull Set<@NonNull OWLAxiom> axioms) throws SWRLRuleEngineException
+  /**
+   * Only one chunk of changes is held at a time, so the memory used is bounded by the chunk size rather than by the
+   * number of axioms.
+   *
+   * @return The number of axioms processed so far
+   */
+  private int writeOWLAxioms2OWLOntology(@NonNull OWLOntology targetOntology, @NonNull Set<@NonNull OWLAxiom> axioms,
+    int numberOfProcessedOWLAxioms, int numberOfOWLAxioms, int chunkSize,
+    @NonNull InferredOWLAxiomWriteListener listener) throws SWRLRuleEngineException
   {
     OWLInferredAxiomFilter inferredAxiomFilter = new OWLInferredAxiomFilter(axioms);
-    List<OWLAxiom> filteredAxioms = axioms.stream().filter(a -> !a.accept(inferredAxiomFilter))
-      .collect(Collectors.toList());
-    List<? extends OWLOntologyChange> changes = filteredAxioms.stream().map(a -> new AddAxiom(getOWLOntology(), a))
-      .collect(Collectors.toList());
+    List<@NonNull OWLOntologyChange> changes = new ArrayList<>(Math.min(chunkSize, axioms.size()));
+
+    for (OWLAxiom axiom : axioms) {
+      if (isWrittenOWLAxiom(axiom, inferredAxiomFilter))
+        changes.add(new AddAxiom(targetOntology, axiom));
+      numberOfProcessedOWLAxioms++;
+
+      if (changes.size() == chunkSize || numberOfProcessedOWLAxioms == numberOfOWLAxioms) {
+        applyChanges(targetOntology, changes);
+        changes.clear();
+        listener.owlAxiomsWritten(numberOfProcessedOWLAxioms, numberOfOWLAxioms);
+      }
+    }
+    applyChanges(targetOntology, changes);
+
+    return numberOfProcessedOWLAxioms;
+  }
+
+  private void applyChanges(@NonNull OWLOntology targetOntology, @NonNull List<@NonNull OWLOntologyChange> changes)
+    throws SWRLRuleEngineException
+  {
+    if (changes.isEmpty())
+      return;
 
     try {
-      getOWLOntologyManager().applyChanges(changes);
+      targetOntology.getOWLOntologyManager().applyChanges(changes);
     } catch (RuntimeException e) {
       throw new SWRLRuleEngineException("Error writing OWL axioms to ontology", e);
     }
   }
 
-  @NonNull private OWLOntologyManager getOWLOntologyManager()
+  // Trivially entailed axioms and the demand facts of goal-directed queries are not written
+  private static boolean isWrittenOWLAxiom(@NonNull OWLAxiom axiom, @NonNull OWLInferredAxiomFilter inferredAxiomFilter)
   {
-    return this.getSWRLAPIOWLOntology().getOWLOntologyManager();
+    return !axiom.accept(inferredAxiomFilter) && !SQWRLQueryDemandTransformer.isDemandOWLAxiom(axiom);
   }
 
   @NonNull private SWRLBuiltInBridgeController getBuiltInBridgeController()
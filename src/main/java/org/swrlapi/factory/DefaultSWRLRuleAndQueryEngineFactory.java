@@ -13,6 +13,7 @@ import org.swrlapi.exceptions.InvalidSWRLRuleEngineNameException;
 import org.swrlapi.exceptions.NoRegisteredSWRLRuleEnginesException;
 import org.swrlapi.exceptions.SWRLRuleEngineException;
 import org.swrlapi.owl2rl.OWL2RLPersistenceLayer;
+import org.swrlapi.rete.ReteSWRLRuleEngineCreator;
 import org.swrlapi.sqwrl.SQWRLQueryEngine;
 
 import java.lang.reflect.Constructor;
@@ -122,6 +123,8 @@ public class DefaultSWRLRuleAndQueryEngineFactory implements SWRLRuleAndQueryEng
 
     if (ruleEngineCreator.isPresent())
       this.ruleEngineManager.registerRuleEngine(ruleEngineCreator.get());
+
+    this.ruleEngineManager.registerRuleEngine(new ReteSWRLRuleEngineCreator());
   }
 
   private Optional<@NonNull TargetSWRLRuleEngineCreator> getDroolsSWRLRuleEngineCreator()
@@ -0,0 +1,267 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLClassAtom;
+import org.semanticweb.owlapi.model.SWRLDataPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLDifferentIndividualsAtom;
+import org.semanticweb.owlapi.model.SWRLObjectPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.semanticweb.owlapi.model.SWRLSameIndividualAtom;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.core.SWRLRuleDependencyGraph;
+import org.swrlapi.sqwrl.SQWRLQuery;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * A rule dependency graph that is maintained incrementally by a {@link DefaultSWRLAPIOWLOntology} as rules are
+ * processed, added and removed. Rules are indexed by the predicates in their heads. Rules whose heads contain
+ * built-ins or data range atoms are always relevant, since their effects are not captured by the graph.
+ *
+ * @see org.swrlapi.core.SWRLRuleDependencyGraph
+ */
+class DefaultSWRLRuleDependencyGraph implements SWRLRuleDependencyGraph
+{
+  @NonNull private final Map<@NonNull String, @NonNull SWRLAPIRule> swrlRules; // Rules and queries, ordered by name
+  @NonNull private final Map<@NonNull OWLObject, @NonNull Set<@NonNull String>> derivingRuleNames;
+  @NonNull private final Set<@NonNull String> unconditionallyRelevantRuleNames;
+
+  public DefaultSWRLRuleDependencyGraph()
+  {
+    this.swrlRules = new TreeMap<>();
+    this.derivingRuleNames = new HashMap<>();
+    this.unconditionallyRelevantRuleNames = new HashSet<>();
+  }
+
+  /**
+   * Add a rule, replacing any existing rule with the same name.
+   */
+  public void addSWRLRule(@NonNull SWRLAPIRule swrlapiRule)
+  {
+    String ruleName = swrlapiRule.getRuleName();
+
+    removeSWRLRule(ruleName);
+
+    this.swrlRules.put(ruleName, swrlapiRule);
+
+    if (!swrlapiRule.isSQWRLQuery()) {
+      for (SWRLAtom atom : swrlapiRule.getHeadAtoms()) {
+        Optional<@NonNull OWLObject> predicate = getPredicate(atom);
+        if (predicate.isPresent() && !(atom instanceof SWRLAPIBuiltInAtom))
+          this.derivingRuleNames.computeIfAbsent(predicate.get(), p -> new HashSet<>()).add(ruleName);
+        else
+          this.unconditionallyRelevantRuleNames.add(ruleName);
+      }
+    }
+  }
+
+  public void removeSWRLRule(@NonNull String ruleName)
+  {
+    SWRLAPIRule swrlapiRule = this.swrlRules.remove(ruleName);
+
+    if (swrlapiRule != null) {
+      for (SWRLAtom atom : swrlapiRule.getHeadAtoms()) {
+        Optional<@NonNull OWLObject> predicate = getPredicate(atom);
+        if (predicate.isPresent() && this.derivingRuleNames.containsKey(predicate.get())) {
+          Set<@NonNull String> ruleNames = this.derivingRuleNames.get(predicate.get());
+          ruleNames.remove(ruleName);
+          if (ruleNames.isEmpty())
+            this.derivingRuleNames.remove(predicate.get());
+        }
+      }
+      this.unconditionallyRelevantRuleNames.remove(ruleName);
+    }
+  }
+
+  public void clear()
+  {
+    this.swrlRules.clear();
+    this.derivingRuleNames.clear();
+    this.unconditionallyRelevantRuleNames.clear();
+  }
+
+  @NonNull @Override public Set<@NonNull SWRLAPIRule> getDerivingSWRLRules(@NonNull OWLObject predicate)
+  {
+    return this.derivingRuleNames.getOrDefault(predicate, new HashSet<>()).stream().map(this.swrlRules::get)
+      .filter(SWRLAPIRule::isActive).collect(Collectors.toSet());
+  }
+
+  @NonNull @Override public Set<@NonNull OWLObject> getTargetPredicates(@NonNull SQWRLQuery query)
+  {
+    return getPredicates(query.getBodyAtoms());
+  }
+
+  @NonNull @Override public Set<@NonNull SWRLAPIRule> getRelevantSWRLRules(
+    @NonNull Set<@NonNull OWLObject> targetPredicates)
+  {
+    Set<@NonNull SWRLAPIRule> relevantRules = new LinkedHashSet<>();
+
+    findRelevantSWRLRulesAndPredicates(targetPredicates, relevantRules, new HashSet<>());
+
+    return relevantRules;
+  }
+
+  @NonNull @Override public Set<@NonNull OWLObject> getRelevantPredicates(
+    @NonNull Set<@NonNull OWLObject> targetPredicates)
+  {
+    Set<@NonNull OWLObject> relevantPredicates = new HashSet<>();
+
+    findRelevantSWRLRulesAndPredicates(targetPredicates, new LinkedHashSet<>(), relevantPredicates);
+
+    return relevantPredicates;
+  }
+
+  @NonNull @Override public Set<@NonNull OWLAxiom> getRelevantOWLAxioms(@NonNull Set<@NonNull OWLAxiom> axioms,
+    @NonNull Set<@NonNull OWLObject> targetPredicates)
+  {
+    Set<@NonNull SWRLAPIRule> relevantRules = new LinkedHashSet<>();
+    Set<@NonNull OWLObject> relevantPredicates = new HashSet<>();
+
+    findRelevantSWRLRulesAndPredicates(targetPredicates, relevantRules, relevantPredicates);
+
+    return axioms.stream().filter(a -> isRelevantOWLAxiom(a, relevantRules, relevantPredicates))
+      .collect(Collectors.toSet());
+  }
+
+  @NonNull @Override public String explain(@NonNull Set<@NonNull OWLObject> targetPredicates)
+  {
+    Set<@NonNull SWRLAPIRule> relevantRules = new LinkedHashSet<>();
+    Set<@NonNull OWLObject> relevantPredicates = new HashSet<>();
+    List<@NonNull SWRLAPIRule> rules = this.swrlRules.values().stream()
+      .filter(r -> r.isActive() && !r.isSQWRLQuery()).collect(Collectors.toList());
+    StringBuilder sb = new StringBuilder();
+
+    findRelevantSWRLRulesAndPredicates(targetPredicates, relevantRules, relevantPredicates);
+
+    sb.append("Targets: ").append(renderPredicates(targetPredicates)).append("\n");
+    sb.append("Retained ").append(relevantRules.size()).append(" of ").append(rules.size()).append(" rules\n");
+    for (SWRLAPIRule rule : rules)
+      if (relevantRules.contains(rule))
+        sb.append("  ").append(renderRule(rule)).append("\n");
+    sb.append("Pruned ").append(rules.size() - relevantRules.size()).append(" rules\n");
+    for (SWRLAPIRule rule : rules)
+      if (!relevantRules.contains(rule))
+        sb.append("  ").append(renderRule(rule)).append("\n");
+    sb.append("Relevant predicates: ").append(renderPredicates(relevantPredicates)).append("\n");
+
+    return sb.toString();
+  }
+
+  /**
+   * Object property atoms have their named property as their predicate, so an inverse property shares a predicate with
+   * it. Data range atoms have no predicate.
+   */
+  @NonNull static Optional<@NonNull OWLObject> getPredicate(@NonNull SWRLAtom atom)
+  {
+    if (atom instanceof SWRLClassAtom)
+      return Optional.of(((SWRLClassAtom)atom).getPredicate());
+    else if (atom instanceof SWRLObjectPropertyAtom)
+      return Optional.of(((SWRLObjectPropertyAtom)atom).getPredicate().getNamedProperty());
+    else if (atom instanceof SWRLDataPropertyAtom)
+      return Optional.of(((SWRLDataPropertyAtom)atom).getPredicate());
+    else if (atom instanceof SWRLSameIndividualAtom)
+      return Optional.of(OWLRDFVocabulary.OWL_SAME_AS.getIRI());
+    else if (atom instanceof SWRLDifferentIndividualsAtom)
+      return Optional.of(OWLRDFVocabulary.OWL_DIFFERENT_FROM.getIRI());
+    else if (atom instanceof SWRLAPIBuiltInAtom)
+      return Optional.of(((SWRLAPIBuiltInAtom)atom).getBuiltInIRI());
+    else
+      return Optional.empty();
+  }
+
+  private void findRelevantSWRLRulesAndPredicates(@NonNull Set<@NonNull OWLObject> targetPredicates,
+    @NonNull Set<@NonNull SWRLAPIRule> relevantRules, @NonNull Set<@NonNull OWLObject> relevantPredicates)
+  {
+    Deque<@NonNull OWLObject> unprocessedPredicates = new ArrayDeque<>();
+
+    for (String ruleName : this.unconditionallyRelevantRuleNames)
+      addRelevantSWRLRule(this.swrlRules.get(ruleName), relevantRules, relevantPredicates, unprocessedPredicates);
+
+    for (OWLObject predicate : targetPredicates)
+      if (relevantPredicates.add(predicate))
+        unprocessedPredicates.add(predicate);
+
+    while (!unprocessedPredicates.isEmpty())
+      for (SWRLAPIRule rule : getDerivingSWRLRules(unprocessedPredicates.remove()))
+        addRelevantSWRLRule(rule, relevantRules, relevantPredicates, unprocessedPredicates);
+  }
+
+  private void addRelevantSWRLRule(@NonNull SWRLAPIRule rule, @NonNull Set<@NonNull SWRLAPIRule> relevantRules,
+    @NonNull Set<@NonNull OWLObject> relevantPredicates, @NonNull Deque<@NonNull OWLObject> unprocessedPredicates)
+  {
+    if (rule.isActive() && relevantRules.add(rule)) {
+      for (OWLObject predicate : getPredicates(rule.getBodyAtoms()))
+        if (relevantPredicates.add(predicate))
+          unprocessedPredicates.add(predicate);
+    }
+  }
+
+  private static boolean isRelevantOWLAxiom(@NonNull OWLAxiom axiom, @NonNull Set<@NonNull SWRLAPIRule> relevantRules,
+    @NonNull Set<@NonNull OWLObject> relevantPredicates)
+  {
+    if (axiom instanceof SWRLAPIRule)
+      return ((SWRLAPIRule)axiom).isSQWRLQuery() || relevantRules.contains(axiom);
+    else if (axiom instanceof SWRLRule)
+      return true;
+    else if (axiom instanceof OWLClassAssertionAxiom)
+      return relevantPredicates.contains(((OWLClassAssertionAxiom)axiom).getClassExpression());
+    else if (axiom instanceof OWLObjectPropertyAssertionAxiom)
+      return relevantPredicates.contains(((OWLObjectPropertyAssertionAxiom)axiom).getProperty().getNamedProperty());
+    else if (axiom instanceof OWLDataPropertyAssertionAxiom)
+      return relevantPredicates.contains(((OWLDataPropertyAssertionAxiom)axiom).getProperty());
+    else
+      return true;
+  }
+
+  @NonNull private static Set<@NonNull OWLObject> getPredicates(@NonNull List<@NonNull SWRLAtom> atoms)
+  {
+    Set<@NonNull OWLObject> predicates = new LinkedHashSet<>();
+
+    for (SWRLAtom atom : atoms)
+      getPredicate(atom).ifPresent(predicates::add);
+
+    return predicates;
+  }
+
+  @NonNull private static String renderRule(@NonNull SWRLAPIRule rule)
+  {
+    return rule.getRuleName() + ": " + renderPredicates(getPredicates(rule.getBodyAtoms())) + " -> "
+      + renderPredicates(getPredicates(rule.getHeadAtoms()));
+  }
+
+  @NonNull private static String renderPredicates(@NonNull Set<@NonNull OWLObject> predicates)
+  {
+    return predicates.stream().map(DefaultSWRLRuleDependencyGraph::renderPredicate).sorted()
+      .collect(Collectors.joining(", "));
+  }
+
+  @NonNull private static String renderPredicate(@NonNull OWLObject predicate)
+  {
+    if (predicate instanceof OWLEntity)
+      return ((OWLEntity)predicate).getIRI().getShortForm();
+    else if (predicate instanceof IRI)
+      return ((IRI)predicate).getShortForm();
+    else
+      return predicate.toString();
+  }
+}
@@ -4,7 +4,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.swrlapi.bridge.TargetSWRLRuleEngineCreator;
 import org.swrlapi.core.SWRLRuleEngineManager;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -15,7 +15,7 @@ class DefaultSWRLRuleEngineManager implements SWRLRuleEngineManager
 
   public DefaultSWRLRuleEngineManager()
   {
-    this.registeredSWRLRuleEngines = new HashMap<>();
+    this.registeredSWRLRuleEngines = new LinkedHashMap<>(); // The first registered engine is the default
   }
 
   @Override public void registerRuleEngine(@NonNull TargetSWRLRuleEngineCreator ruleEngineCreator)
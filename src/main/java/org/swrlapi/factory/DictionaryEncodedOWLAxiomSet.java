@@ -0,0 +1,248 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A set of OWL axioms that stores unannotated class, object property and data property assertions with named
+ * predicates as (subject, predicate, object) triples of dictionary ids in an open-addressing hash table. Axiom objects
+ * for these assertions are only created when the set is iterated. Other axioms are stored as is.
+ * <p>
+ * Iteration returns axioms that are equal to, but not necessarily identical with, those added. Axioms cannot be
+ * removed other than by clearing the set.
+ *
+ * @see OWLObjectDictionary
+ */
+class DictionaryEncodedOWLAxiomSet extends AbstractSet<@NonNull OWLAxiom>
+{
+  private static final int EMPTY = OWLObjectDictionary.NO_ID; // Subject of an empty table entry
+  private static final int NO_OBJECT = Integer.MIN_VALUE; // Object of a class assertion; dictionary ids may be negative
+  private static final int INITIAL_CAPACITY = 16; // Must be a power of two
+
+  @NonNull private final OWLDataFactory dataFactory;
+  @NonNull private final OWLObjectDictionary dictionary;
+  @NonNull private final Set<@NonNull OWLAxiom> unencodedAxioms;
+  @NonNull private final int[] triple; // Encoding of the axiom last passed to encode()
+
+  // Subject, predicate and object ids of each entry, stored in consecutive elements
+  @NonNull private int[] triples;
+  private int numberOfTriples;
+  private int modificationCount;
+
+  /**
+   * @param dataFactory A data factory used to create axioms on iteration
+   * @param dictionary  The dictionary used to encode axioms; it must not be cleared while the set is not empty
+   */
+  public DictionaryEncodedOWLAxiomSet(@NonNull OWLDataFactory dataFactory, @NonNull OWLObjectDictionary dictionary)
+  {
+    this.dataFactory = dataFactory;
+    this.dictionary = dictionary;
+    this.unencodedAxioms = new HashSet<>();
+    this.triple = new int[3];
+    this.triples = createTable(INITIAL_CAPACITY);
+  }
+
+  @Override public boolean add(@NonNull OWLAxiom axiom)
+  {
+    if (!encode(axiom, true))
+      return this.unencodedAxioms.add(axiom);
+
+    if (4 * (this.numberOfTriples + 1) > 3 * getCapacity())
+      resize(2 * getCapacity());
+
+    int entry = findEntry(this.triple[0], this.triple[1], this.triple[2]);
+    if (this.triples[entry] != EMPTY)
+      return false;
+
+    System.arraycopy(this.triple, 0, this.triples, entry, 3);
+    this.numberOfTriples++;
+    this.modificationCount++;
+    return true;
+  }
+
+  @Override public boolean contains(Object o)
+  {
+    if (!(o instanceof OWLAxiom))
+      return false;
+    else if (!encode((OWLAxiom)o, false))
+      return this.unencodedAxioms.contains(o);
+    else if (this.triple[0] == EMPTY || this.triple[1] == EMPTY || this.triple[2] == EMPTY)
+      return false; // Some component is not in the dictionary
+    else
+      return this.triples[findEntry(this.triple[0], this.triple[1], this.triple[2])] != EMPTY;
+  }
+
+  @Override public int size()
+  {
+    return this.numberOfTriples + this.unencodedAxioms.size();
+  }
+
+  @Override public void clear()
+  {
+    this.unencodedAxioms.clear();
+    this.triples = createTable(INITIAL_CAPACITY);
+    this.numberOfTriples = 0;
+    this.modificationCount++;
+  }
+
+  @NonNull @Override public Iterator<@NonNull OWLAxiom> iterator()
+  {
+    return new Iterator<OWLAxiom>()
+    {
+      private final int expectedModificationCount = modificationCount;
+      private final Iterator<@NonNull OWLAxiom> unencodedAxiomIterator = unencodedAxioms.iterator();
+      private int entry = findOccupiedEntry(0);
+
+      @Override public boolean hasNext()
+      {
+        return this.entry < triples.length || this.unencodedAxiomIterator.hasNext();
+      }
+
+      @Override public OWLAxiom next()
+      {
+        if (modificationCount != this.expectedModificationCount)
+          throw new ConcurrentModificationException();
+
+        if (this.entry < triples.length) {
+          OWLAxiom axiom = decode(this.entry);
+          this.entry = findOccupiedEntry(this.entry + 3);
+          return axiom;
+        } else if (this.unencodedAxiomIterator.hasNext())
+          return this.unencodedAxiomIterator.next();
+        else
+          throw new NoSuchElementException();
+      }
+    };
+  }
+
+  /**
+   * @return True if the axiom can be encoded, in which case its encoding is stored in {@link #triple}; components not
+   * in the dictionary are encoded as {@link #EMPTY} unless they are added
+   */
+  private boolean encode(@NonNull OWLAxiom axiom, boolean addToDictionary)
+  {
+    if (axiom.isAnnotated())
+      return false;
+
+    if (axiom instanceof OWLClassAssertionAxiom) {
+      OWLClassAssertionAxiom classAssertionAxiom = (OWLClassAssertionAxiom)axiom;
+      if (classAssertionAxiom.getClassExpression().isAnonymous())
+        return false;
+      this.triple[0] = encode(classAssertionAxiom.getIndividual(), addToDictionary);
+      this.triple[1] = encode(classAssertionAxiom.getClassExpression(), addToDictionary);
+      this.triple[2] = NO_OBJECT;
+      return true;
+    } else if (axiom instanceof OWLObjectPropertyAssertionAxiom) {
+      OWLObjectPropertyAssertionAxiom propertyAssertionAxiom = (OWLObjectPropertyAssertionAxiom)axiom;
+      if (propertyAssertionAxiom.getProperty().isAnonymous())
+        return false;
+      this.triple[0] = encode(propertyAssertionAxiom.getSubject(), addToDictionary);
+      this.triple[1] = encode(propertyAssertionAxiom.getProperty(), addToDictionary);
+      this.triple[2] = encode(propertyAssertionAxiom.getObject(), addToDictionary);
+      return true;
+    } else if (axiom instanceof OWLDataPropertyAssertionAxiom) {
+      OWLDataPropertyAssertionAxiom propertyAssertionAxiom = (OWLDataPropertyAssertionAxiom)axiom;
+      if (propertyAssertionAxiom.getProperty().isAnonymous())
+        return false;
+      this.triple[0] = encode(propertyAssertionAxiom.getSubject(), addToDictionary);
+      this.triple[1] = encode(propertyAssertionAxiom.getProperty(), addToDictionary);
+      this.triple[2] = encode(propertyAssertionAxiom.getObject(), addToDictionary);
+      return true;
+    } else
+      return false;
+  }
+
+  private int encode(@NonNull OWLObject owlObject, boolean addToDictionary)
+  {
+    return addToDictionary ? this.dictionary.getId(owlObject) : this.dictionary.findId(owlObject);
+  }
+
+  // The kind of assertion is determined by its predicate
+  @NonNull private OWLAxiom decode(int entry)
+  {
+    OWLIndividual subject = (OWLIndividual)this.dictionary.getOWLObject(this.triples[entry]);
+    OWLObject predicate = this.dictionary.getOWLObject(this.triples[entry + 1]);
+
+    if (predicate instanceof OWLClass)
+      return this.dataFactory.getOWLClassAssertionAxiom((OWLClass)predicate, subject);
+    else if (predicate instanceof OWLObjectProperty)
+      return this.dataFactory.getOWLObjectPropertyAssertionAxiom((OWLObjectProperty)predicate, subject,
+        (OWLIndividual)this.dictionary.getOWLObject(this.triples[entry + 2]));
+    else
+      return this.dataFactory.getOWLDataPropertyAssertionAxiom((OWLDataProperty)predicate, subject,
+        (OWLLiteral)this.dictionary.getOWLObject(this.triples[entry + 2]));
+  }
+
+  /**
+   * @return The entry holding the triple or, if it is not in the table, the empty entry where it would be inserted
+   */
+  private int findEntry(int subject, int predicate, int object)
+  {
+    int mask = getCapacity() - 1;
+    int index = hash(subject, predicate, object) & mask;
+
+    while (true) {
+      int entry = 3 * index;
+      if (this.triples[entry] == EMPTY || (this.triples[entry] == subject && this.triples[entry + 1] == predicate
+        && this.triples[entry + 2] == object))
+        return entry;
+      index = (index + 1) & mask; // Linear probing
+    }
+  }
+
+  private int findOccupiedEntry(int entry)
+  {
+    while (entry < this.triples.length && this.triples[entry] == EMPTY)
+      entry += 3;
+    return entry;
+  }
+
+  private void resize(int capacity)
+  {
+    int[] previousTriples = this.triples;
+
+    this.triples = createTable(capacity);
+    for (int entry = 0; entry < previousTriples.length; entry += 3) {
+      if (previousTriples[entry] != EMPTY)
+        System.arraycopy(previousTriples, entry, this.triples,
+          findEntry(previousTriples[entry], previousTriples[entry + 1], previousTriples[entry + 2]), 3);
+    }
+  }
+
+  private int getCapacity()
+  {
+    return this.triples.length / 3;
+  }
+
+  @NonNull private static int[] createTable(int capacity)
+  {
+    int[] table = new int[3 * capacity];
+    Arrays.fill(table, EMPTY);
+    return table;
+  }
+
+  private static int hash(int subject, int predicate, int object)
+  {
+    int h = (31 * subject + predicate) * 31 + object;
+    h *= 0x9E3779B9; // Spread consecutive ids across the table
+    return h ^ (h >>> 16);
+  }
+}
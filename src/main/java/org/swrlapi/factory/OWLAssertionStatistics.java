@@ -0,0 +1,207 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.SWRLArgument;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLClassAtom;
+import org.semanticweb.owlapi.model.SWRLDataPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLObjectPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLVariable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Per-predicate cardinality statistics over the class and property assertions in an ontology. Records the number of
+ * instances of each class and, for each property, the number of assertions and of distinct subjects and objects.
+ * <p>
+ * Only tallies are kept. Distinct subject, object and individual counts are taken when the statistics are built;
+ * assertions added or removed later update the assertion counts exactly, while the distinct counts are only kept
+ * within the assertion counts.
+ * <p>
+ * The statistics are used to estimate the number of matches of a rule body atom given the variables bound by the atoms
+ * before it, assuming uniformly distributed values. Predicates are keyed as in the rule dependency graph.
+ *
+ * @see DefaultSWRLAPIRule
+ * @see DefaultSWRLRuleDependencyGraph#getPredicate(SWRLAtom)
+ */
+class OWLAssertionStatistics
+{
+  @NonNull private final Map<@NonNull OWLObject, @NonNull Integer> assertionCounts;
+  // Number of distinct subjects and objects of each property
+  @NonNull private final Map<@NonNull OWLObject, @NonNull Integer> distinctSubjectCounts;
+  @NonNull private final Map<@NonNull OWLObject, @NonNull Integer> distinctObjectCounts;
+  private int numberOfIndividuals; // Referred to by assertions
+
+  public OWLAssertionStatistics()
+  {
+    this.assertionCounts = new HashMap<>();
+    this.distinctSubjectCounts = new HashMap<>();
+    this.distinctObjectCounts = new HashMap<>();
+  }
+
+  /**
+   * Replace the statistics with those of a set of assertions. Distinct values are collected only while building.
+   *
+   * @param axioms Class and property assertions; other axioms are ignored
+   */
+  public void build(@NonNull Stream<? extends @NonNull OWLAxiom> axioms)
+  {
+    Map<@NonNull OWLObject, @NonNull Set<@NonNull OWLObject>> subjects = new HashMap<>();
+    Map<@NonNull OWLObject, @NonNull Set<@NonNull OWLObject>> objects = new HashMap<>();
+    Set<@NonNull OWLObject> individuals = new HashSet<>();
+
+    clear();
+    axioms.forEach(axiom -> {
+      if (axiom instanceof OWLClassAssertionAxiom) {
+        OWLClassAssertionAxiom classAssertionAxiom = (OWLClassAssertionAxiom)axiom;
+        updateCount(this.assertionCounts, classAssertionAxiom.getClassExpression(), 1);
+        individuals.add(classAssertionAxiom.getIndividual());
+      } else if (axiom instanceof OWLObjectPropertyAssertionAxiom) {
+        OWLObjectPropertyAssertionAxiom propertyAssertionAxiom = ((OWLObjectPropertyAssertionAxiom)axiom)
+          .getSimplified();
+        OWLObject property = propertyAssertionAxiom.getProperty().getNamedProperty();
+        updateCount(this.assertionCounts, property, 1);
+        subjects.computeIfAbsent(property, p -> new HashSet<>()).add(propertyAssertionAxiom.getSubject());
+        objects.computeIfAbsent(property, p -> new HashSet<>()).add(propertyAssertionAxiom.getObject());
+        individuals.add(propertyAssertionAxiom.getSubject());
+        individuals.add(propertyAssertionAxiom.getObject());
+      } else if (axiom instanceof OWLDataPropertyAssertionAxiom) {
+        OWLDataPropertyAssertionAxiom propertyAssertionAxiom = (OWLDataPropertyAssertionAxiom)axiom;
+        OWLObject property = propertyAssertionAxiom.getProperty();
+        updateCount(this.assertionCounts, property, 1);
+        subjects.computeIfAbsent(property, p -> new HashSet<>()).add(propertyAssertionAxiom.getSubject());
+        objects.computeIfAbsent(property, p -> new HashSet<>()).add(propertyAssertionAxiom.getObject());
+        individuals.add(propertyAssertionAxiom.getSubject());
+      }
+    });
+    subjects.forEach((property, values) -> this.distinctSubjectCounts.put(property, values.size()));
+    objects.forEach((property, values) -> this.distinctObjectCounts.put(property, values.size()));
+    this.numberOfIndividuals = individuals.size();
+  }
+
+  public void addOWLAxiom(@NonNull OWLAxiom axiom)
+  {
+    updateCounts(axiom, 1);
+  }
+
+  public void removeOWLAxiom(@NonNull OWLAxiom axiom)
+  {
+    updateCounts(axiom, -1);
+  }
+
+  public void clear()
+  {
+    this.assertionCounts.clear();
+    this.distinctSubjectCounts.clear();
+    this.distinctObjectCounts.clear();
+    this.numberOfIndividuals = 0;
+  }
+
+  /**
+   * @param predicate A class expression or a named property
+   * @return The number of assertions of the predicate
+   */
+  public int getAssertionCount(@NonNull OWLObject predicate)
+  {
+    return this.assertionCounts.getOrDefault(predicate, 0);
+  }
+
+  public int getNumberOfIndividuals()
+  {
+    return this.numberOfIndividuals;
+  }
+
+  /**
+   * Arguments that are not variables are always bound.
+   *
+   * @param atom           A non-built-in body atom
+   * @param boundVariables The variables bound before the atom is matched
+   * @return The estimated number of matches of the atom
+   */
+  public double estimateCardinality(@NonNull SWRLAtom atom, @NonNull Set<@NonNull SWRLVariable> boundVariables)
+  {
+    Optional<@NonNull OWLObject> predicate = DefaultSWRLRuleDependencyGraph.getPredicate(atom);
+    double numberOfIndividuals = Math.max(1, getNumberOfIndividuals());
+
+    if (atom instanceof SWRLClassAtom) {
+      double count = getAssertionCount(predicate.get());
+      return isBound(((SWRLClassAtom)atom).getArgument(), boundVariables) ? count / numberOfIndividuals : count;
+    } else if (atom instanceof SWRLObjectPropertyAtom || atom instanceof SWRLDataPropertyAtom) {
+      SWRLArgument subject = atom instanceof SWRLObjectPropertyAtom ?
+        getSubject((SWRLObjectPropertyAtom)atom) :
+        ((SWRLDataPropertyAtom)atom).getFirstArgument();
+      SWRLArgument object = atom instanceof SWRLObjectPropertyAtom ?
+        getObject((SWRLObjectPropertyAtom)atom) :
+        ((SWRLDataPropertyAtom)atom).getSecondArgument();
+      double count = getAssertionCount(predicate.get());
+      if (isBound(subject, boundVariables))
+        count /= Math.max(1, this.distinctSubjectCounts.getOrDefault(predicate.get(), 0));
+      if (isBound(object, boundVariables))
+        count /= Math.max(1, this.distinctObjectCounts.getOrDefault(predicate.get(), 0));
+      return count;
+    } else { // Same and different individuals and data range atoms test their arguments once all are bound
+      long numberOfUnboundArguments = atom.getAllArguments().stream().filter(a -> !isBound(a, boundVariables))
+        .count();
+      return numberOfUnboundArguments == 0 ? 0 : Math.pow(numberOfIndividuals, numberOfUnboundArguments);
+    }
+  }
+
+  private void updateCounts(@NonNull OWLAxiom axiom, int delta)
+  {
+    if (axiom instanceof OWLClassAssertionAxiom)
+      updateCount(this.assertionCounts, ((OWLClassAssertionAxiom)axiom).getClassExpression(), delta);
+    else if (axiom instanceof OWLObjectPropertyAssertionAxiom) // Inverse assertions are recorded as named assertions
+      updatePropertyCounts(
+        ((OWLObjectPropertyAssertionAxiom)axiom).getSimplified().getProperty().getNamedProperty(), delta);
+    else if (axiom instanceof OWLDataPropertyAssertionAxiom)
+      updatePropertyCounts(((OWLDataPropertyAssertionAxiom)axiom).getProperty(), delta);
+  }
+
+  // A property gets at least one distinct subject and object once asserted, and never more than it has assertions
+  private void updatePropertyCounts(@NonNull OWLObject property, int delta)
+  {
+    updateCount(this.assertionCounts, property, delta);
+
+    int count = getAssertionCount(property);
+    for (Map<@NonNull OWLObject, @NonNull Integer> distinctCounts : Arrays
+      .asList(this.distinctSubjectCounts, this.distinctObjectCounts)) {
+      if (count == 0)
+        distinctCounts.remove(property);
+      else
+        distinctCounts.put(property, Math.min(count, Math.max(1, distinctCounts.getOrDefault(property, 0))));
+    }
+  }
+
+  private static void updateCount(@NonNull Map<@NonNull OWLObject, @NonNull Integer> counts, @NonNull OWLObject key,
+    int delta)
+  {
+    counts.merge(key, delta, (c, d) -> c + d == 0 ? null : c + d);
+  }
+
+  // Position 0 of an object property atom is the subject of its named property
+  @NonNull private static SWRLArgument getSubject(@NonNull SWRLObjectPropertyAtom atom)
+  {
+    return atom.getPredicate().isAnonymous() ? atom.getSecondArgument() : atom.getFirstArgument();
+  }
+
+  @NonNull private static SWRLArgument getObject(@NonNull SWRLObjectPropertyAtom atom)
+  {
+    return atom.getPredicate().isAnonymous() ? atom.getFirstArgument() : atom.getSecondArgument();
+  }
+
+  private static boolean isBound(@NonNull SWRLArgument argument, @NonNull Set<@NonNull SWRLVariable> boundVariables)
+  {
+    return !(argument instanceof SWRLVariable) || boundVariables.contains(argument);
+  }
+}
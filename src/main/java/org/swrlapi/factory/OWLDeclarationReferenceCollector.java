@@ -0,0 +1,251 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLAsymmetricObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
+import org.semanticweb.owlapi.model.OWLDataPropertyRangeAxiom;
+import org.semanticweb.owlapi.model.OWLDifferentIndividualsAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointDataPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLDisjointObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLEquivalentClassesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentDataPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLEquivalentObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLFunctionalDataPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLFunctionalObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLInverseFunctionalObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLInverseObjectPropertiesAxiom;
+import org.semanticweb.owlapi.model.OWLIrreflexiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyDomainAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLObjectPropertyRangeAxiom;
+import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
+import org.semanticweb.owlapi.model.OWLSubClassOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubDataPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSubObjectPropertyOfAxiom;
+import org.semanticweb.owlapi.model.OWLSymmetricObjectPropertyAxiom;
+import org.semanticweb.owlapi.model.OWLTransitiveObjectPropertyAxiom;
+import org.semanticweb.owlapi.util.OWLAxiomVisitorExAdapter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the named entities in an OWL axiom for which a {@link org.swrlapi.core.SWRLAPIOWLOntology} generates
+ * declaration axioms when it processes the axiom. An entity is returned once for each position it occupies so that
+ * callers can maintain reference counts for generated declarations.
+ *
+ * @see DefaultSWRLAPIOWLOntology
+ */
+class OWLDeclarationReferenceCollector extends OWLAxiomVisitorExAdapter<@NonNull List<@NonNull OWLEntity>>
+{
+  public OWLDeclarationReferenceCollector()
+  {
+    super(Collections.<@NonNull OWLEntity>emptyList());
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLClassAssertionAxiom axiom)
+  {
+    List<@NonNull OWLEntity> entities = new ArrayList<>();
+    addIndividual(entities, axiom.getIndividual());
+    return entities;
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLObjectPropertyAssertionAxiom axiom)
+  {
+    List<@NonNull OWLEntity> entities = new ArrayList<>();
+    addIndividual(entities, axiom.getSubject());
+    addIndividual(entities, axiom.getObject());
+    return entities;
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLDataPropertyAssertionAxiom axiom)
+  {
+    List<@NonNull OWLEntity> entities = new ArrayList<>();
+    addIndividual(entities, axiom.getSubject());
+    return entities;
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLSameIndividualAxiom axiom)
+  {
+    List<@NonNull OWLEntity> entities = new ArrayList<>();
+    axiom.getIndividuals().forEach(individual -> addIndividual(entities, individual));
+    return entities;
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLDifferentIndividualsAxiom axiom)
+  {
+    List<@NonNull OWLEntity> entities = new ArrayList<>();
+    axiom.getIndividuals().forEach(individual -> addIndividual(entities, individual));
+    return entities;
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLSubClassOfAxiom axiom)
+  {
+    List<@NonNull OWLEntity> entities = new ArrayList<>();
+    addClass(entities, axiom.getSubClass());
+    addClass(entities, axiom.getSuperClass());
+    return entities;
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLEquivalentClassesAxiom axiom)
+  {
+    return new ArrayList<>(axiom.getNamedClasses());
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLSubObjectPropertyOfAxiom axiom)
+  {
+    List<@NonNull OWLEntity> entities = new ArrayList<>();
+    addObjectProperty(entities, axiom.getSubProperty());
+    addObjectProperty(entities, axiom.getSuperProperty());
+    return entities;
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLSubDataPropertyOfAxiom axiom)
+  {
+    List<@NonNull OWLEntity> entities = new ArrayList<>();
+    addDataProperty(entities, axiom.getSubProperty());
+    addDataProperty(entities, axiom.getSuperProperty());
+    return entities;
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLEquivalentDataPropertiesAxiom axiom)
+  {
+    return getDataProperties(axiom.getProperties());
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLEquivalentObjectPropertiesAxiom axiom)
+  {
+    return getObjectProperties(axiom.getProperties());
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLTransitiveObjectPropertyAxiom axiom)
+  {
+    return getObjectProperties(Collections.singleton(axiom.getProperty()));
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLSymmetricObjectPropertyAxiom axiom)
+  {
+    return getObjectProperties(Collections.singleton(axiom.getProperty()));
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLFunctionalObjectPropertyAxiom axiom)
+  {
+    return getObjectProperties(Collections.singleton(axiom.getProperty()));
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLInverseFunctionalObjectPropertyAxiom axiom)
+  {
+    return getObjectProperties(Collections.singleton(axiom.getProperty()));
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLFunctionalDataPropertyAxiom axiom)
+  {
+    return getDataProperties(Collections.singleton(axiom.getProperty()));
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLObjectPropertyDomainAxiom axiom)
+  {
+    List<@NonNull OWLEntity> entities = getObjectProperties(Collections.singleton(axiom.getProperty()));
+    addClass(entities, axiom.getDomain());
+    return entities;
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLDataPropertyDomainAxiom axiom)
+  {
+    List<@NonNull OWLEntity> entities = getDataProperties(Collections.singleton(axiom.getProperty()));
+    addClass(entities, axiom.getDomain());
+    return entities;
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLObjectPropertyRangeAxiom axiom)
+  {
+    List<@NonNull OWLEntity> entities = getObjectProperties(Collections.singleton(axiom.getProperty()));
+    addClass(entities, axiom.getRange());
+    return entities;
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLDataPropertyRangeAxiom axiom)
+  {
+    return getDataProperties(Collections.singleton(axiom.getProperty()));
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLInverseObjectPropertiesAxiom axiom)
+  {
+    List<@NonNull OWLEntity> entities = new ArrayList<>();
+    addObjectProperty(entities, axiom.getFirstProperty());
+    addObjectProperty(entities, axiom.getSecondProperty());
+    return entities;
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLIrreflexiveObjectPropertyAxiom axiom)
+  {
+    return getObjectProperties(Collections.singleton(axiom.getProperty()));
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLAsymmetricObjectPropertyAxiom axiom)
+  {
+    return getObjectProperties(Collections.singleton(axiom.getProperty()));
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLDisjointObjectPropertiesAxiom axiom)
+  {
+    return getObjectProperties(axiom.getProperties());
+  }
+
+  @NonNull @Override public List<@NonNull OWLEntity> visit(@NonNull OWLDisjointDataPropertiesAxiom axiom)
+  {
+    return getDataProperties(axiom.getProperties());
+  }
+
+  @NonNull private static List<@NonNull OWLEntity> getObjectProperties(
+    @NonNull Collection<? extends @NonNull OWLObjectPropertyExpression> propertyExpressions)
+  {
+    List<@NonNull OWLEntity> entities = new ArrayList<>();
+    propertyExpressions.forEach(propertyExpression -> addObjectProperty(entities, propertyExpression));
+    return entities;
+  }
+
+  @NonNull private static List<@NonNull OWLEntity> getDataProperties(
+    @NonNull Collection<? extends @NonNull OWLDataPropertyExpression> propertyExpressions)
+  {
+    List<@NonNull OWLEntity> entities = new ArrayList<>();
+    propertyExpressions.forEach(propertyExpression -> addDataProperty(entities, propertyExpression));
+    return entities;
+  }
+
+  private static void addIndividual(@NonNull List<@NonNull OWLEntity> entities, @NonNull OWLIndividual individual)
+  {
+    if (individual.isNamed())
+      entities.add(individual.asOWLNamedIndividual());
+  }
+
+  private static void addClass(@NonNull List<@NonNull OWLEntity> entities,
+    @NonNull OWLClassExpression classExpression)
+  {
+    if (!classExpression.isAnonymous())
+      entities.add(classExpression.asOWLClass());
+  }
+
+  private static void addObjectProperty(@NonNull List<@NonNull OWLEntity> entities,
+    @NonNull OWLObjectPropertyExpression propertyExpression)
+  {
+    if (!propertyExpression.isAnonymous())
+      entities.add(propertyExpression.asOWLObjectProperty());
+  }
+
+  private static void addDataProperty(@NonNull List<@NonNull OWLEntity> entities,
+    @NonNull OWLDataPropertyExpression propertyExpression)
+  {
+    if (!propertyExpression.isAnonymous())
+      entities.add(propertyExpression.asOWLDataProperty());
+  }
+}
@@ -0,0 +1,131 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.OWLObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns dense integer ids, starting at zero, to OWL objects such as entities and literals. Ids are assigned in order
+ * of first use and are stable until the dictionary is cleared. Each SWRLAPI ontology has one dictionary for the
+ * entities of its processed axioms, which is shared by its built-in argument factory and rule engine bridges.
+ * <p>
+ * A dictionary can be layered over a base dictionary. It reuses the ids of objects known to the base dictionary and
+ * gives other objects its own ids, which are negative and start at -2. Clearing a layered dictionary leaves the base
+ * dictionary untouched, so a rule engine bridge can drop the objects of a run while the ids of declared entities stay
+ * stable. An object keeps the id it was first given until the layered dictionary is cleared.
+ * <p>
+ * The dictionary is safe for concurrent use. Lookups do not lock; ids are assigned under a lock so that concurrent
+ * callers never receive the same id for different objects.
+ *
+ * @see org.swrlapi.core.SWRLAPIOWLOntology#getOWLObjectDictionary()
+ * @see DictionaryEncodedOWLAxiomSet
+ */
+public class OWLObjectDictionary
+{
+  /**
+   * Returned by {@link #findId(OWLObject)} for objects that have no id
+   */
+  public static final int NO_ID = -1;
+
+  @Nullable private final OWLObjectDictionary baseDictionary;
+  @NonNull private final Map<@NonNull OWLObject, @NonNull Integer> ids;
+  @NonNull private final List<@NonNull OWLObject> owlObjects; // Guarded by this
+
+  public OWLObjectDictionary()
+  {
+    this.baseDictionary = null;
+    this.ids = new ConcurrentHashMap<>();
+    this.owlObjects = new ArrayList<>();
+  }
+
+  /**
+   * @param baseDictionary The dictionary whose ids are reused
+   */
+  public OWLObjectDictionary(@NonNull OWLObjectDictionary baseDictionary)
+  {
+    this.baseDictionary = baseDictionary;
+    this.ids = new ConcurrentHashMap<>();
+    this.owlObjects = new ArrayList<>();
+  }
+
+  /**
+   * @param owlObject An OWL object
+   * @return The id of the object, which is assigned if the object does not have one
+   */
+  public int getId(@NonNull OWLObject owlObject)
+  {
+    int id = findId(owlObject);
+
+    return id != NO_ID ? id : assignId(owlObject);
+  }
+
+  /**
+   * @param owlObject An OWL object
+   * @return The id of the object or {@link #NO_ID} if it does not have one
+   */
+  public int findId(@NonNull OWLObject owlObject)
+  {
+    Integer id = this.ids.get(owlObject);
+
+    if (id != null)
+      return id;
+    else
+      return this.baseDictionary != null ? this.baseDictionary.findId(owlObject) : NO_ID;
+  }
+
+  @NonNull public OWLObject getOWLObject(int id)
+  {
+    if (this.baseDictionary != null && id >= 0)
+      return this.baseDictionary.getOWLObject(id);
+
+    synchronized (this) {
+      return this.owlObjects.get(toIndex(id));
+    }
+  }
+
+  /**
+   * @return The number of objects given an id by this dictionary rather than by its base dictionary
+   */
+  public synchronized int size()
+  {
+    return this.owlObjects.size();
+  }
+
+  /**
+   * Remove the objects given an id by this dictionary. A base dictionary is not cleared.
+   */
+  public synchronized void clear()
+  {
+    this.ids.clear();
+    this.owlObjects.clear();
+  }
+
+  // The object is added to the list before its id is published in the map
+  private synchronized int assignId(@NonNull OWLObject owlObject)
+  {
+    Integer id = this.ids.get(owlObject);
+
+    if (id == null) {
+      id = toId(this.owlObjects.size());
+      this.owlObjects.add(owlObject);
+      this.ids.put(owlObject, id);
+    }
+    return id;
+  }
+
+  // Ids of a layered dictionary are negative so that they never collide with those of its base dictionary
+  private int toId(int index)
+  {
+    return this.baseDictionary != null ? -2 - index : index;
+  }
+
+  private int toIndex(int id)
+  {
+    return this.baseDictionary != null ? -2 - id : id;
+  }
+}
@@ -0,0 +1,315 @@
+package org.swrlapi.factory;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLEntity;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.SWRLArgument;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLClassAtom;
+import org.semanticweb.owlapi.model.SWRLDataPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLIArgument;
+import org.semanticweb.owlapi.model.SWRLIndividualArgument;
+import org.semanticweb.owlapi.model.SWRLObjectPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.core.SWRLRuleDependencyGraph;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.sqwrl.SQWRLQuery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Rewrites the OWL axioms and SWRL rules exported to a target rule engine so that running a single SQWRL query derives
+ * only the facts that the query goal depends on.
+ * <p>
+ * The exported rules and assertions are first sliced with the ontology's {@link SWRLRuleDependencyGraph} to those
+ * that can contribute to a predicate used by the query, directly or through other rules. The remaining
+ * rules then undergo a demand (magic sets) transformation. Each derived predicate is given at most one argument
+ * position that is bound to an individual wherever the predicate is used, and each rule deriving it is guarded by a
+ * demand class holding the individuals that can be asked for at that position. Demand classes are seeded from the
+ * constants in the query and propagated through rule bodies from left to right by additional demand rules.
+ * <p>
+ * The result matches full materialization only if the target rule engine performs no OWL 2 RL reasoning, which
+ * callers must check. The transformation is not applied if a rule can infer anything other than class and property
+ * assertions or uses a built-in that can inject axioms.
+ *
+ * @see DefaultSWRLRuleAndQueryEngine
+ */
+class SQWRLQueryDemandTransformer
+{
+  private static final String DEMAND_CLASS_IRI_PREFIX = "http://swrl.stanford.edu/ontologies/3.3/swrla.owl#demand";
+  private static final String SWRLX_BUILT_IN_PREFIX = "swrlx:";
+
+  @NonNull private final SWRLAPIOWLOntology swrlapiOWLOntology;
+  @NonNull private final SQWRLQuery query;
+  @NonNull private final Set<@NonNull OWLObject> targetPredicates;
+  @NonNull private final List<@NonNull SWRLAPIRule> relevantRules; // Ordered by name
+  // Candidate demand positions of each derived predicate; the lowest remaining candidate is used
+  @NonNull private final Map<@NonNull OWLObject, @NonNull TreeSet<@NonNull Integer>> demandPositions;
+  @NonNull private final Map<@NonNull OWLObject, @NonNull OWLClass> demandClasses;
+
+  /**
+   * @param swrlapiOWLOntology A processed SWRLAPI-based ontology
+   * @param query              The query to be run
+   * @return The OWL axioms and SWRL rules to export to answer the query, or empty if the transformation does not apply
+   * @throws SWRLBuiltInException If a rewritten rule cannot be created
+   */
+  @NonNull static Optional<@NonNull Set<@NonNull OWLAxiom>> transform(@NonNull SWRLAPIOWLOntology swrlapiOWLOntology,
+    @NonNull SQWRLQuery query) throws SWRLBuiltInException
+  {
+    SWRLRuleDependencyGraph dependencyGraph = swrlapiOWLOntology.getSWRLRuleDependencyGraph();
+    Set<@NonNull OWLObject> targetPredicates = dependencyGraph.getTargetPredicates(query);
+    List<@NonNull SWRLAPIRule> relevantRules = dependencyGraph.getRelevantSWRLRules(targetPredicates).stream()
+      .sorted(Comparator.comparing(SWRLAPIRule::getRuleName)).collect(Collectors.toList());
+
+    if (!isTransformable(swrlapiOWLOntology.getSWRLRules().stream().filter(r -> r.isActive() && !r.isSQWRLQuery())
+      .collect(Collectors.toList()), query))
+      return Optional.empty();
+    else
+      return Optional.of(
+        new SQWRLQueryDemandTransformer(swrlapiOWLOntology, query, targetPredicates, relevantRules).getOWLAxioms());
+  }
+
+  /**
+   * @param axiom An OWL axiom inferred by a target rule engine
+   * @return True if the axiom records demand for a query rather than a fact
+   */
+  static boolean isDemandOWLAxiom(@NonNull OWLAxiom axiom)
+  {
+    if (axiom instanceof OWLClassAssertionAxiom) {
+      OWLClassExpression cls = ((OWLClassAssertionAxiom)axiom).getClassExpression();
+      return !cls.isAnonymous() && cls.asOWLClass().getIRI().toString().startsWith(DEMAND_CLASS_IRI_PREFIX);
+    } else
+      return false;
+  }
+
+  private SQWRLQueryDemandTransformer(@NonNull SWRLAPIOWLOntology swrlapiOWLOntology, @NonNull SQWRLQuery query,
+    @NonNull Set<@NonNull OWLObject> targetPredicates, @NonNull List<@NonNull SWRLAPIRule> relevantRules)
+  {
+    this.swrlapiOWLOntology = swrlapiOWLOntology;
+    this.query = query;
+    this.targetPredicates = targetPredicates;
+    this.relevantRules = relevantRules;
+    this.demandPositions = new LinkedHashMap<>();
+    this.demandClasses = new LinkedHashMap<>();
+
+    findDemandPositions();
+  }
+
+  // Built-ins that inject axioms may do so from any rule, so all active rules are checked
+  private static boolean isTransformable(@NonNull List<@NonNull SWRLAPIRule> rules, @NonNull SQWRLQuery query)
+  {
+    for (SWRLAPIRule rule : rules) {
+      for (SWRLAtom atom : rule.getHeadAtoms())
+        if (atom instanceof SWRLAPIBuiltInAtom || !DefaultSWRLRuleDependencyGraph.getPredicate(atom).isPresent())
+          return false;
+      if (usesSWRLXBuiltIns(rule.getBodyAtoms()))
+        return false;
+    }
+    return !usesSWRLXBuiltIns(query.getBodyAtoms()) && !usesSWRLXBuiltIns(query.getHeadAtoms());
+  }
+
+  private static boolean usesSWRLXBuiltIns(@NonNull List<@NonNull SWRLAtom> atoms)
+  {
+    return atoms.stream().anyMatch(a -> a instanceof SWRLAPIBuiltInAtom && ((SWRLAPIBuiltInAtom)a)
+      .getBuiltInPrefixedName().startsWith(SWRLX_BUILT_IN_PREFIX));
+  }
+
+  /**
+   * Demand positions are found by repeatedly removing candidate positions that some use of a derived predicate leaves
+   * unbound. Removing a candidate can remove the guard of a rule and so unbind positions in its body, but candidates
+   * are never added so this terminates.
+   */
+  private void findDemandPositions()
+  {
+    boolean changed;
+
+    for (SWRLAPIRule rule : this.relevantRules)
+      for (SWRLAtom atom : rule.getHeadAtoms()) {
+        OWLObject predicate = DefaultSWRLRuleDependencyGraph.getPredicate(atom).get();
+        if (predicate instanceof OWLEntity && !this.demandPositions.containsKey(predicate))
+          this.demandPositions.put(predicate,
+            new TreeSet<>(atom instanceof SWRLObjectPropertyAtom ? Arrays.asList(0, 1) : Collections.singletonList(0)));
+      }
+
+    do {
+      changed = restrictDemandPositions(this.query.getBodyAtoms(), Optional.empty());
+      for (SWRLAPIRule rule : this.relevantRules)
+        changed |= restrictDemandPositions(rule.getBodyAtoms(), getGuardArgument(rule));
+    } while (changed);
+  }
+
+  private boolean restrictDemandPositions(@NonNull List<@NonNull SWRLAtom> bodyAtoms,
+    @NonNull Optional<@NonNull SWRLIArgument> guardArgument)
+  {
+    Set<@NonNull SWRLVariable> boundVariables = new HashSet<>();
+    boolean changed = false;
+
+    guardArgument.filter(a -> a instanceof SWRLVariable).ifPresent(a -> boundVariables.add((SWRLVariable)a));
+
+    for (SWRLAtom atom : bodyAtoms) {
+      Optional<@NonNull OWLObject> predicate = DefaultSWRLRuleDependencyGraph.getPredicate(atom);
+      if (predicate.isPresent() && this.demandPositions.containsKey(predicate.get()))
+        changed |= this.demandPositions.get(predicate.get())
+          .removeIf(position -> !isBound(getArgument(atom, position), boundVariables));
+      if (!(atom instanceof SWRLAPIBuiltInAtom))
+        boundVariables.addAll(getVariables(atom));
+    }
+    return changed;
+  }
+
+  /**
+   * A rule can be guarded if it derives a single fact whose demand position holds an individual or a variable bound
+   * by a non-built-in body atom.
+   */
+  @NonNull private Optional<@NonNull SWRLIArgument> getGuardArgument(@NonNull SWRLAPIRule rule)
+  {
+    if (rule.getHeadAtoms().size() != 1)
+      return Optional.empty();
+
+    SWRLAtom headAtom = rule.getHeadAtoms().get(0);
+    Optional<@NonNull Integer> position = getDemandPosition(headAtom);
+
+    if (!position.isPresent())
+      return Optional.empty();
+
+    SWRLArgument argument = getArgument(headAtom, position.get());
+
+    if (argument instanceof SWRLIndividualArgument || rule.getBodyAtoms().stream()
+      .anyMatch(a -> !(a instanceof SWRLAPIBuiltInAtom) && getVariables(a).contains(argument)))
+      return Optional.of((SWRLIArgument)argument);
+    else
+      return Optional.empty();
+  }
+
+  @NonNull private Optional<@NonNull Integer> getDemandPosition(@NonNull SWRLAtom atom)
+  {
+    Optional<@NonNull OWLObject> predicate = DefaultSWRLRuleDependencyGraph.getPredicate(atom);
+
+    if (predicate.isPresent() && this.demandPositions.containsKey(predicate.get()) && !this.demandPositions
+      .get(predicate.get()).isEmpty())
+      return Optional.of(this.demandPositions.get(predicate.get()).first());
+    else
+      return Optional.empty();
+  }
+
+  @NonNull private Set<@NonNull OWLAxiom> getOWLAxioms() throws SWRLBuiltInException
+  {
+    Set<@NonNull OWLAxiom> axioms = this.swrlapiOWLOntology.getSWRLRuleDependencyGraph()
+      .getRelevantOWLAxioms(this.swrlapiOWLOntology.getOWLAxioms(), this.targetPredicates);
+
+    axioms.removeAll(this.relevantRules); // Relevant rules are rewritten below
+
+    for (SWRLAPIRule rule : this.relevantRules) {
+      Optional<@NonNull SWRLIArgument> guardArgument = getGuardArgument(rule);
+      if (guardArgument.isPresent()) {
+        SWRLClassAtom guardAtom = getDemandAtom(rule.getHeadAtoms().get(0), guardArgument.get());
+        List<@NonNull SWRLAtom> bodyAtoms = new ArrayList<>();
+        bodyAtoms.add(guardAtom);
+        bodyAtoms.addAll(rule.getBodyAtoms());
+        axioms.add(SWRLAPIInternalFactory
+          .createSWRLAPIRule(rule.getRuleName(), bodyAtoms, rule.getHeadAtoms(), rule.getComment(), true));
+        addDemandAxioms(rule.getRuleName(), rule.getBodyAtoms(), Optional.of(guardAtom), axioms);
+      } else {
+        axioms.add(rule);
+        addDemandAxioms(rule.getRuleName(), rule.getBodyAtoms(), Optional.empty(), axioms);
+      }
+    }
+    addDemandAxioms(this.query.getQueryName(), this.query.getBodyAtoms(), Optional.empty(), axioms);
+
+    return axioms;
+  }
+
+  /**
+   * For each body atom with a derived predicate, demand the individual at its demand position whenever the guard and
+   * the preceding non-built-in atoms match.
+   */
+  private void addDemandAxioms(@NonNull String ruleName, @NonNull List<@NonNull SWRLAtom> bodyAtoms,
+    @NonNull Optional<@NonNull SWRLClassAtom> guardAtom, @NonNull Set<@NonNull OWLAxiom> axioms)
+    throws SWRLBuiltInException
+  {
+    List<@NonNull SWRLAtom> precedingAtoms = new ArrayList<>();
+    int demandRuleNumber = 0;
+
+    guardAtom.ifPresent(precedingAtoms::add);
+
+    for (SWRLAtom atom : bodyAtoms) {
+      if (atom instanceof SWRLAPIBuiltInAtom)
+        continue;
+
+      Optional<@NonNull Integer> position = getDemandPosition(atom);
+      if (position.isPresent()) {
+        SWRLIArgument argument = (SWRLIArgument)getArgument(atom, position.get());
+        SWRLClassAtom demandAtom = getDemandAtom(atom, argument);
+
+        if (precedingAtoms.isEmpty()) // Argument must be an individual
+          axioms.add(getOWLDataFactory().getOWLClassAssertionAxiom(demandAtom.getPredicate(),
+            ((SWRLIndividualArgument)argument).getIndividual()));
+        else if (!precedingAtoms.contains(demandAtom))
+          axioms.add(SWRLAPIInternalFactory
+            .createSWRLAPIRule(ruleName + "-demand" + ++demandRuleNumber, precedingAtoms,
+              Collections.singletonList(demandAtom), "", true));
+      }
+      precedingAtoms.add(atom);
+    }
+  }
+
+  @NonNull private SWRLClassAtom getDemandAtom(@NonNull SWRLAtom atom, @NonNull SWRLIArgument argument)
+  {
+    OWLObject predicate = DefaultSWRLRuleDependencyGraph.getPredicate(atom).get();
+    OWLClass demandClass = this.demandClasses.computeIfAbsent(predicate,
+      p -> getOWLDataFactory().getOWLClass(IRI.create(DEMAND_CLASS_IRI_PREFIX + this.demandClasses.size())));
+
+    return getOWLDataFactory().getSWRLClassAtom(demandClass, argument);
+  }
+
+  @NonNull private OWLDataFactory getOWLDataFactory()
+  {
+    return this.swrlapiOWLOntology.getOWLDataFactory();
+  }
+
+  // Position 0 is the individual or subject and position 1 the object of the named property
+  @NonNull private static SWRLArgument getArgument(@NonNull SWRLAtom atom, int position)
+  {
+    if (atom instanceof SWRLClassAtom)
+      return ((SWRLClassAtom)atom).getArgument();
+    else if (atom instanceof SWRLObjectPropertyAtom) {
+      SWRLObjectPropertyAtom propertyAtom = (SWRLObjectPropertyAtom)atom;
+      OWLObjectPropertyExpression property = propertyAtom.getPredicate();
+      boolean subject = (position == 0) != property.isAnonymous();
+      return subject ? propertyAtom.getFirstArgument() : propertyAtom.getSecondArgument();
+    } else
+      return ((SWRLDataPropertyAtom)atom).getFirstArgument();
+  }
+
+  private static boolean isBound(@NonNull SWRLArgument argument, @NonNull Set<@NonNull SWRLVariable> boundVariables)
+  {
+    return argument instanceof SWRLIndividualArgument || boundVariables.contains(argument);
+  }
+
+  @NonNull private static Set<@NonNull SWRLVariable> getVariables(@NonNull SWRLAtom atom)
+  {
+    return atom.getAllArguments().stream().filter(a -> a instanceof SWRLVariable).map(a -> (SWRLVariable)a)
+      .collect(Collectors.toSet());
+  }
+}
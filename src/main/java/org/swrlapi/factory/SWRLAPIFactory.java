@@ -2,6 +2,7 @@ package org.swrlapi.factory;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.bridge.TargetSWRLRuleEngineCreator;
 import org.swrlapi.core.IRIResolver;
 import org.swrlapi.core.SWRLRuleEngine;
 import org.swrlapi.exceptions.SWRLRuleEngineException;
@@ -50,6 +51,19 @@ public class SWRLAPIFactory
     return swrlRuleAndQueryEngineFactory.createSWRLRuleEngine(ontology, iriResolver);
   }
 
+  /**
+   * @param ruleEngineName The name of a registered rule engine
+   * @param ontology       An OWL ontology
+   * @return A SWRL rule engine
+   * @throws SWRLRuleEngineException If an error occurs during rule engine creation
+   */
+  @NonNull public static SWRLRuleEngine createSWRLRuleEngine(@NonNull String ruleEngineName,
+    @NonNull OWLOntology ontology) throws SWRLRuleEngineException
+  {
+    IRIResolver iriResolver = createIRIResolver();
+    return swrlRuleAndQueryEngineFactory.createSWRLRuleEngine(ruleEngineName, ontology, iriResolver);
+  }
+
   /**
    * @param ontology An OWL ontology
    * @return A SQWRL query engine
@@ -74,6 +88,27 @@ public class SWRLAPIFactory
     return swrlRuleAndQueryEngineFactory.createSQWRLQueryEngine(ontology, iriResolver);
   }
 
+  /**
+   * @param queryEngineName The name of a registered rule engine
+   * @param ontology        An OWL ontology
+   * @return A SQWRL query engine
+   * @throws SWRLRuleEngineException If an error occurs during query engine creation
+   */
+  @NonNull public static SQWRLQueryEngine createSQWRLQueryEngine(@NonNull String queryEngineName,
+    @NonNull OWLOntology ontology) throws SWRLRuleEngineException
+  {
+    IRIResolver iriResolver = createIRIResolver();
+    return swrlRuleAndQueryEngineFactory.createSQWRLQueryEngine(queryEngineName, ontology, iriResolver);
+  }
+
+  /**
+   * @param ruleEngineCreator A creator for a target rule engine
+   */
+  public static void registerRuleEngine(@NonNull TargetSWRLRuleEngineCreator ruleEngineCreator)
+  {
+    swrlRuleAndQueryEngineFactory.registerRuleEngine(ruleEngineCreator);
+  }
+
   /**
    * @return An IRI resolver
    */
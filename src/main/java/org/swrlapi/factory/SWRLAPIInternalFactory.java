@@ -37,6 +37,7 @@ import javax.swing.*;
 import java.io.File;
 import java.net.URL;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * @see SWRLRuleAndQueryEngineFactory
@@ -106,6 +107,17 @@ public class SWRLAPIInternalFactory
     return new DefaultSWRLBuiltInArgumentFactory(iriResolver);
   }
 
+  /**
+   * @param iriResolver An IRI resolver
+   * @param dictionary  The dictionary that assigns ids to the entities of named built-in arguments
+   * @return A SWRL built-in argument factory
+   */
+  @NonNull public static SWRLBuiltInArgumentFactory createSWRLBuiltInArgumentFactory(@NonNull IRIResolver iriResolver,
+    @NonNull OWLObjectDictionary dictionary)
+  {
+    return new DefaultSWRLBuiltInArgumentFactory(iriResolver, dictionary);
+  }
+
   /**
    * @param iriResolver An IRI resolver
    * @return A SQWRL result value factory
@@ -132,6 +144,17 @@ public class SWRLAPIInternalFactory
     return new DefaultSWRLAPIOWLDataFactory(iriResolver);
   }
 
+  /**
+   * @param iriResolver An IRI resolver
+   * @param dictionary  The dictionary that assigns ids to the entities of named built-in arguments
+   * @return A SWRLAPI-based OWL data factory
+   */
+  @NonNull public static SWRLAPIOWLDataFactory createSWRLAPIOWLDataFactory(@NonNull IRIResolver iriResolver,
+    @NonNull OWLObjectDictionary dictionary)
+  {
+    return new DefaultSWRLAPIOWLDataFactory(iriResolver, dictionary);
+  }
+
   /**
    * @param swrlRuleEngine A SWRL rule engine
    * @return A SWRL rule and SQWRL query table model
@@ -227,6 +250,13 @@ public class SWRLAPIInternalFactory
     return new DefaultSWRLAPIRule(ruleName, bodyAtoms, headAtoms, comment, isActive);
   }
 
+  @NonNull static SWRLAPIRule createSWRLAPIRule(@NonNull String ruleName, @NonNull List<? extends SWRLAtom> bodyAtoms,
+    @NonNull List<? extends SWRLAtom> headAtoms, @NonNull String comment, boolean isActive,
+    @NonNull Optional<@NonNull OWLAssertionStatistics> assertionStatistics) throws SWRLBuiltInException
+  {
+    return new DefaultSWRLAPIRule(ruleName, bodyAtoms, headAtoms, comment, isActive, assertionStatistics);
+  }
+
   @NonNull public static SWRLAPIBuiltInAtom createSWRLAPIBuiltInAtom(@NonNull String ruleName, @NonNull IRI builtInIRI,
     @NonNull String builtInPrefixedName, @NonNull List<@NonNull SWRLBuiltInArgument> arguments)
   {
@@ -0,0 +1,129 @@
+package org.swrlapi.literal;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+import org.semanticweb.owlapi.vocab.XSDVocabulary;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The datatypes of OWL literals that the SWRLAPI distinguishes. A literal's datatype can be resolved with a single
+ * lookup rather than a series of datatype IRI comparisons.
+ *
+ * @see TypedLiteral
+ */
+public enum LiteralType
+{
+  BYTE(XSDVocabulary.BYTE.getIRI(), Category.LONG),
+  SHORT(XSDVocabulary.SHORT.getIRI(), Category.LONG),
+  INT(XSDVocabulary.INT.getIRI(), Category.LONG),
+  LONG(XSDVocabulary.LONG.getIRI(), Category.LONG),
+  FLOAT(XSDVocabulary.FLOAT.getIRI(), Category.FLOATING_POINT),
+  DOUBLE(XSDVocabulary.DOUBLE.getIRI(), Category.FLOATING_POINT),
+  DECIMAL(XSDVocabulary.DECIMAL.getIRI(), Category.DECIMAL),
+  INTEGER(XSDVocabulary.INTEGER.getIRI(), Category.INTEGER),
+  POSITIVE_INTEGER(XSDVocabulary.POSITIVE_INTEGER.getIRI(), Category.INTEGER),
+  NEGATIVE_INTEGER(XSDVocabulary.NEGATIVE_INTEGER.getIRI(), Category.INTEGER),
+  NON_NEGATIVE_INTEGER(XSDVocabulary.NON_NEGATIVE_INTEGER.getIRI(), Category.INTEGER),
+  NON_POSITIVE_INTEGER(XSDVocabulary.NON_POSITIVE_INTEGER.getIRI(), Category.INTEGER),
+  UNSIGNED_LONG(XSDVocabulary.UNSIGNED_LONG.getIRI(), Category.INTEGER),
+  UNSIGNED_INT(XSDVocabulary.UNSIGNED_INT.getIRI(), Category.LONG),
+  UNSIGNED_SHORT(XSDVocabulary.UNSIGNED_SHORT.getIRI(), Category.LONG),
+  UNSIGNED_BYTE(XSDVocabulary.UNSIGNED_BYTE.getIRI(), Category.LONG),
+  STRING(XSDVocabulary.STRING.getIRI(), Category.OTHER),
+  BOOLEAN(XSDVocabulary.BOOLEAN.getIRI(), Category.OTHER),
+  ANY_URI(XSDVocabulary.ANY_URI.getIRI(), Category.OTHER),
+  TIME(XSDVocabulary.TIME.getIRI(), Category.TEMPORAL),
+  DATE(XSDVocabulary.DATE.getIRI(), Category.TEMPORAL),
+  DATE_TIME(XSDVocabulary.DATE_TIME.getIRI(), Category.TEMPORAL),
+  DURATION(XSDVocabulary.DURATION.getIRI(), Category.TEMPORAL),
+  RDF_PLAIN_LITERAL(OWLRDFVocabulary.RDF_PLAIN_LITERAL.getIRI(), Category.OTHER),
+  RDFS_LITERAL(OWLRDFVocabulary.RDFS_LITERAL.getIRI(), Category.OTHER),
+  RDF_XML_LITERAL(OWLRDFVocabulary.RDF_XML_LITERAL.getIRI(), Category.OTHER),
+  /** Any other datatype */
+  OTHER(null, Category.OTHER);
+
+  private enum Category
+  {
+    LONG, FLOATING_POINT, DECIMAL, INTEGER, TEMPORAL, OTHER
+  }
+
+  @NonNull private static final Map<@NonNull IRI, @NonNull LiteralType> TYPES = new HashMap<>();
+
+  static {
+    for (LiteralType type : values())
+      if (type.iri != null)
+        TYPES.put(type.iri, type);
+  }
+
+  @Nullable private final IRI iri;
+  @NonNull private final Category category;
+
+  LiteralType(@Nullable IRI iri, @NonNull Category category)
+  {
+    this.iri = iri;
+    this.category = category;
+  }
+
+  /**
+   * @param datatypeIRI A datatype IRI
+   * @return The type with the IRI; {@link #OTHER} if there is no such type
+   */
+  @NonNull public static LiteralType forIRI(@NonNull IRI datatypeIRI)
+  {
+    return TYPES.getOrDefault(datatypeIRI, OTHER);
+  }
+
+  /**
+   * @param literal An OWL literal
+   * @return The type of the literal's datatype
+   */
+  @NonNull public static LiteralType forOWLLiteral(@NonNull OWLLiteral literal)
+  {
+    return forIRI(literal.getDatatype().getIRI());
+  }
+
+  /**
+   * @return The datatype IRI of the type; null for {@link #OTHER}
+   */
+  @Nullable public IRI getIRI()
+  {
+    return this.iri;
+  }
+
+  public boolean isNumeric()
+  {
+    return this.category != Category.OTHER && this.category != Category.TEMPORAL;
+  }
+
+  /**
+   * @return True if values of the type are parsed to a long, i.e., xsd:byte, xsd:short, xsd:int, xsd:long,
+   * xsd:unsignedByte, xsd:unsignedShort and xsd:unsignedInt
+   */
+  public boolean isLongValued()
+  {
+    return this.category == Category.LONG;
+  }
+
+  public boolean isFloatingPoint()
+  {
+    return this.category == Category.FLOATING_POINT;
+  }
+
+  /**
+   * @return True for xsd:integer and its unbounded subtypes
+   */
+  public boolean isUnboundedInteger()
+  {
+    return this.category == Category.INTEGER;
+  }
+
+  public boolean isTemporal()
+  {
+    return this.category == Category.TEMPORAL;
+  }
+}
@@ -2,14 +2,9 @@ package org.swrlapi.literal;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.semanticweb.owlapi.model.OWLLiteral;
-import org.semanticweb.owlapi.vocab.XSDVocabulary;
 import org.swrlapi.exceptions.SWRLAPIException;
-import org.swrlapi.exceptions.SWRLAPIInternalException;
 import org.swrlapi.factory.NaturalOrderComparator;
 
-import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.net.URI;
 import java.util.Comparator;
 
 /**
@@ -30,131 +25,142 @@ public final class OWLLiteralComparator implements Comparator<OWLLiteral>
 
   @Override public int compare(@NonNull OWLLiteral l1, @NonNull OWLLiteral l2)
   {
-    return compareOWLLiterals(l1, l2);
+    return compare(new TypedLiteral(l1), new TypedLiteral(l2));
   }
 
-  public static boolean isNumeric(@NonNull OWLLiteral literal)
-  {
-    return literal.getDatatype().getIRI().equals(XSDVocabulary.BYTE.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.SHORT.getIRI()) || literal.getDatatype().getIRI().equals(XSDVocabulary.INT.getIRI())
-      || literal.getDatatype().getIRI().equals(XSDVocabulary.LONG.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.FLOAT.getIRI()) || literal.getDatatype().getIRI().equals(XSDVocabulary.DOUBLE.getIRI())
-      || literal.getDatatype().getIRI().equals(XSDVocabulary.DECIMAL.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.INTEGER.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.POSITIVE_INTEGER.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.NEGATIVE_INTEGER.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.NON_NEGATIVE_INTEGER.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.NON_POSITIVE_INTEGER.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.UNSIGNED_LONG.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.UNSIGNED_INT.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.UNSIGNED_SHORT.getIRI()) || literal.getDatatype().getIRI()
-      .equals(XSDVocabulary.UNSIGNED_BYTE.getIRI());
-  }
-
-  private int compareOWLLiterals(@NonNull OWLLiteral l1, @NonNull OWLLiteral l2)
+  /**
+   * Compare two typed literals. The comparison is the same as the comparison of their OWL literals but uses the
+   * literals' cached parsed values.
+   *
+   * @param l1 A typed literal
+   * @param l2 A typed literal
+   * @return The comparison result
+   */
+  public static int compare(@NonNull TypedLiteral l1, @NonNull TypedLiteral l2)
   {
     try {
-      if (areAllLiteralsNumeric(l1, l2)) {
+      if (l1.isNumeric() && l2.isNumeric()) {
         if (areTypesIdentical(l1, l2)) {
-          if (l1.getDatatype().getIRI().equals(XSDVocabulary.BYTE.getIRI())) {
-            Byte b1 = Byte.parseByte(l1.getLiteral());
-            Byte b2 = Byte.parseByte(l2.getLiteral());
-            return b1.compareTo(b2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.SHORT.getIRI()) || l1.getDatatype().getIRI()
-            .equals(XSDVocabulary.UNSIGNED_BYTE.getIRI())) {
-            Short s1 = Short.parseShort(l1.getLiteral());
-            Short s2 = Short.parseShort(l2.getLiteral());
-            return s1.compareTo(s2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.INT.getIRI()) || l1.getDatatype().getIRI()
-            .equals(XSDVocabulary.UNSIGNED_SHORT.getIRI())) {
-            Integer i1 = Integer.parseInt(l1.getLiteral());
-            Integer i2 = Integer.parseInt(l2.getLiteral());
-            return i1.compareTo(i2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.LONG.getIRI()) || l1.getDatatype().getIRI()
-            .equals(XSDVocabulary.UNSIGNED_INT.getIRI())) {
-            Long long1 = Long.parseLong(l1.getLiteral());
-            Long long2 = Long.parseLong(l2.getLiteral());
-            return long1.compareTo(long2);
-          } else if (l1.getDatatype().isFloat()) {
-            Float f1 = Float.parseFloat(l1.getLiteral());
-            Float f2 = Float.parseFloat(l2.getLiteral());
-            return f1.compareTo(f2);
-          } else if (l1.getDatatype().isDouble()) {
-            Double d1 = Double.parseDouble(l1.getLiteral());
-            Double d2 = Double.parseDouble(l2.getLiteral());
-            return d1.compareTo(d2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.DECIMAL.getIRI())) {
-            BigDecimal d1 = new BigDecimal(l1.getLiteral());
-            BigDecimal d2 = new BigDecimal(l2.getLiteral());
-            return d1.compareTo(d2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.INTEGER.getIRI()) ||
-            l1.getDatatype().getIRI().equals(XSDVocabulary.POSITIVE_INTEGER.getIRI()) ||
-            l1.getDatatype().getIRI().equals(XSDVocabulary.NON_NEGATIVE_INTEGER.getIRI()) ||
-            l1.getDatatype().getIRI().equals(XSDVocabulary.NEGATIVE_INTEGER.getIRI()) ||
-            l1.getDatatype().getIRI().equals(XSDVocabulary.NON_POSITIVE_INTEGER.getIRI()) ||
-            l1.getDatatype().getIRI().equals(XSDVocabulary.UNSIGNED_LONG.getIRI())) {
-            BigInteger d1 = new BigInteger(l1.getLiteral());
-            BigInteger d2 = new BigInteger(l2.getLiteral());
-            return d1.compareTo(d2);
-          } else
-            throw new SWRLAPIInternalException(
-              "unsupported numeric datatype " + l1.getDatatype().getIRI() + " for OWL literal with value " + l1
-                .getLiteral());
-        } else { // Types differ - use xsd:decimal for comparison
-          BigDecimal d1 = new BigDecimal(l1.getLiteral());
-          BigDecimal d2 = new BigDecimal(l2.getLiteral());
-          return d1.compareTo(d2);
-        }
+          if (l1.getType().isLongValued())
+            return Long.compare(l1.getLongValue(), l2.getLongValue());
+          else if (l1.getType().isFloatingPoint()) // Float comparison is preserved by widening to double
+            return Double.compare(l1.getDoubleValue(), l2.getDoubleValue());
+          else if (l1.getType() == LiteralType.DECIMAL)
+            return l1.getDecimalValue().compareTo(l2.getDecimalValue());
+          else if (l1.isLongValue() && l2.isLongValue())
+            return Long.compare(l1.getLongValue(), l2.getLongValue());
+          else
+            return l1.getIntegerValue().compareTo(l2.getIntegerValue());
+        } else if (l1.isLongValue() && l2.isLongValue()) // Types differ - compare integral values directly
+          return Long.compare(l1.getLongValue(), l2.getLongValue());
+        else // Types differ - use xsd:decimal for comparison
+          return l1.getDecimalValue().compareTo(l2.getDecimalValue());
       } else { // Non numeric type; types should be the same
         if (!areTypesIdentical(l1, l2))
           return -1;
         else {
-          if (l1.getDatatype().isBoolean()) {
-            Boolean b1 = Boolean.parseBoolean(l1.getLiteral());
-            Boolean b2 = Boolean.parseBoolean(l2.getLiteral());
-            return b1.compareTo(b2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.ANY_URI.getIRI())) {
-            URI u1 = URI.create(l1.getLiteral());
-            URI u2 = URI.create(l2.getLiteral());
-            return u1.compareTo(u2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.TIME.getIRI())) {
-            XSDTime t1 = new XSDTime(l1.getLiteral());
-            XSDTime t2 = new XSDTime(l2.getLiteral());
-            return t1.compareTo(t2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.DATE.getIRI())) {
-            XSDDate d1 = new XSDDate(l1.getLiteral());
-            XSDDate d2 = new XSDDate(l2.getLiteral());
-            return d1.compareTo(d2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.DATE_TIME.getIRI())) {
-            XSDDateTime dt1 = new XSDDateTime(l1.getLiteral());
-            XSDDateTime dt2 = new XSDDateTime(l2.getLiteral());
-            return dt1.compareTo(dt2);
-          } else if (l1.getDatatype().getIRI().equals(XSDVocabulary.DURATION.getIRI())) {
-            XSDDuration d1 = new XSDDuration(l1.getLiteral());
-            XSDDuration d2 = new XSDDuration(l2.getLiteral());
-            return d1.compareTo(d2);
-          } else
+          switch (l1.getType()) {
+          case BOOLEAN:
+            return Boolean.compare(l1.getBooleanValue(), l2.getBooleanValue());
+          case ANY_URI:
+            return l1.getAnyURIValue().compareTo(l2.getAnyURIValue());
+          case TIME:
+            return l1.getTimeValue().compareTo(l2.getTimeValue());
+          case DATE:
+            return l1.getDateValue().compareTo(l2.getDateValue());
+          case DATE_TIME:
+            return l1.getDateTimeValue().compareTo(l2.getDateTimeValue());
+          case DURATION:
+            return l1.getDurationValue().compareTo(l2.getDurationValue());
+          default:
             // The OWLAPI seems to do a rather odd comparison so we use a natural order comparison
-            return naturalOrderComparator.compare(l1.getLiteral(), l2.getLiteral());
+            return naturalOrderComparator.compare(l1.getLexicalForm(), l2.getLexicalForm());
+          }
         }
       }
-    } catch (IllegalArgumentException e) {
+    } catch (IllegalArgumentException e) { // Includes NumberFormatException
       throw new SWRLAPIException(
-        "Literal " + l1.getLiteral() + " or " + l2.getLiteral() + " not valid " + l1.getDatatype().getIRI());
+        "Literal " + l1.getLexicalForm() + " or " + l2.getLexicalForm() + " not valid " + l1.getOWLLiteral()
+          .getDatatype().getIRI());
     }
   }
 
-  private boolean areTypesIdentical(@NonNull OWLLiteral literal1, @NonNull OWLLiteral literal2)
+  /**
+   * @param literal A literal
+   * @return A hash code that is consistent with this comparator, i.e., literals that compare as equal have equal hash
+   * codes
+   */
+  public static int hash(@NonNull OWLLiteral literal)
+  {
+    return computeHash(new TypedLiteral(literal));
+  }
+
+  /**
+   * @param literal A typed literal
+   * @return A hash code that is consistent with this comparator; the hash code is cached in the typed literal
+   */
+  public static int hash(@NonNull TypedLiteral literal)
   {
-    return literal1.getDatatype().getIRI().equals(literal2.getDatatype().getIRI());
+    return literal.getComparisonHash();
   }
 
-  private boolean areAllLiteralsNumeric(@NonNull OWLLiteral... literals)
+  public static boolean isNumeric(@NonNull OWLLiteral literal)
   {
-    for (OWLLiteral literal : literals)
-      if (!isNumeric(literal))
-        return false;
-    return true;
+    return LiteralType.forOWLLiteral(literal).isNumeric();
   }
 
+  static int computeHash(@NonNull TypedLiteral literal)
+  {
+    try {
+      if (literal.isNumeric()) { // Numeric literals of different types may compare as equal so ignore the type
+        float f = literal.getType() == LiteralType.FLOAT ?
+          (float)literal.getDoubleValue() :
+          (float)Double.parseDouble(literal.getLexicalForm());
+        return f == 0.0f ? 0 : Float.hashCode(f); // Do not distinguish -0 and 0
+      } else {
+        int hash = literal.getOWLLiteral().getDatatype().getIRI().hashCode();
+        if (literal.getType() == LiteralType.BOOLEAN)
+          return 31 * hash + Boolean.hashCode(literal.getBooleanValue());
+        else if (literal.getType() == LiteralType.ANY_URI)
+          return 31 * hash + literal.getAnyURIValue().hashCode();
+        else if (literal.getType() == LiteralType.TIME) // Temporal values hash their normalized form
+          return 31 * hash + literal.getTimeValue().hashCode();
+        else if (literal.getType() == LiteralType.DATE)
+          return 31 * hash + literal.getDateValue().hashCode();
+        else if (literal.getType() == LiteralType.DATE_TIME)
+          return 31 * hash + literal.getDateTimeValue().hashCode();
+        else if (literal.getType() == LiteralType.DURATION)
+          return 31 * hash + literal.getDurationValue().hashCode();
+        else
+          return 31 * hash + naturalOrderKey(literal.getLexicalForm()).hashCode();
+      }
+    } catch (IllegalArgumentException e) { // Includes NumberFormatException
+      return 0;
+    }
+  }
+
+  // Strip leading zeros from runs of digits, which the natural order comparator ignores
+  @NonNull private static String naturalOrderKey(@NonNull String s)
+  {
+    StringBuilder sb = new StringBuilder(s.length());
+
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c == '0' && (i == 0 || !Character.isDigit(s.charAt(i - 1))) && i + 1 < s.length() && Character
+        .isDigit(s.charAt(i + 1))) {
+        while (i + 1 < s.length() && s.charAt(i) == '0' && Character.isDigit(s.charAt(i + 1)))
+          i++;
+        c = s.charAt(i);
+      }
+      sb.append(c);
+    }
+    return sb.toString();
+  }
+
+  // Literals of type OTHER may have different datatypes
+  private static boolean areTypesIdentical(@NonNull TypedLiteral literal1, @NonNull TypedLiteral literal2)
+  {
+    return literal1.getType() == literal2.getType() && (literal1.getType() != LiteralType.OTHER || literal1
+      .getOWLLiteral().getDatatype().getIRI().equals(literal2.getOWLLiteral().getDatatype().getIRI()));
+  }
 }
@@ -0,0 +1,274 @@
+package org.swrlapi.literal;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.OWLLiteral;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+
+/**
+ * An OWL literal with its datatype resolved to a {@link LiteralType} and its value parsed on first use. Later type
+ * checks, value extraction and comparisons with {@link OWLLiteralComparator#compare(TypedLiteral, TypedLiteral)} use
+ * the parsed value rather than re-parsing the literal's lexical form.
+ * <p>
+ * Instances are immutable and can be shared between threads. Invalid lexical forms cause the value getters to throw an
+ * {@link IllegalArgumentException}.
+ *
+ * @see LiteralType
+ * @see OWLLiteralComparator
+ */
+public final class TypedLiteral
+{
+  @NonNull private final OWLLiteral literal;
+  @NonNull private final LiteralType type;
+
+  // Written before parsed is set so are safely published by it
+  private long longValue;
+  private double doubleValue;
+  @Nullable private Object value;
+  private boolean isValid;
+  private volatile boolean parsed;
+
+  @Nullable private volatile BigDecimal decimalValue;
+  private int comparisonHash; // 0 if not yet computed
+
+  public TypedLiteral(@NonNull OWLLiteral literal)
+  {
+    this.literal = literal;
+    this.type = LiteralType.forOWLLiteral(literal);
+  }
+
+  @NonNull public OWLLiteral getOWLLiteral()
+  {
+    return this.literal;
+  }
+
+  @NonNull public LiteralType getType()
+  {
+    return this.type;
+  }
+
+  @NonNull public String getLexicalForm()
+  {
+    return this.literal.getLiteral();
+  }
+
+  public boolean isNumeric()
+  {
+    return this.type.isNumeric();
+  }
+
+  /**
+   * @return True if the literal's lexical form is valid for its type; literals of type {@link LiteralType#OTHER} are
+   * always valid
+   */
+  public boolean isValid()
+  {
+    parse();
+    return this.isValid;
+  }
+
+  /**
+   * @return True if the literal is a valid integral number that can be represented as a long
+   */
+  public boolean isLongValue()
+  {
+    parse();
+    return this.isValid && (this.type.isLongValued() || (this.type.isUnboundedInteger() && this.value == null));
+  }
+
+  public long getLongValue()
+  {
+    if (!isLongValue())
+      throw invalidValue("long");
+    return this.longValue;
+  }
+
+  /**
+   * @return The value of a numeric literal as a double; some precision may be lost
+   */
+  public double getDoubleValue()
+  {
+    checkValid(isNumeric(), "double");
+
+    if (this.type.isFloatingPoint())
+      return this.doubleValue;
+    else if (this.value != null)
+      return ((Number)this.value).doubleValue();
+    else
+      return this.longValue;
+  }
+
+  /**
+   * @return The value of a numeric literal as a decimal created from its lexical form
+   */
+  @NonNull public BigDecimal getDecimalValue()
+  {
+    BigDecimal d = this.decimalValue;
+
+    if (d == null) {
+      if (!isNumeric())
+        throw invalidValue("decimal");
+      this.decimalValue = d = new BigDecimal(this.literal.getLiteral()); // Throws NumberFormatException if invalid
+    }
+    return d;
+  }
+
+  @NonNull public BigInteger getIntegerValue()
+  {
+    checkValid(this.type.isLongValued() || this.type.isUnboundedInteger(), "integer");
+
+    return this.value != null ? (BigInteger)this.value : BigInteger.valueOf(this.longValue);
+  }
+
+  public boolean getBooleanValue()
+  {
+    checkValid(this.type == LiteralType.BOOLEAN, "boolean");
+    return (Boolean)this.value;
+  }
+
+  @NonNull public URI getAnyURIValue()
+  {
+    checkValid(this.type == LiteralType.ANY_URI, "anyURI");
+    return (URI)this.value;
+  }
+
+  @NonNull public XSDTime getTimeValue()
+  {
+    checkValid(this.type == LiteralType.TIME, "time");
+    return (XSDTime)this.value;
+  }
+
+  @NonNull public XSDDate getDateValue()
+  {
+    checkValid(this.type == LiteralType.DATE, "date");
+    return (XSDDate)this.value;
+  }
+
+  @NonNull public XSDDateTime getDateTimeValue()
+  {
+    checkValid(this.type == LiteralType.DATE_TIME, "dateTime");
+    return (XSDDateTime)this.value;
+  }
+
+  @NonNull public XSDDuration getDurationValue()
+  {
+    checkValid(this.type == LiteralType.DURATION, "duration");
+    return (XSDDuration)this.value;
+  }
+
+  @NonNull @Override public String toString()
+  {
+    return this.literal.toString();
+  }
+
+  // Parsed values of other types
+  @Nullable Object getValue()
+  {
+    parse();
+    return this.value;
+  }
+
+  // Cached hash code consistent with OWLLiteralComparator; computed at most a few times if threads race
+  int getComparisonHash()
+  {
+    int hash = this.comparisonHash;
+
+    if (hash == 0)
+      this.comparisonHash = hash = OWLLiteralComparator.computeHash(this);
+    return hash;
+  }
+
+  private void checkValid(boolean isType, @NonNull String targetType)
+  {
+    parse();
+
+    if (!isType || !this.isValid)
+      throw invalidValue(targetType);
+  }
+
+  @NonNull private IllegalArgumentException invalidValue(@NonNull String targetType)
+  {
+    return new IllegalArgumentException(
+      "cannot convert value " + this.literal.getLiteral() + " of type " + this.literal.getDatatype() + " to "
+        + targetType);
+  }
+
+  private void parse()
+  {
+    if (this.parsed)
+      return;
+
+    String lexicalForm = this.literal.getLiteral();
+
+    try {
+      switch (this.type) {
+      case BYTE:
+        this.longValue = Byte.parseByte(lexicalForm);
+        break;
+      case SHORT:
+      case UNSIGNED_BYTE:
+        this.longValue = Short.parseShort(lexicalForm);
+        break;
+      case INT:
+      case UNSIGNED_SHORT:
+        this.longValue = Integer.parseInt(lexicalForm);
+        break;
+      case LONG:
+      case UNSIGNED_INT:
+        this.longValue = Long.parseLong(lexicalForm);
+        break;
+      case FLOAT:
+        this.doubleValue = Float.parseFloat(lexicalForm);
+        break;
+      case DOUBLE:
+        this.doubleValue = Double.parseDouble(lexicalForm);
+        break;
+      case DECIMAL:
+        BigDecimal d = new BigDecimal(lexicalForm);
+        this.value = d;
+        this.decimalValue = d;
+        break;
+      case INTEGER:
+      case POSITIVE_INTEGER:
+      case NEGATIVE_INTEGER:
+      case NON_NEGATIVE_INTEGER:
+      case NON_POSITIVE_INTEGER:
+      case UNSIGNED_LONG:
+        BigInteger i = new BigInteger(lexicalForm);
+        if (i.bitLength() < Long.SIZE)
+          this.longValue = i.longValue();
+        else
+          this.value = i;
+        break;
+      case BOOLEAN:
+        this.value = Boolean.parseBoolean(lexicalForm);
+        break;
+      case ANY_URI:
+        this.value = URI.create(lexicalForm);
+        break;
+      case TIME:
+        this.value = new XSDTime(lexicalForm);
+        break;
+      case DATE:
+        this.value = new XSDDate(lexicalForm);
+        break;
+      case DATE_TIME:
+        this.value = new XSDDateTime(lexicalForm);
+        break;
+      case DURATION:
+        this.value = new XSDDuration(lexicalForm);
+        break;
+      default: // Other types are compared using their lexical form
+        break;
+      }
+      this.isValid = true;
+    } catch (IllegalArgumentException e) { // Includes NumberFormatException
+      this.value = null;
+      this.isValid = false;
+    }
+    this.parsed = true;
+  }
+}
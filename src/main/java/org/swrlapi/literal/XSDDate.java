@@ -6,24 +6,28 @@ import org.checkerframework.dataflow.qual.Deterministic;
 import org.checkerframework.dataflow.qual.SideEffectFree;
 import org.semanticweb.owlapi.vocab.XSDVocabulary;
 
+import java.time.LocalDate;
 import java.util.Date;
 
 public class XSDDate extends XSDType<XSDDate>
 {
-  @NonNull private final Date date;
+  private final long epochDay;
 
   public XSDDate(@NonNull String content)
   {
     super(content, XSDVocabulary.DATE.getIRI());
 
-    this.date = XSDTimeUtil.xsdDateString2Date(content);
+    this.epochDay = XSDTimeUtil.xsdDateString2LocalDate(content).toEpochDay();
   }
 
   public XSDDate(@NonNull Date date)
   {
-    super(XSDTimeUtil.utilDate2XSDDateString(date), XSDVocabulary.DATE.getIRI());
+    this(XSDTimeUtil.utilDate2XSDDateString(date));
+  }
 
-    this.date = new Date(date.getTime());
+  @NonNull public LocalDate getLocalDate()
+  {
+    return LocalDate.ofEpochDay(this.epochDay);
   }
 
   @Override protected void validate()
@@ -44,12 +48,12 @@ public class XSDDate extends XSDType<XSDDate>
 
     XSDDate xsdDate = (XSDDate)o;
 
-    return !(date != null ? !date.equals(xsdDate.date) : xsdDate.date != null);
+    return this.epochDay == xsdDate.epochDay;
   }
 
   @SideEffectFree @Deterministic @Override public int hashCode()
   {
-    return date != null ? date.hashCode() : 0;
+    return Long.hashCode(this.epochDay);
   }
 
   @SideEffectFree @Deterministic @Override public int compareTo(@NonNull XSDDate o)
@@ -60,6 +64,6 @@ public class XSDDate extends XSDType<XSDDate>
     if (this == o)
       return 0;
 
-    return XSDTimeUtil.compareDates(this.date, o.date);
+    return Long.compare(this.epochDay, o.epochDay);
   }
 }
@@ -6,24 +6,38 @@ import org.checkerframework.dataflow.qual.Deterministic;
 import org.checkerframework.dataflow.qual.SideEffectFree;
 import org.semanticweb.owlapi.vocab.XSDVocabulary;
 
+import java.time.Instant;
 import java.util.Date;
 
 public class XSDDateTime extends XSDType<XSDDateTime>
 {
-  @NonNull private final Date datetime;
+  private final long epochSecond;
+  private final int nano;
 
   public XSDDateTime(@NonNull String content)
   {
     super(content, XSDVocabulary.DATE_TIME.getIRI());
 
-    this.datetime = XSDTimeUtil.xsdDateTimeString2Date(content);
+    Instant instant = XSDTimeUtil.xsdDateTimeString2Instant(content);
+
+    this.epochSecond = instant.getEpochSecond();
+    this.nano = instant.getNano();
   }
 
+  /**
+   * @param datetime A date, printed with the offset of the default time zone
+   */
   public XSDDateTime(@NonNull Date datetime)
   {
-    super(XSDTimeUtil.utilDate2XSDDateTimeString(datetime), XSDVocabulary.DATE_TIME.getIRI());
+    this(XSDTimeUtil.utilDate2XSDOffsetDateTimeString(datetime));
+  }
 
-    this.datetime = new Date(datetime.getTime());
+  /**
+   * @return The instant of the date time; a date time without a time zone is treated as UTC
+   */
+  @NonNull public Instant getInstant()
+  {
+    return Instant.ofEpochSecond(this.epochSecond, this.nano);
   }
 
   @Override protected void validate()
@@ -45,13 +59,13 @@ public class XSDDateTime extends XSDType<XSDDateTime>
 
     XSDDateTime otherDateTime = (XSDDateTime)o;
 
-    return this.datetime != null && otherDateTime.datetime != null && this.datetime.equals(otherDateTime.datetime);
+    return this.epochSecond == otherDateTime.epochSecond && this.nano == otherDateTime.nano;
   }
 
   @SideEffectFree @Deterministic @Override public int hashCode()
   {
     int code = 136;
-    code += this.datetime.hashCode();
+    code += 31 * Long.hashCode(this.epochSecond) + this.nano;
     return code;
   }
 
@@ -63,6 +77,8 @@ public class XSDDateTime extends XSDType<XSDDateTime>
     if (this == o)
       return 0;
 
-    return XSDTimeUtil.compareDateTimes(this.datetime, o.datetime);
+    int diff = Long.compare(this.epochSecond, o.epochSecond);
+
+    return diff != 0 ? diff : Integer.compare(this.nano, o.nano);
   }
 }
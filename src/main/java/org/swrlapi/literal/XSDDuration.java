@@ -4,18 +4,25 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.dataflow.qual.Deterministic;
 import org.checkerframework.dataflow.qual.SideEffectFree;
-import org.apache.axis.types.Duration;
 import org.semanticweb.owlapi.vocab.XSDVocabulary;
 
+/**
+ * An xsd:duration. Durations are ordered by their total number of months and then by the total length of their day and
+ * time components, so, e.g., P1D and PT24H are equal.
+ */
 public class XSDDuration extends XSDType<XSDDuration>
 {
-  @NonNull private final Duration duration;
+  private final long months;
+  private final long nanos;
 
   public XSDDuration(@NonNull String content)
   {
     super(content, XSDVocabulary.DURATION.getIRI());
 
-    this.duration = XSDTimeUtil.xsdDurationString2AxisDuration(content);
+    long[] monthsAndNanos = XSDTimeUtil.xsdDurationString2MonthsAndNanos(content);
+
+    this.months = monthsAndNanos[0];
+    this.nanos = monthsAndNanos[1];
   }
 
   @Override protected void validate()
@@ -37,13 +44,13 @@ public class XSDDuration extends XSDType<XSDDuration>
 
     XSDDuration otherDuration = (XSDDuration)o;
 
-    return this.duration != null && otherDuration.duration != null && this.duration.equals(otherDuration.duration);
+    return this.months == otherDuration.months && this.nanos == otherDuration.nanos;
   }
 
   @SideEffectFree @Deterministic @Override public int hashCode()
   {
     int code = 34;
-    code += this.duration.hashCode();
+    code += 31 * Long.hashCode(this.months) + Long.hashCode(this.nanos);
     return code;
   }
 
@@ -55,6 +62,8 @@ public class XSDDuration extends XSDType<XSDDuration>
     if (this == o)
       return 0;
 
-    return XSDTimeUtil.compareDurations(this.duration, o.duration);
+    int diff = Long.compare(this.months, o.months);
+
+    return diff != 0 ? diff : Long.compare(this.nanos, o.nanos);
   }
 }
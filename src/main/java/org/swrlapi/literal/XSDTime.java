@@ -4,27 +4,33 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.dataflow.qual.Deterministic;
 import org.checkerframework.dataflow.qual.SideEffectFree;
-import org.apache.axis.types.Time;
 import org.semanticweb.owlapi.vocab.XSDVocabulary;
 
+import java.time.LocalTime;
 import java.util.Date;
 
 public class XSDTime extends XSDType<XSDTime>
 {
-  private final @NonNull Time time;
+  private final long nanoOfDay;
 
   public XSDTime(@NonNull String content)
   {
     super(content, XSDVocabulary.TIME.getIRI());
 
-    this.time = XSDTimeUtil.xsdTimeString2AxisTime(content);
+    this.nanoOfDay = XSDTimeUtil.xsdTimeString2NanoOfDay(content);
   }
 
   public XSDTime(@NonNull Date date)
   {
-    super(XSDTimeUtil.utilDate2XSDTimeString(date), XSDVocabulary.TIME.getIRI());
+    this(XSDTimeUtil.utilDate2XSDTimeString(date));
+  }
 
-    this.time = XSDTimeUtil.utilDate2XSDTime(date);
+  /**
+   * @return The time of day; a time with a time zone is normalized to UTC
+   */
+  @NonNull public LocalTime getLocalTime()
+  {
+    return LocalTime.ofNanoOfDay(this.nanoOfDay);
   }
 
   @Override protected void validate()
@@ -46,13 +52,13 @@ public class XSDTime extends XSDType<XSDTime>
 
     XSDTime otherTime = (XSDTime)o;
 
-    return this.time != null && otherTime.time != null && this.time.equals(otherTime.time);
+    return this.nanoOfDay == otherTime.nanoOfDay;
   }
 
   @SideEffectFree @Deterministic @Override public int hashCode()
   {
     int code = 156;
-    code += this.time.hashCode();
+    code += Long.hashCode(this.nanoOfDay);
     return code;
   }
 
@@ -64,6 +70,6 @@ public class XSDTime extends XSDType<XSDTime>
     if (this == o)
       return 0;
 
-    return XSDTimeUtil.compareTimes(this.time, o.time);
+    return Long.compare(this.nanoOfDay, o.nanoOfDay);
   }
 }
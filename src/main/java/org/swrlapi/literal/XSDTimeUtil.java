@@ -1,24 +1,80 @@
 package org.swrlapi.literal;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
-
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.format.SignStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
-
+import java.util.TimeZone;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Utility methods for the XSD temporal types. All parsing and formatting uses immutable {@link java.time} formatters so
+ * the methods can be called concurrently. {@link java.util.Date} values are interpreted in the default time zone.
+ * <p>
+ * Date times and dates without a time zone are formatted and parsed as local values; those with a time zone are
+ * converted to an instant. Times are normalized to UTC when they have a time zone. Date times that must identify an
+ * instant are formatted with an explicit offset.
+ */
 public class XSDTimeUtil
 {
-  @NonNull private static final String xsdDateTimeFormatString = "yyyy-MM-dd'T'hh:mm:ss";
-  @NonNull private static final String xsdDateFormatString = "yyyy-MM-dd";
-  @NonNull private static final String jdbcDateTimeFormatString = "y-M-d h:m:s.S";
-  @NonNull private static final String jdbcDateFormatString = "y-M-d";
-
-  @NonNull private static final DateFormat xsdDateTimeFormat = new SimpleDateFormat(xsdDateTimeFormatString);
-  @NonNull private static final DateFormat xsdDateFormat = new SimpleDateFormat(xsdDateFormatString);
-  @NonNull private static final DateFormat jdbcDateTimeFormat = new SimpleDateFormat(jdbcDateTimeFormatString);
-  @NonNull private static final DateFormat jdbcDateFormat = new SimpleDateFormat(jdbcDateFormatString);
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+  private static final long NANOS_PER_MILLI = 1_000_000L;
+  private static final long NANOS_PER_DAY = 86_400L * NANOS_PER_SECOND;
+
+  @NonNull private static final DateTimeFormatter xsdDatePrinter = new DateTimeFormatterBuilder()
+    .appendValue(ChronoField.YEAR_OF_ERA, 4, 19, SignStyle.NORMAL).appendLiteral('-')
+    .appendValue(ChronoField.MONTH_OF_YEAR, 2).appendLiteral('-').appendValue(ChronoField.DAY_OF_MONTH, 2)
+    .toFormatter();
+  @NonNull private static final DateTimeFormatter xsdDateTimePrinter = new DateTimeFormatterBuilder()
+    .append(xsdDatePrinter).appendLiteral('T').appendValue(ChronoField.HOUR_OF_DAY, 2).appendLiteral(':')
+    .appendValue(ChronoField.MINUTE_OF_HOUR, 2).appendLiteral(':').appendValue(ChronoField.SECOND_OF_MINUTE, 2)
+    .toFormatter();
+  @NonNull private static final DateTimeFormatter xsdOffsetDateTimePrinter = new DateTimeFormatterBuilder()
+    .append(xsdDateTimePrinter).appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true).appendOffsetId().toFormatter();
+  @NonNull private static final DateTimeFormatter xsdTimePrinter = DateTimeFormatter.ofPattern("HH:mm:ss.SSS'Z'");
+
+  @NonNull private static final DateTimeFormatter xsdLocalTimeParser = new DateTimeFormatterBuilder()
+    .appendValue(ChronoField.HOUR_OF_DAY, 2).appendLiteral(':').appendValue(ChronoField.MINUTE_OF_HOUR, 2)
+    .appendLiteral(':').appendValue(ChronoField.SECOND_OF_MINUTE, 2).optionalStart()
+    .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true).optionalEnd().toFormatter();
+  @NonNull private static final DateTimeFormatter xsdDateParser = new DateTimeFormatterBuilder()
+    .append(DateTimeFormatter.ISO_LOCAL_DATE).optionalStart().appendOffsetId().optionalEnd().toFormatter()
+    .withResolverStyle(ResolverStyle.STRICT).withChronology(IsoChronology.INSTANCE);
+  @NonNull private static final DateTimeFormatter xsdDateTimeParser = new DateTimeFormatterBuilder()
+    .append(DateTimeFormatter.ISO_LOCAL_DATE).appendLiteral('T').append(xsdLocalTimeParser).optionalStart()
+    .appendOffsetId().optionalEnd().toFormatter().withResolverStyle(ResolverStyle.STRICT)
+    .withChronology(IsoChronology.INSTANCE);
+  @NonNull private static final DateTimeFormatter xsdTimeParser = new DateTimeFormatterBuilder()
+    .append(xsdLocalTimeParser).optionalStart().appendOffsetId().optionalEnd().toFormatter()
+    .withResolverStyle(ResolverStyle.STRICT);
+
+  @NonNull private static final DateTimeFormatter jdbcDateFormatter = new DateTimeFormatterBuilder()
+    .appendValue(ChronoField.YEAR_OF_ERA).appendLiteral('-').appendValue(ChronoField.MONTH_OF_YEAR).appendLiteral('-')
+    .appendValue(ChronoField.DAY_OF_MONTH).toFormatter();
+  @NonNull private static final DateTimeFormatter jdbcDateTimeFormatter = new DateTimeFormatterBuilder()
+    .append(jdbcDateFormatter).appendLiteral(' ').appendValue(ChronoField.HOUR_OF_DAY).appendLiteral(':')
+    .appendValue(ChronoField.MINUTE_OF_HOUR).appendLiteral(':').appendValue(ChronoField.SECOND_OF_MINUTE)
+    .appendLiteral('.').appendValue(ChronoField.MILLI_OF_SECOND).toFormatter();
+
+  // Groups: sign, years, months, days, time designator, hours, minutes, seconds
+  @NonNull private static final Pattern xsdDurationPattern = Pattern
+    .compile("(-)?P(?:(\\d+)Y)?(?:(\\d+)M)?(?:(\\d+)D)?(T(?:(\\d+)H)?(?:(\\d+)M)?(?:(\\d+(?:\\.\\d*)?)S)?)?");
 
   public static org.apache.axis.types.Duration addDurations(org.apache.axis.types.@NonNull Duration duration1,
     org.apache.axis.types.@NonNull Duration duration2)
@@ -66,74 +122,18 @@ public class XSDTimeUtil
 
   public static int compareDateTimes(java.util.@NonNull Date date1, java.util.@NonNull Date date2)
   {
-    Calendar calendar1 = new GregorianCalendar();
-    Calendar calendar2 = new GregorianCalendar();
-    calendar1.setTime(date1);
-    calendar2.setTime(date2);
-
-    int diff = calendar1.get(Calendar.YEAR) - calendar2.get(Calendar.YEAR);
-    if (diff != 0)
-      return diff;
-
-    diff = calendar1.get(Calendar.MONTH) - calendar2.get(Calendar.MONTH);
-    if (diff != 0)
-      return diff;
-
-    diff = calendar1.get(Calendar.DAY_OF_MONTH) - calendar2.get(Calendar.DAY_OF_MONTH);
-    if (diff != 0)
-      return diff;
-
-    diff = calendar1.get(Calendar.HOUR) - calendar2.get(Calendar.HOUR);
-    if (diff != 0)
-      return diff;
-
-    diff = calendar1.get(Calendar.MINUTE) - calendar2.get(Calendar.MINUTE);
-    if (diff != 0)
-      return diff;
-
-    diff = calendar1.get(Calendar.SECOND) - calendar2.get(Calendar.SECOND);
-
-    return diff;
+    return Long.compare(date1.getTime(), date2.getTime());
   }
 
   public static int compareDates(java.util.@NonNull Date date1, java.util.@NonNull Date date2)
   {
-    Calendar calendar1 = new GregorianCalendar();
-    Calendar calendar2 = new GregorianCalendar();
-    calendar1.setTime(date1);
-    calendar2.setTime(date2);
-
-    int diff = calendar1.get(Calendar.YEAR) - calendar2.get(Calendar.YEAR);
-    if (diff != 0)
-      return diff;
-
-    diff = calendar1.get(Calendar.MONTH) - calendar2.get(Calendar.MONTH);
-    if (diff != 0)
-      return diff;
-
-    diff = calendar1.get(Calendar.DAY_OF_MONTH) - calendar2.get(Calendar.DAY_OF_MONTH);
-
-    return diff;
+    return Long.compare(utilDate2LocalDateTime(date1).toLocalDate().toEpochDay(),
+      utilDate2LocalDateTime(date2).toLocalDate().toEpochDay());
   }
 
   public static int compareTimes(org.apache.axis.types.@NonNull Time time1, org.apache.axis.types.@NonNull Time time2)
   {
-    Calendar calendar1 = time1.getAsCalendar();
-    Calendar calendar2 = time2.getAsCalendar();
-
-    int diff = calendar1.get(Calendar.HOUR) - calendar2.get(Calendar.HOUR);
-    if (diff != 0)
-      return diff;
-
-    diff = calendar1.get(Calendar.MINUTE) - calendar2.get(Calendar.MINUTE);
-    if (diff != 0)
-      return diff;
-
-    diff = calendar1.get(Calendar.SECOND) - calendar2.get(Calendar.SECOND);
-    if (diff != 0)
-      return diff;
-
-    return diff;
+    return Long.compare(axisTime2NanoOfDay(time1), axisTime2NanoOfDay(time2));
   }
 
   public static org.apache.axis.types.@NonNull Duration subtractDurations(
@@ -279,17 +279,15 @@ public class XSDTimeUtil
 
   public static org.apache.axis.types.Duration subtractDates(java.util.Date date1, java.util.Date date2)
   {
-    Calendar calendar1 = new GregorianCalendar();
-    Calendar calendar2 = new GregorianCalendar();
-    calendar1.setTime(date1);
-    calendar2.setTime(date2);
+    LocalDateTime dateTime1 = utilDate2LocalDateTime(date1);
+    LocalDateTime dateTime2 = utilDate2LocalDateTime(date2);
 
-    int years = calendar1.get(Calendar.YEAR) - calendar2.get(Calendar.YEAR);
-    int months = calendar1.get(Calendar.MONTH) - calendar2.get(Calendar.MONTH);
-    int days = calendar1.get(Calendar.DAY_OF_MONTH) - calendar2.get(Calendar.DAY_OF_MONTH);
-    int hours = calendar1.get(Calendar.HOUR) - calendar2.get(Calendar.HOUR);
-    int minutes = calendar1.get(Calendar.MINUTE) - calendar2.get(Calendar.MINUTE);
-    double seconds = calendar1.get(Calendar.SECOND) - calendar2.get(Calendar.SECOND);
+    int years = dateTime1.getYear() - dateTime2.getYear();
+    int months = dateTime1.getMonthValue() - dateTime2.getMonthValue();
+    int days = dateTime1.getDayOfMonth() - dateTime2.getDayOfMonth();
+    int hours = dateTime1.getHour() - dateTime2.getHour();
+    int minutes = dateTime1.getMinute() - dateTime2.getMinute();
+    double seconds = dateTime1.getSecond() - dateTime2.getSecond();
 
     return new org.apache.axis.types.Duration(false, years, months, days, hours, minutes, seconds);
   }
@@ -297,17 +295,13 @@ public class XSDTimeUtil
   public static org.apache.axis.types.Duration subtractTimes(org.apache.axis.types.Time time1,
     org.apache.axis.types.Time time2)
   {
-    Calendar calendar1 = time1.getAsCalendar();
-    Calendar calendar2 = time2.getAsCalendar();
+    LocalTime localTime1 = LocalTime.ofNanoOfDay(axisTime2NanoOfDay(time1));
+    LocalTime localTime2 = LocalTime.ofNanoOfDay(axisTime2NanoOfDay(time2));
     org.apache.axis.types.Duration result = new org.apache.axis.types.Duration();
 
-    int hours = calendar1.get(Calendar.HOUR) - calendar2.get(Calendar.HOUR);
-    int minutes = calendar1.get(Calendar.MINUTE) - calendar2.get(Calendar.MINUTE);
-    double seconds = calendar1.get(Calendar.SECOND) - calendar2.get(Calendar.SECOND);
-
-    result.setHours(hours);
-    result.setMinutes(minutes);
-    result.setSeconds(seconds);
+    result.setHours(localTime1.getHour() - localTime2.getHour());
+    result.setMinutes(localTime1.getMinute() - localTime2.getMinute());
+    result.setSeconds(localTime1.getSecond() - localTime2.getSecond());
 
     return result;
   }
@@ -315,125 +309,67 @@ public class XSDTimeUtil
   public static java.util.Date addYearMonthDurationToUtilDateTime(java.util.Date date,
     org.apache.axis.types.Duration duration)
   {
-    Calendar calendar = new GregorianCalendar(), result = new GregorianCalendar();
-
-    calendar.setTime(date);
-
-    result.set(calendar.get(Calendar.YEAR) + getYears(duration), calendar.get(Calendar.MONTH) + getMonths(duration),
-      calendar.get(Calendar.DAY_OF_MONTH), calendar.get(Calendar.HOUR), calendar.get(Calendar.MINUTE),
-      calendar.get(Calendar.SECOND));
-
-    return result.getTime();
+    return localDateTime2UtilDate(
+      utilDate2LocalDateTime(date).plusYears(getYears(duration)).plusMonths(getMonths(duration)));
   }
 
   public static java.util.Date addYearMonthDurationToUtilDate(java.util.Date date,
     org.apache.axis.types.Duration duration)
   {
-    Calendar calendar = new GregorianCalendar(), resultCalendar = new GregorianCalendar();
-
-    calendar.setTime(date);
-
-    resultCalendar
-      .set(calendar.get(Calendar.YEAR) + getYears(duration), calendar.get(Calendar.MONTH) + getMonths(duration),
-        calendar.get(Calendar.DAY_OF_MONTH));
-
-    return resultCalendar.getTime();
+    return localDateTime2UtilDate(utilDate2LocalDateTime(date).toLocalDate().plusYears(getYears(duration))
+      .plusMonths(getMonths(duration)).atStartOfDay());
   }
 
   public static java.util.Date subtractYearMonthDurationFromUtilDateTime(java.util.Date date,
     org.apache.axis.types.Duration duration)
   {
-    Calendar calendar = new GregorianCalendar(), result = new GregorianCalendar();
-
-    calendar.setTime(date);
-
-    result.set(calendar.get(Calendar.YEAR) - getYears(duration), calendar.get(Calendar.MONTH) - getMonths(duration),
-      calendar.get(Calendar.DAY_OF_MONTH), calendar.get(Calendar.HOUR), calendar.get(Calendar.MINUTE),
-      calendar.get(Calendar.SECOND));
-
-    return result.getTime();
+    return localDateTime2UtilDate(
+      utilDate2LocalDateTime(date).minusYears(getYears(duration)).minusMonths(getMonths(duration)));
   }
 
   public static java.util.@NonNull Date subtractYearMonthDurationFromUtilDate(java.util.@NonNull Date date,
     org.apache.axis.types.@NonNull Duration duration)
   {
-    Calendar calendar = new GregorianCalendar(), resultCalendar = new GregorianCalendar();
-
-    calendar.setTime(date);
-
-    resultCalendar
-      .set(calendar.get(Calendar.YEAR) - getYears(duration), calendar.get(Calendar.MONTH) - getMonths(duration),
-        calendar.get(Calendar.DAY_OF_MONTH));
-
-    return resultCalendar.getTime();
+    return localDateTime2UtilDate(utilDate2LocalDateTime(date).toLocalDate().minusYears(getYears(duration))
+      .minusMonths(getMonths(duration)).atStartOfDay());
   }
 
   public static java.util.@NonNull Date addDayTimeDurationToUtilDate(java.util.@NonNull Date date,
     org.apache.axis.types.@NonNull Duration duration)
   {
-    Calendar calendar = new GregorianCalendar(), resultCalendar = new GregorianCalendar();
-
-    calendar.setTime(date);
-
-    resultCalendar.set(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH),
-      calendar.get(Calendar.DAY_OF_MONTH) + getDays(duration), calendar.get(Calendar.HOUR) + getHours(duration),
-      calendar.get(Calendar.MINUTE) + getMinutes(duration),
-      (int)(calendar.get(Calendar.SECOND) + getSeconds(duration)));
-
-    return resultCalendar.getTime();
+    return localDateTime2UtilDate(utilDate2LocalDateTime(date).plusDays(getDays(duration)).plusHours(getHours(duration))
+      .plusMinutes(getMinutes(duration)).plusNanos(getNanos(duration)));
   }
 
   public static java.util.@NonNull Date subtractDayTimeDurationFromUtilDate(java.util.@NonNull Date date,
     org.apache.axis.types.@NonNull Duration duration)
   {
-    Calendar calendar = new GregorianCalendar(), resultCalendar = new GregorianCalendar();
-
-    calendar.setTime(date);
-
-    resultCalendar.set(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH),
-      calendar.get(Calendar.DAY_OF_MONTH) - getDays(duration), calendar.get(Calendar.HOUR) - getHours(duration),
-      calendar.get(Calendar.MINUTE) - getMinutes(duration),
-      (int)(calendar.get(Calendar.SECOND) - getSeconds(duration)));
-
-    return resultCalendar.getTime();
+    return localDateTime2UtilDate(utilDate2LocalDateTime(date).minusDays(getDays(duration))
+      .minusHours(getHours(duration)).minusMinutes(getMinutes(duration)).minusNanos(getNanos(duration)));
   }
 
   public static org.apache.axis.types.@NonNull Time addDayTimeDurationToTime(org.apache.axis.types.@NonNull Time time,
     org.apache.axis.types.@NonNull Duration duration)
   {
-    Calendar calendar = time.getAsCalendar(), resultCalendar = new GregorianCalendar();
-
-    resultCalendar
-      .set(0, calendar.get(Calendar.DAY_OF_MONTH) + getDays(duration), calendar.get(Calendar.HOUR) + getHours(duration),
-        calendar.get(Calendar.MINUTE) + getMinutes(duration),
-        (int)(calendar.get(Calendar.SECOND) + getSeconds(duration)));
-
-    return new org.apache.axis.types.Time(resultCalendar);
+    return nanoOfDay2AxisTime(LocalTime.ofNanoOfDay(axisTime2NanoOfDay(time)).plusHours(getHours(duration))
+      .plusMinutes(getMinutes(duration)).plusNanos(getNanos(duration)).toNanoOfDay());
   }
 
   public static org.apache.axis.types.Time subtractDayTimeDurationFromTime(org.apache.axis.types.@NonNull Time time,
     org.apache.axis.types.@NonNull Duration duration)
   {
-    Calendar calendar = time.getAsCalendar(), resultCalendar = new GregorianCalendar();
-
-    resultCalendar
-      .set(0, calendar.get(Calendar.DAY_OF_MONTH) - getDays(duration), calendar.get(Calendar.HOUR) - getHours(duration),
-        calendar.get(Calendar.MINUTE) - getMinutes(duration),
-        (int)(calendar.get(Calendar.SECOND) - getSeconds(duration)));
-
-    return new org.apache.axis.types.Time(resultCalendar);
+    return nanoOfDay2AxisTime(LocalTime.ofNanoOfDay(axisTime2NanoOfDay(time)).minusHours(getHours(duration))
+      .minusMinutes(getMinutes(duration)).minusNanos(getNanos(duration)).toNanoOfDay());
   }
 
   public static org.apache.axis.types.@NonNull Duration subtractUtilDatesYieldingYearMonthDuration(
     java.util.@NonNull Date date1, java.util.@NonNull Date date2)
   {
-    Calendar calendar1 = new GregorianCalendar();
-    Calendar calendar2 = new GregorianCalendar();
-    calendar1.setTime(date1);
-    calendar2.setTime(date2);
+    LocalDateTime dateTime1 = utilDate2LocalDateTime(date1);
+    LocalDateTime dateTime2 = utilDate2LocalDateTime(date2);
 
-    int years = calendar1.get(Calendar.YEAR) - calendar2.get(Calendar.YEAR);
-    int months = calendar1.get(Calendar.MONTH) - calendar2.get(Calendar.MONTH);
+    int years = dateTime1.getYear() - dateTime2.getYear();
+    int months = dateTime1.getMonthValue() - dateTime2.getMonthValue();
 
     return new org.apache.axis.types.Duration(false, years, months, 0, 0, 0, 0);
   }
@@ -441,67 +377,64 @@ public class XSDTimeUtil
   public static org.apache.axis.types.@NonNull Duration subtractUtilDatesYieldingDayTimeDuration(
     java.util.@NonNull Date date1, java.util.@NonNull Date date2)
   {
-    Calendar calendar1 = new GregorianCalendar();
-    Calendar calendar2 = new GregorianCalendar();
-    calendar1.setTime(date1);
-    calendar2.setTime(date2);
+    LocalDateTime dateTime1 = utilDate2LocalDateTime(date1);
+    LocalDateTime dateTime2 = utilDate2LocalDateTime(date2);
 
-    int days = calendar1.get(Calendar.DAY_OF_MONTH) - calendar2.get(Calendar.DAY_OF_MONTH);
-    int hours = calendar1.get(Calendar.HOUR) - calendar2.get(Calendar.HOUR);
-    int minutes = calendar1.get(Calendar.MINUTE) - calendar2.get(Calendar.MINUTE);
-    double seconds = calendar1.get(Calendar.SECOND) - calendar2.get(Calendar.SECOND);
+    int days = dateTime1.getDayOfMonth() - dateTime2.getDayOfMonth();
+    int hours = dateTime1.getHour() - dateTime2.getHour();
+    int minutes = dateTime1.getMinute() - dateTime2.getMinute();
+    double seconds = dateTime1.getSecond() - dateTime2.getSecond();
 
     return new org.apache.axis.types.Duration(false, 0, 0, days, hours, minutes, seconds);
   }
 
   @NonNull public static String utilDate2XSDDateTimeString(java.util.@NonNull Date date)
   {
-    return xsdDateTimeFormat.format(date);
+    return xsdDateTimePrinter.format(utilDate2LocalDateTime(date));
+  }
+
+  /**
+   * @param date A date
+   * @return An xsd:dateTime lexical form with the offset of the default time zone, so it identifies the same instant
+   */
+  @NonNull public static String utilDate2XSDOffsetDateTimeString(java.util.@NonNull Date date)
+  {
+    return xsdOffsetDateTimePrinter.format(date.toInstant().atZone(ZoneId.systemDefault()));
   }
 
   @NonNull public static String utilDate2XSDDateString(java.util.@NonNull Date date)
   {
-    return xsdDateFormat.format(date);
+    return xsdDatePrinter.format(utilDate2LocalDateTime(date));
   }
 
   @NonNull public static String utilDate2XSDTimeString(java.util.@NonNull Date date)
   {
-    Calendar calendar = new GregorianCalendar();
-    calendar.setTime(date);
-    org.apache.axis.types.Time time = new org.apache.axis.types.Time(calendar);
-    return time.toString();
+    return xsdTimePrinter.format(LocalTime.ofNanoOfDay(utilDate2NanoOfDay(date)));
   }
 
   public static org.apache.axis.types.@NonNull Time utilDate2XSDTime(java.util.@NonNull Date date)
   {
-    Calendar calendar = new GregorianCalendar();
-    calendar.setTime(date);
-    return new org.apache.axis.types.Time(calendar);
+    return nanoOfDay2AxisTime(utilDate2NanoOfDay(date));
   }
 
   public static java.util.@NonNull Date xsdDateTimeString2Date(@NonNull String content)
   {
-    try {
-      return xsdDateTimeFormat.parse(content);
-    } catch (ParseException e) {
-      throw new IllegalArgumentException("Invalid xsd:DateTime " + content);
-    }
+    TemporalAccessor dateTime = parse(xsdDateTimeParser, content, "xsd:DateTime");
+
+    if (dateTime.isSupported(ChronoField.OFFSET_SECONDS))
+      return java.util.Date.from(Instant.from(dateTime));
+    else
+      return localDateTime2UtilDate(LocalDateTime.from(dateTime));
   }
 
   public static java.util.@NonNull Date xsdDateString2Date(@NonNull String content)
   {
-    try {
-      return xsdDateFormat.parse(content);
-    } catch (ParseException e) {
-      throw new IllegalArgumentException("Invalid xsd:Date " + content);
-    }
+    return localDateTime2UtilDate(xsdDateString2LocalDate(content).atStartOfDay());
   }
 
   public static java.util.@NonNull Date xsdTimeString2Date(@NonNull String content)
   {
-    org.apache.axis.types.Time time = new org.apache.axis.types.Time(content);
-
-    return time.getAsCalendar().getTime();
+    return new java.util.Date(xsdTimeString2NanoOfDay(content) / NANOS_PER_MILLI);
   }
 
   public static org.apache.axis.types.@NonNull Time xsdTimeString2AxisTime(@NonNull String content)
@@ -514,68 +447,123 @@ public class XSDTimeUtil
     return new org.apache.axis.types.Duration(content);
   }
 
+  /**
+   * @param content An xsd:date lexical form; a time zone is allowed but ignored
+   * @return The date
+   * @throws IllegalArgumentException If the lexical form is invalid
+   */
+  @NonNull public static LocalDate xsdDateString2LocalDate(@NonNull String content)
+  {
+    return LocalDate.from(parse(xsdDateParser, content, "xsd:Date"));
+  }
+
+  /**
+   * @param content An xsd:dateTime lexical form
+   * @return The instant; a value without a time zone is treated as UTC
+   * @throws IllegalArgumentException If the lexical form is invalid
+   */
+  @NonNull public static Instant xsdDateTimeString2Instant(@NonNull String content)
+  {
+    TemporalAccessor dateTime = parse(xsdDateTimeParser, content, "xsd:DateTime");
+
+    if (dateTime.isSupported(ChronoField.OFFSET_SECONDS))
+      return Instant.from(dateTime);
+    else
+      return LocalDateTime.from(dateTime).toInstant(ZoneOffset.UTC);
+  }
+
+  /**
+   * @param content An xsd:time lexical form
+   * @return The nanosecond of the day; a value with a time zone is normalized to UTC
+   * @throws IllegalArgumentException If the lexical form is invalid
+   */
+  public static long xsdTimeString2NanoOfDay(@NonNull String content)
+  {
+    TemporalAccessor time = parse(xsdTimeParser, content, "xsd:Time");
+    long nanoOfDay = LocalTime.from(time).toNanoOfDay();
+
+    if (time.isSupported(ChronoField.OFFSET_SECONDS))
+      return Math.floorMod(nanoOfDay - time.get(ChronoField.OFFSET_SECONDS) * NANOS_PER_SECOND, NANOS_PER_DAY);
+    else
+      return nanoOfDay;
+  }
+
+  /**
+   * @param content An xsd:duration lexical form
+   * @return The duration's total number of months and of nanoseconds in its day and time components, which are
+   * negative for a negative duration
+   * @throws IllegalArgumentException If the lexical form is invalid
+   */
+  public static long @NonNull [] xsdDurationString2MonthsAndNanos(@NonNull String content)
+  {
+    Matcher matcher = xsdDurationPattern.matcher(content);
+
+    if (!matcher.matches() || content.endsWith("P") || content.endsWith("T"))
+      throw new IllegalArgumentException("Invalid xsd:Duration " + content);
+
+    try {
+      long months = Math.addExact(Math.multiplyExact(durationField(matcher.group(2)), 12),
+        durationField(matcher.group(3)));
+      long seconds = Math.addExact(Math.addExact(Math.multiplyExact(durationField(matcher.group(4)), 86_400L),
+        Math.multiplyExact(durationField(matcher.group(6)), 3_600L)),
+        Math.multiplyExact(durationField(matcher.group(7)), 60L));
+      long nanos = 0;
+      String secondsField = matcher.group(8);
+
+      if (secondsField != null) {
+        int point = secondsField.indexOf('.');
+        String wholeSeconds = point == -1 ? secondsField : secondsField.substring(0, point);
+        String fraction = point == -1 ? "" : (secondsField.substring(point + 1) + "000000000").substring(0, 9);
+        seconds = Math.addExact(seconds, Long.parseLong(wholeSeconds));
+        nanos = fraction.isEmpty() ? 0 : Long.parseLong(fraction);
+      }
+      long totalNanos = Math.addExact(Math.multiplyExact(seconds, NANOS_PER_SECOND), nanos);
+
+      return matcher.group(1) != null ? new long[] { -months, -totalNanos } : new long[] { months, totalNanos };
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("xsd:Duration " + content + " out of range");
+    }
+  }
+
   @NonNull public static String date2JDBCDateTimeString(java.util.@NonNull Date date)
   {
-    return jdbcDateTimeFormat.format(date);
+    return jdbcDateTimeFormatter.format(utilDate2LocalDateTime(date));
   }
 
   @NonNull public static String date2JDBCDateString(java.util.Date date)
   {
-    return jdbcDateFormat.format(date);
+    return jdbcDateFormatter.format(utilDate2LocalDateTime(date));
   }
 
   public static java.util.@NonNull Date jdbcDateTimeString2Date(@NonNull String content)
   {
-    try {
-      return jdbcDateTimeFormat.parse(content);
-    } catch (ParseException e) {
-      throw new IllegalArgumentException("Invalid JDBC datetime " + content);
-    }
+    return localDateTime2UtilDate(LocalDateTime.from(parse(jdbcDateTimeFormatter, content, "JDBC datetime")));
   }
 
   public static java.util.@NonNull Date jdbcDateString2Date(@NonNull String content)
   {
-    try {
-      return jdbcDateFormat.parse(content);
-    } catch (ParseException e) {
-      throw new IllegalArgumentException("Invalid JDBC date " + content);
-    }
+    return localDateTime2UtilDate(LocalDate.from(parse(jdbcDateFormatter, content, "JDBC date")).atStartOfDay());
   }
 
   public static boolean isValidXSDDateTime(@NonNull String content)
   {
-    try {
-      xsdDateTimeFormat.parse(content);
-      return true;
-    } catch (ParseException e) {
-      return false;
-    }
+    return isValid(xsdDateTimeParser, content);
   }
 
   public static boolean isValidXSDDate(@NonNull String content)
   {
-    try {
-      xsdDateFormat.parse(content);
-      return true;
-    } catch (ParseException e) {
-      return false;
-    }
+    return isValid(xsdDateParser, content);
   }
 
   public static boolean isValidXSDTime(@NonNull String content)
   {
-    try {
-      new org.apache.axis.types.Time(content);
-      return true;
-    } catch (NumberFormatException e) {
-      return false;
-    }
+    return isValid(xsdTimeParser, content);
   }
 
   public static boolean isValidXSDDuration(@NonNull String content)
   {
     try {
-      new org.apache.axis.types.Duration(content);
+      xsdDurationString2MonthsAndNanos(content);
       return true;
     } catch (IllegalArgumentException e) {
       return false;
@@ -584,12 +572,7 @@ public class XSDTimeUtil
 
   public static boolean isValidJDBCDateTime(@NonNull String content)
   {
-    try {
-      jdbcDateTimeFormat.parse(content);
-      return true;
-    } catch (ParseException e) {
-      return false;
-    }
+    return isValid(jdbcDateTimeFormatter, content);
   }
 
   public static int addDurationYears(org.apache.axis.types.@NonNull Duration duration1,
@@ -711,4 +694,65 @@ public class XSDTimeUtil
     else
       return duration.getSeconds();
   }
+
+  private static long getNanos(org.apache.axis.types.@NonNull Duration duration)
+  {
+    return (long)(getSeconds(duration) * NANOS_PER_SECOND);
+  }
+
+  private static long durationField(@Nullable String field)
+  {
+    return field == null ? 0 : Long.parseLong(field);
+  }
+
+  @NonNull private static LocalDateTime utilDate2LocalDateTime(java.util.@NonNull Date date)
+  {
+    return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+  }
+
+  private static java.util.@NonNull Date localDateTime2UtilDate(@NonNull LocalDateTime dateTime)
+  {
+    return java.util.Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+  }
+
+  // The UTC time of day
+  private static long utilDate2NanoOfDay(java.util.@NonNull Date date)
+  {
+    return Math.floorMod(date.getTime(), NANOS_PER_DAY / NANOS_PER_MILLI) * NANOS_PER_MILLI;
+  }
+
+  // Axis times represent a UTC time of day
+  private static long axisTime2NanoOfDay(org.apache.axis.types.@NonNull Time time)
+  {
+    return utilDate2NanoOfDay(time.getAsCalendar().getTime());
+  }
+
+  private static org.apache.axis.types.@NonNull Time nanoOfDay2AxisTime(long nanoOfDay)
+  {
+    Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+
+    calendar.setTimeInMillis(nanoOfDay / NANOS_PER_MILLI);
+
+    return new org.apache.axis.types.Time(calendar);
+  }
+
+  @NonNull private static TemporalAccessor parse(@NonNull DateTimeFormatter formatter, @NonNull String content,
+    @NonNull String type)
+  {
+    try {
+      return formatter.parse(content);
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException("Invalid " + type + " " + content);
+    }
+  }
+
+  private static boolean isValid(@NonNull DateTimeFormatter formatter, @NonNull String content)
+  {
+    try {
+      formatter.parse(content);
+      return true;
+    } catch (DateTimeException e) {
+      return false;
+    }
+  }
 }
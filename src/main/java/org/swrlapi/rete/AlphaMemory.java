@@ -0,0 +1,107 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLObject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Holds all facts with a particular predicate. Facts can be looked up using hash indexes on their argument positions;
+ * an index is created for each combination of positions that are tested by a join node.
+ * <p>
+ * Join nodes that use this memory are right activated in the reverse order of their creation so that in each rule
+ * descendant nodes are activated before their ancestors. This ensures that a fact that matches more than one atom in a
+ * rule is joined with itself exactly once.
+ *
+ * @see ReteJoinNode
+ */
+class AlphaMemory
+{
+  @NonNull private final Set<@NonNull ReteFact> facts;
+  @NonNull private final Map<@NonNull Integer, @NonNull Map<@NonNull List<@NonNull OWLObject>, @NonNull List<@NonNull ReteFact>>> indexes;
+  @NonNull private final List<@NonNull ReteJoinNode> successors;
+
+  public AlphaMemory()
+  {
+    this.facts = new LinkedHashSet<>();
+    this.indexes = new HashMap<>();
+    this.successors = new ArrayList<>();
+  }
+
+  public boolean contains(@NonNull ReteFact fact)
+  {
+    return this.facts.contains(fact);
+  }
+
+  public boolean add(@NonNull ReteFact fact)
+  {
+    if (this.facts.add(fact)) {
+      for (Map.Entry<@NonNull Integer, @NonNull Map<@NonNull List<@NonNull OWLObject>, @NonNull List<@NonNull ReteFact>>> entry : this.indexes
+        .entrySet())
+        entry.getValue().computeIfAbsent(createKey(fact, entry.getKey()), k -> new ArrayList<>()).add(fact);
+      return true;
+    } else
+      return false;
+  }
+
+  public void addSuccessor(@NonNull ReteJoinNode joinNode)
+  {
+    this.successors.add(0, joinNode);
+
+    if (joinNode.getAlphaPositions() != 0)
+      addIndex(joinNode.getAlphaPositions());
+  }
+
+  @NonNull public List<@NonNull ReteJoinNode> getSuccessors()
+  {
+    return this.successors;
+  }
+
+  /**
+   * @param positions A bit mask of the argument positions in the key; zero to retrieve all facts
+   * @param key       The argument values at those positions, in position order
+   * @return The matching facts
+   */
+  @NonNull public Collection<@NonNull ReteFact> getFacts(int positions, @NonNull List<@NonNull OWLObject> key)
+  {
+    if (positions == 0)
+      return this.facts;
+    else
+      return this.indexes.get(positions).getOrDefault(key, Collections.emptyList());
+  }
+
+  public int size()
+  {
+    return this.facts.size();
+  }
+
+  private void addIndex(int positions)
+  {
+    if (!this.indexes.containsKey(positions)) {
+      Map<@NonNull List<@NonNull OWLObject>, @NonNull List<@NonNull ReteFact>> index = new HashMap<>();
+
+      for (ReteFact fact : this.facts)
+        index.computeIfAbsent(createKey(fact, positions), k -> new ArrayList<>()).add(fact);
+
+      this.indexes.put(positions, index);
+    }
+  }
+
+  @NonNull private static List<@NonNull OWLObject> createKey(@NonNull ReteFact fact, int positions)
+  {
+    List<@NonNull OWLObject> key = new ArrayList<>(Integer.bitCount(positions));
+
+    for (int position = 0; position < fact.getNumberOfArguments(); position++)
+      if ((positions & (1 << position)) != 0)
+        key.add(fact.getArgument(position));
+
+    return key;
+  }
+}
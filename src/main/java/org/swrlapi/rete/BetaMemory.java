@@ -0,0 +1,58 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLObject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the tokens (partial variable bindings) produced by a node in a rule's join chain. If the node's child is a join
+ * node the tokens are hashed on the variables that the child tests so that right activations only visit compatible
+ * tokens.
+ *
+ * @see ReteBetaNode
+ */
+class BetaMemory
+{
+  @NonNull private final int[] keySlots;
+  @NonNull private final List<@NonNull OWLObject[]> tokens;
+  @NonNull private final Map<@NonNull List<@NonNull OWLObject>, @NonNull List<@NonNull OWLObject[]>> index;
+
+  public BetaMemory(@NonNull int[] keySlots)
+  {
+    this.keySlots = keySlots;
+    this.tokens = new ArrayList<>();
+    this.index = new HashMap<>();
+  }
+
+  public void add(@NonNull OWLObject[] token)
+  {
+    if (this.keySlots.length == 0)
+      this.tokens.add(token);
+    else
+      this.index.computeIfAbsent(createKey(token), k -> new ArrayList<>()).add(token);
+  }
+
+  @NonNull public Collection<@NonNull OWLObject[]> getTokens(@NonNull List<@NonNull OWLObject> key)
+  {
+    if (this.keySlots.length == 0)
+      return this.tokens;
+    else
+      return this.index.getOrDefault(key, Collections.emptyList());
+  }
+
+  @NonNull private List<@NonNull OWLObject> createKey(@NonNull OWLObject[] token)
+  {
+    List<@NonNull OWLObject> key = new ArrayList<>(this.keySlots.length);
+
+    for (int slot : this.keySlots)
+      key.add(token[slot]);
+
+    return key;
+  }
+}
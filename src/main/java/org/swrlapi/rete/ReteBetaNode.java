@@ -0,0 +1,40 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+import java.util.Optional;
+
+/**
+ * A node in a rule's join chain that passes the tokens it produces to a single child. Tokens are also recorded in a
+ * {@link BetaMemory} if the child is a join node, which needs them when it is right activated.
+ */
+abstract class ReteBetaNode extends ReteNode
+{
+  @MonotonicNonNull private ReteNode child;
+  @MonotonicNonNull private BetaMemory memory;
+
+  public void setChild(@NonNull ReteNode child)
+  {
+    this.child = child;
+
+    if (child instanceof ReteJoinNode)
+      this.memory = new BetaMemory(((ReteJoinNode)child).getParentKeySlots());
+  }
+
+  @NonNull public Optional<@NonNull BetaMemory> getMemory()
+  {
+    return Optional.ofNullable(this.memory);
+  }
+
+  protected void propagate(@NonNull OWLObject[] token) throws SWRLBuiltInException
+  {
+    if (this.memory != null)
+      this.memory.add(token);
+
+    if (this.child != null)
+      this.child.activate(token);
+  }
+}
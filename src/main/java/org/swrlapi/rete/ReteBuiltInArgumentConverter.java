@@ -0,0 +1,144 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLAnnotationProperty;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.swrlapi.builtins.arguments.SQWRLCollectionVariableBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLAnnotationPropertyBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgumentVisitorEx;
+import org.swrlapi.builtins.arguments.SWRLClassBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLClassExpressionBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLDataPropertyBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLDataPropertyExpressionBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLDatatypeBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLMultiValueVariableBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLNamedIndividualBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLObjectPropertyBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLObjectPropertyExpressionBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLVariableBuiltInArgument;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+
+/**
+ * Converts between the values held in tokens and built-in arguments. Tokens hold OWLAPI entities, class and property
+ * expressions, literals and individuals; SQWRL collections are held as the collection arguments themselves.
+ */
+class ReteBuiltInArgumentConverter implements SWRLBuiltInArgumentVisitorEx<@NonNull OWLObject>
+{
+  @NonNull private final SWRLBuiltInArgumentFactory builtInArgumentFactory;
+
+  public ReteBuiltInArgumentConverter(@NonNull SWRLBuiltInArgumentFactory builtInArgumentFactory)
+  {
+    this.builtInArgumentFactory = builtInArgumentFactory;
+  }
+
+  @NonNull public SWRLBuiltInArgument toBuiltInArgument(@NonNull OWLObject value) throws SWRLBuiltInException
+  {
+    if (value instanceof SWRLBuiltInArgument)
+      return (SWRLBuiltInArgument)value;
+    else if (value instanceof OWLNamedIndividual)
+      return this.builtInArgumentFactory.getNamedIndividualBuiltInArgument((OWLNamedIndividual)value);
+    else if (value instanceof OWLLiteral)
+      return this.builtInArgumentFactory.getLiteralBuiltInArgument((OWLLiteral)value);
+    else if (value instanceof OWLClass)
+      return this.builtInArgumentFactory.getClassBuiltInArgument((OWLClass)value);
+    else if (value instanceof OWLClassExpression)
+      return this.builtInArgumentFactory.getClassExpressionBuiltInArgument((OWLClassExpression)value);
+    else if (value instanceof OWLObjectProperty)
+      return this.builtInArgumentFactory.getObjectPropertyBuiltInArgument((OWLObjectProperty)value);
+    else if (value instanceof OWLObjectPropertyExpression)
+      return this.builtInArgumentFactory
+        .getObjectPropertyExpressionBuiltInArgument((OWLObjectPropertyExpression)value);
+    else if (value instanceof OWLDataProperty)
+      return this.builtInArgumentFactory.getDataPropertyBuiltInArgument((OWLDataProperty)value);
+    else if (value instanceof OWLDataPropertyExpression)
+      return this.builtInArgumentFactory.getDataPropertyExpressionBuiltInArgument((OWLDataPropertyExpression)value);
+    else if (value instanceof OWLAnnotationProperty)
+      return this.builtInArgumentFactory.getAnnotationPropertyBuiltInArgument((OWLAnnotationProperty)value);
+    else if (value instanceof OWLDatatype)
+      return this.builtInArgumentFactory.getDatatypeBuiltInArgument((OWLDatatype)value);
+    else
+      throw new SWRLBuiltInException("value " + value + " cannot be passed to a built-in");
+  }
+
+  @NonNull public OWLObject toValue(@NonNull SWRLBuiltInArgument argument)
+  {
+    return argument.accept(this);
+  }
+
+  @NonNull @Override public OWLObject visit(@NonNull SWRLClassBuiltInArgument argument)
+  {
+    return argument.getOWLClass();
+  }
+
+  @NonNull @Override public OWLObject visit(@NonNull SWRLClassExpressionBuiltInArgument argument)
+  {
+    return argument.getOWLClassExpression();
+  }
+
+  @NonNull @Override public OWLObject visit(@NonNull SWRLNamedIndividualBuiltInArgument argument)
+  {
+    return argument.getOWLNamedIndividual();
+  }
+
+  @NonNull @Override public OWLObject visit(@NonNull SWRLObjectPropertyBuiltInArgument argument)
+  {
+    return argument.getOWLObjectProperty();
+  }
+
+  @NonNull @Override public OWLObject visit(@NonNull SWRLObjectPropertyExpressionBuiltInArgument argument)
+  {
+    return argument.getOWLObjectPropertyExpression();
+  }
+
+  @NonNull @Override public OWLObject visit(@NonNull SWRLDataPropertyBuiltInArgument argument)
+  {
+    return argument.getOWLDataProperty();
+  }
+
+  @NonNull @Override public OWLObject visit(@NonNull SWRLDataPropertyExpressionBuiltInArgument argument)
+  {
+    return argument.getOWLDataPropertyExpression();
+  }
+
+  @NonNull @Override public OWLObject visit(@NonNull SWRLAnnotationPropertyBuiltInArgument argument)
+  {
+    return argument.getOWLAnnotationProperty();
+  }
+
+  @NonNull @Override public OWLObject visit(@NonNull SWRLDatatypeBuiltInArgument argument)
+  {
+    return argument.getOWLDatatype();
+  }
+
+  @NonNull @Override public OWLObject visit(@NonNull SWRLLiteralBuiltInArgument argument)
+  {
+    return argument.getLiteral();
+  }
+
+  @NonNull @Override public OWLObject visit(@NonNull SWRLVariableBuiltInArgument argument)
+  {
+    return argument;
+  }
+
+  @NonNull @Override public OWLObject visit(@NonNull SWRLMultiValueVariableBuiltInArgument argument)
+  {
+    return argument;
+  }
+
+  @NonNull @Override public OWLObject visit(@NonNull SQWRLCollectionVariableBuiltInArgument argument)
+  {
+    return argument;
+  }
+}
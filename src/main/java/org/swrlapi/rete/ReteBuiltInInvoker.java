@@ -0,0 +1,140 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Invokes a built-in atom via the bridge, which uses the built-in invoker bound to the atom. Arguments that are
+ * variables bound by earlier atoms are passed as their values; the remaining variables are passed unbound and the
+ * values the built-in binds them to are copied into the tokens it produces, one token per returned argument pattern.
+ */
+class ReteBuiltInInvoker
+{
+  @NonNull private final SWRLRuleEngineBridge bridge;
+  @NonNull private final ReteBuiltInArgumentConverter converter;
+  @NonNull private final SWRLAPIBuiltInAtom builtInAtom;
+  private final boolean isInConsequent;
+  @NonNull private final @Nullable SWRLBuiltInArgument[] constants;
+  @NonNull private final @Nullable IRI[] variableIRIs;
+  @NonNull private final @Nullable String[] variableNames;
+  @NonNull private final int[] slots;
+  @NonNull private final boolean[] bound;
+  private final boolean bindsVariables;
+
+  /**
+   * @param bridge         The rule engine bridge
+   * @param converter      A converter between token values and built-in arguments
+   * @param builtInAtom    The built-in atom
+   * @param isInConsequent Is the built-in in the rule consequent
+   * @param variableSlots  For each argument, the slot of its variable or -1 if the argument is not a variable
+   * @param bound          For each argument, true if its variable is bound by an earlier atom
+   */
+  public ReteBuiltInInvoker(@NonNull SWRLRuleEngineBridge bridge, @NonNull ReteBuiltInArgumentConverter converter,
+    @NonNull SWRLAPIBuiltInAtom builtInAtom, boolean isInConsequent, @NonNull int[] variableSlots,
+    @NonNull boolean[] bound) throws SWRLBuiltInException
+  {
+    List<@NonNull SWRLBuiltInArgument> arguments = builtInAtom.getBuiltInArguments();
+    boolean bindsVariables = false;
+
+    this.bridge = bridge;
+    this.converter = converter;
+    this.builtInAtom = builtInAtom;
+    this.isInConsequent = isInConsequent;
+    this.constants = new SWRLBuiltInArgument[arguments.size()];
+    this.variableIRIs = new IRI[arguments.size()];
+    this.variableNames = new String[arguments.size()];
+    this.slots = variableSlots;
+    this.bound = bound;
+
+    for (int argumentNumber = 0; argumentNumber < arguments.size(); argumentNumber++) {
+      SWRLBuiltInArgument argument = arguments.get(argumentNumber);
+      if (variableSlots[argumentNumber] == -1)
+        this.constants[argumentNumber] = argument;
+      else {
+        this.variableIRIs[argumentNumber] = argument.asVariable().getIRI();
+        this.variableNames[argumentNumber] = argument.asVariable().getVariableName();
+        if (!bound[argumentNumber])
+          bindsVariables = true;
+      }
+    }
+    this.bindsVariables = bindsVariables;
+  }
+
+  @NonNull public String getBuiltInName()
+  {
+    return this.builtInAtom.getBuiltInPrefixedName();
+  }
+
+  /**
+   * @param token The variable bindings to invoke the built-in with
+   * @return The tokens produced by the built-in; empty if it evaluates to false
+   * @throws SWRLBuiltInException If an error occurs invoking the built-in
+   */
+  @NonNull public List<@NonNull OWLObject[]> evaluate(@NonNull OWLObject[] token) throws SWRLBuiltInException
+  {
+    List<@NonNull SWRLBuiltInArgument> arguments = new ArrayList<>(this.constants.length);
+
+    for (int argumentNumber = 0; argumentNumber < this.constants.length; argumentNumber++) {
+      SWRLBuiltInArgument constant = this.constants[argumentNumber];
+      IRI variableIRI = this.variableIRIs[argumentNumber];
+      String variableName = this.variableNames[argumentNumber];
+
+      if (constant != null)
+        arguments.add(constant);
+      else if (this.bound[argumentNumber] && variableName != null) {
+        OWLObject value = token[this.slots[argumentNumber]];
+        SWRLBuiltInArgument argument = this.converter.toBuiltInArgument(value);
+        if (argument != value) // Collection arguments are shared so are not annotated
+          argument.setBoundVariableName(variableName);
+        arguments.add(argument);
+      } else if (variableIRI != null)
+        arguments.add(this.bridge.getSWRLBuiltInArgumentFactory().getUnboundVariableBuiltInArgument(variableIRI));
+    }
+
+    List<@NonNull List<@NonNull SWRLBuiltInArgument>> argumentPatterns = this.bridge
+      .invokeSWRLBuiltIn(this.builtInAtom, this.isInConsequent, arguments);
+
+    if (argumentPatterns.isEmpty())
+      return Collections.emptyList();
+    else if (!this.bindsVariables)
+      return Collections.singletonList(token);
+    else {
+      List<@NonNull OWLObject[]> tokens = new ArrayList<>(argumentPatterns.size());
+
+      for (List<@NonNull SWRLBuiltInArgument> argumentPattern : argumentPatterns) {
+        OWLObject[] extendedToken = extend(token, argumentPattern);
+        if (extendedToken != null)
+          tokens.add(extendedToken);
+      }
+      return tokens;
+    }
+  }
+
+  @Nullable private OWLObject[] extend(@NonNull OWLObject[] token,
+    @NonNull List<@NonNull SWRLBuiltInArgument> argumentPattern)
+  {
+    OWLObject[] extendedToken = token.clone();
+
+    for (int argumentNumber = 0; argumentNumber < this.constants.length; argumentNumber++) {
+      int slot = this.slots[argumentNumber];
+      if (slot != -1 && !this.bound[argumentNumber]) {
+        OWLObject value = this.converter.toValue(argumentPattern.get(argumentNumber));
+        if (extendedToken[slot] == null)
+          extendedToken[slot] = value;
+        else if (!extendedToken[slot].equals(value)) // Variable used more than once in the atom
+          return null;
+      }
+    }
+    return extendedToken;
+  }
+}
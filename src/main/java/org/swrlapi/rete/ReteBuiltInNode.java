@@ -0,0 +1,24 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+/**
+ * Evaluates a body built-in atom for each token it receives and passes on the tokens produced by the built-in.
+ */
+class ReteBuiltInNode extends ReteBetaNode
+{
+  @NonNull private final ReteBuiltInInvoker invoker;
+
+  public ReteBuiltInNode(@NonNull ReteBuiltInInvoker invoker)
+  {
+    this.invoker = invoker;
+  }
+
+  @Override public void activate(@NonNull OWLObject[] token) throws SWRLBuiltInException
+  {
+    for (OWLObject[] extendedToken : this.invoker.evaluate(token))
+      propagate(extendedToken);
+  }
+}
@@ -0,0 +1,31 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLDatatype;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+/**
+ * Passes on the tokens in which a variable is bound to a literal of a particular datatype.
+ */
+class ReteDataRangeNode extends ReteBetaNode
+{
+  @NonNull private final OWLDatatype datatype;
+  private final int slot;
+
+  public ReteDataRangeNode(@NonNull OWLDatatype datatype, int slot)
+  {
+    this.datatype = datatype;
+    this.slot = slot;
+  }
+
+  @Override public void activate(@NonNull OWLObject[] token) throws SWRLBuiltInException
+  {
+    OWLObject value = token[this.slot];
+
+    if (value instanceof OWLLiteral && (this.datatype.isTopDatatype() || ((OWLLiteral)value).getDatatype()
+      .equals(this.datatype)))
+      propagate(token);
+  }
+}
@@ -0,0 +1,64 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.OWLObject;
+
+import java.util.Arrays;
+
+/**
+ * A fact in the working memory of a {@link ReteNetwork}. A fact consists of a predicate (an OWL class, an OWL object or
+ * data property, or one of the {@link ReteNetwork#SAME_AS} and {@link ReteNetwork#DIFFERENT_FROM} IRIs) and a list
+ * of arguments (OWL individuals or literals).
+ */
+final class ReteFact
+{
+  @NonNull private final OWLObject predicate;
+  @NonNull private final OWLObject[] arguments;
+  private final int hashCode;
+
+  public ReteFact(@NonNull OWLObject predicate, @NonNull OWLObject... arguments)
+  {
+    this.predicate = predicate;
+    this.arguments = arguments;
+    this.hashCode = 31 * predicate.hashCode() + Arrays.hashCode(arguments);
+  }
+
+  @NonNull public OWLObject getPredicate()
+  {
+    return this.predicate;
+  }
+
+  @NonNull public OWLObject getArgument(int argumentNumber)
+  {
+    return this.arguments[argumentNumber];
+  }
+
+  public int getNumberOfArguments()
+  {
+    return this.arguments.length;
+  }
+
+  @Override public boolean equals(@Nullable Object o)
+  {
+    if (this == o)
+      return true;
+    if (o == null || getClass() != o.getClass())
+      return false;
+
+    ReteFact that = (ReteFact)o;
+
+    return this.hashCode == that.hashCode && this.predicate.equals(that.predicate) && Arrays
+      .equals(this.arguments, that.arguments);
+  }
+
+  @Override public int hashCode()
+  {
+    return this.hashCode;
+  }
+
+  @NonNull @Override public String toString()
+  {
+    return this.predicate + Arrays.toString(this.arguments);
+  }
+}
@@ -0,0 +1,59 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLObject;
+
+import java.util.Optional;
+
+/**
+ * Creates facts from a rule's head atom. Each argument of the atom is either a constant or the slot of a variable bound
+ * in the rule body.
+ */
+class ReteFactTemplate
+{
+  @NonNull private final OWLObject predicate;
+  @NonNull private final @Nullable OWLObject[] constants;
+  @NonNull private final int[] slots;
+  @NonNull private final boolean[] literalPositions;
+
+  /**
+   * @param predicate        The predicate of the facts
+   * @param constants        For each argument position, the constant value or null
+   * @param slots            For each argument position, the slot of a variable or -1
+   * @param literalPositions For each argument position, true if the argument must be a literal; false if it must be an
+   *                         individual
+   */
+  public ReteFactTemplate(@NonNull OWLObject predicate, @NonNull @Nullable OWLObject[] constants, @NonNull int[] slots,
+    @NonNull boolean[] literalPositions)
+  {
+    this.predicate = predicate;
+    this.constants = constants;
+    this.slots = slots;
+    this.literalPositions = literalPositions;
+  }
+
+  /**
+   * @param token Variable bindings
+   * @return A fact; empty if a variable is unbound or is bound to a value of the wrong type
+   */
+  @NonNull public Optional<@NonNull ReteFact> instantiate(@NonNull OWLObject[] token)
+  {
+    OWLObject[] arguments = new OWLObject[this.constants.length];
+
+    for (int position = 0; position < this.constants.length; position++) {
+      OWLObject constant = this.constants[position];
+      OWLObject value = constant != null ? constant : token[this.slots[position]];
+
+      if (value == null || (this.literalPositions[position] ?
+        !(value instanceof OWLLiteral) :
+        !(value instanceof OWLIndividual)))
+        return Optional.empty();
+
+      arguments[position] = value;
+    }
+    return Optional.of(new ReteFact(this.predicate, arguments));
+  }
+}
@@ -0,0 +1,140 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Joins the tokens of its parent with the facts in an alpha memory. For each argument position of the atom it matches
+ * a join node records whether the position holds a constant, a variable bound by an earlier node, or a variable that
+ * this node binds. Constant and bound positions are used as hash keys into the alpha memory (on left activation) and
+ * into the parent's beta memory (on right activation).
+ */
+class ReteJoinNode extends ReteBetaNode
+{
+  @NonNull private final ReteBetaNode parent;
+  @NonNull private final AlphaMemory alphaMemory;
+  @NonNull private final @Nullable OWLObject[] constants;
+  @NonNull private final int[] boundSlots;
+  @NonNull private final int[] newSlots;
+  @NonNull private final int[] parentKeySlots;
+  @NonNull private final int[] parentKeyPositions;
+  private final int alphaPositions;
+
+  /**
+   * @param parent      The parent node
+   * @param alphaMemory The memory holding facts with the atom's predicate
+   * @param constants   For each argument position, the constant value or null
+   * @param boundSlots  For each argument position, the slot of a variable bound by an earlier node or -1
+   * @param newSlots    For each argument position, the slot of a variable bound by this node or -1
+   */
+  public ReteJoinNode(@NonNull ReteBetaNode parent, @NonNull AlphaMemory alphaMemory,
+    @NonNull @Nullable OWLObject[] constants, @NonNull int[] boundSlots, @NonNull int[] newSlots)
+  {
+    this.parent = parent;
+    this.alphaMemory = alphaMemory;
+    this.constants = constants;
+    this.boundSlots = boundSlots;
+    this.newSlots = newSlots;
+
+    int positions = 0, numberOfBoundPositions = 0;
+    for (int position = 0; position < constants.length; position++) {
+      if (constants[position] != null || boundSlots[position] != -1)
+        positions |= 1 << position;
+      if (boundSlots[position] != -1)
+        numberOfBoundPositions++;
+    }
+    this.alphaPositions = positions;
+
+    this.parentKeySlots = new int[numberOfBoundPositions];
+    this.parentKeyPositions = new int[numberOfBoundPositions];
+    for (int position = 0, i = 0; position < boundSlots.length; position++) {
+      if (boundSlots[position] != -1) {
+        this.parentKeySlots[i] = boundSlots[position];
+        this.parentKeyPositions[i++] = position;
+      }
+    }
+  }
+
+  public int getAlphaPositions()
+  {
+    return this.alphaPositions;
+  }
+
+  @NonNull public int[] getParentKeySlots()
+  {
+    return this.parentKeySlots;
+  }
+
+  /**
+   * Left activation: join a new token from the parent with the matching facts in the alpha memory.
+   */
+  @Override public void activate(@NonNull OWLObject[] token) throws SWRLBuiltInException
+  {
+    List<@NonNull OWLObject> key = new ArrayList<>(Integer.bitCount(this.alphaPositions));
+
+    for (int position = 0; position < this.constants.length; position++) {
+      OWLObject constant = this.constants[position];
+      if (constant != null)
+        key.add(constant);
+      else if (this.boundSlots[position] != -1)
+        key.add(token[this.boundSlots[position]]);
+    }
+
+    // The alpha memory is not modified during propagation so we can iterate over its facts directly
+    for (ReteFact fact : this.alphaMemory.getFacts(this.alphaPositions, key)) {
+      OWLObject[] extendedToken = extend(token, fact);
+      if (extendedToken != null)
+        propagate(extendedToken);
+    }
+  }
+
+  /**
+   * Right activation: join a new fact from the alpha memory with the matching tokens of the parent.
+   */
+  public void rightActivate(@NonNull ReteFact fact) throws SWRLBuiltInException
+  {
+    for (int position = 0; position < this.constants.length; position++) {
+      OWLObject constant = this.constants[position];
+      if (constant != null && !constant.equals(fact.getArgument(position)))
+        return;
+    }
+
+    Optional<@NonNull BetaMemory> parentMemory = this.parent.getMemory();
+
+    if (parentMemory.isPresent()) {
+      List<@NonNull OWLObject> key = new ArrayList<>(this.parentKeyPositions.length);
+
+      for (int position : this.parentKeyPositions)
+        key.add(fact.getArgument(position));
+
+      for (OWLObject[] token : parentMemory.get().getTokens(key)) {
+        OWLObject[] extendedToken = extend(token, fact);
+        if (extendedToken != null)
+          propagate(extendedToken);
+      }
+    }
+  }
+
+  @Nullable private OWLObject[] extend(@NonNull OWLObject[] token, @NonNull ReteFact fact)
+  {
+    OWLObject[] extendedToken = token.clone();
+
+    for (int position = 0; position < this.newSlots.length; position++) {
+      int slot = this.newSlots[position];
+      if (slot != -1) {
+        OWLObject value = fact.getArgument(position);
+        if (extendedToken[slot] == null)
+          extendedToken[slot] = value;
+        else if (!extendedToken[slot].equals(value)) // Variable used more than once in the atom
+          return null;
+      }
+    }
+    return extendedToken;
+  }
+}
@@ -0,0 +1,190 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineInternalException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A forward chaining RETE network. Facts are held in alpha memories, one per predicate. Each compiled rule or query is
+ * a chain of join, built-in and data range nodes starting at a root node and ending at a terminal node.
+ * <p>
+ * New facts are queued and are added to the network one at a time; each addition right activates the join nodes that
+ * match the fact's predicate. Running the network processes the queue until no new facts are inferred.
+ *
+ * @see ReteRuleCompiler
+ */
+class ReteNetwork
+{
+  public static final IRI SAME_AS = OWLRDFVocabulary.OWL_SAME_AS.getIRI();
+  public static final IRI DIFFERENT_FROM = OWLRDFVocabulary.OWL_DIFFERENT_FROM.getIRI();
+
+  @NonNull private final SWRLRuleEngineBridge bridge;
+  @NonNull private final Map<@NonNull OWLObject, @NonNull AlphaMemory> alphaMemories;
+  @NonNull private Set<@NonNull ReteFact> pendingFacts;
+  @NonNull private final List<@NonNull ReteRootNode> unseededRootNodes;
+  @NonNull private final List<@NonNull ReteQueryTerminalNode> queryTerminalNodes;
+
+  public ReteNetwork(@NonNull SWRLRuleEngineBridge bridge)
+  {
+    this.bridge = bridge;
+    this.alphaMemories = new HashMap<>();
+    this.pendingFacts = new LinkedHashSet<>();
+    this.unseededRootNodes = new ArrayList<>();
+    this.queryTerminalNodes = new ArrayList<>();
+  }
+
+  @NonNull public AlphaMemory getAlphaMemory(@NonNull OWLObject predicate)
+  {
+    return this.alphaMemories.computeIfAbsent(predicate, p -> new AlphaMemory());
+  }
+
+  public void addRule(@NonNull ReteRootNode rootNode)
+  {
+    this.unseededRootNodes.add(rootNode);
+  }
+
+  public void addQuery(@NonNull ReteRootNode rootNode, @NonNull ReteQueryTerminalNode terminalNode)
+  {
+    this.unseededRootNodes.add(rootNode);
+    this.queryTerminalNodes.add(terminalNode);
+  }
+
+  /**
+   * Add an asserted fact to the network. The fact will be matched against rules the next time the network is run.
+   */
+  public void assertFact(@NonNull ReteFact fact)
+  {
+    queueFact(fact);
+
+    if (isSymmetric(fact.getPredicate()))
+      queueFact(new ReteFact(fact.getPredicate(), fact.getArgument(1), fact.getArgument(0)));
+  }
+
+  /**
+   * Add asserted facts in bulk, sizing the queue for them if it is empty. Equivalent to asserting each fact in turn.
+   */
+  public void assertFacts(@NonNull Collection<@NonNull ReteFact> facts)
+  {
+    if (this.pendingFacts.isEmpty())
+      this.pendingFacts = new LinkedHashSet<>(facts.size() * 4 / 3 + 1);
+
+    for (ReteFact fact : facts)
+      assertFact(fact);
+  }
+
+  /**
+   * Add a fact inferred by a rule to the network and inform the bridge of the corresponding OWL axiom.
+   */
+  public void inferFact(@NonNull ReteFact fact)
+  {
+    if (!isKnown(fact)) {
+      this.bridge.inferOWLAxiom(createOWLAxiom(fact));
+      assertFact(fact);
+    }
+  }
+
+  public int getNumberOfFacts()
+  {
+    int numberOfFacts = 0;
+
+    for (AlphaMemory alphaMemory : this.alphaMemories.values())
+      numberOfFacts += alphaMemory.size();
+
+    return numberOfFacts;
+  }
+
+  /**
+   * Run the network to a fixpoint and then evaluate the second phase of any SQWRL queries that use collections.
+   *
+   * @throws SWRLBuiltInException If an error occurs invoking a built-in
+   */
+  public void run() throws SWRLBuiltInException
+  {
+    while (!this.unseededRootNodes.isEmpty())
+      this.unseededRootNodes.remove(0).seed();
+
+    while (!this.pendingFacts.isEmpty()) {
+      Iterator<@NonNull ReteFact> iterator = this.pendingFacts.iterator();
+      ReteFact fact = iterator.next();
+      iterator.remove();
+
+      AlphaMemory alphaMemory = getAlphaMemory(fact.getPredicate());
+      if (alphaMemory.add(fact)) {
+        for (ReteJoinNode joinNode : alphaMemory.getSuccessors())
+          joinNode.rightActivate(fact);
+      }
+    }
+
+    for (ReteQueryTerminalNode terminalNode : this.queryTerminalNodes)
+      terminalNode.runPhase2();
+  }
+
+  public void reset()
+  {
+    this.alphaMemories.clear();
+    this.pendingFacts.clear();
+    this.unseededRootNodes.clear();
+    this.queryTerminalNodes.clear();
+  }
+
+  private void queueFact(@NonNull ReteFact fact)
+  {
+    if (!getAlphaMemory(fact.getPredicate()).contains(fact))
+      this.pendingFacts.add(fact);
+  }
+
+  private boolean isKnown(@NonNull ReteFact fact)
+  {
+    return this.pendingFacts.contains(fact) || getAlphaMemory(fact.getPredicate()).contains(fact);
+  }
+
+  private boolean isSymmetric(@NonNull OWLObject predicate)
+  {
+    return predicate.equals(SAME_AS) || predicate.equals(DIFFERENT_FROM);
+  }
+
+  @NonNull private OWLAxiom createOWLAxiom(@NonNull ReteFact fact)
+  {
+    OWLDataFactory dataFactory = this.bridge.getSWRLAPIOWLDataFactory();
+    OWLObject predicate = fact.getPredicate();
+
+    if (predicate instanceof OWLClass)
+      return dataFactory.getOWLClassAssertionAxiom((OWLClass)predicate, (OWLIndividual)fact.getArgument(0));
+    else if (predicate instanceof OWLObjectProperty)
+      return dataFactory
+        .getOWLObjectPropertyAssertionAxiom((OWLObjectProperty)predicate, (OWLIndividual)fact.getArgument(0),
+          (OWLIndividual)fact.getArgument(1));
+    else if (predicate instanceof OWLDataProperty)
+      return dataFactory
+        .getOWLDataPropertyAssertionAxiom((OWLDataProperty)predicate, (OWLIndividual)fact.getArgument(0),
+          (OWLLiteral)fact.getArgument(1));
+    else if (predicate.equals(SAME_AS))
+      return dataFactory
+        .getOWLSameIndividualAxiom((OWLIndividual)fact.getArgument(0), (OWLIndividual)fact.getArgument(1));
+    else if (predicate.equals(DIFFERENT_FROM))
+      return dataFactory
+        .getOWLDifferentIndividualsAxiom((OWLIndividual)fact.getArgument(0), (OWLIndividual)fact.getArgument(1));
+    else
+      throw new TargetSWRLRuleEngineInternalException("unknown predicate " + predicate + " in fact " + fact);
+  }
+}
@@ -0,0 +1,22 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+/**
+ * A node in a {@link ReteNetwork} that receives tokens from its parent. A token is an array of variable bindings indexed
+ * by the slot numbers assigned to a rule's variables during compilation; unbound variables have a null value.
+ *
+ * @see ReteRuleCompiler
+ */
+abstract class ReteNode
+{
+  /**
+   * Left activation of a node.
+   *
+   * @param token The variable bindings produced by the node's parent
+   * @throws SWRLBuiltInException If an error occurs invoking a built-in
+   */
+  public abstract void activate(@NonNull OWLObject[] token) throws SWRLBuiltInException;
+}
@@ -0,0 +1,20 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.owl2rl.AbstractOWL2RLEngine;
+import org.swrlapi.owl2rl.OWL2RLPersistenceLayer;
+
+import java.util.Collections;
+import java.util.EnumSet;
+
+/**
+ * The RETE engine does not implement OWL 2 RL reasoning so all OWL 2 RL rules are reported as unsupported.
+ */
+class ReteOWL2RLEngine extends AbstractOWL2RLEngine
+{
+  public ReteOWL2RLEngine(@NonNull OWL2RLPersistenceLayer persistenceLayer)
+  {
+    super(persistenceLayer, EnumSet.allOf(OWL2RLRule.class), EnumSet.noneOf(OWL2RLRule.class),
+      Collections.emptySet());
+  }
+}
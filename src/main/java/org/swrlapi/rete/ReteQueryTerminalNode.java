@@ -0,0 +1,91 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Passes the tokens that match a SQWRL query's body to the built-ins in its head, which generate the query's result.
+ * <p>
+ * A query that uses collections is evaluated in two phases. Tokens matching the first phase, which builds the
+ * collections, are recorded until the network reaches a fixpoint. The second phase then evaluates the body built-ins
+ * that operate on the completed collections, followed by the head built-ins. Recorded tokens are projected onto the
+ * variables used in the second phase so that each distinct combination is evaluated once.
+ *
+ * @see org.swrlapi.sqwrl.SQWRLQuery#getSQWRLPhase1BodyAtoms()
+ * @see org.swrlapi.sqwrl.SQWRLQuery#getSQWRLPhase2BodyAtoms()
+ */
+class ReteQueryTerminalNode extends ReteNode
+{
+  @NonNull private final List<@NonNull ReteBuiltInInvoker> phase2BodyBuiltIns;
+  @NonNull private final List<@NonNull ReteBuiltInInvoker> headBuiltIns;
+  @NonNull private final int[] phase2Slots;
+  private final boolean hasCollections;
+  @NonNull private final Set<@NonNull List<@NonNull OWLObject>> phase1Tokens;
+
+  /**
+   * @param phase2BodyBuiltIns The body built-ins that use collections
+   * @param headBuiltIns       The built-ins in the query head
+   * @param phase2Slots        The slots of the variables used by the second phase
+   * @param hasCollections     True if the query uses collections
+   */
+  public ReteQueryTerminalNode(@NonNull List<@NonNull ReteBuiltInInvoker> phase2BodyBuiltIns,
+    @NonNull List<@NonNull ReteBuiltInInvoker> headBuiltIns, @NonNull int[] phase2Slots, boolean hasCollections)
+  {
+    this.phase2BodyBuiltIns = phase2BodyBuiltIns;
+    this.headBuiltIns = headBuiltIns;
+    this.phase2Slots = phase2Slots;
+    this.hasCollections = hasCollections;
+    this.phase1Tokens = new LinkedHashSet<>();
+  }
+
+  @Override public void activate(@NonNull OWLObject[] token) throws SWRLBuiltInException
+  {
+    if (this.hasCollections) {
+      OWLObject[] projectedToken = new OWLObject[token.length];
+      for (int slot : this.phase2Slots)
+        projectedToken[slot] = token[slot];
+      this.phase1Tokens.add(Arrays.asList(projectedToken));
+    } else
+      evaluate(token, this.headBuiltIns, 0, 0);
+  }
+
+  /**
+   * Evaluate the second phase of a query that uses collections.
+   */
+  public void runPhase2() throws SWRLBuiltInException
+  {
+    if (this.hasCollections) {
+      List<@NonNull ReteBuiltInInvoker> builtIns = new ArrayList<>(this.phase2BodyBuiltIns);
+      int numberOfBodyBuiltIns = builtIns.size();
+      builtIns.addAll(this.headBuiltIns);
+
+      for (List<@NonNull OWLObject> token : this.phase1Tokens)
+        evaluate(token.toArray(new OWLObject[token.size()]), builtIns, 0, numberOfBodyBuiltIns);
+
+      this.phase1Tokens.clear();
+    }
+  }
+
+  // Body built-ins that evaluate to false discard a token; head built-ins do not
+  private void evaluate(@NonNull OWLObject[] token, @NonNull List<@NonNull ReteBuiltInInvoker> builtIns,
+    int builtInNumber, int numberOfBodyBuiltIns) throws SWRLBuiltInException
+  {
+    if (builtInNumber < builtIns.size()) {
+      List<@NonNull OWLObject[]> tokens = builtIns.get(builtInNumber).evaluate(token);
+
+      if (tokens.isEmpty() && builtInNumber >= numberOfBodyBuiltIns)
+        tokens = Collections.singletonList(token);
+
+      for (OWLObject[] extendedToken : tokens)
+        evaluate(extendedToken, builtIns, builtInNumber + 1, numberOfBodyBuiltIns);
+    }
+  }
+}
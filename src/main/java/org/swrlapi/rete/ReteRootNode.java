@@ -0,0 +1,36 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+/**
+ * The start of a rule's join chain. Activating the root with an empty token matches the rule against the facts already
+ * in the network; facts added later reach the rule through right activations of its join nodes.
+ */
+class ReteRootNode extends ReteBetaNode
+{
+  @NonNull private final String ruleName;
+  private final int numberOfSlots;
+
+  public ReteRootNode(@NonNull String ruleName, int numberOfSlots)
+  {
+    this.ruleName = ruleName;
+    this.numberOfSlots = numberOfSlots;
+  }
+
+  @NonNull public String getRuleName()
+  {
+    return this.ruleName;
+  }
+
+  @Override public void activate(@NonNull OWLObject[] token) throws SWRLBuiltInException
+  {
+    propagate(token);
+  }
+
+  public void seed() throws SWRLBuiltInException
+  {
+    activate(new OWLObject[this.numberOfSlots]);
+  }
+}
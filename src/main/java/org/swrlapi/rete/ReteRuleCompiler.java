@@ -0,0 +1,388 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataRange;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.SWRLArgument;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.semanticweb.owlapi.model.SWRLClassAtom;
+import org.semanticweb.owlapi.model.SWRLDataPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLDataRangeAtom;
+import org.semanticweb.owlapi.model.SWRLDifferentIndividualsAtom;
+import org.semanticweb.owlapi.model.SWRLIndividualArgument;
+import org.semanticweb.owlapi.model.SWRLLiteralArgument;
+import org.semanticweb.owlapi.model.SWRLObjectPropertyAtom;
+import org.semanticweb.owlapi.model.SWRLSameIndividualAtom;
+import org.semanticweb.owlapi.model.SWRLVariable;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLVariableBuiltInArgument;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineNotImplementedFeatureException;
+import org.swrlapi.sqwrl.SQWRLQuery;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles SWRL rules and SQWRL queries into join chains in a {@link ReteNetwork}.
+ * <p>
+ * Each variable in a rule is assigned a slot in the rule's tokens. Body atoms are compiled in the order in which they
+ * appear in the rule, which is the order established by {@link org.swrlapi.core.SWRLAPIRule#getBodyAtoms()}, except
+ * that data range atoms are deferred until the end of the body so that their variables are bound when they are tested.
+ */
+class ReteRuleCompiler
+{
+  @NonNull private final ReteNetwork network;
+  @NonNull private final SWRLRuleEngineBridge bridge;
+  @NonNull private final ReteBuiltInArgumentConverter converter;
+
+  public ReteRuleCompiler(@NonNull ReteNetwork network, @NonNull SWRLRuleEngineBridge bridge)
+  {
+    this.network = network;
+    this.bridge = bridge;
+    this.converter = new ReteBuiltInArgumentConverter(bridge.getSWRLBuiltInArgumentFactory());
+  }
+
+  public void compileSWRLRule(@NonNull SWRLAPIRule rule) throws SWRLBuiltInException
+  {
+    String ruleName = rule.getRuleName();
+    RuleCompilation compilation = new RuleCompilation(ruleName, rule.getBodyAtoms(), rule.getHeadAtoms());
+    ReteRootNode rootNode = new ReteRootNode(ruleName, compilation.getNumberOfSlots());
+    ReteBetaNode lastNode = compileBodyAtoms(rootNode, rule.getBodyAtoms(), compilation);
+    List<@NonNull ReteBuiltInInvoker> headBuiltIns = new ArrayList<>();
+    List<@NonNull ReteFactTemplate> headTemplates = new ArrayList<>();
+
+    for (SWRLAtom atom : rule.getHeadAtoms()) {
+      if (atom instanceof SWRLAPIBuiltInAtom)
+        headBuiltIns.add(compileBuiltInAtom((SWRLAPIBuiltInAtom)atom, true, compilation));
+      else
+        headTemplates.add(compileHeadAtom(atom, compilation));
+    }
+
+    lastNode.setChild(new ReteRuleTerminalNode(this.network, headBuiltIns, headTemplates));
+    this.network.addRule(rootNode);
+  }
+
+  public void compileSQWRLQuery(@NonNull SQWRLQuery query) throws SWRLBuiltInException
+  {
+    String queryName = query.getQueryName();
+    boolean hasCollections = query.hasSQWRLCollections();
+    List<@NonNull SWRLAtom> phase1BodyAtoms = hasCollections ? query.getSQWRLPhase1BodyAtoms() : query.getBodyAtoms();
+    RuleCompilation compilation = new RuleCompilation(queryName, query.getBodyAtoms(), query.getHeadAtoms());
+    ReteRootNode rootNode = new ReteRootNode(queryName, compilation.getNumberOfSlots());
+    ReteBetaNode lastNode = compileBodyAtoms(rootNode, phase1BodyAtoms, compilation);
+    List<@NonNull ReteBuiltInInvoker> phase2BodyBuiltIns = new ArrayList<>();
+    List<@NonNull ReteBuiltInInvoker> headBuiltIns = new ArrayList<>();
+    Set<@NonNull Integer> phase2Slots = new LinkedHashSet<>();
+
+    if (hasCollections) {
+      for (SWRLAtom atom : query.getSQWRLPhase2BodyAtoms()) {
+        if (!phase1BodyAtoms.contains(atom)) {
+          if (!(atom instanceof SWRLAPIBuiltInAtom))
+            throw new TargetSWRLRuleEngineNotImplementedFeatureException(
+              "unexpected atom " + atom + " in second phase of query " + queryName);
+          phase2BodyBuiltIns.add(compileBuiltInAtom((SWRLAPIBuiltInAtom)atom, false, compilation));
+          phase2Slots.addAll(compilation.getSlots(atom));
+        }
+      }
+    }
+
+    for (SWRLAtom atom : query.getHeadAtoms()) {
+      if (!(atom instanceof SWRLAPIBuiltInAtom))
+        throw new TargetSWRLRuleEngineNotImplementedFeatureException(
+          "only built-ins are supported in the head of a query; query " + queryName + " has " + atom);
+      headBuiltIns.add(compileBuiltInAtom((SWRLAPIBuiltInAtom)atom, true, compilation));
+      phase2Slots.addAll(compilation.getSlots(atom));
+    }
+
+    ReteQueryTerminalNode terminalNode = new ReteQueryTerminalNode(phase2BodyBuiltIns, headBuiltIns,
+      phase2Slots.stream().mapToInt(Integer::intValue).toArray(), hasCollections);
+    lastNode.setChild(terminalNode);
+    this.network.addQuery(rootNode, terminalNode);
+  }
+
+  @NonNull private ReteBetaNode compileBodyAtoms(@NonNull ReteRootNode rootNode, @NonNull List<@NonNull SWRLAtom> atoms,
+    @NonNull RuleCompilation compilation) throws SWRLBuiltInException
+  {
+    List<@NonNull SWRLDataRangeAtom> dataRangeAtoms = new ArrayList<>();
+    ReteBetaNode node = rootNode;
+
+    for (SWRLAtom atom : atoms) {
+      if (atom instanceof SWRLDataRangeAtom)
+        dataRangeAtoms.add((SWRLDataRangeAtom)atom);
+      else if (atom instanceof SWRLAPIBuiltInAtom)
+        node = addChild(node, new ReteBuiltInNode(compileBuiltInAtom((SWRLAPIBuiltInAtom)atom, false, compilation)));
+      else if (atom instanceof SWRLClassAtom) {
+        SWRLClassAtom classAtom = (SWRLClassAtom)atom;
+        if (classAtom.getPredicate().isAnonymous())
+          throw unsupportedAtom(atom, compilation);
+        node = compileJoin(node, classAtom.getPredicate().asOWLClass(), compilation, classAtom.getArgument());
+      } else if (atom instanceof SWRLObjectPropertyAtom) {
+        SWRLObjectPropertyAtom propertyAtom = (SWRLObjectPropertyAtom)atom;
+        OWLObjectPropertyExpression property = propertyAtom.getPredicate();
+        if (property.isAnonymous()) // Inverse of a named property
+          node = compileJoin(node, property.getNamedProperty(), compilation, propertyAtom.getSecondArgument(),
+            propertyAtom.getFirstArgument());
+        else
+          node = compileJoin(node, property.getNamedProperty(), compilation, propertyAtom.getFirstArgument(),
+            propertyAtom.getSecondArgument());
+      } else if (atom instanceof SWRLDataPropertyAtom) {
+        SWRLDataPropertyAtom propertyAtom = (SWRLDataPropertyAtom)atom;
+        if (propertyAtom.getPredicate().isAnonymous())
+          throw unsupportedAtom(atom, compilation);
+        node = compileJoin(node, propertyAtom.getPredicate().asOWLDataProperty(), compilation,
+          propertyAtom.getFirstArgument(), propertyAtom.getSecondArgument());
+      } else if (atom instanceof SWRLSameIndividualAtom) {
+        SWRLSameIndividualAtom sameAtom = (SWRLSameIndividualAtom)atom;
+        node = compileJoin(node, ReteNetwork.SAME_AS, compilation, sameAtom.getFirstArgument(),
+          sameAtom.getSecondArgument());
+      } else if (atom instanceof SWRLDifferentIndividualsAtom) {
+        SWRLDifferentIndividualsAtom differentAtom = (SWRLDifferentIndividualsAtom)atom;
+        node = compileJoin(node, ReteNetwork.DIFFERENT_FROM, compilation, differentAtom.getFirstArgument(),
+          differentAtom.getSecondArgument());
+      } else
+        throw unsupportedAtom(atom, compilation);
+    }
+
+    for (SWRLDataRangeAtom atom : dataRangeAtoms) {
+      OWLDataRange dataRange = atom.getPredicate();
+      SWRLArgument argument = atom.getArgument();
+
+      if (!dataRange.isDatatype() || !(argument instanceof SWRLVariable) || !compilation
+        .isBound(compilation.getSlot(((SWRLVariable)argument).getIRI())))
+        throw unsupportedAtom(atom, compilation);
+
+      node = addChild(node,
+        new ReteDataRangeNode(dataRange.asOWLDatatype(), compilation.getSlot(((SWRLVariable)argument).getIRI())));
+    }
+    return node;
+  }
+
+  @NonNull private ReteBetaNode compileJoin(@NonNull ReteBetaNode parent, @NonNull OWLObject predicate,
+    @NonNull RuleCompilation compilation, @NonNull SWRLArgument... arguments)
+  {
+    OWLObject[] constants = new OWLObject[arguments.length];
+    int[] boundSlots = new int[arguments.length];
+    int[] newSlots = new int[arguments.length];
+    Set<@NonNull Integer> slotsBoundByJoin = new HashSet<>();
+
+    for (int position = 0; position < arguments.length; position++) {
+      SWRLArgument argument = arguments[position];
+      boundSlots[position] = -1;
+      newSlots[position] = -1;
+
+      if (argument instanceof SWRLVariable) {
+        int slot = compilation.getSlot(((SWRLVariable)argument).getIRI());
+        if (compilation.isBound(slot))
+          boundSlots[position] = slot;
+        else {
+          newSlots[position] = slot;
+          slotsBoundByJoin.add(slot);
+        }
+      } else
+        constants[position] = getConstant(argument, compilation);
+    }
+    compilation.bind(slotsBoundByJoin);
+
+    AlphaMemory alphaMemory = this.network.getAlphaMemory(predicate);
+    ReteJoinNode joinNode = new ReteJoinNode(parent, alphaMemory, constants, boundSlots, newSlots);
+    parent.setChild(joinNode);
+    alphaMemory.addSuccessor(joinNode);
+
+    return joinNode;
+  }
+
+  @NonNull private ReteBuiltInInvoker compileBuiltInAtom(@NonNull SWRLAPIBuiltInAtom builtInAtom,
+    boolean isInConsequent, @NonNull RuleCompilation compilation) throws SWRLBuiltInException
+  {
+    List<@NonNull SWRLBuiltInArgument> arguments = builtInAtom.getBuiltInArguments();
+    int[] slots = new int[arguments.size()];
+    boolean[] bound = new boolean[arguments.size()];
+    Set<@NonNull Integer> slotsBoundByBuiltIn = new HashSet<>();
+
+    for (int argumentNumber = 0; argumentNumber < arguments.size(); argumentNumber++) {
+      SWRLBuiltInArgument argument = arguments.get(argumentNumber);
+
+      if (argument instanceof SWRLVariableBuiltInArgument) {
+        int slot = compilation.getSlot(((SWRLVariableBuiltInArgument)argument).getIRI());
+        slots[argumentNumber] = slot;
+        bound[argumentNumber] = compilation.isBound(slot);
+        slotsBoundByBuiltIn.add(slot);
+      } else
+        slots[argumentNumber] = -1;
+    }
+    compilation.bind(slotsBoundByBuiltIn);
+
+    return new ReteBuiltInInvoker(this.bridge, this.converter, builtInAtom, isInConsequent, slots, bound);
+  }
+
+  @NonNull private ReteFactTemplate compileHeadAtom(@NonNull SWRLAtom atom, @NonNull RuleCompilation compilation)
+  {
+    if (atom instanceof SWRLClassAtom) {
+      SWRLClassAtom classAtom = (SWRLClassAtom)atom;
+      if (classAtom.getPredicate().isAnonymous())
+        throw unsupportedAtom(atom, compilation);
+      return createFactTemplate(classAtom.getPredicate().asOWLClass(), compilation, new boolean[] { false },
+        classAtom.getArgument());
+    } else if (atom instanceof SWRLObjectPropertyAtom) {
+      SWRLObjectPropertyAtom propertyAtom = (SWRLObjectPropertyAtom)atom;
+      OWLObjectPropertyExpression property = propertyAtom.getPredicate();
+      if (property.isAnonymous())
+        return createFactTemplate(property.getNamedProperty(), compilation, new boolean[] { false, false },
+          propertyAtom.getSecondArgument(), propertyAtom.getFirstArgument());
+      else
+        return createFactTemplate(property.getNamedProperty(), compilation, new boolean[] { false, false },
+          propertyAtom.getFirstArgument(), propertyAtom.getSecondArgument());
+    } else if (atom instanceof SWRLDataPropertyAtom) {
+      SWRLDataPropertyAtom propertyAtom = (SWRLDataPropertyAtom)atom;
+      if (propertyAtom.getPredicate().isAnonymous())
+        throw unsupportedAtom(atom, compilation);
+      return createFactTemplate(propertyAtom.getPredicate().asOWLDataProperty(), compilation,
+        new boolean[] { false, true }, propertyAtom.getFirstArgument(), propertyAtom.getSecondArgument());
+    } else if (atom instanceof SWRLSameIndividualAtom) {
+      SWRLSameIndividualAtom sameAtom = (SWRLSameIndividualAtom)atom;
+      return createFactTemplate(ReteNetwork.SAME_AS, compilation, new boolean[] { false, false },
+        sameAtom.getFirstArgument(), sameAtom.getSecondArgument());
+    } else if (atom instanceof SWRLDifferentIndividualsAtom) {
+      SWRLDifferentIndividualsAtom differentAtom = (SWRLDifferentIndividualsAtom)atom;
+      return createFactTemplate(ReteNetwork.DIFFERENT_FROM, compilation, new boolean[] { false, false },
+        differentAtom.getFirstArgument(), differentAtom.getSecondArgument());
+    } else
+      throw unsupportedAtom(atom, compilation);
+  }
+
+  @NonNull private ReteFactTemplate createFactTemplate(@NonNull OWLObject predicate,
+    @NonNull RuleCompilation compilation, @NonNull boolean[] literalPositions, @NonNull SWRLArgument... arguments)
+  {
+    OWLObject[] constants = new OWLObject[arguments.length];
+    int[] slots = new int[arguments.length];
+
+    for (int position = 0; position < arguments.length; position++) {
+      SWRLArgument argument = arguments[position];
+      if (argument instanceof SWRLVariable)
+        slots[position] = compilation.getSlot(((SWRLVariable)argument).getIRI());
+      else {
+        slots[position] = -1;
+        constants[position] = getConstant(argument, compilation);
+      }
+    }
+    return new ReteFactTemplate(predicate, constants, slots, literalPositions);
+  }
+
+  @NonNull private OWLObject getConstant(@NonNull SWRLArgument argument, @NonNull RuleCompilation compilation)
+  {
+    if (argument instanceof SWRLIndividualArgument)
+      return ((SWRLIndividualArgument)argument).getIndividual();
+    else if (argument instanceof SWRLLiteralArgument)
+      return ((SWRLLiteralArgument)argument).getLiteral();
+    else
+      throw new TargetSWRLRuleEngineNotImplementedFeatureException(
+        "unsupported argument " + argument + " in rule " + compilation.getRuleName());
+  }
+
+  @NonNull private ReteBetaNode addChild(@NonNull ReteBetaNode parent, @NonNull ReteBetaNode child)
+  {
+    parent.setChild(child);
+    return child;
+  }
+
+  @NonNull private TargetSWRLRuleEngineNotImplementedFeatureException unsupportedAtom(@NonNull SWRLAtom atom,
+    @NonNull RuleCompilation compilation)
+  {
+    return new TargetSWRLRuleEngineNotImplementedFeatureException(
+      "unsupported atom " + atom + " in rule " + compilation.getRuleName());
+  }
+
+  /**
+   * Records the slots assigned to a rule's variables and which of them are bound at the current point of compilation.
+   */
+  private static class RuleCompilation
+  {
+    @NonNull private final String ruleName;
+    @NonNull private final Map<@NonNull IRI, @NonNull Integer> slots;
+    @NonNull private final Set<@NonNull Integer> boundSlots;
+
+    public RuleCompilation(@NonNull String ruleName, @NonNull List<@NonNull SWRLAtom> bodyAtoms,
+      @NonNull List<@NonNull SWRLAtom> headAtoms)
+    {
+      this.ruleName = ruleName;
+      this.slots = new HashMap<>();
+      this.boundSlots = new HashSet<>();
+
+      for (SWRLAtom atom : bodyAtoms)
+        for (IRI variableIRI : getVariableIRIs(atom))
+          this.slots.putIfAbsent(variableIRI, this.slots.size());
+
+      for (SWRLAtom atom : headAtoms)
+        for (IRI variableIRI : getVariableIRIs(atom))
+          this.slots.putIfAbsent(variableIRI, this.slots.size());
+    }
+
+    @NonNull public String getRuleName()
+    {
+      return this.ruleName;
+    }
+
+    public int getNumberOfSlots()
+    {
+      return this.slots.size();
+    }
+
+    public int getSlot(@NonNull IRI variableIRI)
+    {
+      Integer slot = this.slots.get(variableIRI);
+
+      if (slot == null)
+        throw new TargetSWRLRuleEngineNotImplementedFeatureException(
+          "variable " + variableIRI + " is not defined in rule " + this.ruleName);
+
+      return slot;
+    }
+
+    @NonNull public Set<@NonNull Integer> getSlots(@NonNull SWRLAtom atom)
+    {
+      Set<@NonNull Integer> atomSlots = new HashSet<>();
+
+      for (IRI variableIRI : getVariableIRIs(atom))
+        atomSlots.add(getSlot(variableIRI));
+
+      return atomSlots;
+    }
+
+    public boolean isBound(int slot)
+    {
+      return this.boundSlots.contains(slot);
+    }
+
+    public void bind(@NonNull Set<@NonNull Integer> slots)
+    {
+      this.boundSlots.addAll(slots);
+    }
+
+    @NonNull private static List<@NonNull IRI> getVariableIRIs(@NonNull SWRLAtom atom)
+    {
+      List<@NonNull IRI> variableIRIs = new ArrayList<>();
+
+      if (atom instanceof SWRLAPIBuiltInAtom) {
+        for (SWRLBuiltInArgument argument : ((SWRLAPIBuiltInAtom)atom).getBuiltInArguments())
+          if (argument instanceof SWRLVariableBuiltInArgument)
+            variableIRIs.add(((SWRLVariableBuiltInArgument)argument).getIRI());
+      } else {
+        for (SWRLArgument argument : atom.getAllArguments())
+          if (argument instanceof SWRLVariable)
+            variableIRIs.add(((SWRLVariable)argument).getIRI());
+      }
+      return variableIRIs;
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Fires a SWRL rule for each token that matches its body. Built-ins in the rule head are invoked first, after which the
+ * head atoms are instantiated and the resulting facts inferred.
+ */
+class ReteRuleTerminalNode extends ReteNode
+{
+  @NonNull private final ReteNetwork network;
+  @NonNull private final List<@NonNull ReteBuiltInInvoker> headBuiltIns;
+  @NonNull private final List<@NonNull ReteFactTemplate> headTemplates;
+
+  public ReteRuleTerminalNode(@NonNull ReteNetwork network, @NonNull List<@NonNull ReteBuiltInInvoker> headBuiltIns,
+    @NonNull List<@NonNull ReteFactTemplate> headTemplates)
+  {
+    this.network = network;
+    this.headBuiltIns = headBuiltIns;
+    this.headTemplates = headTemplates;
+  }
+
+  @Override public void activate(@NonNull OWLObject[] token) throws SWRLBuiltInException
+  {
+    for (OWLObject[] headToken : evaluateHeadBuiltIns(token, 0)) {
+      for (ReteFactTemplate template : this.headTemplates) {
+        Optional<@NonNull ReteFact> fact = template.instantiate(headToken);
+        if (fact.isPresent())
+          this.network.inferFact(fact.get());
+      }
+    }
+  }
+
+  // A head built-in that evaluates to false does not prevent the remaining head atoms from being processed
+  @NonNull private List<@NonNull OWLObject[]> evaluateHeadBuiltIns(@NonNull OWLObject[] token, int builtInNumber)
+    throws SWRLBuiltInException
+  {
+    if (builtInNumber == this.headBuiltIns.size())
+      return Collections.singletonList(token);
+    else {
+      List<@NonNull OWLObject[]> tokens = this.headBuiltIns.get(builtInNumber).evaluate(token);
+
+      if (tokens.isEmpty())
+        return evaluateHeadBuiltIns(token, builtInNumber + 1);
+      else if (tokens.size() == 1)
+        return evaluateHeadBuiltIns(tokens.get(0), builtInNumber + 1);
+      else {
+        List<@NonNull OWLObject[]> result = new ArrayList<>();
+        for (OWLObject[] extendedToken : tokens)
+          result.addAll(evaluateHeadBuiltIns(extendedToken, builtInNumber + 1));
+        return result;
+      }
+    }
+  }
+}
@@ -0,0 +1,232 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDataPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLDeclarationAxiom;
+import org.semanticweb.owlapi.model.OWLDifferentIndividualsAxiom;
+import org.semanticweb.owlapi.model.OWLIndividual;
+import org.semanticweb.owlapi.model.OWLNaryIndividualAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLObjectPropertyExpression;
+import org.semanticweb.owlapi.model.OWLSameIndividualAxiom;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+import org.swrlapi.bridge.TargetSWRLRuleEngine;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineNotImplementedFeatureException;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.owl2rl.OWL2RLEngine;
+import org.swrlapi.sqwrl.SQWRLQuery;
+
+import javax.swing.Icon;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A native forward chaining rule engine based on the RETE algorithm. The engine executes SWRL rules and SQWRL queries
+ * over the class, property, same individual and different individuals assertions in an ontology. Built-ins are invoked
+ * via the {@link org.swrlapi.bridge.SWRLRuleEngineBridge}.
+ * <p>
+ * The engine does not perform OWL 2 RL reasoning; other OWL axioms are ignored. Added axioms and rules can be defined
+ * incrementally; since the engine does not perform truth maintenance the removal of an axiom or rule that it has
+ * defined requires a reset.
+ *
+ * @see ReteSWRLRuleEngineCreator
+ */
+public class ReteSWRLRuleEngine implements TargetSWRLRuleEngine
+{
+  public static final String RULE_ENGINE_NAME = "Rete";
+  public static final String RULE_ENGINE_VERSION = "1.0";
+
+  @NonNull private final SWRLRuleEngineBridge bridge;
+  @NonNull private final ReteNetwork network;
+  @NonNull private final ReteRuleCompiler compiler;
+  @NonNull private final OWL2RLEngine owl2RLEngine;
+
+  public ReteSWRLRuleEngine(@NonNull SWRLRuleEngineBridge bridge)
+  {
+    this.bridge = bridge;
+    this.network = new ReteNetwork(bridge);
+    this.compiler = new ReteRuleCompiler(this.network, bridge);
+    this.owl2RLEngine = new ReteOWL2RLEngine(bridge.getOWL2RLPersistenceLayer());
+  }
+
+  @Override public void defineOWLAxiom(@NonNull OWLAxiom axiom) throws TargetSWRLRuleEngineException
+  {
+    if (axiom instanceof SWRLAPIRule) {
+      SWRLAPIRule rule = (SWRLAPIRule)axiom;
+      if (rule.isActive() && !rule.isSQWRLQuery()) {
+        try {
+          this.compiler.compileSWRLRule(rule);
+        } catch (SWRLBuiltInException e) {
+          throw new TargetSWRLRuleEngineException(
+            "error defining rule " + rule.getRuleName() + ": " + (e.getMessage() != null ? e.getMessage() : ""), e);
+        }
+      }
+    } else if (axiom instanceof SWRLRule)
+      throw new TargetSWRLRuleEngineNotImplementedFeatureException("SWRL rules must be SWRLAPI rules: " + axiom);
+    else if (axiom instanceof OWLClassAssertionAxiom)
+      createReteFact((OWLClassAssertionAxiom)axiom).ifPresent(this.network::assertFact);
+    else if (axiom instanceof OWLObjectPropertyAssertionAxiom)
+      this.network.assertFact(createReteFact((OWLObjectPropertyAssertionAxiom)axiom));
+    else if (axiom instanceof OWLDataPropertyAssertionAxiom)
+      createReteFact((OWLDataPropertyAssertionAxiom)axiom).ifPresent(this.network::assertFact);
+    else if (axiom instanceof OWLSameIndividualAxiom)
+      defineOWLNaryIndividualAxiom((OWLSameIndividualAxiom)axiom, ReteNetwork.SAME_AS);
+    else if (axiom instanceof OWLDifferentIndividualsAxiom)
+      defineOWLNaryIndividualAxiom((OWLDifferentIndividualsAxiom)axiom, ReteNetwork.DIFFERENT_FROM);
+    else if (axiom instanceof OWLDeclarationAxiom)
+      defineOWLDeclarationAxiom((OWLDeclarationAxiom)axiom);
+  }
+
+  @Override public boolean defineOWLAxiomChanges(@NonNull Set<@NonNull OWLAxiom> addedAxioms,
+    @NonNull Set<@NonNull OWLAxiom> removedAxioms) throws TargetSWRLRuleEngineException
+  {
+    if (removedAxioms.stream().anyMatch(this::isDefinedOWLAxiom))
+      return false;
+
+    defineOWLAxioms(addedAxioms);
+
+    return true;
+  }
+
+  /**
+   * Class and property assertions are converted to facts and queued in bulk; other axioms are defined in turn.
+   */
+  @Override public void defineOWLAxioms(@NonNull AxiomType<?> axiomType,
+    @NonNull Collection<? extends @NonNull OWLAxiom> axioms) throws TargetSWRLRuleEngineException
+  {
+    List<@NonNull ReteFact> facts = new ArrayList<>(axioms.size());
+
+    if (axiomType == AxiomType.CLASS_ASSERTION) {
+      for (OWLAxiom axiom : axioms)
+        createReteFact((OWLClassAssertionAxiom)axiom).ifPresent(facts::add);
+    } else if (axiomType == AxiomType.OBJECT_PROPERTY_ASSERTION) {
+      for (OWLAxiom axiom : axioms)
+        facts.add(createReteFact((OWLObjectPropertyAssertionAxiom)axiom));
+    } else if (axiomType == AxiomType.DATA_PROPERTY_ASSERTION) {
+      for (OWLAxiom axiom : axioms)
+        createReteFact((OWLDataPropertyAssertionAxiom)axiom).ifPresent(facts::add);
+    } else {
+      TargetSWRLRuleEngine.super.defineOWLAxioms(axiomType, axioms);
+      return;
+    }
+    this.network.assertFacts(facts);
+  }
+
+  @Override public void defineSQWRLQuery(@NonNull SQWRLQuery query)
+    throws TargetSWRLRuleEngineException, SWRLBuiltInException
+  {
+    if (query.isActive())
+      this.compiler.compileSQWRLQuery(query);
+  }
+
+  @Override public void runRuleEngine() throws TargetSWRLRuleEngineException
+  {
+    try {
+      this.network.run();
+    } catch (SWRLBuiltInException e) {
+      throw new TargetSWRLRuleEngineException(
+        "error running " + RULE_ENGINE_NAME + " rule engine: " + (e.getMessage() != null ? e.getMessage() : ""), e);
+    }
+  }
+
+  @Override public void resetRuleEngine() throws TargetSWRLRuleEngineException
+  {
+    this.network.reset();
+  }
+
+  @NonNull @Override public String getTargetRuleEngineName()
+  {
+    return RULE_ENGINE_NAME;
+  }
+
+  @NonNull @Override public String getTargetRuleEngineVersion()
+  {
+    return RULE_ENGINE_VERSION;
+  }
+
+  @NonNull @Override public Icon getTargetRuleEngineIcon()
+  {
+    return SWRLAPIInternalFactory.getOWL2RLReasonerIcon();
+  }
+
+  @NonNull @Override public OWLReasoner getOWLReasoner()
+  {
+    throw new TargetSWRLRuleEngineNotImplementedFeatureException(
+      "OWL reasoner not implemented by " + RULE_ENGINE_NAME + " rule engine");
+  }
+
+  @NonNull @Override public OWL2RLEngine getOWL2RLEngine()
+  {
+    return this.owl2RLEngine;
+  }
+
+  // Axioms that contribute facts or rules to the network
+  private boolean isDefinedOWLAxiom(@NonNull OWLAxiom axiom)
+  {
+    if (axiom instanceof SWRLAPIRule)
+      return ((SWRLAPIRule)axiom).isActive() && !((SWRLAPIRule)axiom).isSQWRLQuery();
+    else if (axiom instanceof OWLDeclarationAxiom)
+      return ((OWLDeclarationAxiom)axiom).getEntity().isOWLNamedIndividual();
+    else
+      return axiom instanceof OWLClassAssertionAxiom || axiom instanceof OWLObjectPropertyAssertionAxiom
+        || axiom instanceof OWLDataPropertyAssertionAxiom || axiom instanceof OWLSameIndividualAxiom
+        || axiom instanceof OWLDifferentIndividualsAxiom;
+  }
+
+  @NonNull private static Optional<@NonNull ReteFact> createReteFact(@NonNull OWLClassAssertionAxiom axiom)
+  {
+    if (!axiom.getClassExpression().isAnonymous())
+      return Optional.of(new ReteFact(axiom.getClassExpression().asOWLClass(), axiom.getIndividual()));
+    else
+      return Optional.empty();
+  }
+
+  @NonNull private static ReteFact createReteFact(@NonNull OWLObjectPropertyAssertionAxiom axiom)
+  {
+    OWLObjectPropertyExpression property = axiom.getProperty();
+
+    if (property.isAnonymous()) // Inverse of a named property
+      return new ReteFact(property.getNamedProperty(), axiom.getObject(), axiom.getSubject());
+    else
+      return new ReteFact(property.getNamedProperty(), axiom.getSubject(), axiom.getObject());
+  }
+
+  @NonNull private static Optional<@NonNull ReteFact> createReteFact(@NonNull OWLDataPropertyAssertionAxiom axiom)
+  {
+    if (!axiom.getProperty().isAnonymous())
+      return Optional.of(new ReteFact(axiom.getProperty().asOWLDataProperty(), axiom.getSubject(), axiom.getObject()));
+    else
+      return Optional.empty();
+  }
+
+  private void defineOWLNaryIndividualAxiom(@NonNull OWLNaryIndividualAxiom axiom, @NonNull IRI predicate)
+  {
+    List<@NonNull OWLIndividual> individuals = axiom.getIndividualsAsList();
+
+    for (int i = 0; i < individuals.size(); i++)
+      for (int j = i + 1; j < individuals.size(); j++)
+        this.network.assertFact(new ReteFact(predicate, individuals.get(i), individuals.get(j)));
+  }
+
+  // Declared individuals are members of owl:Thing
+  private void defineOWLDeclarationAxiom(@NonNull OWLDeclarationAxiom axiom)
+  {
+    if (axiom.getEntity().isOWLNamedIndividual())
+      this.network.assertFact(new ReteFact(
+        this.bridge.getSWRLAPIOWLDataFactory().getOWLClass(OWLRDFVocabulary.OWL_THING.getIRI()),
+        axiom.getEntity().asOWLNamedIndividual()));
+  }
+}
@@ -0,0 +1,26 @@
+package org.swrlapi.rete;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.swrlapi.bridge.SWRLRuleEngineBridge;
+import org.swrlapi.bridge.TargetSWRLRuleEngine;
+import org.swrlapi.bridge.TargetSWRLRuleEngineCreator;
+import org.swrlapi.exceptions.TargetSWRLRuleEngineException;
+
+/**
+ * Creates instances of the native RETE rule engine.
+ *
+ * @see ReteSWRLRuleEngine
+ */
+public class ReteSWRLRuleEngineCreator implements TargetSWRLRuleEngineCreator
+{
+  @NonNull @Override public String getRuleEngineName()
+  {
+    return ReteSWRLRuleEngine.RULE_ENGINE_NAME;
+  }
+
+  @NonNull @Override public TargetSWRLRuleEngine create(@NonNull SWRLRuleEngineBridge bridge)
+    throws TargetSWRLRuleEngineException
+  {
+    return new ReteSWRLRuleEngine(bridge);
+  }
+}
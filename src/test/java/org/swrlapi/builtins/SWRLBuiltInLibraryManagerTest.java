@@ -0,0 +1,131 @@
+package org.swrlapi.builtins;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.swrlapi.bridge.SWRLBridge;
+import org.swrlapi.builtins.arguments.SWRLBuiltInArgument;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.exceptions.SWRLBuiltInLibraryException;
+import org.swrlapi.factory.SWRLAPIFactory;
+import org.swrlapi.factory.SWRLAPIInternalFactory;
+import org.swrlapi.factory.SWRLBuiltInArgumentFactory;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+
+/**
+ * @see SWRLBuiltInLibraryManager
+ */
+public class SWRLBuiltInLibraryManagerTest extends IntegrationTestBase
+{
+  @Test public void testResolveSWRLBuiltInInvoker() throws Exception
+  {
+    Optional<SWRLBuiltInInvoker> invoker = SWRLBuiltInLibraryManager.resolveSWRLBuiltInInvoker("swrlb:add");
+
+    assertTrue(invoker.isPresent());
+    assertEquals("swrlb", invoker.get().getPrefix());
+    assertEquals("swrlb:add", invoker.get().getBuiltInPrefixedName());
+    assertEquals(org.swrlapi.builtins.swrlb.SWRLBuiltInLibraryImpl.class, invoker.get().getLibraryClass());
+  }
+
+  @Test public void testResolveSWRLBuiltInInvokerIsShared() throws Exception
+  {
+    assertSame(SWRLBuiltInLibraryManager.resolveSWRLBuiltInInvoker("swrlb:lessThan").get(),
+      SWRLBuiltInLibraryManager.resolveSWRLBuiltInInvoker("swrlb:lessThan").get());
+  }
+
+  @Test public void testResolveUnknownSWRLBuiltIn() throws Exception
+  {
+    assertFalse(SWRLBuiltInLibraryManager.resolveSWRLBuiltInInvoker("swrlb:noSuchBuiltIn").isPresent());
+    assertFalse(SWRLBuiltInLibraryManager.resolveSWRLBuiltInInvoker("nosuchlibrary:add").isPresent());
+  }
+
+  @Test public void testConvertedRuleBuiltInsAreBound() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+    addOWLAxioms(ontology, Declaration(Class(iri("Adult"))), Declaration(DataProperty(iri("hasAge"))));
+
+    SWRLRuleEngine ruleEngine = SWRLAPIFactory.createSWRLRuleEngine(ontology);
+    ruleEngine.createSWRLRule("r1", "hasAge(?p, ?a) ^ swrlb:greaterThan(?a, 17) -> Adult(?p)");
+    SWRLAPIRule rule = ruleEngine.getSWRLRule("r1").get();
+
+    int numberOfBuiltIns = 0;
+    for (SWRLAtom atom : rule.getBody()) {
+      if (atom instanceof SWRLAPIBuiltInAtom) {
+        Optional<SWRLBuiltInInvoker> invoker = ((SWRLAPIBuiltInAtom)atom).getBuiltInInvoker();
+        assertTrue(invoker.isPresent());
+        assertEquals("swrlb:greaterThan", invoker.get().getBuiltInPrefixedName());
+        numberOfBuiltIns++;
+      }
+    }
+    assertEquals(1, numberOfBuiltIns);
+  }
+
+  @Test public void testThreadSafeLibraries() throws Exception
+  {
+    assertTrue(new org.swrlapi.builtins.swrlb.SWRLBuiltInLibraryImpl().isThreadSafe());
+    assertTrue(new org.swrlapi.builtins.abox.SWRLBuiltInLibraryImpl().isThreadSafe());
+    assertFalse(new org.swrlapi.builtins.sqwrl.SWRLBuiltInLibraryImpl().isThreadSafe());
+  }
+
+  @Test(expected = SWRLBuiltInLibraryException.class) public void testContextOutsideInvocation() throws Exception
+  {
+    new org.swrlapi.builtins.swrlb.SWRLBuiltInLibraryImpl().getBuiltInBridge();
+  }
+
+  @Test public void testConcurrentInvocation() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+    SWRLBridge bridge = SWRLAPIInternalFactory
+      .createSWRLBridge(SWRLAPIInternalFactory.createSWRLAPIOntology(ontology),
+        SWRLAPIInternalFactory.createOWL2RLPersistenceLayer(ontology));
+    SWRLBuiltInArgumentFactory argumentFactory = bridge.getSWRLBuiltInArgumentFactory();
+    SWRLBuiltInLibraryManager manager = new SWRLBuiltInLibraryManager();
+    SWRLBuiltInInvoker greaterThan = SWRLBuiltInLibraryManager.resolveSWRLBuiltInInvoker("swrlb:greaterThan").get();
+    int numberOfThreads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+
+    try {
+      List<Future<Integer>> futures = new ArrayList<>();
+
+      for (int thread = 0; thread < numberOfThreads; thread++) {
+        String ruleName = "r" + thread;
+        Callable<Integer> invocations = () -> {
+          int numberOfTrueResults = 0;
+          for (int i = 0; i < 1000; i++) {
+            List<SWRLBuiltInArgument> arguments = new ArrayList<>(Arrays
+              .asList(argumentFactory.getLiteralBuiltInArgument(i % 2), argumentFactory.getLiteralBuiltInArgument(0)));
+            if (!manager.invokeSWRLBuiltIn(bridge, ruleName, greaterThan, 0, false, arguments).isEmpty())
+              numberOfTrueResults++;
+          }
+          return numberOfTrueResults;
+        };
+        futures.add(executor.submit(invocations));
+      }
+
+      for (Future<Integer> future : futures)
+        assertEquals(500, (int)future.get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package org.swrlapi.builtins.abox;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SameIndividual;
+
+/**
+ * @see ABoxAxiomIndex
+ */
+public class ABoxAxiomIndexTest extends IntegrationTestBase
+{
+  private static final OWLClass PERSON = Class(iri("Person"));
+  private static final OWLClass MALE = Class(iri("Male"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri("p1"));
+  private static final OWLNamedIndividual P2 = NamedIndividual(iri("p2"));
+  private static final OWLNamedIndividual P3 = NamedIndividual(iri("p3"));
+  private static final OWLObjectProperty HAS_PARENT = ObjectProperty(iri("hasParent"));
+  private static final OWLObjectProperty HAS_BROTHER = ObjectProperty(iri("hasBrother"));
+
+  private OWLOntology ontology;
+  private ABoxAxiomIndex index;
+
+  @Before public void setUp() throws Exception
+  {
+    ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    addOWLAxioms(ontology, ClassAssertion(PERSON, P1), ClassAssertion(PERSON, P2), ClassAssertion(MALE, P2),
+      ObjectPropertyAssertion(HAS_PARENT, P1, P2), ObjectPropertyAssertion(HAS_PARENT, P2, P3),
+      ObjectPropertyAssertion(HAS_BROTHER, P2, P1), SameIndividual(P1, P2, P3));
+
+    index = ABoxAxiomIndex.create(ontology);
+  }
+
+  @After public void tearDown()
+  {
+    index.dispose();
+  }
+
+  @Test public void testUnboundArguments()
+  {
+    assertEquals(3, index.getClassAssertionAxioms(Collections.emptyMap()).size());
+    assertEquals(3, index.getObjectPropertyAssertionAxioms(Collections.emptyMap()).size());
+  }
+
+  @Test public void testBoundClass()
+  {
+    assertEquals(2, index.getClassAssertionAxioms(Collections.singletonMap(0, PERSON)).size());
+    assertEquals(1, index.getClassAssertionAxioms(Collections.singletonMap(0, MALE)).size());
+  }
+
+  @Test public void testBoundIndividual()
+  {
+    assertEquals(2, index.getClassAssertionAxioms(Collections.singletonMap(1, P2)).size());
+    assertTrue(index.getClassAssertionAxioms(Collections.singletonMap(1, P3)).isEmpty());
+  }
+
+  @Test public void testMostSelectiveBoundArgument()
+  {
+    Map<Integer, OWLObject> boundArguments = new HashMap<>();
+    boundArguments.put(0, P2);
+    boundArguments.put(1, HAS_PARENT);
+
+    assertEquals(2, index.getObjectPropertyAssertionAxioms(boundArguments).size());
+    assertEquals(ObjectPropertyAssertion(HAS_PARENT, P2, P3),
+      index.getObjectPropertyAssertionAxioms(boundArguments).stream().filter(a -> a.getProperty().equals(HAS_PARENT))
+        .findFirst().get());
+    assertEquals(1, index.getObjectPropertyAssertionAxioms(Collections.singletonMap(1, HAS_BROTHER)).size());
+  }
+
+  @Test public void testPairwiseSameIndividualAxioms()
+  {
+    assertEquals(ontology.getAxioms(AxiomType.SAME_INDIVIDUAL).iterator().next().asPairwiseAxioms().size(),
+      index.getPairwiseSameIndividualAxioms(Collections.emptyMap()).size());
+    assertEquals(1, index.getPairwiseSameIndividualAxioms(Collections.singletonMap(0, P1)).size());
+    assertTrue(index.getPairwiseDifferentIndividualsAxioms(Collections.emptyMap()).isEmpty());
+  }
+
+  @Test public void testAddedAndRemovedAssertions()
+  {
+    addOWLAxioms(ontology, ClassAssertion(MALE, P1));
+
+    assertTrue(index.isValid());
+    assertEquals(2, index.getClassAssertionAxioms(Collections.singletonMap(0, MALE)).size());
+    assertEquals(2, index.getClassAssertionAxioms(Collections.singletonMap(1, P1)).size());
+
+    ontology.getOWLOntologyManager().removeAxiom(ontology, ClassAssertion(PERSON, P1));
+
+    assertTrue(index.isValid());
+    assertEquals(1, index.getClassAssertionAxioms(Collections.singletonMap(0, PERSON)).size());
+    assertEquals(Collections.singletonList(ClassAssertion(MALE, P1)),
+      new ArrayList<>(index.getClassAssertionAxioms(Collections.singletonMap(1, P1))));
+    assertEquals(3, index.getClassAssertionAxioms(Collections.emptyMap()).size());
+  }
+
+  @Test public void testPairwiseAxiomsOfRemainingAxiomsAreKept()
+  {
+    addOWLAxioms(ontology, SameIndividual(P1, P2));
+    ontology.getOWLOntologyManager().removeAxiom(ontology, SameIndividual(P1, P2, P3));
+
+    assertEquals(1, index.getPairwiseSameIndividualAxioms(Collections.emptyMap()).size());
+    assertEquals(1, index.getPairwiseSameIndividualAxioms(Collections.singletonMap(1, P2)).size());
+  }
+
+  @Test public void testInvalidatedByImportChange() throws Exception
+  {
+    IRI importedOntologyIRI = iri("http://example.org/imported");
+    ontology.getOWLOntologyManager().createOntology(importedOntologyIRI);
+
+    ontology.getOWLOntologyManager().applyChange(new AddImport(ontology,
+      ontology.getOWLOntologyManager().getOWLDataFactory().getOWLImportsDeclaration(importedOntologyIRI)));
+
+    assertFalse(index.isValid());
+  }
+
+  @Test public void testNotInvalidatedByDeclarationChange()
+  {
+    addOWLAxioms(ontology, Declaration(P3));
+
+    assertTrue(index.isValid());
+  }
+
+  @Test public void testDispose()
+  {
+    index.dispose();
+    addOWLAxioms(ontology, ClassAssertion(MALE, P1));
+
+    assertFalse(index.isValid());
+    assertEquals(1, index.getClassAssertionAxioms(Collections.singletonMap(0, MALE)).size()); // No longer listening
+  }
+}
@@ -0,0 +1,94 @@
+package org.swrlapi.builtins.swrlb;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @see MathOperation
+ */
+public class MathOperationTest
+{
+  private static final double DELTA = 1e-6;
+
+  @Test public void testLongOperations()
+  {
+    assertEquals(5L, MathOperation.ADD.apply(2L, 3L));
+    assertEquals(-1L, MathOperation.SUBTRACT.apply(2L, 3L));
+    assertEquals(6L, MathOperation.MULTIPLY.apply(2L, 3L));
+    assertEquals(4L, MathOperation.DIVIDE.apply(12L, 3L));
+    assertEquals(3L, MathOperation.INTEGER_DIVIDE.apply(7L, 2L));
+    assertEquals(-3L, MathOperation.INTEGER_DIVIDE.apply(-7L, 2L));
+    assertEquals(1L, MathOperation.MOD.apply(7L, 3L));
+    assertEquals(-1L, MathOperation.MOD.apply(-7L, 3L));
+    assertEquals(1024L, MathOperation.POW.apply(2L, 10L));
+    assertEquals(1L, MathOperation.POW.apply(7L, 0L));
+    assertEquals(-5L, MathOperation.UNARY_MINUS.apply(5L));
+    assertEquals(5L, MathOperation.ABS.apply(-5L));
+    assertEquals(5L, MathOperation.CEILING.apply(5L));
+  }
+
+  @Test(expected = ArithmeticException.class) public void testLongAddOverflow()
+  {
+    MathOperation.ADD.apply(Long.MAX_VALUE, 1L);
+  }
+
+  @Test(expected = ArithmeticException.class) public void testLongMultiplyOverflow()
+  {
+    MathOperation.MULTIPLY.apply(Long.MAX_VALUE / 2, 3L);
+  }
+
+  @Test(expected = ArithmeticException.class) public void testLongPowOverflow()
+  {
+    MathOperation.POW.apply(3L, 50L);
+  }
+
+  @Test(expected = ArithmeticException.class) public void testLongNegativeExponent()
+  {
+    MathOperation.POW.apply(2L, -1L);
+  }
+
+  @Test(expected = ArithmeticException.class) public void testInexactLongDivision()
+  {
+    MathOperation.DIVIDE.apply(7L, 2L);
+  }
+
+  @Test(expected = ArithmeticException.class) public void testLongAbsOverflow()
+  {
+    MathOperation.ABS.apply(Long.MIN_VALUE);
+  }
+
+  @Test public void testDecimalOperations()
+  {
+    assertDecimalEquals("0.3", MathOperation.ADD.apply(new BigDecimal("0.1"), new BigDecimal("0.2")));
+    assertDecimalEquals("3.5", MathOperation.DIVIDE.apply(BigDecimal.valueOf(7), BigDecimal.valueOf(2)));
+    assertDecimalEquals("3", MathOperation.INTEGER_DIVIDE.apply(new BigDecimal("7.5"), new BigDecimal("2")));
+    assertDecimalEquals("1.5", MathOperation.MOD.apply(new BigDecimal("7.5"), new BigDecimal("2")));
+    assertDecimalEquals("717897987691852588770249",
+      MathOperation.POW.apply(BigDecimal.valueOf(3), BigDecimal.valueOf(50)));
+    assertDecimalEquals("0.25", MathOperation.POW.apply(BigDecimal.valueOf(2), BigDecimal.valueOf(-2)));
+    assertDecimalEquals("2", MathOperation.CEILING.apply(new BigDecimal("1.1")));
+    assertDecimalEquals("-2", MathOperation.FLOOR.apply(new BigDecimal("-1.1")));
+    assertDecimalEquals("2", MathOperation.ROUND_HALF_TO_EVEN.apply(new BigDecimal("2.5")));
+  }
+
+  @Test(expected = ArithmeticException.class) public void testDecimalExponentTooLarge()
+  {
+    MathOperation.POW.apply(BigDecimal.valueOf(2), BigDecimal.valueOf(100000));
+  }
+
+  @Test public void testDoubleOperations()
+  {
+    assertEquals(3.0, MathOperation.INTEGER_DIVIDE.apply(7.5, 2.0), DELTA);
+    assertEquals(-3.0, MathOperation.INTEGER_DIVIDE.apply(-7.5, 2.0), DELTA);
+    assertEquals(2.0, MathOperation.ROUND.apply(2.5), DELTA);
+    assertEquals(1.0, MathOperation.COS.apply(0.0), DELTA);
+  }
+
+  private static void assertDecimalEquals(String expected, BigDecimal actual)
+  {
+    assertEquals(expected + " != " + actual, 0, new BigDecimal(expected).compareTo(actual));
+  }
+}
@@ -0,0 +1,111 @@
+package org.swrlapi.builtins.swrlb;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see RegexPatternCache
+ */
+public class RegexPatternCacheTest
+{
+  @Test public void testPatternIsReused()
+  {
+    RegexPatternCache cache = new RegexPatternCache();
+
+    Pattern p1 = cache.getPattern("a+b");
+    Pattern p2 = cache.getPattern("a+b");
+
+    assertSame(p1, p2);
+    assertEquals(1, cache.getMisses());
+    assertEquals(1, cache.getHits());
+    assertTrue(p1.matcher("aab").matches());
+  }
+
+  @Test public void testFlagsArePartOfKey()
+  {
+    RegexPatternCache cache = new RegexPatternCache();
+
+    Pattern p1 = cache.getPattern("ab");
+    Pattern p2 = cache.getPattern("ab", Pattern.CASE_INSENSITIVE);
+
+    assertNotSame(p1, p2);
+    assertEquals(2, cache.size());
+    assertTrue(p2.matcher("AB").matches());
+  }
+
+  @Test public void testLeastRecentlyUsedPatternIsDiscarded()
+  {
+    RegexPatternCache cache = new RegexPatternCache(2);
+
+    Pattern a = cache.getPattern("a");
+    cache.getPattern("b");
+    cache.getPattern("a"); // Most recently used
+    cache.getPattern("c"); // Discards b
+
+    assertEquals(2, cache.size());
+    assertSame(a, cache.getPattern("a"));
+    cache.getPattern("b");
+    assertEquals(4, cache.getMisses());
+    assertEquals(2, cache.getHits());
+  }
+
+  @Test(expected = PatternSyntaxException.class) public void testInvalidExpression()
+  {
+    new RegexPatternCache().getPattern("a(");
+  }
+
+  @Test public void testClear()
+  {
+    RegexPatternCache cache = new RegexPatternCache();
+
+    cache.getPattern("a");
+    cache.getPattern("a");
+    cache.clear();
+
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getHits());
+    assertEquals(0, cache.getMisses());
+  }
+
+  @Test public void testConcurrentAccess() throws Exception
+  {
+    final int numberOfThreads = 8;
+    final int lookupsPerThread = 10000;
+    RegexPatternCache cache = new RegexPatternCache(4);
+    ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+    List<Future<Boolean>> futures = new ArrayList<>();
+
+    try {
+      for (int t = 0; t < numberOfThreads; t++) {
+        futures.add(executor.submit(() -> {
+          boolean allMatched = true;
+          for (int i = 0; i < lookupsPerThread; i++) {
+            int n = i % 6;
+            allMatched &= cache.getPattern("x{" + n + "}").matcher(new String(new char[n]).replace('\0', 'x'))
+              .matches();
+          }
+          return allMatched;
+        }));
+      }
+      for (Future<Boolean> future : futures)
+        assertTrue(future.get());
+    } finally {
+      executor.shutdown();
+    }
+
+    assertTrue(cache.size() <= 4);
+    assertEquals((long)numberOfThreads * lookupsPerThread, cache.getHits() + cache.getMisses());
+  }
+}
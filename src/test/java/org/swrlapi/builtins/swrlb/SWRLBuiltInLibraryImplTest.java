@@ -0,0 +1,167 @@
+package org.swrlapi.builtins.swrlb;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.factory.SWRLAPIFactory;
+import org.swrlapi.rete.ReteSWRLRuleEngine;
+import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.values.SQWRLLiteralResultValue;
+import org.swrlapi.test.IntegrationTestBase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see org.swrlapi.builtins.swrlb.SWRLBuiltInLibraryImpl
+ */
+public class SWRLBuiltInLibraryImplTest extends IntegrationTestBase
+{
+  private SQWRLQueryEngine queryEngine;
+  private int queryNumber = 0;
+
+  @Before public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    queryEngine = SWRLAPIFactory.createSQWRLQueryEngine(ReteSWRLRuleEngine.RULE_ENGINE_NAME, ontology);
+  }
+
+  @Test public void testAddInts() throws Exception
+  {
+    SQWRLLiteralResultValue result = runMathQuery("swrlb:add(?r, \"2\"^^xsd:int, \"3\"^^xsd:int)");
+
+    assertEquals("xsd:int", result.getDatatypePrefixedName());
+    assertEquals(5, result.getInt());
+  }
+
+  @Test public void testAddBytesWidensOnOverflow() throws Exception
+  {
+    SQWRLLiteralResultValue result = runMathQuery("swrlb:add(?r, \"100\"^^xsd:byte, \"100\"^^xsd:byte)");
+
+    assertEquals("xsd:short", result.getDatatypePrefixedName());
+    assertEquals(200, result.getShort());
+  }
+
+  @Test public void testAddLongsIsExact() throws Exception
+  {
+    SQWRLLiteralResultValue result = runMathQuery(
+      "swrlb:add(?r, \"9007199254740993\"^^xsd:long, \"1\"^^xsd:long)");
+
+    assertEquals("xsd:long", result.getDatatypePrefixedName());
+    assertEquals(9007199254740994L, result.getLong());
+  }
+
+  @Test public void testAddLongsOverflowsToInteger() throws Exception
+  {
+    SQWRLLiteralResultValue result = runMathQuery(
+      "swrlb:add(?r, \"9223372036854775807\"^^xsd:long, \"1\"^^xsd:long)");
+
+    assertEquals("xsd:integer", result.getDatatypePrefixedName());
+    assertEquals("9223372036854775808", result.getValue());
+  }
+
+  @Test public void testMultiplyLongsOverflowsToInteger() throws Exception
+  {
+    SQWRLLiteralResultValue result = runMathQuery(
+      "swrlb:multiply(?r, \"4294967296\"^^xsd:long, \"4294967296\"^^xsd:long, \"2\"^^xsd:int)");
+
+    assertEquals("xsd:integer", result.getDatatypePrefixedName());
+    assertEquals("36893488147419103232", result.getValue());
+  }
+
+  @Test public void testAddDecimals() throws Exception
+  {
+    SQWRLLiteralResultValue result = runMathQuery("swrlb:add(?r, \"0.1\"^^xsd:decimal, \"0.2\"^^xsd:decimal)");
+
+    assertEquals("xsd:decimal", result.getDatatypePrefixedName());
+    assertEquals("0.3", result.getValue());
+  }
+
+  @Test public void testModInts() throws Exception
+  {
+    SQWRLLiteralResultValue result = runMathQuery("swrlb:mod(?r, \"-7\"^^xsd:int, \"3\"^^xsd:int)");
+
+    assertEquals("xsd:int", result.getDatatypePrefixedName());
+    assertEquals(-1, result.getInt());
+  }
+
+  @Test public void testPowInts() throws Exception
+  {
+    SQWRLLiteralResultValue result = runMathQuery("swrlb:pow(?r, \"2\"^^xsd:int, \"10\"^^xsd:int)");
+
+    assertEquals("xsd:int", result.getDatatypePrefixedName());
+    assertEquals(1024, result.getInt());
+  }
+
+  @Test public void testPowLongsOverflowsToInteger() throws Exception
+  {
+    SQWRLLiteralResultValue result = runMathQuery("swrlb:pow(?r, \"3\"^^xsd:long, \"50\"^^xsd:long)");
+
+    assertEquals("xsd:integer", result.getDatatypePrefixedName());
+    assertEquals("717897987691852588770249", result.getValue());
+  }
+
+  @Test public void testDivideIntsTruncates() throws Exception
+  {
+    SQWRLLiteralResultValue result = runMathQuery("swrlb:divide(?r, \"7\"^^xsd:int, \"2\"^^xsd:int)");
+
+    assertEquals("xsd:int", result.getDatatypePrefixedName());
+    assertEquals(3, result.getInt());
+  }
+
+  @Test public void testIntegerDivide() throws Exception
+  {
+    SQWRLLiteralResultValue result = runMathQuery("swrlb:integerDivide(?r, \"-7\"^^xsd:int, \"2\"^^xsd:int)");
+
+    assertEquals(-3, result.getInt());
+  }
+
+  @Test public void testAddWithDouble() throws Exception
+  {
+    SQWRLLiteralResultValue result = runMathQuery("swrlb:add(?r, \"1.5\"^^xsd:double, \"2\"^^xsd:int)");
+
+    assertEquals("xsd:double", result.getDatatypePrefixedName());
+    assertEquals(3.5, result.getDouble(), DELTA);
+  }
+
+  @Test public void testBoundResult() throws Exception
+  {
+    assertTrue(isMathQuerySatisfied("swrlb:add(\"5\"^^xsd:int, \"2\"^^xsd:int, \"3\"^^xsd:int)"));
+    assertFalse(isMathQuerySatisfied("swrlb:add(\"6\"^^xsd:int, \"2\"^^xsd:int, \"3\"^^xsd:int)"));
+    assertTrue(isMathQuerySatisfied("swrlb:add(\"5.0\"^^xsd:double, \"2\"^^xsd:int, \"3\"^^xsd:int)"));
+    assertTrue(isMathQuerySatisfied("swrlb:divide(\"3.5\"^^xsd:decimal, \"7\"^^xsd:int, \"2\"^^xsd:int)"));
+    assertTrue(isMathQuerySatisfied(
+      "swrlb:add(\"9223372036854775808\"^^xsd:integer, \"9223372036854775807\"^^xsd:long, \"1\"^^xsd:long)"));
+  }
+
+  @Test public void testCompareNumbers() throws Exception
+  {
+    assertTrue(isMathQuerySatisfied("swrlb:greaterThan(\"3\"^^xsd:long, \"2\"^^xsd:int)"));
+    assertFalse(isMathQuerySatisfied("swrlb:lessThan(\"3\"^^xsd:long, \"2.5\"^^xsd:double)"));
+    assertTrue(isMathQuerySatisfied("swrlb:equal(\"1\"^^xsd:int, \"1.0\"^^xsd:decimal)"));
+    assertTrue(isMathQuerySatisfied(
+      "swrlb:lessThan(\"9223372036854775807\"^^xsd:long, \"9223372036854775808\"^^xsd:integer)"));
+  }
+
+  private SQWRLLiteralResultValue runMathQuery(String builtIn) throws Exception
+  {
+    SQWRLResult result = queryEngine.runSQWRLQuery("q" + ++queryNumber, builtIn + " -> sqwrl:select(?r)");
+
+    assertTrue(result.next());
+    SQWRLLiteralResultValue value = result.getLiteral("r");
+    assertFalse(result.next());
+
+    return value;
+  }
+
+  private boolean isMathQuerySatisfied(String builtIn) throws Exception
+  {
+    SQWRLResult result = queryEngine.runSQWRLQuery("q" + ++queryNumber, builtIn + " -> sqwrl:select(\"yes\")");
+
+    return result.next();
+  }
+}
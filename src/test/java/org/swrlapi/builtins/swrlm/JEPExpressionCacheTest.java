@@ -0,0 +1,93 @@
+package org.swrlapi.builtins.swrlm;
+
+import org.junit.Test;
+import org.swrlapi.exceptions.SWRLBuiltInException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @see JEPExpressionCache
+ */
+public class JEPExpressionCacheTest
+{
+  private static final double DELTA = 1e-6;
+
+  @Test public void testEvaluateConstantExpression() throws Exception
+  {
+    JEPExpressionCache cache = new JEPExpressionCache();
+
+    assertEquals(7.0, cache.evaluate("1 + 2 * 3", Collections.emptyMap()), DELTA);
+  }
+
+  @Test public void testVariablesReboundOnEachEvaluation() throws Exception
+  {
+    JEPExpressionCache cache = new JEPExpressionCache();
+    Map<String, Double> variableValues = new HashMap<>();
+
+    variableValues.put("x", 2.0);
+    variableValues.put("y", 3.0);
+    assertEquals(8.0, cache.evaluate("x ^ y", variableValues), DELTA);
+
+    variableValues.put("x", 3.0);
+    variableValues.put("y", 2.0);
+    assertEquals(9.0, cache.evaluate("x ^ y", variableValues), DELTA);
+
+    assertEquals(1, cache.getMisses());
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.size());
+  }
+
+  @Test public void testStandardFunctionsAndImplicitMultiplication() throws Exception
+  {
+    JEPExpressionCache cache = new JEPExpressionCache();
+
+    assertEquals(6.0, cache.evaluate("2 sqrt(x)", Collections.singletonMap("x", 9.0)), DELTA);
+  }
+
+  @Test public void testComplexValueIsNaN() throws Exception
+  {
+    JEPExpressionCache cache = new JEPExpressionCache();
+
+    assertTrue(Double.isNaN(cache.evaluate("sqrt(-1)", Collections.emptyMap())));
+  }
+
+  @Test public void testCacheIsBounded() throws Exception
+  {
+    JEPExpressionCache cache = new JEPExpressionCache(2);
+
+    cache.evaluate("1 + 1", Collections.emptyMap());
+    cache.evaluate("2 + 2", Collections.emptyMap());
+    cache.evaluate("1 + 1", Collections.emptyMap()); // Most recently used
+    cache.evaluate("3 + 3", Collections.emptyMap()); // Evicts 2 + 2
+    cache.evaluate("1 + 1", Collections.emptyMap());
+    cache.evaluate("2 + 2", Collections.emptyMap());
+
+    assertEquals(2, cache.size());
+    assertEquals(2, cache.getHits());
+    assertEquals(4, cache.getMisses());
+  }
+
+  @Test(expected = SWRLBuiltInException.class) public void testInvalidExpression() throws Exception
+  {
+    JEPExpressionCache cache = new JEPExpressionCache();
+
+    cache.evaluate("1 +", Collections.emptyMap());
+  }
+
+  @Test(expected = SWRLBuiltInException.class) public void testUndefinedVariable() throws Exception
+  {
+    JEPExpressionCache cache = new JEPExpressionCache();
+
+    cache.evaluate("z + 1", Collections.emptyMap());
+  }
+
+  @Test(expected = IllegalArgumentException.class) public void testInvalidMaximumSize()
+  {
+    new JEPExpressionCache(0);
+  }
+}
@@ -0,0 +1,98 @@
+package org.swrlapi.builtins.temporal;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @see PeriodIntervalTree
+ */
+public class PeriodIntervalTreeTest
+{
+  private static final int NUMBER_OF_PERIODS = 500;
+  private static final int NUMBER_OF_QUERIES = 200;
+  private static final int MAX_GRANULE_COUNT = 1000;
+  private static final int MAX_PERIOD_LENGTH = 50;
+
+  private final long[] starts = new long[NUMBER_OF_PERIODS];
+  private final long[] finishes = new long[NUMBER_OF_PERIODS];
+  private final List<Integer> periods = new ArrayList<>();
+  private final PeriodIntervalTree<Integer> tree;
+
+  public PeriodIntervalTreeTest()
+  {
+    Random random = new Random(1);
+
+    for (int i = 0; i < NUMBER_OF_PERIODS; i++) {
+      this.starts[i] = random.nextInt(MAX_GRANULE_COUNT);
+      this.finishes[i] = this.starts[i] + random.nextInt(MAX_PERIOD_LENGTH);
+      this.periods.add(i);
+    }
+    this.tree = new PeriodIntervalTree<>(this.periods, this.starts, this.finishes);
+  }
+
+  @Test public void testFindOverlaps()
+  {
+    checkQueries((s, f) -> this.tree.find(Long.MIN_VALUE, s, s, Period::overlaps, s, f), Period::overlaps);
+  }
+
+  @Test public void testFindDuring()
+  {
+    checkQueries((s, f) -> this.tree.find(s, f, s, Period::during, s, f), Period::during);
+  }
+
+  @Test public void testFindContains()
+  {
+    checkQueries((s, f) -> this.tree.find(Long.MIN_VALUE, s, f, Period::contains, s, f), Period::contains);
+  }
+
+  @Test public void testFindIntersects()
+  {
+    checkQueries((s, f) -> this.tree.find(Long.MIN_VALUE, f, s, Period::intersects, s, f), Period::intersects);
+  }
+
+  @Test public void testEmptyTree()
+  {
+    PeriodIntervalTree<Integer> emptyTree = new PeriodIntervalTree<>(Collections.emptyList(), new long[0],
+      new long[0]);
+
+    Assert.assertEquals(0, emptyTree.size());
+    Assert.assertTrue(
+      emptyTree.find(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Period::intersects, 0, 0).isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class) public void testMismatchedGranuleCounts()
+  {
+    new PeriodIntervalTree<>(Collections.singletonList(1), new long[0], new long[0]);
+  }
+
+  private interface Query
+  {
+    List<Integer> find(long start, long finish);
+  }
+
+  private void checkQueries(Query query, PeriodIntervalTree.PeriodRelation relation)
+  {
+    Random random = new Random(2);
+
+    for (int q = 0; q < NUMBER_OF_QUERIES; q++) {
+      long start = random.nextInt(MAX_GRANULE_COUNT);
+      long finish = start + random.nextInt(2 * MAX_PERIOD_LENGTH);
+      List<Integer> expected = new ArrayList<>();
+
+      for (int i = 0; i < NUMBER_OF_PERIODS; i++)
+        if (relation.test(this.starts[i], this.finishes[i], start, finish))
+          expected.add(i);
+
+      List<Integer> actual = query.find(start, finish);
+
+      Assert.assertEquals(expected.size(), actual.size());
+      Assert.assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+    }
+  }
+}
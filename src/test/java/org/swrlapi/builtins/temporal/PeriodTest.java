@@ -0,0 +1,86 @@
+package org.swrlapi.builtins.temporal;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @see Period
+ * @see Temporal
+ */
+public class PeriodTest
+{
+  private final Temporal temporal = new Temporal(new XSDDateTimeStringProcessor());
+
+  private static final String[] DATETIMES = { "1999-01-01", "1999-01-02", "1999-01-03T10:00", "1999-01-03T10:00:00.001",
+    "1999-01-04", "2000-02-29T23:59:59.999" };
+
+  @Test public void testCachedGranuleCountsMatchParsedGranuleCounts() throws Exception
+  {
+    for (String datetime : DATETIMES) {
+      for (int granularity = Temporal.YEARS; granularity <= Temporal.FINEST; granularity++) {
+        for (boolean roundUp : new boolean[] { false, true }) {
+          String normalizedDatetime = temporal.expressDatetimeStringAtGranularity(
+            temporal.normalizeDatetimeString(datetime, granularity, roundUp), granularity);
+          long expected = temporal.datetimeString2GranuleCount(normalizedDatetime, granularity);
+
+          Assert.assertEquals(expected, temporal.datetimeString2GranuleCount(datetime, granularity, roundUp));
+          Assert.assertEquals(expected, temporal.datetimeString2GranuleCount(datetime, granularity, roundUp));
+        }
+      }
+    }
+  }
+
+  @Test public void testNowIsReevaluatedWhenNowChanges() throws Exception
+  {
+    temporal.setNow("2000-01-01T00:00:00.000");
+    long now1 = temporal.datetimeString2GranuleCount("now", Temporal.DAYS, false);
+
+    temporal.setNow("2000-01-02T00:00:00.000");
+    long now2 = temporal.datetimeString2GranuleCount("now", Temporal.DAYS, false);
+
+    Assert.assertEquals(1, now2 - now1);
+  }
+
+  @Test(expected = TemporalException.class) public void testInvalidDatetime() throws Exception
+  {
+    temporal.datetimeString2GranuleCount("1999-13-01", Temporal.DAYS, false);
+  }
+
+  @Test public void testGranuleCountPredicatesMatchPeriodPredicates() throws Exception
+  {
+    for (int s1 = 0; s1 < DATETIMES.length; s1++)
+      for (int f1 = s1; f1 < DATETIMES.length; f1++)
+        for (int s2 = 0; s2 < DATETIMES.length; s2++)
+          for (int f2 = s2; f2 < DATETIMES.length; f2++)
+            for (int granularity : new int[] { Temporal.DAYS, Temporal.FINEST })
+              checkPredicates(new Period(temporal, DATETIMES[s1], DATETIMES[f1], granularity),
+                new Period(temporal, DATETIMES[s2], DATETIMES[f2], granularity), granularity);
+  }
+
+  @Test(expected = TemporalException.class) public void testOrderCheck() throws Exception
+  {
+    Period.orderCheck(temporal, 2, 1, Temporal.DAYS);
+  }
+
+  private void checkPredicates(Period p1, Period p2, int g) throws TemporalException
+  {
+    long s1 = p1.getStartGranuleCount(g), f1 = p1.getFinishGranuleCount(g);
+    long s2 = p2.getStartGranuleCount(g), f2 = p2.getFinishGranuleCount(g);
+    String message = p1 + " " + p2;
+
+    Assert.assertEquals(message, p1.equals(p2, g), Period.equals(s1, f1, s2, f2));
+    Assert.assertEquals(message, p1.before(p2, g), Period.before(s1, f1, s2, f2));
+    Assert.assertEquals(message, p1.after(p2, g), Period.after(s1, f1, s2, f2));
+    Assert.assertEquals(message, p1.meets(p2, g), Period.meets(s1, f1, s2, f2));
+    Assert.assertEquals(message, p1.met_by(p2, g), Period.met_by(s1, f1, s2, f2));
+    Assert.assertEquals(message, p1.overlaps(p2, g), Period.overlaps(s1, f1, s2, f2));
+    Assert.assertEquals(message, p1.overlapped_by(p2, g), Period.overlapped_by(s1, f1, s2, f2));
+    Assert.assertEquals(message, p1.contains(p2, g), Period.contains(s1, f1, s2, f2));
+    Assert.assertEquals(message, p1.during(p2, g), Period.during(s1, f1, s2, f2));
+    Assert.assertEquals(message, p1.starts(p2, g), Period.starts(s1, f1, s2, f2));
+    Assert.assertEquals(message, p1.started_by(p2, g), Period.started_by(s1, f1, s2, f2));
+    Assert.assertEquals(message, p1.finishes(p2, g), Period.finishes(s1, f1, s2, f2));
+    Assert.assertEquals(message, p1.finished_by(p2, g), Period.finished_by(s1, f1, s2, f2));
+    Assert.assertEquals(message, p1.intersects(p2, g), Period.intersects(s1, f1, s2, f2));
+  }
+}
@@ -0,0 +1,142 @@
+package org.swrlapi.builtins.temporal;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.factory.SWRLAPIFactory;
+import org.swrlapi.rete.ReteSWRLRuleEngine;
+import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+
+/**
+ * The find built-ins are checked against the corresponding pairwise built-ins on the same ValidPeriod individuals.
+ *
+ * @see org.swrlapi.builtins.temporal.SWRLBuiltInLibraryImpl
+ */
+public class SWRLBuiltInLibraryImplTest extends IntegrationTestBase
+{
+  private static final String TEMPORAL_NAMESPACE = "http://swrl.stanford.edu/ontologies/built-ins/3.3/temporal.owl#";
+  private static final OWLClass VALID_PERIOD = Class(iri(TEMPORAL_NAMESPACE + "ValidPeriod"));
+  private static final OWLDataProperty HAS_START_TIME = DataProperty(iri(TEMPORAL_NAMESPACE + "hasStartTime"));
+  private static final OWLDataProperty HAS_FINISH_TIME = DataProperty(iri(TEMPORAL_NAMESPACE + "hasFinishTime"));
+
+  private static final int NUMBER_OF_PERIODS = 30;
+  private static final int MAX_START_DAY = 3000;
+  private static final int MAX_PERIOD_LENGTH = 400; // Days
+
+  private SQWRLQueryEngine queryEngine;
+  private int queryNumber = 0;
+
+  @Before public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+    LocalDateTime origin = LocalDateTime.of(2000, 1, 1, 0, 0);
+    Random random = new Random(1);
+
+    addOWLAxioms(ontology, Declaration(VALID_PERIOD), Declaration(HAS_START_TIME), Declaration(HAS_FINISH_TIME));
+    for (int i = 0; i < NUMBER_OF_PERIODS; i++) {
+      OWLNamedIndividual period = NamedIndividual(iri("period" + i));
+      LocalDateTime start = origin.plusDays(random.nextInt(MAX_START_DAY)).plusHours(random.nextInt(24));
+      LocalDateTime finish = start.plusDays(random.nextInt(MAX_PERIOD_LENGTH));
+      addOWLAxioms(ontology, Declaration(period), ClassAssertion(VALID_PERIOD, period),
+        DataPropertyAssertion(HAS_START_TIME, period, Literal(start.toString() + ":00")),
+        DataPropertyAssertion(HAS_FINISH_TIME, period, Literal(finish.toString() + ":00")));
+    }
+
+    queryEngine = SWRLAPIFactory.createSQWRLQueryEngine(ReteSWRLRuleEngine.RULE_ENGINE_NAME, ontology);
+  }
+
+  @Test public void testFindOverlaps() throws Exception
+  {
+    checkFindBuiltIn("findOverlaps", "overlaps", "");
+  }
+
+  @Test public void testFindDuring() throws Exception
+  {
+    checkFindBuiltIn("findDuring", "during", "");
+  }
+
+  @Test public void testFindContains() throws Exception
+  {
+    checkFindBuiltIn("findContains", "contains", "");
+  }
+
+  @Test public void testFindIntersects() throws Exception
+  {
+    checkFindBuiltIn("findIntersects", "intersects", "");
+  }
+
+  @Test public void testFindOverlapsWithGranularity() throws Exception
+  {
+    checkFindBuiltIn("findOverlaps", "overlaps", ", \"Years\"");
+  }
+
+  @Test public void testFindDuringWithGranularity() throws Exception
+  {
+    checkFindBuiltIn("findDuring", "during", ", \"Years\"");
+  }
+
+  @Test public void testFindContainsWithGranularity() throws Exception
+  {
+    checkFindBuiltIn("findContains", "contains", ", \"Years\"");
+  }
+
+  @Test public void testFindIntersectsWithGranularity() throws Exception
+  {
+    checkFindBuiltIn("findIntersects", "intersects", ", \"Months\"");
+  }
+
+  // Joins the periods with the find built-in, first with an unbound and then with a bound first argument
+  private void checkFindBuiltIn(String findBuiltInName, String builtInName, String granularityArgument)
+    throws Exception
+  {
+    Set<List<String>> expectedRows = getRows(
+      "temporal:ValidPeriod(?p) ^ temporal:ValidPeriod(?q) ^ temporal:" + builtInName + "(?p, ?q"
+        + granularityArgument + ") -> sqwrl:select(?p, ?q)");
+
+    assertFalse(expectedRows.isEmpty());
+    assertEquals(expectedRows, getRows(
+      "temporal:ValidPeriod(?q) ^ temporal:" + findBuiltInName + "(?p, ?q" + granularityArgument
+        + ") -> sqwrl:select(?p, ?q)"));
+    assertEquals(expectedRows, getRows(
+      "temporal:ValidPeriod(?p) ^ temporal:ValidPeriod(?q) ^ temporal:" + findBuiltInName + "(?p, ?q"
+        + granularityArgument + ") -> sqwrl:select(?p, ?q)"));
+  }
+
+  private Set<List<String>> getRows(String queryText) throws Exception
+  {
+    SQWRLResult result = queryEngine.runSQWRLQuery("q" + queryNumber++, queryText);
+    Set<List<String>> rows = new HashSet<>();
+
+    while (result.next()) {
+      List<String> row = new ArrayList<>();
+      for (SQWRLResultValue value : result.getRow())
+        row.add(value.toString());
+      rows.add(row);
+    }
+    return rows;
+  }
+}
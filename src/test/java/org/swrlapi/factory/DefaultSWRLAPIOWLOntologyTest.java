@@ -0,0 +1,231 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.SWRLRule;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyDomain;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+/**
+ * Checks that delta processing of ontology changes produces the same result as a full reprocess.
+ *
+ * @see DefaultSWRLAPIOWLOntology
+ */
+public class DefaultSWRLAPIOWLOntologyTest extends IntegrationTestBase
+{
+  private static final OWLClass PERSON = Class(iri("Person"));
+  private static final OWLClass MALE = Class(iri("Male"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri("p1"));
+  private static final OWLNamedIndividual P2 = NamedIndividual(iri("p2"));
+  private static final OWLObjectProperty HAS_UNCLE = ObjectProperty(iri("hasUncle"));
+  private static final OWLDataProperty HAS_AGE = DataProperty(iri("hasAge"));
+
+  private OWLOntology ontology;
+  private OWLOntologyManager ontologyManager;
+  private DefaultSWRLAPIOWLOntology swrlapiOWLOntology;
+
+  @Before public void setUp() throws Exception
+  {
+    ontologyManager = OWLManager.createOWLOntologyManager();
+    ontology = ontologyManager.createOntology();
+
+    addOWLAxioms(ontology, Declaration(PERSON), Declaration(MALE), Declaration(HAS_UNCLE), Declaration(HAS_AGE),
+      Declaration(P1));
+
+    swrlapiOWLOntology = new DefaultSWRLAPIOWLOntology(ontology, SWRLAPIFactory.createIRIResolver());
+    swrlapiOWLOntology.processOntology();
+    ontologyManager.addOntologyChangeListener(swrlapiOWLOntology);
+  }
+
+  @Test public void testAddClassAssertion() throws Exception
+  {
+    addOWLAxioms(ontology, ClassAssertion(PERSON, P2));
+
+    assertSameAsFullProcessing();
+    assertEquals(2, swrlapiOWLOntology.getNumberOfOWLIndividualDeclarationAxioms());
+  }
+
+  @Test public void testRemoveAxiomRetractsGeneratedDeclaration() throws Exception
+  {
+    addOWLAxioms(ontology, ObjectPropertyAssertion(HAS_UNCLE, P1, P2), DataPropertyAssertion(HAS_AGE, P2, Literal(3)));
+    assertEquals(2, swrlapiOWLOntology.getNumberOfOWLIndividualDeclarationAxioms());
+
+    ontologyManager.removeAxiom(ontology, ObjectPropertyAssertion(HAS_UNCLE, P1, P2));
+    assertSameAsFullProcessing();
+    assertEquals(2, swrlapiOWLOntology.getNumberOfOWLIndividualDeclarationAxioms()); // Still referenced
+
+    ontologyManager.removeAxiom(ontology, DataPropertyAssertion(HAS_AGE, P2, Literal(3)));
+    assertSameAsFullProcessing();
+    assertEquals(1, swrlapiOWLOntology.getNumberOfOWLIndividualDeclarationAxioms());
+  }
+
+  @Test public void testRemoveExplicitDeclarationOfReferencedEntity() throws Exception
+  {
+    addOWLAxioms(ontology, SubClassOf(MALE, PERSON), ObjectPropertyDomain(HAS_UNCLE, PERSON));
+
+    ontologyManager.removeAxiom(ontology, Declaration(PERSON));
+    assertSameAsFullProcessing();
+    assertEquals(2, swrlapiOWLOntology.getNumberOfOWLClassDeclarationAxioms());
+
+    ontologyManager.removeAxiom(ontology, SubClassOf(MALE, PERSON));
+    ontologyManager.removeAxiom(ontology, ObjectPropertyDomain(HAS_UNCLE, PERSON));
+    assertSameAsFullProcessing();
+    assertEquals(1, swrlapiOWLOntology.getNumberOfOWLClassDeclarationAxioms());
+  }
+
+  @Test public void testAddAndDeleteRulesAndQueries() throws Exception
+  {
+    swrlapiOWLOntology.createSWRLRule("r1", "Person(?p) ^ hasUncle(?p, ?u) -> Male(?u)");
+    swrlapiOWLOntology.createSQWRLQuery("q1", "Person(?p) -> sqwrl:select(?p)");
+    assertSameAsFullProcessing();
+    assertEquals(2, swrlapiOWLOntology.getNumberOfSWRLRules());
+    assertTrue(swrlapiOWLOntology.getSQWRLQueryNames().contains("q1"));
+
+    swrlapiOWLOntology.deleteSWRLRule("q1");
+    assertSameAsFullProcessing();
+    assertFalse(swrlapiOWLOntology.getSQWRLQueryNames().contains("q1"));
+
+    swrlapiOWLOntology.replaceSWRLRule("r1", "r2", "Male(?p) -> Person(?p)", "", true);
+    assertSameAsFullProcessing();
+    assertTrue(swrlapiOWLOntology.getSWRLRule("r2").isPresent());
+  }
+
+  @Test public void testSignatureChangeReconvertsBuiltInArguments() throws Exception
+  {
+    swrlapiOWLOntology.createSQWRLQuery("q1", "Person(?p) ^ sameAs(?p, p1) ^ swrlb:notEqual(?p, p1) -> sqwrl:select(?p)");
+
+    ontologyManager.removeAxiom(ontology, Declaration(P1));
+    assertSameAsFullProcessing();
+
+    addOWLAxioms(ontology, Declaration(P1));
+    assertSameAsFullProcessing();
+  }
+
+  @Test public void testNonAxiomChangeFallsBackToFullProcessing() throws Exception
+  {
+    swrlapiOWLOntology.startEventFreezeMode();
+    addOWLAxioms(ontology, ClassAssertion(PERSON, P2));
+    swrlapiOWLOntology.finishEventFreezeMode();
+
+    addOWLAxioms(ontology, SubClassOf(MALE, PERSON));
+    assertSameAsFullProcessing();
+  }
+
+  @Test public void testChangesInEventFreezeModeAreProcessedWhenItFinishes() throws Exception
+  {
+    swrlapiOWLOntology.startEventFreezeMode();
+    addOWLAxioms(ontology, ClassAssertion(PERSON, P2));
+    assertTrue(swrlapiOWLOntology.hasUnprocessedChanges());
+    assertFalse(swrlapiOWLOntology.hasAssertedOWLAxiom(ClassAssertion(PERSON, P2)));
+
+    swrlapiOWLOntology.finishEventFreezeMode();
+
+    assertFalse(swrlapiOWLOntology.hasUnprocessedChanges());
+    assertTrue(swrlapiOWLOntology.hasAssertedOWLAxiom(ClassAssertion(PERSON, P2)));
+    assertSameAsFullProcessing();
+  }
+
+  @Test public void testEntityIdsAreStableAcrossProcessing() throws Exception
+  {
+    int personId = swrlapiOWLOntology.getOWLObjectDictionary().findId(PERSON);
+
+    addOWLAxioms(ontology, ClassAssertion(PERSON, P2));
+    swrlapiOWLOntology.processOntology();
+
+    assertTrue(personId != OWLObjectDictionary.NO_ID);
+    assertEquals(personId, swrlapiOWLOntology.getOWLObjectDictionary().findId(PERSON));
+    assertTrue(swrlapiOWLOntology.getOWLObjectDictionary().findId(P2) != OWLObjectDictionary.NO_ID);
+    assertEquals(personId, swrlapiOWLOntology.getSWRLAPIOWLDataFactory().getSWRLBuiltInArgumentFactory()
+      .getClassBuiltInArgument(PERSON).getEntityId());
+  }
+
+  @Test public void testRecordedOWLAxiomChanges() throws Exception
+  {
+    swrlapiOWLOntology.startOWLAxiomChangeRecording();
+    addOWLAxioms(ontology, ClassAssertion(PERSON, P1), ClassAssertion(MALE, P1));
+    ontologyManager.removeAxiom(ontology, ClassAssertion(MALE, P1));
+
+    assertEquals(Collections.singleton(ClassAssertion(PERSON, P1)), swrlapiOWLOntology.getAddedOWLAxioms());
+    assertTrue(swrlapiOWLOntology.getRemovedOWLAxioms().isEmpty());
+
+    swrlapiOWLOntology.startOWLAxiomChangeRecording();
+    swrlapiOWLOntology.startEventFreezeMode();
+    ontologyManager.removeAxiom(ontology, ClassAssertion(PERSON, P1));
+    addOWLAxioms(ontology, ObjectPropertyAssertion(HAS_UNCLE, P1, P2));
+    swrlapiOWLOntology.finishEventFreezeMode();
+    swrlapiOWLOntology.processOntology();
+
+    assertEquals(new HashSet<>(Arrays.asList(ObjectPropertyAssertion(HAS_UNCLE, P1, P2), Declaration(P2))),
+      swrlapiOWLOntology.getAddedOWLAxioms());
+    assertEquals(Collections.singleton(ClassAssertion(PERSON, P1)), swrlapiOWLOntology.getRemovedOWLAxioms());
+  }
+
+  private void assertSameAsFullProcessing() throws Exception
+  {
+    SWRLAPIOWLOntology fullyProcessedOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+
+    assertEquals(getNonRuleAxioms(fullyProcessedOntology), getNonRuleAxioms(swrlapiOWLOntology));
+    assertEquals(getRulesByName(fullyProcessedOntology), getRulesByName(swrlapiOWLOntology));
+    assertEquals(fullyProcessedOntology.getNumberOfOWLAxioms(), swrlapiOWLOntology.getNumberOfOWLAxioms());
+    assertEquals(fullyProcessedOntology.getSQWRLQueryNames(), swrlapiOWLOntology.getSQWRLQueryNames());
+    assertEquals(fullyProcessedOntology.getNumberOfOWLClassDeclarationAxioms(),
+      swrlapiOWLOntology.getNumberOfOWLClassDeclarationAxioms());
+    assertEquals(fullyProcessedOntology.getNumberOfOWLIndividualDeclarationAxioms(),
+      swrlapiOWLOntology.getNumberOfOWLIndividualDeclarationAxioms());
+    assertEquals(fullyProcessedOntology.getNumberOfOWLObjectPropertyDeclarationAxioms(),
+      swrlapiOWLOntology.getNumberOfOWLObjectPropertyDeclarationAxioms());
+    assertEquals(fullyProcessedOntology.getNumberOfOWLDataPropertyDeclarationAxioms(),
+      swrlapiOWLOntology.getNumberOfOWLDataPropertyDeclarationAxioms());
+  }
+
+  private static Set<OWLAxiom> getNonRuleAxioms(SWRLAPIOWLOntology swrlapiOWLOntology)
+  {
+    return swrlapiOWLOntology.getOWLAxioms().stream().filter(axiom -> !(axiom instanceof SWRLRule))
+      .collect(Collectors.toSet());
+  }
+
+  // Rules are compared by their atom lists since built-in atoms are modified after the underlying OWLAPI rule is built
+  private static Map<String, List<Object>> getRulesByName(SWRLAPIOWLOntology swrlapiOWLOntology)
+  {
+    Map<String, List<Object>> rules = new HashMap<>();
+
+    for (SWRLAPIRule rule : swrlapiOWLOntology.getSWRLRules())
+      rules.put(rule.getRuleName(),
+        Arrays.asList(rule.getBodyAtoms(), rule.getHeadAtoms(), rule.isActive(), rule.getComment()));
+
+    return rules;
+  }
+}
@@ -0,0 +1,99 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.SWRLAtom;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+
+/**
+ * @see DefaultSWRLAPIRule
+ */
+public class DefaultSWRLAPIRuleTest extends IntegrationTestBase
+{
+  private static final OWLClass PERSON = Class(iri("Person"));
+  private static final OWLClass ADULT = Class(iri("Adult"));
+  private static final OWLObjectProperty KNOWS = ObjectProperty(iri("knows"));
+  private static final OWLDataProperty HAS_AGE = DataProperty(iri("hasAge"));
+  private static final OWLDataProperty HAS_NAME = DataProperty(iri("hasName"));
+
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+
+  @Before public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    addOWLAxioms(ontology, Declaration(PERSON), Declaration(ADULT), Declaration(KNOWS), Declaration(HAS_AGE),
+      Declaration(HAS_NAME));
+
+    swrlapiOWLOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+  }
+
+  @Test public void testFilteringBuiltInIsPlacedWhenItsVariablesAreBound() throws Exception
+  {
+    SWRLAPIRule rule = swrlapiOWLOntology.createSWRLRule("r1",
+      "Person(?x) ^ hasAge(?x, ?a) ^ knows(?x, ?y) ^ knows(?y, ?z) ^ swrlb:greaterThan(?a, 65) -> Adult(?z)");
+
+    assertEquals(Arrays.asList("Person", "hasAge", "swrlb:greaterThan", "knows", "knows"), getAtomNames(rule));
+  }
+
+  @Test public void testFilteringBuiltInWithoutVariablesIsPlacedFirst() throws Exception
+  {
+    SWRLAPIRule rule = swrlapiOWLOntology.createSWRLRule("r1",
+      "Person(?x) ^ knows(?x, ?y) ^ swrlb:lessThan(1, 2) -> Adult(?y)");
+
+    assertEquals(Arrays.asList("swrlb:lessThan", "Person", "knows"), getAtomNames(rule));
+  }
+
+  @Test public void testBindingBuiltInsFollowNonBuiltInAtoms() throws Exception
+  {
+    SWRLAPIRule rule = swrlapiOWLOntology.createSWRLRule("r1",
+      "Person(?x) ^ hasAge(?x, ?a) ^ swrlb:add(?b, ?a, 1) ^ swrlb:greaterThan(?b, 65) ^ knows(?x, ?y) "
+        + "^ swrlb:notEqual(?x, ?y) -> Adult(?y)");
+
+    assertEquals(
+      Arrays.asList("Person", "hasAge", "knows", "swrlb:notEqual", "swrlb:add", "swrlb:greaterThan"),
+      getAtomNames(rule));
+  }
+
+  @Test public void testSQWRLBuiltInsAreNotMoved() throws Exception
+  {
+    swrlapiOWLOntology.createSQWRLQuery("q1",
+      "Person(?x) ^ hasName(?x, ?n) ^ knows(?x, ?y) ^ sqwrl:makeSet(?s, ?y) ^ swrlb:stringEqualIgnoreCase(?n, \"a\")"
+        + " . sqwrl:size(?c, ?s) -> sqwrl:select(?x, ?c)");
+    SWRLAPIRule rule = swrlapiOWLOntology.getSWRLRule("q1").get();
+
+    assertEquals(Arrays.asList("Person", "hasName", "swrlb:stringEqualIgnoreCase", "knows", "sqwrl:makeSet",
+      "sqwrl:size"), getAtomNames(rule));
+  }
+
+  private static List<String> getAtomNames(SWRLAPIRule rule)
+  {
+    return rule.getBodyAtoms().stream().map(DefaultSWRLAPIRuleTest::getAtomName).collect(Collectors.toList());
+  }
+
+  private static String getAtomName(SWRLAtom atom)
+  {
+    if (atom instanceof SWRLAPIBuiltInAtom)
+      return ((SWRLAPIBuiltInAtom)atom).getBuiltInPrefixedName();
+    else
+      return DefaultSWRLRuleDependencyGraph.getPredicate(atom).get().toString().replaceAll("[<>]", "");
+  }
+}
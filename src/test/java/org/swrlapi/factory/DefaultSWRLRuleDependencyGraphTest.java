@@ -0,0 +1,136 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.core.SWRLRuleDependencyGraph;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+
+/**
+ * @see DefaultSWRLRuleDependencyGraph
+ */
+public class DefaultSWRLRuleDependencyGraphTest extends IntegrationTestBase
+{
+  private static final OWLClass MALE = Class(iri("Male"));
+  private static final OWLClass ADULT = Class(iri("Adult"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri("p1"));
+  private static final OWLNamedIndividual P2 = NamedIndividual(iri("p2"));
+  private static final OWLNamedIndividual P3 = NamedIndividual(iri("p3"));
+  private static final OWLObjectProperty HAS_PARENT = ObjectProperty(iri("hasParent"));
+  private static final OWLObjectProperty HAS_BROTHER = ObjectProperty(iri("hasBrother"));
+  private static final OWLObjectProperty HAS_ANCESTOR = ObjectProperty(iri("hasAncestor"));
+
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+
+  @Before public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    addOWLAxioms(ontology, Declaration(MALE), Declaration(ADULT), Declaration(P1), Declaration(P2), Declaration(P3),
+      Declaration(HAS_PARENT), Declaration(HAS_BROTHER), Declaration(HAS_ANCESTOR),
+      ObjectPropertyAssertion(HAS_PARENT, P1, P2), ObjectPropertyAssertion(HAS_BROTHER, P2, P3),
+      ClassAssertion(MALE, P3));
+
+    swrlapiOWLOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+    swrlapiOWLOntology.createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+    swrlapiOWLOntology.createSWRLRule("r2", "hasAncestor(?x, ?y) ^ hasAncestor(?y, ?z) -> hasAncestor(?x, ?z)");
+    swrlapiOWLOntology.createSWRLRule("r3", "hasBrother(?x, ?y) -> Male(?y)");
+  }
+
+  @Test public void testRelevantRulesAreReachableFromTargets() throws Exception
+  {
+    SWRLRuleDependencyGraph graph = swrlapiOWLOntology.getSWRLRuleDependencyGraph();
+
+    assertEquals(set("r1", "r2"), getRuleNames(graph.getRelevantSWRLRules(Collections.singleton(HAS_ANCESTOR))));
+    assertEquals(set("r3"), getRuleNames(graph.getRelevantSWRLRules(Collections.singleton(MALE))));
+    assertTrue(graph.getRelevantSWRLRules(Collections.singleton(ADULT)).isEmpty());
+    assertEquals(set(HAS_ANCESTOR, HAS_PARENT), graph.getRelevantPredicates(Collections.singleton(HAS_ANCESTOR)));
+  }
+
+  @Test public void testIrrelevantAssertionsAreSliced() throws Exception
+  {
+    Set<OWLAxiom> axioms = swrlapiOWLOntology.getSWRLRuleDependencyGraph()
+      .getRelevantOWLAxioms(swrlapiOWLOntology.getOWLAxioms(), Collections.singleton(HAS_ANCESTOR));
+
+    assertTrue(axioms.contains(swrlapiOWLOntology.getSWRLRule("r1").get()));
+    assertFalse(axioms.contains(swrlapiOWLOntology.getSWRLRule("r3").get()));
+    assertTrue(axioms.contains(ObjectPropertyAssertion(HAS_PARENT, P1, P2)));
+    assertFalse(axioms.contains(ObjectPropertyAssertion(HAS_BROTHER, P2, P3)));
+    assertFalse(axioms.contains(ClassAssertion(MALE, P3)));
+    assertTrue(axioms.contains(Declaration(HAS_BROTHER)));
+  }
+
+  @Test public void testGraphIsMaintainedIncrementally() throws Exception
+  {
+    SWRLRuleDependencyGraph graph = swrlapiOWLOntology.getSWRLRuleDependencyGraph();
+
+    swrlapiOWLOntology.createSWRLRule("r4", "Male(?x) ^ hasAncestor(?x, ?y) -> Adult(?x)");
+
+    assertEquals(set("r1", "r2", "r3", "r4"), getRuleNames(graph.getRelevantSWRLRules(Collections.singleton(ADULT))));
+
+    swrlapiOWLOntology.deleteSWRLRule("r3");
+
+    assertEquals(set("r1", "r2", "r4"), getRuleNames(graph.getRelevantSWRLRules(Collections.singleton(ADULT))));
+    assertTrue(graph.getDerivingSWRLRules(MALE).isEmpty());
+  }
+
+  @Test public void testInactiveRulesAreIgnored() throws Exception
+  {
+    swrlapiOWLOntology.getSWRLRule("r2").get().setActive(false);
+
+    assertEquals(set("r1"), getRuleNames(
+      swrlapiOWLOntology.getSWRLRuleDependencyGraph().getRelevantSWRLRules(Collections.singleton(HAS_ANCESTOR))));
+  }
+
+  @Test public void testQueryTargets() throws Exception
+  {
+    SWRLRuleDependencyGraph graph = swrlapiOWLOntology.getSWRLRuleDependencyGraph();
+
+    assertEquals(set(MALE, HAS_ANCESTOR), graph.getTargetPredicates(
+      swrlapiOWLOntology.createSQWRLQuery("q1", "Male(?m) ^ hasAncestor(?m, ?y) -> sqwrl:select(?m, ?y)")));
+    assertEquals(set("r1", "r2"), getRuleNames(graph.getDerivingSWRLRules(HAS_ANCESTOR)));
+  }
+
+  @Test public void testExplainListsRetainedAndPrunedRules() throws Exception
+  {
+    String explanation = swrlapiOWLOntology.getSWRLRuleDependencyGraph()
+      .explain(Collections.singleton(HAS_ANCESTOR));
+
+    assertTrue(explanation.contains("Retained 2 of 3 rules"));
+    assertTrue(explanation.contains("  r2: hasAncestor -> hasAncestor"));
+    assertTrue(explanation.contains("Pruned 1 rules\n  r3: hasBrother -> Male"));
+    assertTrue(explanation.contains("Relevant predicates: hasAncestor, hasParent"));
+  }
+
+  @SafeVarargs private static <T> Set<T> set(T... elements)
+  {
+    return Stream.of(elements).collect(Collectors.toSet());
+  }
+
+  private static Set<String> getRuleNames(Set<SWRLAPIRule> rules)
+  {
+    return rules.stream().map(SWRLAPIRule::getRuleName).collect(Collectors.toSet());
+  }
+}
@@ -0,0 +1,94 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Annotation;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectInverseOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.RDFSComment;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.SubClassOf;
+
+/**
+ * @see DictionaryEncodedOWLAxiomSet
+ */
+public class DictionaryEncodedOWLAxiomSetTest extends IntegrationTestBase
+{
+  private static final OWLClass PERSON = Class(iri("Person"));
+  private static final OWLClass MALE = Class(iri("Male"));
+  private static final OWLObjectProperty KNOWS = ObjectProperty(iri("knows"));
+  private static final OWLDataProperty HAS_AGE = DataProperty(iri("hasAge"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri("p1"));
+  private static final OWLNamedIndividual P2 = NamedIndividual(iri("p2"));
+
+  private OWLObjectDictionary dictionary;
+  private DictionaryEncodedOWLAxiomSet axioms;
+
+  @Before public void setUp()
+  {
+    dictionary = new OWLObjectDictionary();
+    axioms = new DictionaryEncodedOWLAxiomSet(OWLManager.getOWLDataFactory(), dictionary);
+  }
+
+  @Test public void testEncodedAndUnencodedAxioms()
+  {
+    Set<OWLAxiom> expectedAxioms = new HashSet<>();
+    Collections.addAll(expectedAxioms, ClassAssertion(PERSON, P1), ObjectPropertyAssertion(KNOWS, P1, P2),
+      DataPropertyAssertion(HAS_AGE, P1, Literal(42)), ObjectPropertyAssertion(ObjectInverseOf(KNOWS), P2, P1),
+      ClassAssertion(PERSON, P2, Collections.singleton(Annotation(RDFSComment(), Literal("inferred")))),
+      SubClassOf(MALE, PERSON));
+
+    for (OWLAxiom axiom : expectedAxioms)
+      assertTrue(axioms.add(axiom));
+    for (OWLAxiom axiom : expectedAxioms)
+      assertFalse(axioms.add(axiom));
+
+    assertEquals(expectedAxioms, axioms);
+    assertEquals(expectedAxioms, new HashSet<>(axioms));
+    assertFalse(axioms.contains(ClassAssertion(MALE, P1)));
+    assertFalse(axioms.contains(ClassAssertion(PERSON, NamedIndividual(iri("p3")))));
+    assertFalse(axioms.contains(ObjectPropertyAssertion(KNOWS, P2, P1)));
+  }
+
+  @Test public void testGrowthAndClear()
+  {
+    Set<OWLAxiom> expectedAxioms = new HashSet<>();
+
+    for (int i = 0; i < 1000; i++) {
+      OWLNamedIndividual individual = NamedIndividual(iri("p" + i));
+      expectedAxioms.add(ClassAssertion(i % 2 == 0 ? PERSON : MALE, individual));
+      expectedAxioms.add(ObjectPropertyAssertion(KNOWS, individual, P1));
+    }
+    axioms.addAll(expectedAxioms);
+
+    assertEquals(2000, axioms.size());
+    assertEquals(expectedAxioms, new HashSet<>(axioms));
+
+    axioms.clear();
+
+    assertTrue(axioms.isEmpty());
+    assertFalse(axioms.iterator().hasNext());
+    assertFalse(axioms.contains(ClassAssertion(PERSON, P1)));
+  }
+}
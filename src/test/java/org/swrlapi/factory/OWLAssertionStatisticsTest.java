@@ -0,0 +1,122 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObject;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.swrlapi.core.SWRLAPIBuiltInAtom;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectInverseOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+
+/**
+ * @see OWLAssertionStatistics
+ * @see DefaultSWRLAPIRule
+ */
+public class OWLAssertionStatisticsTest extends IntegrationTestBase
+{
+  private static final int NUMBER_OF_PERSONS = 50;
+
+  private static final OWLClass PERSON = Class(iri("Person"));
+  private static final OWLClass VIP = Class(iri("VIP"));
+  private static final OWLObjectProperty KNOWS = ObjectProperty(iri("knows"));
+  private static final OWLNamedIndividual V1 = NamedIndividual(iri("v1"));
+
+  private OWLOntology ontology;
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+
+  @Before public void setUp() throws Exception
+  {
+    ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    addOWLAxioms(ontology, Declaration(PERSON), Declaration(VIP), Declaration(KNOWS), ClassAssertion(VIP, V1));
+
+    for (int i = 0; i < NUMBER_OF_PERSONS; i++) {
+      OWLNamedIndividual p = NamedIndividual(iri("p" + i));
+      addOWLAxioms(ontology, ClassAssertion(PERSON, p), ObjectPropertyAssertion(KNOWS, p, V1));
+    }
+
+    swrlapiOWLOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+  }
+
+  @Test public void testAssertionCounts()
+  {
+    OWLAssertionStatistics statistics = new OWLAssertionStatistics();
+
+    statistics.build(ontology.getABoxAxioms(Imports.INCLUDED).stream());
+
+    assertEquals(NUMBER_OF_PERSONS, statistics.getAssertionCount(PERSON));
+    assertEquals(1, statistics.getAssertionCount(VIP));
+    assertEquals(NUMBER_OF_PERSONS, statistics.getAssertionCount(KNOWS));
+    assertEquals(NUMBER_OF_PERSONS + 1, statistics.getNumberOfIndividuals());
+
+    statistics.removeOWLAxiom(ClassAssertion(VIP, V1));
+    statistics.addOWLAxiom(ObjectPropertyAssertion(ObjectInverseOf(KNOWS), V1, V1));
+
+    assertEquals(0, statistics.getAssertionCount(VIP));
+    assertEquals(NUMBER_OF_PERSONS + 1, statistics.getAssertionCount(KNOWS));
+  }
+
+  @Test public void testBodyAtomsAreOrderedByTypeByDefault() throws Exception
+  {
+    SWRLAPIRule rule = createRule();
+
+    assertEquals(Optional.of(PERSON), getPredicate(rule, 0));
+    assertEquals(Optional.of(VIP), getPredicate(rule, 1));
+    assertEquals(Optional.of(KNOWS), getPredicate(rule, 2));
+  }
+
+  @Test public void testBodyAtomsAreOrderedByEstimatedCardinality() throws Exception
+  {
+    swrlapiOWLOntology.setCostBasedBodyAtomOrderingEnabled(true);
+    SWRLAPIRule rule = createRule();
+
+    assertEquals(Optional.of(VIP), getPredicate(rule, 0));
+    assertEquals(Optional.of(KNOWS), getPredicate(rule, 1));
+    assertEquals(Optional.of(PERSON), getPredicate(rule, 2));
+    assertTrue(rule.getBodyAtoms().get(3) instanceof SWRLAPIBuiltInAtom);
+  }
+
+  @Test public void testDisablingOrderingRestoresTypeOrder() throws Exception
+  {
+    swrlapiOWLOntology.setCostBasedBodyAtomOrderingEnabled(true);
+    createRule();
+
+    swrlapiOWLOntology.setCostBasedBodyAtomOrderingEnabled(false);
+    swrlapiOWLOntology.processOntology();
+    SWRLAPIRule rule = swrlapiOWLOntology.getSWRLRule("r1").get();
+
+    assertEquals(Optional.of(PERSON), getPredicate(rule, 0));
+    assertEquals(Optional.of(KNOWS), getPredicate(rule, 2));
+  }
+
+  private SWRLAPIRule createRule() throws Exception
+  {
+    swrlapiOWLOntology.processOntology();
+
+    return swrlapiOWLOntology.createSWRLRule("r1",
+      "Person(?x) ^ knows(?x, ?y) ^ VIP(?y) ^ swrlb:stringConcat(?s, \"a\", \"b\") -> VIP(?x)");
+  }
+
+  private static Optional<OWLObject> getPredicate(SWRLAPIRule rule, int position)
+  {
+    return DefaultSWRLRuleDependencyGraph.getPredicate(rule.getBodyAtoms().get(position));
+  }
+}
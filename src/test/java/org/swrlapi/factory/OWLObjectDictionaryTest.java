@@ -0,0 +1,76 @@
+package org.swrlapi.factory;
+
+import org.junit.Test;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+
+/**
+ * @see OWLObjectDictionary
+ */
+public class OWLObjectDictionaryTest extends IntegrationTestBase
+{
+  private static final int NUMBER_OF_THREADS = 4;
+  private static final int NUMBER_OF_INDIVIDUALS = 2000;
+
+  @Test public void testConcurrentlyAssignedIdsAreUnique() throws Exception
+  {
+    OWLObjectDictionary dictionary = new OWLObjectDictionary();
+    List<OWLNamedIndividual> individuals = new ArrayList<>();
+    for (int i = 0; i < NUMBER_OF_INDIVIDUALS; i++)
+      individuals.add(NamedIndividual(iri("i" + i)));
+
+    ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < NUMBER_OF_THREADS; t++)
+      futures.add(executor.submit(() -> individuals.forEach(dictionary::getId)));
+    for (Future<?> future : futures)
+      future.get();
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+
+    Set<Integer> ids = new HashSet<>();
+    for (OWLNamedIndividual individual : individuals) {
+      int id = dictionary.findId(individual);
+      ids.add(id);
+      assertEquals(individual, dictionary.getOWLObject(id));
+    }
+    assertEquals(NUMBER_OF_INDIVIDUALS, ids.size());
+    assertEquals(NUMBER_OF_INDIVIDUALS, dictionary.size());
+  }
+
+  @Test public void testLayeredDictionaryKeepsBaseIds()
+  {
+    OWLNamedIndividual declared = NamedIndividual(iri("declared"));
+    OWLNamedIndividual inferred = NamedIndividual(iri("inferred"));
+    OWLObjectDictionary baseDictionary = new OWLObjectDictionary();
+    OWLObjectDictionary dictionary = new OWLObjectDictionary(baseDictionary);
+    int declaredId = baseDictionary.getId(declared);
+
+    assertEquals(declaredId, dictionary.getId(declared));
+    int inferredId = dictionary.getId(inferred);
+    assertTrue(inferredId < OWLObjectDictionary.NO_ID);
+    assertEquals(inferred, dictionary.getOWLObject(inferredId));
+    assertEquals(declared, dictionary.getOWLObject(declaredId));
+    assertEquals(OWLObjectDictionary.NO_ID, baseDictionary.findId(inferred));
+    assertEquals(1, dictionary.size());
+
+    dictionary.clear();
+
+    assertEquals(OWLObjectDictionary.NO_ID, dictionary.findId(inferred));
+    assertEquals(declaredId, dictionary.findId(declared));
+    assertEquals(1, baseDictionary.size());
+  }
+}
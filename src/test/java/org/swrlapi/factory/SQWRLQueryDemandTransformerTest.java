@@ -0,0 +1,133 @@
+package org.swrlapi.factory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassAssertionAxiom;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.core.SWRLAPIOWLOntology;
+import org.swrlapi.core.SWRLAPIRule;
+import org.swrlapi.sqwrl.SQWRLQuery;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+
+/**
+ * @see SQWRLQueryDemandTransformer
+ */
+public class SQWRLQueryDemandTransformerTest extends IntegrationTestBase
+{
+  private static final OWLClass MALE = Class(iri("Male"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri("p1"));
+  private static final OWLNamedIndividual P2 = NamedIndividual(iri("p2"));
+  private static final OWLNamedIndividual P3 = NamedIndividual(iri("p3"));
+  private static final OWLObjectProperty HAS_PARENT = ObjectProperty(iri("hasParent"));
+  private static final OWLObjectProperty HAS_BROTHER = ObjectProperty(iri("hasBrother"));
+  private static final OWLObjectProperty HAS_ANCESTOR = ObjectProperty(iri("hasAncestor"));
+
+  private SWRLAPIOWLOntology swrlapiOWLOntology;
+
+  @Before public void setUp() throws Exception
+  {
+    OWLOntology ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    addOWLAxioms(ontology, Declaration(MALE), Declaration(P1), Declaration(P2), Declaration(P3),
+      Declaration(HAS_PARENT), Declaration(HAS_BROTHER), Declaration(HAS_ANCESTOR),
+      ObjectPropertyAssertion(HAS_PARENT, P1, P2), ObjectPropertyAssertion(HAS_BROTHER, P2, P3),
+      ClassAssertion(MALE, P3));
+
+    swrlapiOWLOntology = SWRLAPIInternalFactory.createSWRLAPIOntology(ontology);
+    swrlapiOWLOntology.createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+    swrlapiOWLOntology.createSWRLRule("r2", "hasAncestor(?x, ?y) ^ hasAncestor(?y, ?z) -> hasAncestor(?x, ?z)");
+    swrlapiOWLOntology.createSWRLRule("r3", "hasBrother(?x, ?y) -> Male(?y)");
+  }
+
+  @Test public void testIrrelevantRulesAndFactsAreNotExported() throws Exception
+  {
+    Set<OWLAxiom> axioms = transform("q1", "hasAncestor(p1, ?y) -> sqwrl:select(?y)");
+
+    assertTrue(getRule(axioms, "r1").isPresent());
+    assertTrue(getRule(axioms, "r2").isPresent());
+    assertFalse(getRule(axioms, "r3").isPresent());
+    assertTrue(axioms.contains(ObjectPropertyAssertion(HAS_PARENT, P1, P2)));
+    assertFalse(axioms.contains(ObjectPropertyAssertion(HAS_BROTHER, P2, P3)));
+    assertFalse(axioms.contains(ClassAssertion(MALE, P3)));
+    assertTrue(axioms.contains(Declaration(P3)));
+  }
+
+  @Test public void testRulesAreGuardedByQueryConstants() throws Exception
+  {
+    Set<OWLAxiom> axioms = transform("q1", "hasAncestor(p1, ?y) -> sqwrl:select(?y)");
+    List<OWLClassAssertionAxiom> demandAxioms = axioms.stream().filter(SQWRLQueryDemandTransformer::isDemandOWLAxiom)
+      .map(a -> (OWLClassAssertionAxiom)a).collect(Collectors.toList());
+
+    assertEquals(1, demandAxioms.size());
+    assertEquals(P1, demandAxioms.get(0).getIndividual());
+
+    OWLClass demandClass = demandAxioms.get(0).getClassExpression().asOWLClass();
+    assertEquals(demandClass, getRule(axioms, "r1").get().getBodyAtoms().get(0).getPredicate());
+    assertEquals(demandClass, getRule(axioms, "r2").get().getBodyAtoms().get(0).getPredicate());
+    assertEquals(demandClass, getRule(axioms, "r2-demand1").get().getHeadAtoms().get(0).getPredicate());
+    assertFalse(getRule(axioms, "r2-demand2").isPresent());
+  }
+
+  @Test public void testUnboundQueryIsNotGuarded() throws Exception
+  {
+    Set<OWLAxiom> axioms = transform("q1", "hasAncestor(?x, ?y) -> sqwrl:select(?x, ?y)");
+
+    assertEquals(swrlapiOWLOntology.getSWRLRule("r1"), getRule(axioms, "r1"));
+    assertEquals(swrlapiOWLOntology.getSWRLRule("r2"), getRule(axioms, "r2"));
+    assertTrue(axioms.stream().noneMatch(SQWRLQueryDemandTransformer::isDemandOWLAxiom));
+  }
+
+  @Test public void testQueryVariablesPropagateDemand() throws Exception
+  {
+    Set<OWLAxiom> axioms = transform("q1", "Male(?m) ^ hasAncestor(?m, ?y) -> sqwrl:select(?m, ?y)");
+
+    assertTrue(axioms.stream().noneMatch(SQWRLQueryDemandTransformer::isDemandOWLAxiom));
+    assertTrue(getRule(axioms, "q1-demand1").isPresent());
+    assertTrue(axioms.contains(ClassAssertion(MALE, P3)));
+  }
+
+  @Test public void testInjectingBuiltInsPreventTransformation() throws Exception
+  {
+    swrlapiOWLOntology.createSWRLRule("r4", "Male(?m) ^ swrlx:makeOWLIndividual(?i, ?m) -> hasBrother(?m, ?i)");
+
+    SQWRLQuery query = swrlapiOWLOntology.createSQWRLQuery("q1", "hasAncestor(p1, ?y) -> sqwrl:select(?y)");
+
+    assertFalse(SQWRLQueryDemandTransformer.transform(swrlapiOWLOntology, query).isPresent());
+  }
+
+  private Set<OWLAxiom> transform(String queryName, String queryText) throws Exception
+  {
+    SQWRLQuery query = swrlapiOWLOntology.createSQWRLQuery(queryName, queryText);
+    Optional<Set<OWLAxiom>> axioms = SQWRLQueryDemandTransformer.transform(swrlapiOWLOntology, query);
+
+    assertTrue(axioms.isPresent());
+
+    return axioms.get();
+  }
+
+  private static Optional<SWRLAPIRule> getRule(Set<OWLAxiom> axioms, String ruleName)
+  {
+    return axioms.stream().filter(a -> a instanceof SWRLAPIRule).map(a -> (SWRLAPIRule)a)
+      .filter(r -> r.getRuleName().equals(ruleName)).findFirst();
+  }
+}
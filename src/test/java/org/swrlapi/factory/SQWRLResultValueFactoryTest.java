@@ -11,6 +11,7 @@ import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.swrlapi.builtins.arguments.SWRLClassBuiltInArgument;
 import org.swrlapi.core.IRIResolver;
 import org.swrlapi.sqwrl.values.SQWRLClassResultValue;
+import org.swrlapi.sqwrl.values.SQWRLLiteralResultValue;
 
 import static junit.framework.TestCase.assertEquals;
 
@@ -56,4 +57,13 @@ public class SQWRLResultValueFactoryTest
 
     assertEquals(classIRI, value.getIRI());
   }
+
+  @Test public void testEqualLiteralValuesHaveEqualHashCodes() throws Exception
+  {
+    SQWRLLiteralResultValue intValue = this.resultValueFactory.getLiteralValue(1);
+    SQWRLLiteralResultValue longValue = this.resultValueFactory.getLiteralValue(1L);
+
+    assertEquals(intValue, longValue);
+    assertEquals(intValue.hashCode(), longValue.hashCode());
+  }
 }
@@ -6,12 +6,18 @@ import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
 import org.swrlapi.builtins.arguments.SWRLClassBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLLiteralBuiltInArgument;
+import org.swrlapi.builtins.arguments.SWRLNamedIndividualBuiltInArgument;
 import org.swrlapi.core.IRIResolver;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @see SWRLBuiltInArgumentFactory
@@ -43,4 +49,37 @@ public class SWRLBuiltInArgumentFactoryTest
 
     assertEquals(classIRI, classBuiltInArgument.getIRI());
   }
+
+  @Test public void testNamedArgumentsCarryEntityIds() throws Exception
+  {
+    OWLObjectDictionary dictionary = new OWLObjectDictionary();
+    SWRLBuiltInArgumentFactory factory = SWRLAPIInternalFactory.createSWRLBuiltInArgumentFactory(iriResolver,
+      dictionary);
+    OWLNamedIndividual i1 = this.dataFactory.getOWLNamedIndividual(IRI.create(TestNamespace + "i1"));
+    OWLNamedIndividual i2 = this.dataFactory.getOWLNamedIndividual(IRI.create(TestNamespace + "i2"));
+    OWLNamedIndividual i3 = this.dataFactory.getOWLNamedIndividual(IRI.create(TestNamespace + "i3"));
+    dictionary.getId(i1);
+    dictionary.getId(i2);
+    SWRLNamedIndividualBuiltInArgument argument = factory.getNamedIndividualBuiltInArgument(i1);
+
+    assertEquals(dictionary.findId(i1), argument.getEntityId());
+    assertEquals(OWLObjectDictionary.NO_ID, factory.getNamedIndividualBuiltInArgument(i3).getEntityId());
+    assertEquals(OWLObjectDictionary.NO_ID, dictionary.findId(i3));
+    assertNotEquals(argument, factory.getNamedIndividualBuiltInArgument(i3));
+    assertEquals(argument, factory.getNamedIndividualBuiltInArgument(i1));
+    assertEquals(argument.hashCode(), factory.getNamedIndividualBuiltInArgument(i1).hashCode());
+    assertNotEquals(argument, factory.getNamedIndividualBuiltInArgument(i2));
+    assertEquals(argument, this.builtInArgumentFactory.getNamedIndividualBuiltInArgument(i1));
+    assertNotEquals(argument.getEntityId(), factory.getNamedIndividualBuiltInArgument(i2).getEntityId());
+  }
+
+  @Test public void testLiteralArgumentCachesTypedLiteral() throws Exception
+  {
+    SWRLLiteralBuiltInArgument argument = this.builtInArgumentFactory
+      .getLiteralBuiltInArgument(this.dataFactory.getOWLLiteral(1));
+
+    assertSame(argument.getTypedLiteral(), argument.getTypedLiteral());
+    assertEquals(0, argument.compareTo(this.builtInArgumentFactory.getLiteralBuiltInArgument(1L)));
+    assertTrue(argument.compareTo(this.builtInArgumentFactory.getLiteralBuiltInArgument(2.5)) < 0);
+  }
 }
@@ -2,7 +2,11 @@ package org.swrlapi.literal;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.vocab.XSDVocabulary;
+import org.swrlapi.exceptions.SWRLAPIException;
 import org.swrlapi.factory.OWLDatatypeFactory;
 import org.swrlapi.factory.OWLLiteralFactory;
 import org.swrlapi.factory.SWRLAPIInternalFactory;
@@ -11,6 +15,23 @@ public class OWLLiteralComparatorTest
 {
   private static final OWLLiteralFactory literalFactory = SWRLAPIInternalFactory.createOWLLiteralFactory();
   private static final OWLDatatypeFactory datatypeFactory = SWRLAPIInternalFactory.createOWLDatatypeFactory();
+  private static final OWLDataFactory dataFactory = OWLManager.getOWLDataFactory();
+
+  // A smaller and a larger value for each XSD type supported by the comparator
+  private static final Object[][] ORDERED_VALUES = { { XSDVocabulary.BYTE, "-3", "4" },
+    { XSDVocabulary.SHORT, "-300", "400" }, { XSDVocabulary.INT, "-70000", "70000" },
+    { XSDVocabulary.LONG, "-5000000000", "5000000000" }, { XSDVocabulary.FLOAT, "-1.5", "2.25" },
+    { XSDVocabulary.DOUBLE, "-1.5E10", "2.25" }, { XSDVocabulary.DECIMAL, "1.50", "1.51" },
+    { XSDVocabulary.INTEGER, "99999999999999999999", "100000000000000000000" },
+    { XSDVocabulary.POSITIVE_INTEGER, "1", "2" }, { XSDVocabulary.NEGATIVE_INTEGER, "-2", "-1" },
+    { XSDVocabulary.NON_NEGATIVE_INTEGER, "0", "10" }, { XSDVocabulary.NON_POSITIVE_INTEGER, "-10", "0" },
+    { XSDVocabulary.UNSIGNED_LONG, "9223372036854775807", "18446744073709551615" },
+    { XSDVocabulary.UNSIGNED_INT, "3", "4294967295" }, { XSDVocabulary.UNSIGNED_SHORT, "3", "65535" },
+    { XSDVocabulary.UNSIGNED_BYTE, "3", "255" }, { XSDVocabulary.BOOLEAN, "false", "true" },
+    { XSDVocabulary.ANY_URI, "http://a.org/x", "http://b.org/x" }, { XSDVocabulary.TIME, "10:00:00", "11:30:00" },
+    { XSDVocabulary.DATE, "1999-12-31", "2000-01-01" },
+    { XSDVocabulary.DATE_TIME, "1999-12-31T23:59:59", "2000-01-01T00:00:00" },
+    { XSDVocabulary.DURATION, "P1D", "P2D" }, { XSDVocabulary.STRING, "a2", "a10" } };
 
   @Test public void testXSDIntegerCompare() throws Exception
   {
@@ -78,4 +99,117 @@ public class OWLLiteralComparatorTest
     Assert.assertFalse(OWLLiteralComparator.isNumeric(l));
   }
 
-}
\ No newline at end of file
+  @Test public void testCompareAllTypes() throws Exception
+  {
+    for (Object[] values : ORDERED_VALUES) {
+      XSDVocabulary type = (XSDVocabulary)values[0];
+      OWLLiteral smaller = literal((String)values[1], type);
+      OWLLiteral larger = literal((String)values[2], type);
+
+      Assert.assertTrue(type.toString(), OWLLiteralComparator.COMPARATOR.compare(smaller, larger) < 0);
+      Assert.assertTrue(type.toString(), OWLLiteralComparator.COMPARATOR.compare(larger, smaller) > 0);
+      Assert.assertEquals(type.toString(), 0,
+        OWLLiteralComparator.COMPARATOR.compare(smaller, literal((String)values[1], type)));
+    }
+  }
+
+  @Test public void testTypedLiteralCompareAllTypes() throws Exception
+  {
+    for (Object[] values : ORDERED_VALUES) {
+      XSDVocabulary type = (XSDVocabulary)values[0];
+      TypedLiteral smaller = new TypedLiteral(literal((String)values[1], type));
+      TypedLiteral larger = new TypedLiteral(literal((String)values[2], type));
+
+      Assert.assertTrue(type.toString(), OWLLiteralComparator.compare(smaller, larger) < 0);
+      Assert.assertTrue(type.toString(), OWLLiteralComparator.compare(larger, smaller) > 0);
+      Assert.assertEquals(type.toString(), 0, OWLLiteralComparator.compare(smaller, smaller));
+      Assert.assertEquals(type.toString(), OWLLiteralComparator.hash(smaller.getOWLLiteral()),
+        OWLLiteralComparator.hash(smaller));
+    }
+  }
+
+  @Test public void testCompareEqualLexicalForms() throws Exception
+  {
+    assertEqualComparison(literal("3", XSDVocabulary.INT), literal("+03", XSDVocabulary.INT));
+    assertEqualComparison(literal("1.0", XSDVocabulary.DECIMAL), literal("1.00", XSDVocabulary.DECIMAL));
+    assertEqualComparison(literal("1", XSDVocabulary.INTEGER), literal("001", XSDVocabulary.INTEGER));
+    assertEqualComparison(literal("0.5", XSDVocabulary.DOUBLE), literal("5E-1", XSDVocabulary.DOUBLE));
+  }
+
+  @Test public void testCompareEqualTemporalValues() throws Exception
+  {
+    assertEqualComparison(literal("2000-01-01T00:00:00Z", XSDVocabulary.DATE_TIME),
+      literal("2000-01-01T01:00:00+01:00", XSDVocabulary.DATE_TIME));
+    assertEqualComparison(literal("10:00:00Z", XSDVocabulary.TIME), literal("11:00:00+01:00", XSDVocabulary.TIME));
+    assertEqualComparison(literal("PT1H", XSDVocabulary.DURATION), literal("PT60M", XSDVocabulary.DURATION));
+
+    Assert.assertNotEquals(OWLLiteralComparator.hash(literal("1999-12-31", XSDVocabulary.DATE)),
+      OWLLiteralComparator.hash(literal("2000-01-01", XSDVocabulary.DATE)));
+  }
+
+  @Test public void testCompareMixedNumericTypes() throws Exception
+  {
+    assertEqualComparison(literal("3", XSDVocabulary.BYTE), literal("3", XSDVocabulary.LONG));
+    assertEqualComparison(literal("3", XSDVocabulary.INT), literal("3.0", XSDVocabulary.DECIMAL));
+    assertEqualComparison(literal("2.5", XSDVocabulary.FLOAT), literal("2.50", XSDVocabulary.DECIMAL));
+    assertEqualComparison(literal("255", XSDVocabulary.UNSIGNED_BYTE), literal("255", XSDVocabulary.INTEGER));
+
+    Assert.assertTrue(OWLLiteralComparator.COMPARATOR
+      .compare(literal("5000000000", XSDVocabulary.LONG), literal("3", XSDVocabulary.SHORT)) > 0);
+    Assert.assertTrue(OWLLiteralComparator.COMPARATOR
+      .compare(literal("3", XSDVocabulary.INT), literal("3.1", XSDVocabulary.DOUBLE)) < 0);
+    Assert.assertTrue(OWLLiteralComparator.COMPARATOR
+      .compare(literal("18446744073709551615", XSDVocabulary.UNSIGNED_LONG), literal("3", XSDVocabulary.INT)) > 0);
+  }
+
+  @Test public void testCompareDifferentNonNumericTypes() throws Exception
+  {
+    Assert.assertEquals(-1, OWLLiteralComparator.COMPARATOR
+      .compare(literal("true", XSDVocabulary.BOOLEAN), literal("true", XSDVocabulary.STRING)));
+    Assert.assertEquals(-1,
+      OWLLiteralComparator.COMPARATOR.compare(literal("3", XSDVocabulary.STRING), literal("3", XSDVocabulary.INT)));
+  }
+
+  @Test public void testCompareOtherTypes() throws Exception
+  {
+    Assert.assertTrue(OWLLiteralComparator.COMPARATOR
+      .compare(literal("a2", XSDVocabulary.NAME), literal("a10", XSDVocabulary.NAME)) < 0);
+    Assert.assertEquals(-1, OWLLiteralComparator.COMPARATOR
+      .compare(literal("a", XSDVocabulary.NAME), literal("a", XSDVocabulary.TOKEN)));
+  }
+
+  @Test(expected = SWRLAPIException.class) public void testCompareInvalidLiteral() throws Exception
+  {
+    OWLLiteralComparator.COMPARATOR.compare(literal("300", XSDVocabulary.BYTE), literal("3", XSDVocabulary.BYTE));
+  }
+
+  @Test public void testCompareInvalidLiteralOfMixedNumericTypes() throws Exception
+  {
+    Assert.assertTrue(OWLLiteralComparator.COMPARATOR
+      .compare(literal("300", XSDVocabulary.BYTE), literal("3", XSDVocabulary.INT)) > 0);
+  }
+
+  @Test public void testIsNumericAllTypes() throws Exception
+  {
+    for (Object[] values : ORDERED_VALUES) {
+      XSDVocabulary type = (XSDVocabulary)values[0];
+      boolean isNumeric = type != XSDVocabulary.BOOLEAN && type != XSDVocabulary.ANY_URI && type != XSDVocabulary.TIME
+        && type != XSDVocabulary.DATE && type != XSDVocabulary.DATE_TIME && type != XSDVocabulary.DURATION
+        && type != XSDVocabulary.STRING;
+
+      Assert.assertEquals(type.toString(), isNumeric, OWLLiteralComparator.isNumeric(literal((String)values[1], type)));
+    }
+  }
+
+  private void assertEqualComparison(OWLLiteral l1, OWLLiteral l2)
+  {
+    Assert.assertEquals(0, OWLLiteralComparator.COMPARATOR.compare(l1, l2));
+    Assert.assertEquals(0, OWLLiteralComparator.COMPARATOR.compare(l2, l1));
+    Assert.assertEquals(OWLLiteralComparator.hash(l1), OWLLiteralComparator.hash(l2));
+  }
+
+  private OWLLiteral literal(String lexicalForm, XSDVocabulary type)
+  {
+    return dataFactory.getOWLLiteral(lexicalForm, dataFactory.getOWLDatatype(type.getIRI()));
+  }
+}
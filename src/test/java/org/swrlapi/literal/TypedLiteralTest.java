@@ -0,0 +1,123 @@
+package org.swrlapi.literal;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLLiteral;
+import org.semanticweb.owlapi.vocab.OWLRDFVocabulary;
+import org.semanticweb.owlapi.vocab.XSDVocabulary;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+
+public class TypedLiteralTest
+{
+  private static final OWLDataFactory dataFactory = OWLManager.getOWLDataFactory();
+
+  @Test public void testTypeResolution() throws Exception
+  {
+    for (LiteralType type : LiteralType.values())
+      if (type != LiteralType.OTHER)
+        Assert.assertEquals(type, new TypedLiteral(literal("1", type.getIRI())).getType());
+
+    Assert.assertEquals(LiteralType.OTHER, new TypedLiteral(literal("a", XSDVocabulary.NAME.getIRI())).getType());
+    Assert.assertEquals(LiteralType.RDF_PLAIN_LITERAL, LiteralType.forIRI(OWLRDFVocabulary.RDF_PLAIN_LITERAL.getIRI()));
+  }
+
+  @Test public void testLongValues() throws Exception
+  {
+    Assert.assertEquals(-3L, typed("-3", XSDVocabulary.BYTE).getLongValue());
+    Assert.assertEquals(300L, typed("300", XSDVocabulary.SHORT).getLongValue());
+    Assert.assertEquals(70000L, typed("+70000", XSDVocabulary.INT).getLongValue());
+    Assert.assertEquals(5000000000L, typed("5000000000", XSDVocabulary.LONG).getLongValue());
+    Assert.assertEquals(255L, typed("255", XSDVocabulary.UNSIGNED_BYTE).getLongValue());
+    Assert.assertEquals(65535L, typed("65535", XSDVocabulary.UNSIGNED_SHORT).getLongValue());
+    Assert.assertEquals(4294967295L, typed("4294967295", XSDVocabulary.UNSIGNED_INT).getLongValue());
+    Assert.assertEquals(7L, typed("7", XSDVocabulary.INTEGER).getLongValue());
+    Assert.assertEquals(7L, typed("7", XSDVocabulary.POSITIVE_INTEGER).getLongValue());
+    Assert.assertEquals(-7L, typed("-7", XSDVocabulary.NEGATIVE_INTEGER).getLongValue());
+    Assert.assertEquals(0L, typed("0", XSDVocabulary.NON_NEGATIVE_INTEGER).getLongValue());
+    Assert.assertEquals(0L, typed("0", XSDVocabulary.NON_POSITIVE_INTEGER).getLongValue());
+    Assert.assertEquals(Long.MAX_VALUE, typed("9223372036854775807", XSDVocabulary.UNSIGNED_LONG).getLongValue());
+  }
+
+  @Test public void testUnboundedIntegerValues() throws Exception
+  {
+    TypedLiteral l = typed("18446744073709551615", XSDVocabulary.UNSIGNED_LONG);
+
+    Assert.assertFalse(l.isLongValue());
+    Assert.assertEquals(new BigInteger("18446744073709551615"), l.getIntegerValue());
+    Assert.assertEquals(BigInteger.valueOf(3), typed("3", XSDVocabulary.INTEGER).getIntegerValue());
+  }
+
+  @Test public void testFloatingPointValues() throws Exception
+  {
+    Assert.assertEquals(2.25, typed("2.25", XSDVocabulary.FLOAT).getDoubleValue(), 0.0);
+    Assert.assertEquals((double)Float.parseFloat("0.1"), typed("0.1", XSDVocabulary.FLOAT).getDoubleValue(), 0.0);
+    Assert.assertEquals(-1.5E10, typed("-1.5E10", XSDVocabulary.DOUBLE).getDoubleValue(), 0.0);
+    Assert.assertFalse(typed("2.25", XSDVocabulary.DOUBLE).isLongValue());
+  }
+
+  @Test public void testDecimalValues() throws Exception
+  {
+    Assert.assertEquals(new BigDecimal("1.50"), typed("1.50", XSDVocabulary.DECIMAL).getDecimalValue());
+    Assert.assertEquals(new BigDecimal("3"), typed("3", XSDVocabulary.INT).getDecimalValue());
+    Assert.assertEquals(new BigDecimal("2.5"), typed("2.5", XSDVocabulary.FLOAT).getDecimalValue());
+    Assert.assertEquals(1.5, typed("1.50", XSDVocabulary.DECIMAL).getDoubleValue(), 0.0);
+  }
+
+  @Test public void testNonNumericValues() throws Exception
+  {
+    Assert.assertTrue(typed("true", XSDVocabulary.BOOLEAN).getBooleanValue());
+    Assert.assertEquals(URI.create("http://a.org/x"), typed("http://a.org/x", XSDVocabulary.ANY_URI).getAnyURIValue());
+    Assert.assertEquals(new XSDTime("10:00:00"), typed("10:00:00", XSDVocabulary.TIME).getTimeValue());
+    Assert.assertEquals(new XSDDate("2000-01-01"), typed("2000-01-01", XSDVocabulary.DATE).getDateValue());
+    Assert.assertEquals(new XSDDateTime("2000-01-01T00:00:00"),
+      typed("2000-01-01T00:00:00", XSDVocabulary.DATE_TIME).getDateTimeValue());
+    Assert.assertEquals(0, new XSDDuration("P1D").compareTo(typed("P1D", XSDVocabulary.DURATION).getDurationValue()));
+    Assert.assertEquals("a string", typed("a string", XSDVocabulary.STRING).getLexicalForm());
+  }
+
+  @Test public void testValuesAreParsedOnce() throws Exception
+  {
+    TypedLiteral l = typed("2000-01-01T00:00:00", XSDVocabulary.DATE_TIME);
+
+    Assert.assertSame(l.getDateTimeValue(), l.getDateTimeValue());
+
+    TypedLiteral d = typed("1.5", XSDVocabulary.DOUBLE);
+
+    Assert.assertSame(d.getDecimalValue(), d.getDecimalValue());
+  }
+
+  @Test public void testInvalidLiteral() throws Exception
+  {
+    TypedLiteral l = typed("300", XSDVocabulary.BYTE);
+
+    Assert.assertFalse(l.isValid());
+    Assert.assertFalse(l.isLongValue());
+    Assert.assertEquals(new BigDecimal("300"), l.getDecimalValue());
+  }
+
+  @Test(expected = IllegalArgumentException.class) public void testInvalidLiteralValue() throws Exception
+  {
+    typed("300", XSDVocabulary.BYTE).getLongValue();
+  }
+
+  @Test(expected = IllegalArgumentException.class) public void testWrongValueType() throws Exception
+  {
+    typed("true", XSDVocabulary.BOOLEAN).getDoubleValue();
+  }
+
+  private TypedLiteral typed(String lexicalForm, XSDVocabulary type)
+  {
+    return new TypedLiteral(literal(lexicalForm, type.getIRI()));
+  }
+
+  private OWLLiteral literal(String lexicalForm, IRI datatypeIRI)
+  {
+    return dataFactory.getOWLLiteral(lexicalForm, dataFactory.getOWLDatatype(datatypeIRI));
+  }
+}
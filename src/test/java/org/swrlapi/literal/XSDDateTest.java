@@ -1,7 +1,10 @@
 package org.swrlapi.literal;
 
+import org.junit.Assert;
 import org.junit.Test;
 
+import java.time.LocalDate;
+
 /**
  * @see XSDDate
  */
@@ -17,4 +20,22 @@ public class XSDDateTest
     XSDDate date = new XSDDate("1999-01-02");
     date.validate();
   }
-}
\ No newline at end of file
+
+  @Test(expected = IllegalArgumentException.class) public void testInvalidMonth()
+  {
+    new XSDDate("1999-13-02");
+  }
+
+  @Test public void testCompare()
+  {
+    Assert.assertTrue(new XSDDate("1999-12-31").compareTo(new XSDDate("2000-01-01")) < 0);
+    Assert.assertTrue(new XSDDate("2000-01-01").compareTo(new XSDDate("1999-12-31")) > 0);
+    Assert.assertEquals(0, new XSDDate("2000-01-01").compareTo(new XSDDate("2000-01-01Z")));
+    Assert.assertEquals(new XSDDate("2000-01-01"), new XSDDate("2000-01-01Z"));
+  }
+
+  @Test public void testLocalDate()
+  {
+    Assert.assertEquals(LocalDate.of(2016, 2, 29), new XSDDate("2016-02-29").getLocalDate());
+  }
+}
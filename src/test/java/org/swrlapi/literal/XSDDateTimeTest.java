@@ -0,0 +1,69 @@
+package org.swrlapi.literal;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * @see XSDDateTime
+ */
+public class XSDDateTimeTest
+{
+  @Test(expected = IllegalArgumentException.class) public void testConstruction()
+  {
+    new XSDDateTime("X");
+  }
+
+  @Test public void testValidate()
+  {
+    new XSDDateTime("1999-01-02T10:11:12").validate();
+    new XSDDateTime("1999-01-02T10:11:12.125").validate();
+    new XSDDateTime("1999-01-02T10:11:12+01:00").validate();
+  }
+
+  @Test public void testCompareAfternoonTimes()
+  {
+    Assert.assertTrue(new XSDDateTime("2000-01-01T13:00:00").compareTo(new XSDDateTime("2000-01-01T01:00:00")) > 0);
+    Assert.assertTrue(new XSDDateTime("2000-01-01T12:30:00").compareTo(new XSDDateTime("2000-01-01T00:30:00")) > 0);
+  }
+
+  @Test public void testCompareFractionalSeconds()
+  {
+    Assert.assertTrue(
+      new XSDDateTime("2000-01-01T10:00:00.5").compareTo(new XSDDateTime("2000-01-01T10:00:00.25")) > 0);
+    Assert.assertEquals(0,
+      new XSDDateTime("2000-01-01T10:00:00.5").compareTo(new XSDDateTime("2000-01-01T10:00:00.500")));
+  }
+
+  @Test public void testCompareTimeZones()
+  {
+    Assert.assertEquals(new XSDDateTime("2000-01-01T10:00:00Z"), new XSDDateTime("2000-01-01T11:00:00+01:00"));
+    Assert.assertTrue(
+      new XSDDateTime("2000-01-01T10:00:00-01:00").compareTo(new XSDDateTime("2000-01-01T10:00:00Z")) > 0);
+  }
+
+  @Test public void testInstant()
+  {
+    Assert.assertEquals(Instant.parse("2000-01-01T10:00:00Z"), new XSDDateTime("2000-01-01T10:00:00").getInstant());
+  }
+
+  @Test public void testDateInNonUTCTimeZone()
+  {
+    TimeZone defaultTimeZone = TimeZone.getDefault();
+
+    try {
+      TimeZone.setDefault(TimeZone.getTimeZone("America/New_York"));
+      Date date = Date.from(Instant.parse("2000-07-01T10:00:00.125Z"));
+      XSDDateTime dateTime = new XSDDateTime(date);
+
+      Assert.assertEquals("2000-07-01T06:00:00.125-04:00", dateTime.getContent());
+      Assert.assertEquals(date.toInstant(), dateTime.getInstant());
+      Assert.assertEquals(date, XSDTimeUtil.xsdDateTimeString2Date(dateTime.getContent()));
+    } finally {
+      TimeZone.setDefault(defaultTimeZone);
+    }
+  }
+}
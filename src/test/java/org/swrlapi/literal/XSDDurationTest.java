@@ -1,5 +1,6 @@
 package org.swrlapi.literal;
 
+import org.junit.Assert;
 import org.junit.Test;
 
 /**
@@ -18,4 +19,25 @@ public class XSDDurationTest
     duration.validate();
   }
 
-}
\ No newline at end of file
+  @Test(expected = IllegalArgumentException.class) public void testEmptyTimeComponent()
+  {
+    new XSDDuration("P1DT");
+  }
+
+  @Test public void testValidForms()
+  {
+    for (String duration : new String[] { "P1Y2M3DT4H5M6.5S", "-P3D", "PT0S", "PT61.25S", "P1M", "PT1H" })
+      Assert.assertEquals(duration, new XSDDuration(duration).getContent());
+  }
+
+  @Test public void testCompare()
+  {
+    Assert.assertTrue(new XSDDuration("P1D").compareTo(new XSDDuration("P2D")) < 0);
+    Assert.assertTrue(new XSDDuration("P1Y").compareTo(new XSDDuration("P11M")) > 0);
+    Assert.assertTrue(new XSDDuration("PT25H").compareTo(new XSDDuration("P1D")) > 0);
+    Assert.assertTrue(new XSDDuration("-P1D").compareTo(new XSDDuration("PT1S")) < 0);
+    Assert.assertTrue(new XSDDuration("PT1.5S").compareTo(new XSDDuration("PT1.25S")) > 0);
+    Assert.assertEquals(0, new XSDDuration("P1D").compareTo(new XSDDuration("PT24H")));
+    Assert.assertEquals(new XSDDuration("P1Y"), new XSDDuration("P12M"));
+  }
+}
@@ -0,0 +1,35 @@
+package org.swrlapi.literal;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalTime;
+
+/**
+ * @see XSDTime
+ */
+public class XSDTimeTest
+{
+  @Test(expected = IllegalArgumentException.class) public void testConstruction()
+  {
+    new XSDTime("X");
+  }
+
+  @Test public void testValidate()
+  {
+    new XSDTime("10:11:12").validate();
+    new XSDTime("10:11:12.000Z").validate();
+  }
+
+  @Test public void testCompare()
+  {
+    Assert.assertTrue(new XSDTime("13:00:00").compareTo(new XSDTime("01:00:00")) > 0);
+    Assert.assertTrue(new XSDTime("10:00:00.1").compareTo(new XSDTime("10:00:00")) > 0);
+    Assert.assertEquals(new XSDTime("10:00:00Z"), new XSDTime("11:00:00+01:00"));
+  }
+
+  @Test public void testLocalTime()
+  {
+    Assert.assertEquals(LocalTime.of(23, 30), new XSDTime("00:30:00+01:00").getLocalTime());
+  }
+}
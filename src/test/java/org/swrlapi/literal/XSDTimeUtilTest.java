@@ -0,0 +1,168 @@
+package org.swrlapi.literal;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @see XSDTimeUtil
+ */
+public class XSDTimeUtilTest
+{
+  private static final int NUMBER_OF_THREADS = 8;
+  private static final int NUMBER_OF_VALUES = 2000;
+  private static final int NUMBER_OF_ITERATIONS = 20;
+
+  @Test public void testFormatMatchesSimpleDateFormat()
+  {
+    SimpleDateFormat dateTimeFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+    SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+
+    for (Date date : randomDates(new Random(1), 500)) {
+      Assert.assertEquals(dateTimeFormat.format(date), XSDTimeUtil.utilDate2XSDDateTimeString(date));
+      Assert.assertEquals(dateFormat.format(date), XSDTimeUtil.utilDate2XSDDateString(date));
+    }
+  }
+
+  @Test public void testTimeFormatMatchesAxisTime()
+  {
+    for (Date date : randomDates(new Random(2), 500)) {
+      Calendar calendar = new GregorianCalendar();
+      calendar.setTime(date);
+
+      Assert.assertEquals(new org.apache.axis.types.Time(calendar).toString(),
+        XSDTimeUtil.utilDate2XSDTimeString(date));
+    }
+  }
+
+  @Test public void testDateTimeRoundTrip()
+  {
+    String dateTime = "2016-02-29T23:59:58";
+
+    Assert.assertEquals(dateTime,
+      XSDTimeUtil.utilDate2XSDDateTimeString(XSDTimeUtil.xsdDateTimeString2Date(dateTime)));
+    Assert.assertEquals("2016-02-29",
+      XSDTimeUtil.utilDate2XSDDateString(XSDTimeUtil.xsdDateString2Date("2016-02-29")));
+  }
+
+  @Test public void testValidation()
+  {
+    Assert.assertTrue(XSDTimeUtil.isValidXSDDateTime("2000-01-01T13:00:00"));
+    Assert.assertTrue(XSDTimeUtil.isValidXSDDateTime("2000-01-01T13:00:00.123456789-05:00"));
+    Assert.assertFalse(XSDTimeUtil.isValidXSDDateTime("2000-01-01T25:00:00"));
+    Assert.assertFalse(XSDTimeUtil.isValidXSDDateTime("2000-01-01"));
+    Assert.assertTrue(XSDTimeUtil.isValidXSDDate("2000-02-29"));
+    Assert.assertFalse(XSDTimeUtil.isValidXSDDate("1999-02-29"));
+    Assert.assertTrue(XSDTimeUtil.isValidXSDTime("23:59:59Z"));
+    Assert.assertFalse(XSDTimeUtil.isValidXSDTime("23:59"));
+    Assert.assertTrue(XSDTimeUtil.isValidXSDDuration("P1Y2M3DT4H5M6.5S"));
+    Assert.assertFalse(XSDTimeUtil.isValidXSDDuration("P"));
+    Assert.assertFalse(XSDTimeUtil.isValidXSDDuration("1D"));
+  }
+
+  @Test public void testCompareDateTimes()
+  {
+    Date morning = XSDTimeUtil.xsdDateTimeString2Date("2000-01-01T01:00:00");
+    Date afternoon = XSDTimeUtil.xsdDateTimeString2Date("2000-01-01T13:00:00");
+
+    Assert.assertTrue(XSDTimeUtil.compareDateTimes(morning, afternoon) < 0);
+    Assert.assertEquals(0, XSDTimeUtil.compareDates(morning, afternoon));
+  }
+
+  @Test public void testAddDayTimeDurationToUtilDate()
+  {
+    Date date = XSDTimeUtil.xsdDateTimeString2Date("2000-12-31T22:30:00");
+    org.apache.axis.types.Duration duration = new org.apache.axis.types.Duration("PT2H");
+
+    Assert.assertEquals("2001-01-01T00:30:00",
+      XSDTimeUtil.utilDate2XSDDateTimeString(XSDTimeUtil.addDayTimeDurationToUtilDate(date, duration)));
+    Assert.assertEquals("2000-12-31T20:30:00",
+      XSDTimeUtil.utilDate2XSDDateTimeString(XSDTimeUtil.subtractDayTimeDurationFromUtilDate(date, duration)));
+  }
+
+  @Test public void testAddYearMonthDurationToUtilDate()
+  {
+    Date date = XSDTimeUtil.xsdDateString2Date("2000-01-31");
+    org.apache.axis.types.Duration duration = new org.apache.axis.types.Duration("P1Y1M");
+
+    Assert.assertEquals("2001-02-28",
+      XSDTimeUtil.utilDate2XSDDateString(XSDTimeUtil.addYearMonthDurationToUtilDate(date, duration)));
+  }
+
+  @Test public void testAddDayTimeDurationToTime()
+  {
+    org.apache.axis.types.Time time = XSDTimeUtil.xsdTimeString2AxisTime("23:30:00Z");
+    org.apache.axis.types.Duration duration = new org.apache.axis.types.Duration("PT1H15M");
+
+    Assert.assertEquals("00:45:00.000Z", XSDTimeUtil.addDayTimeDurationToTime(time, duration).toString());
+    Assert.assertEquals("22:15:00.000Z", XSDTimeUtil.subtractDayTimeDurationFromTime(time, duration).toString());
+  }
+
+  @Test public void testConcurrentParsingAndFormatting() throws Exception
+  {
+    List<Date> dates = randomDates(new Random(3), NUMBER_OF_VALUES);
+    List<String> dateTimes = new ArrayList<>();
+    SimpleDateFormat dateTimeFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+
+    for (Date date : dates)
+      dateTimes.add(dateTimeFormat.format(date));
+
+    ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+    List<Callable<Integer>> tasks = new ArrayList<>();
+
+    for (int t = 0; t < NUMBER_OF_THREADS; t++) {
+      int offset = t;
+      tasks.add(() -> {
+        int mismatches = 0;
+        for (int iteration = 0; iteration < NUMBER_OF_ITERATIONS; iteration++) {
+          for (int i = 0; i < dates.size(); i++) {
+            int j = (i + offset) % dates.size();
+            String dateTime = dateTimes.get(j);
+            Date date = XSDTimeUtil.xsdDateTimeString2Date(dateTime);
+
+            if (date.getTime() != dates.get(j).getTime() || !XSDTimeUtil.utilDate2XSDDateTimeString(date)
+              .equals(dateTime))
+              mismatches++;
+
+            int k = (j + 1) % dates.size();
+            if (Integer.signum(new XSDDateTime(dateTime).compareTo(new XSDDateTime(dateTimes.get(k)))) != Integer
+              .signum(dates.get(j).compareTo(dates.get(k))))
+              mismatches++;
+          }
+        }
+        return mismatches;
+      });
+    }
+
+    try {
+      for (Future<Integer> result : executor.invokeAll(tasks))
+        Assert.assertEquals(0, result.get().intValue());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  // Random dates with a whole number of seconds
+  private List<Date> randomDates(Random random, int count)
+  {
+    List<Date> dates = new ArrayList<>();
+    long start = new GregorianCalendar(1900, Calendar.JANUARY, 1).getTimeInMillis() / 1000;
+    long end = new GregorianCalendar(2100, Calendar.JANUARY, 1).getTimeInMillis() / 1000;
+
+    for (int i = 0; i < count; i++)
+      dates.add(new Date((start + (long)(random.nextDouble() * (end - start))) * 1000));
+
+    return dates;
+  }
+}
@@ -0,0 +1,476 @@
+package org.swrlapi.rete;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLNamedIndividual;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.swrlapi.core.SWRLRuleEngine;
+import org.swrlapi.factory.SWRLAPIFactory;
+import org.swrlapi.sqwrl.SQWRLQueryEngine;
+import org.swrlapi.sqwrl.SQWRLResult;
+import org.swrlapi.sqwrl.values.SQWRLResultValue;
+import org.swrlapi.test.IntegrationTestBase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Class;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ClassAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.DataPropertyAssertion;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Declaration;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.Literal;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.NamedIndividual;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectInverseOf;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectProperty;
+import static org.semanticweb.owlapi.apibinding.OWLFunctionalSyntaxFactory.ObjectPropertyAssertion;
+
+/**
+ * @see ReteSWRLRuleEngine
+ */
+public class ReteSWRLRuleEngineTest extends IntegrationTestBase
+{
+  private static final OWLClass PERSON = Class(iri("Person"));
+  private static final OWLClass MALE = Class(iri("Male"));
+  private static final OWLClass ADULT = Class(iri("Adult"));
+  private static final OWLNamedIndividual P1 = NamedIndividual(iri("p1"));
+  private static final OWLNamedIndividual P2 = NamedIndividual(iri("p2"));
+  private static final OWLNamedIndividual P3 = NamedIndividual(iri("p3"));
+  private static final OWLNamedIndividual P4 = NamedIndividual(iri("p4"));
+  private static final OWLObjectProperty HAS_PARENT = ObjectProperty(iri("hasParent"));
+  private static final OWLObjectProperty HAS_BROTHER = ObjectProperty(iri("hasBrother"));
+  private static final OWLObjectProperty HAS_UNCLE = ObjectProperty(iri("hasUncle"));
+  private static final OWLObjectProperty HAS_ANCESTOR = ObjectProperty(iri("hasAncestor"));
+  private static final OWLDataProperty HAS_AGE = DataProperty(iri("hasAge"));
+  private static final OWLClass VIP = Class(iri("VIP"));
+  private static final OWLObjectProperty KNOWS = ObjectProperty(iri("knows"));
+
+  private static final int NUMBER_OF_SKEWED_PERSONS = 400;
+  private static final int NUMBER_OF_SKEWED_VIPS = 4;
+  private static final int NUMBER_OF_SKEWED_ACQUAINTANCES = 3;
+
+  private OWLOntology ontology;
+
+  @Before public void setUp() throws Exception
+  {
+    ontology = OWLManager.createOWLOntologyManager().createOntology();
+
+    addOWLAxioms(ontology, Declaration(PERSON), Declaration(MALE), Declaration(ADULT), Declaration(P1),
+      Declaration(P2), Declaration(P3), Declaration(P4), Declaration(HAS_PARENT), Declaration(HAS_BROTHER),
+      Declaration(HAS_UNCLE), Declaration(HAS_ANCESTOR), Declaration(HAS_AGE));
+  }
+
+  @Test public void testRuleEngineIsRegistered() throws Exception
+  {
+    SWRLRuleEngine ruleEngine = SWRLAPIFactory.createSWRLRuleEngine(ReteSWRLRuleEngine.RULE_ENGINE_NAME, ontology);
+
+    assertEquals(ReteSWRLRuleEngine.RULE_ENGINE_NAME, ruleEngine.getRuleEngineName());
+  }
+
+  @Test public void testJoinInference() throws Exception
+  {
+    addOWLAxioms(ontology, ObjectPropertyAssertion(HAS_PARENT, P1, P2), ObjectPropertyAssertion(HAS_BROTHER, P2, P3),
+      ObjectPropertyAssertion(HAS_BROTHER, P4, P3));
+
+    SWRLRuleEngine ruleEngine = createSWRLRuleEngine();
+    ruleEngine.createSWRLRule("r1", "hasParent(?x, ?y) ^ hasBrother(?y, ?z) -> hasUncle(?x, ?z)");
+    ruleEngine.infer();
+
+    assertTrue(ontology.containsAxiom(ObjectPropertyAssertion(HAS_UNCLE, P1, P3)));
+    assertEquals(1, ruleEngine.getNumberOfInferredOWLAxioms());
+  }
+
+  @Test public void testInverseObjectPropertyAssertion() throws Exception
+  {
+    addOWLAxioms(ontology, ObjectPropertyAssertion(ObjectInverseOf(HAS_PARENT), P2, P1),
+      ObjectPropertyAssertion(HAS_BROTHER, P2, P3));
+
+    SWRLRuleEngine ruleEngine = createSWRLRuleEngine();
+    ruleEngine.createSWRLRule("r1", "hasParent(?x, ?y) ^ hasBrother(?y, ?z) -> hasUncle(?x, ?z)");
+    ruleEngine.infer();
+
+    assertTrue(ontology.containsAxiom(ObjectPropertyAssertion(HAS_UNCLE, P1, P3)));
+  }
+
+  @Test public void testRecursiveRule() throws Exception
+  {
+    addOWLAxioms(ontology, ObjectPropertyAssertion(HAS_PARENT, P1, P2), ObjectPropertyAssertion(HAS_PARENT, P2, P3),
+      ObjectPropertyAssertion(HAS_PARENT, P3, P4));
+
+    SWRLRuleEngine ruleEngine = createSWRLRuleEngine();
+    ruleEngine.createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+    ruleEngine.createSWRLRule("r2", "hasAncestor(?x, ?y) ^ hasAncestor(?y, ?z) -> hasAncestor(?x, ?z)");
+    ruleEngine.infer();
+
+    assertTrue(ontology.containsAxiom(ObjectPropertyAssertion(HAS_ANCESTOR, P1, P4)));
+    assertTrue(ontology.containsAxiom(ObjectPropertyAssertion(HAS_ANCESTOR, P2, P4)));
+    assertEquals(6, ruleEngine.getNumberOfInferredOWLAxioms());
+  }
+
+  @Test public void testBuiltInFilter() throws Exception
+  {
+    addOWLAxioms(ontology, DataPropertyAssertion(HAS_AGE, P1, Literal(34)),
+      DataPropertyAssertion(HAS_AGE, P2, Literal(12)));
+
+    SWRLRuleEngine ruleEngine = createSWRLRuleEngine();
+    ruleEngine.createSWRLRule("r1", "hasAge(?p, ?a) ^ swrlb:greaterThan(?a, 17) -> Adult(?p)");
+    ruleEngine.infer();
+
+    assertTrue(ontology.containsAxiom(ClassAssertion(ADULT, P1)));
+    assertFalse(ontology.containsAxiom(ClassAssertion(ADULT, P2)));
+  }
+
+  @Test public void testBuiltInBinding() throws Exception
+  {
+    addOWLAxioms(ontology, DataPropertyAssertion(HAS_AGE, P1, Literal("34", XSD_INT)));
+
+    SQWRLQueryEngine queryEngine = createSQWRLQueryEngine();
+    SQWRLResult result = queryEngine
+      .runSQWRLQuery("q1", "hasAge(?p, ?a) ^ swrlb:add(?n, ?a, 1) -> sqwrl:select(?p, ?n)");
+
+    assertTrue(result.next());
+    assertEquals(35, result.getLiteral("n").getInt());
+    assertFalse(result.next());
+  }
+
+  @Test public void testSelectQuery() throws Exception
+  {
+    addOWLAxioms(ontology, ClassAssertion(PERSON, P1), ClassAssertion(PERSON, P2), ClassAssertion(MALE, P2));
+
+    SQWRLQueryEngine queryEngine = createSQWRLQueryEngine();
+    SQWRLResult result = queryEngine.runSQWRLQuery("q1", "Person(?p) ^ Male(?p) -> sqwrl:select(?p)");
+
+    assertEquals(1, result.getNumberOfRows());
+    assertTrue(result.next());
+    assertEquals(P2.getIRI(), result.getNamedIndividual("p").getIRI());
+  }
+
+  @Test public void testCollectionQuery() throws Exception
+  {
+    addOWLAxioms(ontology, ClassAssertion(PERSON, P1), ClassAssertion(PERSON, P2), ClassAssertion(PERSON, P3));
+
+    SQWRLQueryEngine queryEngine = createSQWRLQueryEngine();
+    SQWRLResult result = queryEngine
+      .runSQWRLQuery("q1", "Person(?p) . sqwrl:makeSet(?s, ?p) . sqwrl:size(?n, ?s) -> sqwrl:select(?n)");
+
+    assertEquals(1, result.getNumberOfRows());
+    assertTrue(result.next());
+    assertEquals(3, result.getLiteral("n").getInt());
+  }
+
+  @Test public void testQueryUsesRuleInferences() throws Exception
+  {
+    addOWLAxioms(ontology, ObjectPropertyAssertion(HAS_PARENT, P1, P2), ObjectPropertyAssertion(HAS_PARENT, P2, P3));
+
+    SQWRLQueryEngine queryEngine = createSQWRLQueryEngine();
+    queryEngine.getSWRLAPIOWLOntology().createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+    SQWRLResult result = queryEngine.runSQWRLQuery("q1", "hasAncestor(?x, ?y) -> sqwrl:select(?x, ?y)");
+
+    Set<String> ancestors = new HashSet<>();
+    while (result.next())
+      ancestors.add(result.getNamedIndividual("x").getShortName() + result.getNamedIndividual("y").getShortName());
+
+    assertEquals(2, ancestors.size());
+  }
+
+  @Test public void testIncrementalFactInference() throws Exception
+  {
+    addOWLAxioms(ontology, ObjectPropertyAssertion(HAS_PARENT, P1, P2), ObjectPropertyAssertion(HAS_BROTHER, P2, P3));
+
+    SWRLRuleEngine ruleEngine = createSWRLRuleEngine();
+    ruleEngine.createSWRLRule("r1", "hasParent(?x, ?y) ^ hasBrother(?y, ?z) -> hasUncle(?x, ?z)");
+    ruleEngine.infer();
+
+    addOWLAxioms(ontology, ObjectPropertyAssertion(HAS_PARENT, P4, P2));
+    ruleEngine.infer();
+
+    assertTrue(ontology.containsAxiom(ObjectPropertyAssertion(HAS_UNCLE, P1, P3)));
+    assertTrue(ontology.containsAxiom(ObjectPropertyAssertion(HAS_UNCLE, P4, P3)));
+    assertEquals(2, ruleEngine.getNumberOfInferredOWLAxioms());
+  }
+
+  @Test public void testTargetedInference() throws Exception
+  {
+    addOWLAxioms(ontology, ObjectPropertyAssertion(HAS_PARENT, P1, P2), ObjectPropertyAssertion(HAS_BROTHER, P2, P3));
+
+    SWRLRuleEngine ruleEngine = createSWRLRuleEngine();
+    ruleEngine.createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+    ruleEngine.createSWRLRule("r2", "hasBrother(?x, ?y) -> Male(?y)");
+    ruleEngine.infer(Collections.singleton(HAS_ANCESTOR));
+
+    assertTrue(ontology.containsAxiom(ObjectPropertyAssertion(HAS_ANCESTOR, P1, P2)));
+    assertFalse(ontology.containsAxiom(ClassAssertion(MALE, P3)));
+    assertEquals(1, ruleEngine.getNumberOfInferredOWLAxioms());
+
+    ruleEngine.infer();
+
+    assertTrue(ontology.containsAxiom(ClassAssertion(MALE, P3)));
+  }
+
+  @Test public void testIncrementalRuleInference() throws Exception
+  {
+    addOWLAxioms(ontology, ObjectPropertyAssertion(HAS_PARENT, P1, P2), ObjectPropertyAssertion(HAS_PARENT, P2, P3));
+
+    SWRLRuleEngine ruleEngine = createSWRLRuleEngine();
+    ruleEngine.createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+    ruleEngine.infer();
+
+    ruleEngine.createSWRLRule("r2", "hasAncestor(?x, ?y) ^ hasAncestor(?y, ?z) -> hasAncestor(?x, ?z)");
+    ruleEngine.infer();
+
+    assertTrue(ontology.containsAxiom(ObjectPropertyAssertion(HAS_ANCESTOR, P1, P3)));
+    assertEquals(3, ruleEngine.getNumberOfInferredOWLAxioms());
+  }
+
+  @Test public void testRuleRemovalResetsEngine() throws Exception
+  {
+    addOWLAxioms(ontology, ObjectPropertyAssertion(HAS_PARENT, P1, P2));
+
+    SWRLRuleEngine ruleEngine = createSWRLRuleEngine();
+    ruleEngine.createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+    ruleEngine.infer();
+
+    ruleEngine.deleteSWRLRule("r1");
+    addOWLAxioms(ontology, ObjectPropertyAssertion(HAS_PARENT, P2, P3));
+    ruleEngine.infer();
+
+    assertTrue(ontology.containsAxiom(ObjectPropertyAssertion(HAS_ANCESTOR, P1, P2)));
+    assertFalse(ontology.containsAxiom(ObjectPropertyAssertion(HAS_ANCESTOR, P2, P3)));
+    assertEquals(0, ruleEngine.getNumberOfInferredOWLAxioms());
+  }
+
+  @Test public void testGoalDirectedQueriesMatchFullMaterialization() throws Exception
+  {
+    addOWLAxioms(ontology, ObjectPropertyAssertion(HAS_PARENT, P1, P2), ObjectPropertyAssertion(HAS_PARENT, P2, P3),
+      ObjectPropertyAssertion(HAS_PARENT, P3, P4), ObjectPropertyAssertion(HAS_BROTHER, P2, P4),
+      ObjectPropertyAssertion(HAS_BROTHER, P3, P1), DataPropertyAssertion(HAS_AGE, P1, Literal(34)),
+      DataPropertyAssertion(HAS_AGE, P4, Literal(12)), ClassAssertion(PERSON, P1), ClassAssertion(PERSON, P4));
+
+    SQWRLQueryEngine queryEngine = createSQWRLQueryEngine();
+    queryEngine.createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+    queryEngine.createSWRLRule("r2", "hasAncestor(?x, ?y) ^ hasAncestor(?y, ?z) -> hasAncestor(?x, ?z)");
+    queryEngine.createSWRLRule("r3", "hasParent(?x, ?y) ^ hasBrother(?y, ?z) -> hasUncle(?x, ?z)");
+    queryEngine.createSWRLRule("r4", "hasAge(?p, ?a) ^ swrlb:greaterThan(?a, 17) -> Adult(?p)");
+    queryEngine.createSWRLRule("r5", "hasBrother(?x, ?y) -> Male(?y)");
+    queryEngine.createSQWRLQuery("q1", "hasAncestor(p1, ?y) -> sqwrl:select(?y)");
+    queryEngine.createSQWRLQuery("q2", "hasUncle(?x, p4) -> sqwrl:select(?x)");
+    queryEngine.createSQWRLQuery("q3", "Person(?p) ^ hasAncestor(?p, ?a) ^ Adult(?a) -> sqwrl:select(?p, ?a)");
+    queryEngine.createSQWRLQuery("q4", "hasAncestor(?x, ?y) ^ Male(?y) -> sqwrl:select(?x, ?y)");
+    queryEngine.createSQWRLQuery("q5", "hasAncestor(p2, ?y) . sqwrl:makeSet(?s, ?y) . sqwrl:size(?n, ?s) -> "
+      + "sqwrl:select(?n)");
+
+    Map<String, Set<List<String>>> goalDirectedResults = new HashMap<>();
+    for (String queryName : queryEngine.getSQWRLQueryNames())
+      goalDirectedResults.put(queryName, getRows(queryEngine.runSQWRLQuery(queryName)));
+
+    queryEngine.exportInferredOWLAxioms();
+    assertTrue(ontology.getAxioms(AxiomType.CLASS_ASSERTION).stream()
+      .noneMatch(a -> a.getClassExpression().asOWLClass().getIRI().toString().contains("swrla.owl#demand")));
+
+    queryEngine.runSQWRLQueries();
+    for (String queryName : queryEngine.getSQWRLQueryNames())
+      assertEquals(queryName, getRows(queryEngine.getSQWRLResult(queryName)), goalDirectedResults.get(queryName));
+
+    assertEquals(3, goalDirectedResults.get("q1").size());
+    assertEquals(1, goalDirectedResults.get("q2").size());
+  }
+
+  @Test public void testCostBasedBodyAtomOrderingOnSkewedData() throws Exception
+  {
+    Set<OWLAxiom> typeOrderedInferences = inferOnSkewedData(false);
+    Set<OWLAxiom> costOrderedInferences = inferOnSkewedData(true);
+
+    assertFalse(costOrderedInferences.isEmpty());
+    assertEquals(typeOrderedInferences, costOrderedInferences);
+  }
+
+  @Test public void testEarlyFilteringMatchesExpectedInferences() throws Exception
+  {
+    Random random = new Random(1);
+    Map<Integer, Integer> ages = new HashMap<>();
+    Map<Integer, List<Integer>> acquaintances = new HashMap<>();
+    Set<OWLAxiom> expectedInferences = new HashSet<>();
+
+    for (int i = 0; i < NUMBER_OF_SKEWED_PERSONS; i++) {
+      OWLNamedIndividual person = NamedIndividual(iri("person" + i));
+      ages.put(i, random.nextInt(100));
+      acquaintances.put(i, new ArrayList<>());
+      addOWLAxioms(ontology, ClassAssertion(PERSON, person), DataPropertyAssertion(HAS_AGE, person,
+        Literal(ages.get(i))));
+      for (int k = 0; k < NUMBER_OF_SKEWED_ACQUAINTANCES; k++) {
+        int acquaintance = random.nextInt(NUMBER_OF_SKEWED_PERSONS);
+        acquaintances.get(i).add(acquaintance);
+        addOWLAxioms(ontology, ObjectPropertyAssertion(KNOWS, person, NamedIndividual(iri("person" + acquaintance))));
+      }
+    }
+
+    for (int i = 0; i < NUMBER_OF_SKEWED_PERSONS; i++)
+      if (ages.get(i) > 90)
+        for (int y : acquaintances.get(i))
+          for (int z : acquaintances.get(y))
+            expectedInferences.add(ClassAssertion(ADULT, NamedIndividual(iri("person" + z))));
+
+    SWRLRuleEngine ruleEngine = createSWRLRuleEngine();
+    ruleEngine.createSWRLRule("r1",
+      "Person(?x) ^ hasAge(?x, ?a) ^ knows(?x, ?y) ^ knows(?y, ?z) ^ swrlb:greaterThan(?a, 90) -> Adult(?z)");
+    ruleEngine.infer();
+
+    assertFalse(expectedInferences.isEmpty());
+    assertEquals(expectedInferences, ontology.getAxioms(AxiomType.CLASS_ASSERTION).stream()
+      .filter(a -> a.getClassExpression().equals(ADULT)).collect(Collectors.toSet()));
+  }
+
+  @Test public void testInferenceIntoSink() throws Exception
+  {
+    addOWLAxioms(ontology, ObjectPropertyAssertion(HAS_PARENT, P1, P2), ObjectPropertyAssertion(HAS_PARENT, P2, P3));
+
+    SWRLRuleEngine ruleEngine = createSWRLRuleEngine();
+    ruleEngine.createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+    int numberOfAxioms = ontology.getAxiomCount();
+    Set<OWLAxiom> inferredAxioms = new HashSet<>();
+    ruleEngine.infer(inferredAxioms::add);
+
+    assertEquals(new HashSet<>(Arrays.asList(ObjectPropertyAssertion(HAS_ANCESTOR, P1, P2),
+      ObjectPropertyAssertion(HAS_ANCESTOR, P2, P3))), inferredAxioms);
+    assertEquals(numberOfAxioms, ontology.getAxiomCount());
+  }
+
+  @Test public void testInferenceIntoTargetOntology() throws Exception
+  {
+    addOWLAxioms(ontology, ObjectPropertyAssertion(HAS_PARENT, P1, P2), ObjectPropertyAssertion(HAS_PARENT, P2, P3));
+    OWLOntology targetOntology = ontology.getOWLOntologyManager().createOntology();
+
+    SWRLRuleEngine ruleEngine = createSWRLRuleEngine();
+    ruleEngine.createSWRLRule("r1", "hasParent(?x, ?y) -> hasAncestor(?x, ?y)");
+    ruleEngine.createSWRLRule("r2", "hasAncestor(?x, ?y) ^ hasAncestor(?y, ?z) -> hasAncestor(?x, ?z)");
+    ruleEngine.getSWRLAPIOWLOntology().resetOntologyChanged();
+    ruleEngine.infer(targetOntology);
+
+    assertTrue(targetOntology.containsAxiom(ObjectPropertyAssertion(HAS_ANCESTOR, P1, P3)));
+    assertEquals(3, targetOntology.getAxiomCount());
+    assertFalse(ontology.containsAxiom(ObjectPropertyAssertion(HAS_ANCESTOR, P1, P3)));
+    assertFalse(ruleEngine.getSWRLAPIOWLOntology().hasOntologyChanged()); // Writes outside its imports are ignored
+
+    ruleEngine.infer(); // Incremental state is unaffected by inferences that were not written to the source ontology
+
+    assertTrue(ontology.containsAxiom(ObjectPropertyAssertion(HAS_ANCESTOR, P1, P3)));
+  }
+
+  @Test public void testValidPeriodQueryIgnoresInvalidPeriods() throws Exception
+  {
+    String temporalNamespace = "http://swrl.stanford.edu/ontologies/built-ins/3.3/temporal.owl#";
+    OWLClass validPeriod = Class(IRI.create(temporalNamespace + "ValidPeriod"));
+    OWLDataProperty hasStartTime = DataProperty(IRI.create(temporalNamespace + "hasStartTime"));
+    OWLDataProperty hasFinishTime = DataProperty(IRI.create(temporalNamespace + "hasFinishTime"));
+
+    addOWLAxioms(ontology, ClassAssertion(validPeriod, P1), DataPropertyAssertion(hasStartTime, P1,
+      Literal("2000-01-01T00:00:00")), DataPropertyAssertion(hasFinishTime, P1, Literal("2000-12-31T00:00:00")),
+      ClassAssertion(validPeriod, P2), DataPropertyAssertion(hasStartTime, P2, Literal("2001-01-01T00:00:00")),
+      DataPropertyAssertion(hasFinishTime, P2, Literal("2000-01-01T00:00:00"))); // Starts after it finishes
+
+    SQWRLQueryEngine queryEngine = createSQWRLQueryEngine();
+    SQWRLResult result = queryEngine.runSQWRLQuery("q1",
+      "temporal:findIntersects(?p, \"2000-06-01T00:00:00\"^^xsd:dateTime) -> sqwrl:select(?p)");
+
+    assertEquals(1, result.getNumberOfRows());
+    assertTrue(result.next());
+    assertEquals(P1.getIRI(), result.getNamedIndividual("p").getIRI());
+  }
+
+  /**
+   * Many persons who each know a few others, of whom very few are VIPs. Ordered by type the rule first joins every pair
+   * of persons; ordered by cost it starts from the VIPs.
+   */
+  private Set<OWLAxiom> inferOnSkewedData(boolean costBasedBodyAtomOrdering) throws Exception
+  {
+    OWLOntology skewedOntology = OWLManager.createOWLOntologyManager().createOntology();
+    Random random = new Random(1);
+
+    addOWLAxioms(skewedOntology, Declaration(PERSON), Declaration(VIP), Declaration(ADULT), Declaration(KNOWS));
+    for (int i = 0; i < NUMBER_OF_SKEWED_PERSONS; i++) {
+      OWLNamedIndividual person = NamedIndividual(iri("person" + i));
+      addOWLAxioms(skewedOntology, ClassAssertion(PERSON, person));
+      if (i < NUMBER_OF_SKEWED_VIPS)
+        addOWLAxioms(skewedOntology, ClassAssertion(VIP, person));
+      for (int k = 0; k < NUMBER_OF_SKEWED_ACQUAINTANCES; k++)
+        addOWLAxioms(skewedOntology,
+          ObjectPropertyAssertion(KNOWS, person, NamedIndividual(iri("person" + random.nextInt(
+            NUMBER_OF_SKEWED_PERSONS)))));
+    }
+
+    Set<OWLAxiom> assertedAxioms = new HashSet<>(skewedOntology.getAxioms());
+    SWRLRuleEngine ruleEngine = SWRLAPIFactory
+      .createSWRLRuleEngine(ReteSWRLRuleEngine.RULE_ENGINE_NAME, skewedOntology);
+    ruleEngine.getSWRLAPIOWLOntology().setCostBasedBodyAtomOrderingEnabled(costBasedBodyAtomOrdering);
+    ruleEngine.createSWRLRule("r1", "Person(?x) ^ Person(?y) ^ knows(?x, ?y) ^ VIP(?y) -> Adult(?x)");
+    ruleEngine.infer();
+
+    return skewedOntology.getAxioms(AxiomType.CLASS_ASSERTION).stream().filter(a -> !assertedAxioms.contains(a))
+      .collect(Collectors.toSet());
+  }
+
+  @Test public void testChunkedWriteBackOfInferredAxioms() throws Exception
+  {
+    for (int i = 0; i < 25; i++)
+      addOWLAxioms(ontology, ClassAssertion(PERSON, NamedIndividual(iri("person" + i))));
+
+    SWRLRuleEngine ruleEngine = createSWRLRuleEngine();
+    ruleEngine.createSWRLRule("r1", "Person(?x) -> Adult(?x)");
+    ruleEngine.importAssertedOWLAxioms();
+    ruleEngine.run();
+
+    List<Integer> progress = new ArrayList<>();
+    List<Integer> changeSizes = new ArrayList<>();
+    ontology.getOWLOntologyManager().addOntologyChangeListener(changes -> changeSizes.add(changes.size()));
+    ruleEngine.exportInferredOWLAxioms(7, (processed, total) -> {
+      assertEquals(25, total);
+      progress.add(processed);
+    });
+
+    assertEquals(Arrays.asList(7, 14, 21, 25), progress);
+    assertEquals(Arrays.asList(7, 7, 7, 4), changeSizes);
+    assertEquals(50, ontology.getAxiomCount(AxiomType.CLASS_ASSERTION));
+    assertTrue(ontology.containsAxiom(ClassAssertion(ADULT, NamedIndividual(iri("person24")))));
+  }
+
+  private static Set<List<String>> getRows(SQWRLResult result) throws Exception
+  {
+    Set<List<String>> rows = new HashSet<>();
+
+    while (result.next()) {
+      List<String> row = new ArrayList<>();
+      for (SQWRLResultValue value : result.getRow())
+        row.add(value.toString());
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  private SWRLRuleEngine createSWRLRuleEngine()
+  {
+    return SWRLAPIFactory.createSWRLRuleEngine(ReteSWRLRuleEngine.RULE_ENGINE_NAME, ontology);
+  }
+
+  private SQWRLQueryEngine createSQWRLQueryEngine()
+  {
+    return SWRLAPIFactory.createSQWRLQueryEngine(ReteSWRLRuleEngine.RULE_ENGINE_NAME, ontology);
+  }
+}
@@ -17,6 +17,14 @@ import org.swrlapi.sqwrl.values.SQWRLLiteralResultValue;
 import org.swrlapi.sqwrl.values.SQWRLNamedIndividualResultValue;
 import org.swrlapi.sqwrl.values.SQWRLObjectPropertyResultValue;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
 import static junit.framework.TestCase.assertFalse;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -428,6 +436,143 @@ public class SQWRLResultTest
     assertEquals(1, value.getInt());
   }
 
+  @Test public void testGroupedAggregateFunctions() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.addAggregateColumn("sum", SQWRLResultNames.SumAggregateFunction);
+    resultManager.addAggregateColumn("min", SQWRLResultNames.MinAggregateFunction);
+    resultManager.addAggregateColumn("median", SQWRLResultNames.MedianAggregateFunction);
+    resultManager.addAggregateColumn("count", SQWRLResultNames.CountAggregateFunction);
+
+    resultManager.configured();
+
+    int[][] rows = { { 2, 10 }, { 1, 5 }, { 2, 30 }, { 1, 7 }, { 2, 20 }, { 1, 9 }, { 1, 1 } };
+    for (int[] row : rows) {
+      resultManager.openRow();
+      resultManager.addCell(valueFactory.getLiteralValue(row[0]));
+      for (int i = 0; i < 4; i++)
+        resultManager.addCell(valueFactory.getLiteralValue(row[1]));
+      resultManager.closeRow();
+    }
+
+    resultManager.prepared();
+
+    assertEquals(5, resultManager.getNumberOfColumns());
+    assertEquals(2, resultManager.getNumberOfRows());
+
+    resultManager.next(); // Groups are in the order they are first seen
+    assertEquals(2, resultManager.getLiteral(columnName).getInt());
+    assertEquals(60, resultManager.getLiteral("sum").getInt());
+    assertEquals(10, resultManager.getLiteral("min").getInt());
+    assertEquals(20, resultManager.getLiteral("median").getInt());
+    assertEquals(3, resultManager.getLiteral("count").getInt());
+
+    resultManager.next();
+    assertEquals(1, resultManager.getLiteral(columnName).getInt());
+    assertEquals(22, resultManager.getLiteral("sum").getInt());
+    assertEquals(1, resultManager.getLiteral("min").getInt());
+    assertEquals(6, resultManager.getLiteral("median").getInt());
+    assertEquals(4, resultManager.getLiteral("count").getInt());
+  }
+
+  @Test public void testGroupedAggregateFunctionsWithNumericKeysOfDifferentTypes() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.addAggregateColumn(column1Name, SQWRLResultNames.CountAggregateFunction);
+
+    resultManager.configured();
+
+    resultManager.openRow();
+    resultManager.addCell(valueFactory.getLiteralValue(1));
+    resultManager.addCell(valueFactory.getLiteralValue(20));
+    resultManager.closeRow();
+
+    resultManager.openRow();
+    resultManager.addCell(valueFactory.getLiteralValue(1L));
+    resultManager.addCell(valueFactory.getLiteralValue(20));
+    resultManager.closeRow();
+
+    resultManager.openRow();
+    resultManager.addCell(valueFactory.getLiteralValue(1.0f));
+    resultManager.addCell(valueFactory.getLiteralValue(20));
+    resultManager.closeRow();
+
+    resultManager.prepared();
+
+    assertEquals(1, resultManager.getNumberOfRows());
+
+    resultManager.next();
+
+    assertTrue(resultManager.getLiteral(columnName).isInt());
+    assertEquals(3, resultManager.getLiteral(column1Name).getInt());
+  }
+
+  @Test public void testGroupedAggregateFunctionsParity() throws Exception
+  {
+    String[] functionNames = { SQWRLResultNames.MinAggregateFunction, SQWRLResultNames.MaxAggregateFunction,
+      SQWRLResultNames.SumAggregateFunction, SQWRLResultNames.AvgAggregateFunction,
+      SQWRLResultNames.MedianAggregateFunction, SQWRLResultNames.CountAggregateFunction,
+      SQWRLResultNames.CountDistinctAggregateFunction };
+    Random random = new Random(23);
+    List<IRI> groupIRIs = new ArrayList<>();
+    Map<IRI, List<Double>> groupValues = new LinkedHashMap<>();
+
+    for (int i = 0; i < 20; i++)
+      groupIRIs.add(IRI.create(TestNamespace + "i" + i));
+
+    resultManager.addColumn(columnName);
+    for (String functionName : functionNames)
+      resultManager.addAggregateColumn(functionName, functionName);
+
+    resultManager.configured();
+
+    for (int r = 0; r < 2000; r++) {
+      IRI groupIRI = groupIRIs.get(random.nextInt(groupIRIs.size()));
+      double value = random.nextInt(100) / 4.0;
+
+      groupValues.computeIfAbsent(groupIRI, k -> new ArrayList<>()).add(value);
+
+      resultManager.openRow();
+      resultManager.addCell(valueFactory.getNamedIndividualValue(groupIRI));
+      for (int c = 0; c < functionNames.length; c++)
+        resultManager.addCell(valueFactory.getLiteralValue(value));
+      resultManager.closeRow();
+    }
+
+    resultManager.prepared();
+
+    assertEquals(groupValues.size(), resultManager.getNumberOfRows());
+
+    for (Map.Entry<IRI, List<Double>> group : groupValues.entrySet()) {
+      List<Double> values = group.getValue();
+      List<Double> sortedValues = new ArrayList<>(values);
+      double sum = 0;
+      int middle = values.size() / 2;
+
+      for (double value : values)
+        sum = sum + value;
+      Collections.sort(sortedValues);
+
+      resultManager.next();
+
+      assertEquals(group.getKey(), resultManager.getNamedIndividual(columnName).getIRI());
+      assertEquals(Collections.min(values), resultManager.getLiteral(SQWRLResultNames.MinAggregateFunction).getDouble(),
+        0.0);
+      assertEquals(Collections.max(values), resultManager.getLiteral(SQWRLResultNames.MaxAggregateFunction).getDouble(),
+        0.0);
+      assertEquals(sum, resultManager.getLiteral(SQWRLResultNames.SumAggregateFunction).getDouble(), 0.0);
+      assertEquals(sum / values.size(), resultManager.getLiteral(SQWRLResultNames.AvgAggregateFunction).getDouble(),
+        0.0);
+      assertEquals(values.size() % 2 == 1 ?
+          sortedValues.get(middle) :
+          (sortedValues.get(middle - 1) + sortedValues.get(middle)) / 2,
+        resultManager.getLiteral(SQWRLResultNames.MedianAggregateFunction).getDouble(), 0.0);
+      assertEquals(values.size(), resultManager.getLiteral(SQWRLResultNames.CountAggregateFunction).getInt());
+      assertEquals(new HashSet<>(values).size(),
+        resultManager.getLiteral(SQWRLResultNames.CountDistinctAggregateFunction).getInt());
+    }
+  }
+
   @Test public void testSetIsDistinct() throws Exception
   {
     resultManager.addColumn(columnName);
@@ -448,6 +593,64 @@ public class SQWRLResultTest
     assertEquals(1, resultManager.getNumberOfRows());
   }
 
+  @Test public void testSetIsDistinctWithMultipleColumns() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.addColumn(column1Name);
+    resultManager.setIsDistinct();
+    resultManager.configured();
+
+    for (int r = 0; r < 1000; r++) {
+      resultManager.openRow();
+      resultManager.addCell(valueFactory.getNamedIndividualValue(IRI.create(TestNamespace + "i" + (r % 3))));
+      resultManager.addCell(valueFactory.getLiteralValue(r % 2));
+      resultManager.closeRow();
+    }
+
+    resultManager.openRow(); // Numerically equal to an existing row
+    resultManager.addCell(valueFactory.getNamedIndividualValue(IRI.create(TestNamespace + "i0")));
+    resultManager.addCell(valueFactory.getLiteralValue(0L));
+    resultManager.closeRow();
+
+    resultManager.prepared();
+
+    assertEquals(6, resultManager.getNumberOfRows());
+
+    for (int r = 0; r < 6; r++) { // Rows are in the order they were first added
+      resultManager.next();
+      assertEquals(IRI.create(TestNamespace + "i" + (r % 3)), resultManager.getNamedIndividual(columnName).getIRI());
+      assertEquals(r % 2, resultManager.getLiteral(column1Name).getInt());
+    }
+  }
+
+  @Test public void testSetIsDistinctAfterRowsAdded() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.configured();
+
+    resultManager.openRow();
+    resultManager.addCell(valueFactory.getLiteralValue(20));
+    resultManager.closeRow();
+
+    resultManager.openRow();
+    resultManager.addCell(valueFactory.getLiteralValue(20));
+    resultManager.closeRow();
+
+    resultManager.setIsDistinct();
+
+    resultManager.openRow();
+    resultManager.addCell(valueFactory.getLiteralValue(20));
+    resultManager.closeRow();
+
+    resultManager.openRow();
+    resultManager.addCell(valueFactory.getLiteralValue(30));
+    resultManager.closeRow();
+
+    resultManager.prepared();
+
+    assertEquals(2, resultManager.getNumberOfRows());
+  }
+
   @Test public void testSetOrderByColumnAscending() throws Exception
   {
     resultManager.addColumn(columnName);
@@ -546,6 +749,60 @@ public class SQWRLResultTest
     assertEquals(2, resultManager.getNumberOfRows());
   }
 
+  @Test public void testSetLimitWithOrderByMatchesFullSort() throws Exception
+  {
+    SQWRLResultManager fullResultManager = SWRLAPIInternalFactory.createSQWRLResultManager(iriResolver);
+    Random random = new Random(17);
+
+    for (SQWRLResultManager manager : new SQWRLResultManager[] { resultManager, fullResultManager }) {
+      manager.addColumn(columnName);
+      manager.addColumn(column1Name);
+      manager.setOrderByColumn(0, false);
+    }
+    resultManager.setLimit(10);
+
+    resultManager.configured();
+    fullResultManager.configured();
+
+    for (int r = 0; r < 5000; r++) {
+      int value = random.nextInt(50); // Many ties; their order must match that of a stable sort
+      for (SQWRLResultManager manager : new SQWRLResultManager[] { resultManager, fullResultManager }) {
+        manager.openRow();
+        manager.addCell(valueFactory.getLiteralValue(value));
+        manager.addCell(valueFactory.getLiteralValue(r));
+        manager.closeRow();
+      }
+    }
+
+    resultManager.prepared();
+    fullResultManager.prepared();
+
+    assertEquals(10, resultManager.getNumberOfRows());
+
+    while (resultManager.next()) {
+      fullResultManager.next();
+      assertEquals(fullResultManager.getLiteral(0).getInt(), resultManager.getLiteral(0).getInt());
+      assertEquals(fullResultManager.getLiteral(1).getInt(), resultManager.getLiteral(1).getInt());
+    }
+  }
+
+  @Test public void testSetFirstNWithOrderByAndFewerRows() throws Exception
+  {
+    resultManager.addColumn(columnName);
+    resultManager.setOrderByColumn(0, true);
+    resultManager.setFirst(5);
+
+    resultManager.configured();
+
+    resultManager.openRow();
+    resultManager.addCell(valueFactory.getLiteralValue(20));
+    resultManager.closeRow();
+
+    resultManager.prepared();
+
+    assertEquals(0, resultManager.getNumberOfRows()); // As without a bounded heap, fewer than N rows selects none
+  }
+
   @Test public void testSetNth() throws Exception
   {
     resultManager.addColumn(columnName);